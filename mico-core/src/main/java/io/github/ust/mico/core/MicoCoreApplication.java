@@ -26,6 +26,7 @@
 import io.github.ust.mico.core.model.MicoService;
 import io.github.ust.mico.core.model.MicoVersion;
 import io.github.ust.mico.core.persistence.MicoBackgroundJobRepository;
+import io.github.ust.mico.core.persistence.MicoImageBuildCacheRepository;
 import io.github.ust.mico.core.service.GitHubCrawler;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -55,9 +56,9 @@
 @Slf4j
 @SpringBootApplication
 @EnableNeo4jRepositories(basePackages = "io.github.ust.mico.core.persistence",
-    excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = MicoBackgroundJobRepository.class))
+    excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = {MicoBackgroundJobRepository.class, MicoImageBuildCacheRepository.class}))
 @EnableRedisRepositories(basePackages = "io.github.ust.mico.core.persistence",
-    includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = MicoBackgroundJobRepository.class))
+    includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = {MicoBackgroundJobRepository.class, MicoImageBuildCacheRepository.class}))
 @EnableScheduling
 public class MicoCoreApplication implements ApplicationListener<ApplicationReadyEvent> {
 
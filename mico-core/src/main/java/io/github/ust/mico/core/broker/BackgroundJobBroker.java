@@ -18,21 +18,31 @@
  */
 package io.github.ust.mico.core.broker;
 
-import io.github.ust.mico.core.exception.MicoApplicationNotFoundException;
 import io.github.ust.mico.core.model.*;
 import io.github.ust.mico.core.model.MicoServiceBackgroundJob.Status;
-import io.github.ust.mico.core.persistence.MicoApplicationRepository;
 import io.github.ust.mico.core.persistence.MicoBackgroundJobRepository;
+import io.github.ust.mico.core.service.JobHandleRegistry;
+import io.github.ust.mico.core.service.MicoInstanceLease;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.convert.Bucket;
+import org.springframework.data.redis.core.convert.RedisConverter;
+import org.springframework.data.redis.core.convert.RedisData;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -42,14 +52,45 @@
 @Service
 public class BackgroundJobBroker {
 
+    /**
+     * The keyspace of the {@link MicoServiceBackgroundJob MicoServiceBackgroundJobs} in Redis.
+     */
+    private static final String JOB_KEYSPACE = "BackgroundJob";
+
+    /**
+     * The prefix of the Redis sets that index the IDs of the jobs of an application.
+     */
+    private static final String APPLICATION_JOBS_KEY_PREFIX = JOB_KEYSPACE + ":application:";
+
     private final MicoBackgroundJobRepository jobRepository;
 
-    private final MicoApplicationRepository applicationRepository;
+    private final StringRedisTemplate redisTemplate;
+
+    private final RedisConverter redisConverter;
+
+    private final JobHandleRegistry jobHandleRegistry;
+
+    private final MicoInstanceLease micoInstanceLease;
+
+    /**
+     * The listeners that are notified whenever a job is saved or deleted.
+     */
+    private final List<Consumer<MicoServiceBackgroundJob>> jobListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * The listeners that are notified whenever a job changes its status.
+     */
+    private final List<Consumer<MicoServiceBackgroundJob>> jobStatusListeners = new CopyOnWriteArrayList<>();
 
     @Autowired
-    public BackgroundJobBroker(MicoBackgroundJobRepository jobRepository, MicoApplicationRepository applicationRepository) {
+    public BackgroundJobBroker(MicoBackgroundJobRepository jobRepository, StringRedisTemplate redisTemplate,
+                               RedisConverter redisConverter, JobHandleRegistry jobHandleRegistry,
+                               MicoInstanceLease micoInstanceLease) {
         this.jobRepository = jobRepository;
-        this.applicationRepository = applicationRepository;
+        this.redisTemplate = redisTemplate;
+        this.redisConverter = redisConverter;
+        this.jobHandleRegistry = jobHandleRegistry;
+        this.micoInstanceLease = micoInstanceLease;
     }
 
     /**
@@ -73,19 +114,66 @@ public Optional<MicoServiceBackgroundJob> getJobById(String id) {
 
     /**
      * Save a job to the database.
+     * If the job belongs to an application, it is added to the job index of the application.
+     * A job without an owner is owned by this MICO instance.
+     * If the status of an existing job differs from the stored one, the job status listeners are notified.
      *
      * @param job the {@link MicoServiceBackgroundJob}
      * @return the saved {@link MicoServiceBackgroundJob}
      */
     public MicoServiceBackgroundJob saveJob(MicoServiceBackgroundJob job) {
+        if (job.getOwnerId() == null) {
+            job.setOwnerId(micoInstanceLease.getInstanceId());
+        }
+        Optional<MicoServiceBackgroundJob.Status> storedStatus = job.getId() == null ? Optional.empty()
+            : jobRepository.findById(job.getId()).map(MicoServiceBackgroundJob::getStatus);
         MicoServiceBackgroundJob savedJob = jobRepository.save(job);
+        if (savedJob.getApplicationShortName() != null && savedJob.getApplicationVersion() != null) {
+            addJobToApplication(savedJob, savedJob.getApplicationShortName(), savedJob.getApplicationVersion());
+        }
         log.debug("Saved job: {}", savedJob);
+        notifyListeners(jobListeners, savedJob);
+        if (storedStatus.isPresent() && storedStatus.get() != savedJob.getStatus()) {
+            notifyListeners(jobStatusListeners, savedJob);
+        }
         return savedJob;
     }
 
+    /**
+     * Adds an existing job to the job index of an application, e.g. because a job of a MicoService instance
+     * that is shared with another application is already pending.
+     *
+     * @param job                  the {@link MicoServiceBackgroundJob}
+     * @param applicationShortName the short name of the {@link MicoApplication}
+     * @param applicationVersion   the version of the {@link MicoApplication}
+     */
+    public void addJobToApplication(MicoServiceBackgroundJob job, String applicationShortName, String applicationVersion) {
+        redisTemplate.opsForSet().add(getApplicationJobsKey(applicationShortName, applicationVersion), job.getId());
+    }
+
+    /**
+     * Registers a listener that is notified with the job whenever a job is saved or deleted.
+     *
+     * @param listener the listener
+     */
+    public void addJobListener(Consumer<MicoServiceBackgroundJob> listener) {
+        jobListeners.add(listener);
+    }
+
+    /**
+     * Registers a listener that is notified with the job whenever a saved job changes its status
+     * (see {@link #saveJob(MicoServiceBackgroundJob)}). In contrast to a job listener, it is neither notified of new
+     * nor of deleted jobs.
+     *
+     * @param listener the listener
+     */
+    public void addJobStatusListener(Consumer<MicoServiceBackgroundJob> listener) {
+        jobStatusListeners.add(listener);
+    }
+
     /**
      * Deletes a job in the database.
-     * If the future is still running, it will be cancelled.
+     * If the future is still running in this MICO instance, it will be cancelled.
      *
      * @param id the id of the job.
      */
@@ -110,25 +198,18 @@ public void deleteAllJobs() {
 
     /**
      * Retrieves the job status of a {@code MicoApplication}.
+     * <p>
+     * The jobs are looked up in the job index of the application and loaded with a single pipelined Redis call, the
+     * Neo4j database is not accessed. Jobs that do not exist anymore are removed from the index.
      *
      * @param shortName the short name of the {@link MicoApplication}.
      * @param version   the version of the {@link MicoApplication}.
      * @return the {@link MicoApplicationJobStatus} with the status and jobs.
      */
-    public MicoApplicationJobStatus getJobStatusByApplicationShortNameAndVersion(String shortName, String version) throws MicoApplicationNotFoundException {
-        Optional<MicoApplication> existingApplicationOptional = applicationRepository.findByShortNameAndVersion(shortName, version);
-        if (!existingApplicationOptional.isPresent()) {
-            throw new MicoApplicationNotFoundException(shortName, version);
-        }
-        MicoApplication micoApplication = existingApplicationOptional.get();
-
-        List<MicoServiceBackgroundJob> jobList = new ArrayList<>();
-        for (MicoServiceDeploymentInfo micoServiceDeploymentInfo : micoApplication.getServiceDeploymentInfos()) {
-            jobList.addAll(jobRepository.findByInstanceId(micoServiceDeploymentInfo.getInstanceId()));
-        }
-        for (MicoServiceDeploymentInfo kfConnectorDeploymentInfo : micoApplication.getKafkaFaasConnectorDeploymentInfos()) {
-            jobList.addAll(jobRepository.findByInstanceId(kfConnectorDeploymentInfo.getInstanceId()));
-        }
+    public MicoApplicationJobStatus getJobStatusByApplicationShortNameAndVersion(String shortName, String version) {
+        String applicationJobsKey = getApplicationJobsKey(shortName, version);
+        Set<String> jobIds = redisTemplate.opsForSet().members(applicationJobsKey);
+        List<MicoServiceBackgroundJob> jobList = getJobsById(applicationJobsKey, jobIds);
 
         List<MicoServiceBackgroundJob.Status> statusList = jobList.stream().map(MicoServiceBackgroundJob::getStatus).distinct().collect(Collectors.toList());
 
@@ -160,7 +241,7 @@ public List<MicoServiceBackgroundJob> getJobsByMicoService(String micoServiceSho
     }
 
     /**
-     * Saves a future of a job to the database.
+     * Registers the future of a job in the {@link JobHandleRegistry}. The job in the database is not modified.
      *
      * @param micoServiceDeploymentInfo the {@link MicoServiceDeploymentInfo}
      * @param future                    the future as a {@link CompletableFuture}
@@ -173,9 +254,8 @@ void saveFutureOfJob(MicoServiceDeploymentInfo micoServiceDeploymentInfo, MicoSe
         Optional<MicoServiceBackgroundJob> jobOptional = getJobByMicoServiceInstanceId(micoServiceInstanceId, type);
         if (jobOptional.isPresent()) {
             MicoServiceBackgroundJob job = jobOptional.get();
-            job.setFuture(future);
-            saveJob(job);
-            log.debug("Saved new future of job '{}' with type '{}' for MicoService '{}' '{}' with instance ID '{}'.",
+            jobHandleRegistry.register(job.getId(), future);
+            log.debug("Registered future of job '{}' with type '{}' for MicoService '{}' '{}' with instance ID '{}'.",
                 job.getId(), type, micoService.getShortName(), micoService.getVersion(), micoServiceInstanceId);
         } else {
             log.warn("No job of type '{}' exists for '{}' '{}' with instance ID '{}'.",
@@ -183,6 +263,16 @@ void saveFutureOfJob(MicoServiceDeploymentInfo micoServiceDeploymentInfo, MicoSe
         }
     }
 
+    /**
+     * Returns the running future of a job from the {@link JobHandleRegistry}.
+     *
+     * @param job the {@link MicoServiceBackgroundJob}
+     * @return the future or {@link Optional#empty()} if the job has no running future in this MICO instance
+     */
+    public Optional<CompletableFuture<?>> getFutureOfJob(MicoServiceBackgroundJob job) {
+        return jobHandleRegistry.getFuture(job.getId());
+    }
+
     /**
      * Saves a new status of a job to the database.
      *
@@ -203,8 +293,8 @@ void saveNewStatus(MicoServiceDeploymentInfo micoServiceDeploymentInfo, MicoServ
      * @param newStatus                 the new {@link MicoServiceBackgroundJob.Status}
      * @param errorMessage              the optional error message if the job has failed
      */
-    void saveNewStatus(MicoServiceDeploymentInfo micoServiceDeploymentInfo, MicoServiceBackgroundJob.Type type,
-                       MicoServiceBackgroundJob.Status newStatus, @Nullable String errorMessage) {
+    public void saveNewStatus(MicoServiceDeploymentInfo micoServiceDeploymentInfo, MicoServiceBackgroundJob.Type type,
+                              MicoServiceBackgroundJob.Status newStatus, @Nullable String errorMessage) {
         String micoServiceInstanceId = micoServiceDeploymentInfo.getInstanceId();
         MicoService micoService = micoServiceDeploymentInfo.getService();
         Optional<MicoServiceBackgroundJob> jobOptional = getJobByMicoServiceInstanceId(micoServiceInstanceId, type);
@@ -234,14 +324,75 @@ void saveNewStatus(MicoServiceDeploymentInfo micoServiceDeploymentInfo, MicoServ
      * @param job the {@link MicoServiceBackgroundJob}
      */
     private void deleteJob(MicoServiceBackgroundJob job) {
-        if (job.getFuture() != null && !job.getFuture().isCancelled()
-            && !job.getFuture().isCompletedExceptionally() && !job.getFuture().isDone()) {
+        if (jobHandleRegistry.cancel(job.getId())) {
             log.warn("Job of type '{}' and current status '{}' of MicoService '{}' '{}' with instanceId '{}' is going to be deleted, " +
-                    "but it's future is still running -> Cancel it.",
+                    "but it's future was still running -> Cancelled it.",
                 job.getType(), job.getStatus(), job.getServiceShortName(), job.getServiceVersion(), job.getInstanceId());
-            job.getFuture().cancel(true);
         }
         jobRepository.delete(job);
+        if (job.getApplicationShortName() != null && job.getApplicationVersion() != null) {
+            redisTemplate.opsForSet().remove(getApplicationJobsKey(job.getApplicationShortName(), job.getApplicationVersion()), job.getId());
+        }
+        notifyListeners(jobListeners, job);
+    }
+
+    /**
+     * Loads the jobs with the given IDs with a single pipelined Redis call. The IDs of jobs that do not exist anymore,
+     * e.g. because they were deleted directly via the repository or because they were shared with another application,
+     * are removed from the job index of the application.
+     *
+     * @param applicationJobsKey the key of the job index of the application
+     * @param jobIds             the IDs of the jobs
+     * @return the list of existing jobs
+     */
+    private List<MicoServiceBackgroundJob> getJobsById(String applicationJobsKey, @Nullable Set<String> jobIds) {
+        List<MicoServiceBackgroundJob> jobs = new ArrayList<>();
+        if (jobIds == null || jobIds.isEmpty()) {
+            return jobs;
+        }
+        List<String> ids = new ArrayList<>(jobIds);
+        List<Object> jobHashes = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String id : ids) {
+                connection.hGetAll(getJobKey(id));
+            }
+            return null;
+        });
+        List<String> staleJobIds = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            @SuppressWarnings("unchecked")
+            Map<String, String> jobHash = (Map<String, String>) jobHashes.get(i);
+            if (jobHash == null || jobHash.isEmpty()) {
+                staleJobIds.add(ids.get(i));
+                continue;
+            }
+            RedisData redisData = new RedisData(Bucket.newBucketFromStringMap(jobHash));
+            redisData.setId(ids.get(i));
+            redisData.setKeyspace(JOB_KEYSPACE);
+            jobs.add(redisConverter.read(MicoServiceBackgroundJob.class, redisData));
+        }
+        if (!staleJobIds.isEmpty()) {
+            log.debug("Remove {} job(s) that do not exist anymore from '{}'.", staleJobIds.size(), applicationJobsKey);
+            redisTemplate.opsForSet().remove(applicationJobsKey, staleJobIds.toArray());
+        }
+        return jobs;
+    }
+
+    private static String getApplicationJobsKey(String applicationShortName, String applicationVersion) {
+        return APPLICATION_JOBS_KEY_PREFIX + applicationShortName + ":" + applicationVersion;
+    }
+
+    private static byte[] getJobKey(String jobId) {
+        return (JOB_KEYSPACE + ":" + jobId).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void notifyListeners(List<Consumer<MicoServiceBackgroundJob>> listeners, MicoServiceBackgroundJob job) {
+        for (Consumer<MicoServiceBackgroundJob> listener : listeners) {
+            try {
+                listener.accept(job);
+            } catch (Exception e) {
+                log.warn("Job listener failed for job '{}': {}", job.getId(), e.getMessage(), e);
+            }
+        }
     }
 
     /**
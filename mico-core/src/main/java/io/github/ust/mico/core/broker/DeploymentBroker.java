@@ -1,18 +1,19 @@
 package io.github.ust.mico.core.broker;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeoutException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.github.ust.mico.core.configuration.MicoKubernetesConfig;
 import io.github.ust.mico.core.exception.DeploymentRequirementsOfKafkaFaasConnectorNotMetException;
 import io.github.ust.mico.core.exception.KubernetesResourceException;
 import io.github.ust.mico.core.exception.MicoApplicationIsDeployingException;
@@ -30,7 +31,12 @@
 import io.github.ust.mico.core.model.MicoTopicRole;
 import io.github.ust.mico.core.persistence.MicoServiceDeploymentInfoRepository;
 import io.github.ust.mico.core.persistence.MicoServiceRepository;
+import io.github.ust.mico.core.service.KubernetesApplyReport;
+import io.github.ust.mico.core.service.KubernetesApplyResult;
+import io.github.ust.mico.core.service.KubernetesOperationExecutor;
 import io.github.ust.mico.core.service.MicoKubernetesClient;
+import io.github.ust.mico.core.service.imagebuilder.ImageBuildCoordinator;
+import io.github.ust.mico.core.service.imagebuilder.ImageBuildScheduler;
 import io.github.ust.mico.core.service.imagebuilder.TektonPipelinesController;
 import io.github.ust.mico.core.util.FutureUtils;
 import lombok.extern.slf4j.Slf4j;
@@ -57,17 +63,30 @@ public class DeploymentBroker {
     @Autowired
     private TektonPipelinesController imageBuilder;
 
+    @Autowired
+    private ImageBuildScheduler imageBuildScheduler;
+
+    @Autowired
+    private ImageBuildCoordinator imageBuildCoordinator;
+
     @Autowired
     private MicoKubernetesClient micoKubernetesClient;
 
+    @Autowired
+    private MicoKubernetesConfig micoKubernetesConfig;
+
+    @Autowired
+    private KubernetesOperationExecutor kubernetesOperationExecutor;
+
     @Autowired
     private MicoServiceRepository serviceRepository;
 
     /**
      * Deploys an application with all its included services and KafkaFaasConnector instances.
      *
-     * @param shortName the short name of the {@link MicoApplication}
-     * @param version   the version of the {@link MicoApplication}
+     * @param shortName     the short name of the {@link MicoApplication}
+     * @param version       the version of the {@link MicoApplication}
+     * @param rebuildImages whether the images of all services should be rebuilt, even if they are in the build cache
      * @return the {@link MicoApplicationJobStatus}
      * @throws MicoApplicationNotFoundException      if the {@link MicoApplication} does not exist
      * @throws MicoServiceInterfaceNotFoundException if the {@link MicoServiceInterface} does not exist
@@ -89,19 +108,32 @@ public MicoApplicationJobStatus deployApplication(String shortName, String versi
             serviceInstancesToBuild.add(micoApplication.getKafkaFaasConnectorDeploymentInfos().get(0));
         }
 
-        // TODO: avoid building images if the docker image is already available in the registry
-        // TODO: decouple image building from MicoServices to avoid running duplicate image builds
-
-        // Create the build jobs for each MicoService instance and start them immediately.
+        // Create the build jobs for each MicoService instance and schedule them.
         List<CompletableFuture<MicoService>> buildJobs = new ArrayList<>();
+        Map<String, CompletableFuture<MicoService>> buildJobsByInstanceId = new HashMap<>();
         for (MicoServiceDeploymentInfo info : serviceInstancesToBuild) {
-            if (rebuildImages) {
-                createBuildJobForMicoServiceInstance(micoApplication, info, buildJobs);
-            } else if (Objects.isNull(info.getService().getDockerImageUri()) || info.getService().getDockerImageUri().isEmpty()) {
-                createBuildJobForMicoServiceInstance(micoApplication, info, buildJobs);
+            if (rebuildImages || Objects.isNull(info.getService().getDockerImageUri()) || info.getService().getDockerImageUri().isEmpty()) {
+                buildJobsByInstanceId.put(info.getInstanceId(), createBuildJobForMicoServiceInstance(micoApplication, info, rebuildImages, buildJobs));
             }
         }
 
+        if (micoKubernetesConfig.isPipelinedDeployment()) {
+            deployPipelined(micoApplication, buildJobsByInstanceId);
+        } else {
+            deployAfterAllBuilds(micoApplication, buildJobs);
+        }
+
+        return backgroundJobBroker.getJobStatusByApplicationShortNameAndVersion(shortName, version);
+    }
+
+    /**
+     * Creates the Kubernetes resources of all MicoService instances of the application after all build jobs are
+     * finished. If any build job fails, no Kubernetes resources are created.
+     *
+     * @param micoApplication the {@link MicoApplication}
+     * @param buildJobs       the build jobs of the deployment
+     */
+    private void deployAfterAllBuilds(MicoApplication micoApplication, List<CompletableFuture<MicoService>> buildJobs) {
         // When all build jobs are finished, create the Kubernetes resources for the deployment of a MicoService
         CompletableFuture<List<MicoService>> allBuildJobs = FutureUtils.all(buildJobs);
         log.info("Wait for completion of all build jobs...");
@@ -119,21 +151,8 @@ public MicoApplicationJobStatus deployApplication(String shortName, String versi
                 .filter(Objects::nonNull).collect(toList());
 
             // Save updated Docker Image URI to database.
-            // TODO: Move save operation to main thread (avoid Neo4j threading problems) -> issue mico#842
             for (MicoService service : servicesWithSuccessfulBuild) {
-                // Save the MicoService with a depth of 0 to the database.
-                // Only the properties of this MicoService entity will be stored to the database.
-                MicoService updatedService = serviceRepository.save(service, 0);
-                log.debug("Saved docker image uri of MicoService '{}' '{}' to database successfully: {}",
-                    updatedService.getShortName(), updatedService.getVersion(), updatedService.getDockerImageUri());
-
-                // quick hack
-                if ("kafka-faas-connector".equals(service.getName())) {
-                    micoApplication.getServices().stream().filter(s -> s.getName().equals("kafka-faas-connector")).forEach(s -> {
-                        s.setDockerImageUri(service.getDockerImageUri());
-                        serviceRepository.save(s, 0);
-                    });
-                }
+                saveDockerImageUri(micoApplication, service);
             }
 
             List<MicoServiceDeploymentInfo> serviceDeploymentInfos = new ArrayList<>();
@@ -144,42 +163,206 @@ public MicoApplicationJobStatus deployApplication(String shortName, String versi
                     "Start creating or updating Kubernetes resources ({} Kubernetes Deployments are affected).",
                 servicesWithSuccessfulBuild.size(), micoApplication.getShortName(), micoApplication.getVersion(), serviceDeploymentInfos.size());
 
-            // Create the Kubernetes resources based on all service deployment information
-            for (MicoServiceDeploymentInfo serviceDeploymentInfo : serviceDeploymentInfos) {
-                MicoService micoService = serviceDeploymentInfo.getService();
-                try {
-                    KubernetesDeploymentInfo kubernetesDeploymentInfo = createOrUpdateKubernetesResources(serviceDeploymentInfo);
-                    serviceDeploymentInfo.setKubernetesDeploymentInfo(kubernetesDeploymentInfo);
-                    backgroundJobBroker.saveNewStatus(serviceDeploymentInfo,
-                        MicoServiceBackgroundJob.Type.BUILD, MicoServiceBackgroundJob.Status.DONE);
-                } catch (Exception e) {
-                    backgroundJobBroker.saveNewStatus(serviceDeploymentInfo,
-                        MicoServiceBackgroundJob.Type.BUILD, MicoServiceBackgroundJob.Status.ERROR, e.getMessage());
-                    log.error(e.getMessage(), e);
+            // Create the Kubernetes resources based on all service deployment information concurrently.
+            // A failure only affects the MicoService instance whose resources could not be created.
+            KubernetesApplyReport applyReport = new KubernetesApplyReport();
+            List<CompletableFuture<Boolean>> resourceCreations = serviceDeploymentInfos.stream()
+                .map(serviceDeploymentInfo -> createOrUpdateKubernetesResourcesAsync(serviceDeploymentInfo, applyReport))
+                .collect(toList());
+            FutureUtils.all(resourceCreations).thenAccept(results -> {
+                log.info("Created / updated Kubernetes resources of {} of {} MicoService instance(s). Kubernetes resources: {}.",
+                    results.stream().filter(Boolean::booleanValue).count(), serviceDeploymentInfos.size(), applyReport);
+
+                // After the Kubernetes deployments are created, save the actual deployment information to the database.
+                saveKubernetesDeploymentInfos(micoApplication, serviceDeploymentInfos);
+
+                // At last set up the connections between the deployed MicoServices
+                micoKubernetesClient.createOrUpdateInterfaceConnections(micoApplication);
+
+                log.info("Finished creating or updating Kubernetes resources for the deployment of MicoApplication '{}' '{}'.",
+                    micoApplication.getShortName(), micoApplication.getVersion());
+            }).exceptionally(ex -> {
+                log.error("Failed to finish the deployment of MicoApplication '{}' '{}'. Caused by: {}",
+                    micoApplication.getShortName(), micoApplication.getVersion(), ex.getMessage(), ex);
+                return null;
+            });
+        });
+    }
+
+    /**
+     * Creates the Kubernetes resources of each MicoService instance of the application as soon as its own build job is
+     * finished (pipelined deployment). The interface connections are set up incrementally as soon as both ends of a
+     * connection are deployed. A failed build job only prevents the deployment of the affected MicoService instance.
+     * <p>
+     * The builds and the creation of the Kubernetes resources run concurrently, whereas the database operations of a
+     * single deployment are serialized to avoid Neo4j multi-threading problems.
+     *
+     * @param micoApplication       the {@link MicoApplication}
+     * @param buildJobsByInstanceId the build jobs of the deployment keyed by the instance ID of the MicoService instance
+     */
+    private void deployPipelined(MicoApplication micoApplication, Map<String, CompletableFuture<MicoService>> buildJobsByInstanceId) {
+        Object deploymentLock = new Object();
+        Set<String> deployedInstanceIds = ConcurrentHashMap.newKeySet();
+        KubernetesApplyReport applyReport = new KubernetesApplyReport();
+        List<CompletableFuture<Void>> rollouts = new ArrayList<>();
+
+        // All KafkaFaasConnector instances share the build of the first instance.
+        List<MicoServiceDeploymentInfo> kfConnectorDeploymentInfos = micoApplication.getKafkaFaasConnectorDeploymentInfos();
+        CompletableFuture<MicoService> kfConnectorBuildJob = kfConnectorDeploymentInfos.isEmpty() ? null
+            : buildJobsByInstanceId.get(kfConnectorDeploymentInfos.get(0).getInstanceId());
+        for (MicoServiceDeploymentInfo kfConnectorDeploymentInfo : kfConnectorDeploymentInfos) {
+            rollouts.add(rolloutWhenBuilt(micoApplication, kfConnectorDeploymentInfo, kfConnectorBuildJob, false,
+                deploymentLock, deployedInstanceIds, applyReport));
+        }
+        for (MicoServiceDeploymentInfo serviceDeploymentInfo : micoApplication.getServiceDeploymentInfos()) {
+            rollouts.add(rolloutWhenBuilt(micoApplication, serviceDeploymentInfo,
+                buildJobsByInstanceId.get(serviceDeploymentInfo.getInstanceId()), true, deploymentLock, deployedInstanceIds, applyReport));
+        }
+
+        log.info("Pipelined deployment of MicoApplication '{}' '{}': {} build job(s) running, {} MicoService instance(s) to deploy.",
+            micoApplication.getShortName(), micoApplication.getVersion(), buildJobsByInstanceId.size(), rollouts.size());
+        CompletableFuture.allOf(rollouts.toArray(new CompletableFuture[0])).whenComplete((result, throwable) ->
+            log.info("Finished pipelined deployment of MicoApplication '{}' '{}': {} of {} MicoService instance(s) deployed. Kubernetes resources: {}.",
+                micoApplication.getShortName(), micoApplication.getVersion(), deployedInstanceIds.size(), rollouts.size(), applyReport));
+    }
+
+    /**
+     * Creates the Kubernetes resources of a MicoService instance as soon as the given build job is finished.
+     *
+     * @param micoApplication       the {@link MicoApplication}
+     * @param serviceDeploymentInfo the {@link MicoServiceDeploymentInfo} of the MicoService instance
+     * @param buildJob              the build job or {@code null} if no build is required
+     * @param connectInterfaces     whether the interface connections of the MicoService instance should be set up
+     * @param deploymentLock        the lock that serializes the rollout steps of the deployment
+     * @param deployedInstanceIds   the instance IDs of the MicoService instances that are already deployed
+     * @param applyReport           the {@link KubernetesApplyReport} of the deployment
+     * @return the {@link CompletableFuture} that completes when the MicoService instance is deployed, skipped or
+     * failed. It never completes exceptionally, a failure is saved as the status of the job of the MicoService instance.
+     */
+    private CompletableFuture<Void> rolloutWhenBuilt(MicoApplication micoApplication, MicoServiceDeploymentInfo serviceDeploymentInfo,
+                                                     CompletableFuture<MicoService> buildJob, boolean connectInterfaces,
+                                                     Object deploymentLock, Set<String> deployedInstanceIds,
+                                                     KubernetesApplyReport applyReport) {
+        CompletableFuture<MicoService> serviceReady = buildJob != null ? buildJob
+            : CompletableFuture.completedFuture(serviceDeploymentInfo.getService());
+        return serviceReady.thenCompose(builtService -> {
+            MicoService micoService = serviceDeploymentInfo.getService();
+            if (builtService == null) {
+                log.warn("Build job of MicoService '{}' '{}' with instance ID '{}' failed. Skip creating / updating of its Kubernetes resources.",
+                    micoService.getShortName(), micoService.getVersion(), serviceDeploymentInfo.getInstanceId());
+                return CompletableFuture.completedFuture(null);
+            }
+            if (buildJob != null) {
+                synchronized (deploymentLock) {
+                    saveDockerImageUri(micoApplication, builtService);
                 }
             }
+            return createOrUpdateKubernetesResourcesAsync(serviceDeploymentInfo, applyReport).thenAccept(created -> {
+                if (!created) {
+                    return;
+                }
+                synchronized (deploymentLock) {
+                    saveKubernetesDeploymentInfo(micoApplication, serviceDeploymentInfo);
+                    deployedInstanceIds.add(serviceDeploymentInfo.getInstanceId());
+                    if (connectInterfaces) {
+                        micoKubernetesClient.createOrUpdateInterfaceConnections(micoApplication, serviceDeploymentInfo, deployedInstanceIds);
+                    }
+                }
+            });
+        }).exceptionally(ex -> {
+            // The job may already be done, because the Kubernetes resources were created successfully
+            log.error("Failed to finish the deployment of MicoService '{}' '{}' with instance ID '{}' of MicoApplication '{}' '{}'. Caused by: {}",
+                serviceDeploymentInfo.getService().getShortName(), serviceDeploymentInfo.getService().getVersion(),
+                serviceDeploymentInfo.getInstanceId(), micoApplication.getShortName(), micoApplication.getVersion(), ex.getMessage(), ex);
+            backgroundJobBroker.saveNewStatus(serviceDeploymentInfo, MicoServiceBackgroundJob.Type.BUILD,
+                MicoServiceBackgroundJob.Status.ERROR, ExceptionUtils.getRootCauseMessage(ex));
+            return null;
+        });
+    }
 
-            // After the Kubernetes deployments are created, save the actual deployment information to the database.
-            for (MicoServiceDeploymentInfo serviceDeploymentInfo : serviceDeploymentInfos) {
-                // Save the ServiceDeploymentInfo entity with a depth of 1 to the database.
-                // A new node for the KubernetesDeploymentInfo
-                // and a relation to the existing ServiceDeploymentInfo node will be created.
-                MicoServiceDeploymentInfo savedServiceDeploymentInfo = serviceDeploymentInfoRepository.save(serviceDeploymentInfo, 1);
-                log.debug("Saved new Kubernetes deployment information of MicoService '{}' '{}' for MicoApplication '{}' '{} to database: {}",
-                    savedServiceDeploymentInfo.getService().getShortName(),
-                    savedServiceDeploymentInfo.getService().getVersion(),
-                    micoApplication.getShortName(), micoApplication.getVersion(),
-                    savedServiceDeploymentInfo.getKubernetesDeploymentInfo());
-            }
+    /**
+     * Creates or updates the Kubernetes resources of a MicoService instance on the {@link KubernetesOperationExecutor}
+     * and saves the resulting status of the build job. The Kubernetes deployment information is set to the given
+     * {@link MicoServiceDeploymentInfo}, but it is not saved to the database.
+     *
+     * @param serviceDeploymentInfo the {@link MicoServiceDeploymentInfo}
+     * @param applyReport           the {@link KubernetesApplyReport} that records the applied Kubernetes resources
+     * @return the {@link CompletableFuture} that completes with {@code true} if the Kubernetes resources were created
+     * or updated successfully and with {@code false} otherwise. It never completes exceptionally.
+     */
+    private CompletableFuture<Boolean> createOrUpdateKubernetesResourcesAsync(MicoServiceDeploymentInfo serviceDeploymentInfo,
+                                                                              KubernetesApplyReport applyReport) {
+        return kubernetesOperationExecutor.submit("create resources of instance " + serviceDeploymentInfo.getInstanceId(),
+            () -> createOrUpdateKubernetesResources(serviceDeploymentInfo, applyReport))
+            .handle((kubernetesDeploymentInfo, throwable) -> {
+                if (throwable != null) {
+                    backgroundJobBroker.saveNewStatus(serviceDeploymentInfo,
+                        MicoServiceBackgroundJob.Type.BUILD, MicoServiceBackgroundJob.Status.ERROR, ExceptionUtils.getRootCauseMessage(throwable));
+                    log.error(throwable.getMessage(), throwable);
+                    return false;
+                }
+                serviceDeploymentInfo.setKubernetesDeploymentInfo(kubernetesDeploymentInfo);
+                backgroundJobBroker.saveNewStatus(serviceDeploymentInfo,
+                    MicoServiceBackgroundJob.Type.BUILD, MicoServiceBackgroundJob.Status.DONE);
+                return true;
+            });
+    }
 
-            // At last set up the connections between the deployed MicoServices
-            micoKubernetesClient.createOrUpdateInterfaceConnections(micoApplication);
+    /**
+     * Saves the Docker image URI of a built {@link MicoService} to the database.
+     *
+     * @param micoApplication the {@link MicoApplication} that is deployed
+     * @param service         the built {@link MicoService}
+     */
+    private void saveDockerImageUri(MicoApplication micoApplication, MicoService service) {
+        // TODO: Move save operation to main thread (avoid Neo4j threading problems) -> issue mico#842
+        // Save the MicoService with a depth of 0 to the database.
+        // Only the properties of this MicoService entity will be stored to the database.
+        MicoService updatedService = serviceRepository.save(service, 0);
+        log.debug("Saved docker image uri of MicoService '{}' '{}' to database successfully: {}",
+            updatedService.getShortName(), updatedService.getVersion(), updatedService.getDockerImageUri());
+
+        // quick hack
+        if ("kafka-faas-connector".equals(service.getName())) {
+            micoApplication.getServices().stream().filter(s -> s.getName().equals("kafka-faas-connector")).forEach(s -> {
+                s.setDockerImageUri(service.getDockerImageUri());
+                serviceRepository.save(s, 0);
+            });
+        }
+    }
 
-            log.info("Finished creating or updating Kubernetes resources for the deployment of MicoApplication '{}' '{}'.",
-                micoApplication.getShortName(), micoApplication.getVersion());
-        });
+    /**
+     * Saves the given {@link MicoServiceDeploymentInfo MicoServiceDeploymentInfos} including their {@link
+     * KubernetesDeploymentInfo KubernetesDeploymentInfos} to the database in a single batch.
+     *
+     * @param micoApplication        the {@link MicoApplication} that is deployed
+     * @param serviceDeploymentInfos the {@link MicoServiceDeploymentInfo MicoServiceDeploymentInfos}
+     */
+    private void saveKubernetesDeploymentInfos(MicoApplication micoApplication, List<MicoServiceDeploymentInfo> serviceDeploymentInfos) {
+        // Save the ServiceDeploymentInfo entities with a depth of 1 to the database.
+        // New nodes for the KubernetesDeploymentInfos
+        // and relations to the existing ServiceDeploymentInfo nodes will be created.
+        serviceDeploymentInfoRepository.save(serviceDeploymentInfos, 1);
+        log.debug("Saved new Kubernetes deployment information of {} MicoService instance(s) for MicoApplication '{}' '{}' to database.",
+            serviceDeploymentInfos.size(), micoApplication.getShortName(), micoApplication.getVersion());
+    }
 
-        return backgroundJobBroker.getJobStatusByApplicationShortNameAndVersion(shortName, version);
+    /**
+     * Saves the {@link MicoServiceDeploymentInfo} including its {@link KubernetesDeploymentInfo} to the database.
+     *
+     * @param micoApplication       the {@link MicoApplication} that is deployed
+     * @param serviceDeploymentInfo the {@link MicoServiceDeploymentInfo}
+     */
+    private void saveKubernetesDeploymentInfo(MicoApplication micoApplication, MicoServiceDeploymentInfo serviceDeploymentInfo) {
+        // Save the ServiceDeploymentInfo entity with a depth of 1 to the database.
+        // A new node for the KubernetesDeploymentInfo
+        // and a relation to the existing ServiceDeploymentInfo node will be created.
+        MicoServiceDeploymentInfo savedServiceDeploymentInfo = serviceDeploymentInfoRepository.save(serviceDeploymentInfo, 1);
+        log.debug("Saved new Kubernetes deployment information of MicoService '{}' '{}' for MicoApplication '{}' '{} to database: {}",
+            savedServiceDeploymentInfo.getService().getShortName(),
+            savedServiceDeploymentInfo.getService().getVersion(),
+            micoApplication.getShortName(), micoApplication.getVersion(),
+            savedServiceDeploymentInfo.getKubernetesDeploymentInfo());
     }
 
     /**
@@ -218,46 +401,62 @@ public void undeployApplication(String shortName, String version) throws MicoApp
 
     /**
      * Creates the build job that have to be executed for the deployment of the provided {@link MicoService} and adds it
-     * to the provided list of build jobs. The build jobs are started immediately and will be stored into the database.
+     * to the provided list of build jobs. The build jobs are queued by the {@link ImageBuildScheduler} and will be stored
+     * into the database with the status pending until they are started.
      *
      * @param micoApplication           the {@link MicoApplication}
      * @param micoServiceDeploymentInfo the {@link MicoServiceDeploymentInfo}
+     * @param rebuild                   whether the image should be rebuilt, even if it is in the build cache
      * @param buildJobs                 the list of build jobs.
+     * @return the created build job or the already pending or running build job of the MicoService instance
      */
-    private void createBuildJobForMicoServiceInstance(MicoApplication micoApplication, MicoServiceDeploymentInfo micoServiceDeploymentInfo,
-                                                      List<CompletableFuture<MicoService>> buildJobs) {
+    private CompletableFuture<MicoService> createBuildJobForMicoServiceInstance(MicoApplication micoApplication, MicoServiceDeploymentInfo micoServiceDeploymentInfo,
+                                                                                boolean rebuild, List<CompletableFuture<MicoService>> buildJobs) {
 
         MicoService micoService = micoServiceDeploymentInfo.getService();
 
         log.debug("Creating build job for service '{}' '{}' with instance ID '{}'...",
             micoService.getShortName(), micoService.getVersion(), micoServiceDeploymentInfo.getInstanceId());
 
-        // Check if a build for this MicoService is already running.
-        // If yes no build is required, lock changes to running jobs.
+        // Check if a build for this MicoService is already pending or running.
+        // If yes no build is required, the deployment waits for the running job instead.
         // If the current job status is done, error or cancel delete it and create a new job to get a new id.
         Optional<MicoServiceBackgroundJob> jobOptional = backgroundJobBroker
             .getJobByMicoServiceInstanceId(micoServiceDeploymentInfo.getInstanceId(), MicoServiceBackgroundJob.Type.BUILD);
         if (jobOptional.isPresent()) {
-            if (jobOptional.get().getStatus() != MicoServiceBackgroundJob.Status.RUNNING) {
+            MicoServiceBackgroundJob.Status currentStatus = jobOptional.get().getStatus();
+            if (currentStatus != MicoServiceBackgroundJob.Status.PENDING && currentStatus != MicoServiceBackgroundJob.Status.RUNNING) {
                 backgroundJobBroker.deleteJob(jobOptional.get().getId());
             } else {
-                log.info("Build job for service '{}' '{}' with instance ID '{}' is already running.",
-                    micoService.getShortName(), micoService.getVersion(), micoServiceDeploymentInfo.getInstanceId());
-                return;
+                log.info("Build job for service '{}' '{}' with instance ID '{}' is already {}.",
+                    micoService.getShortName(), micoService.getVersion(), micoServiceDeploymentInfo.getInstanceId(),
+                    currentStatus.toString().toLowerCase());
+                // The instance may be shared with another application, hence the job is part of this deployment as well.
+                backgroundJobBroker.addJobToApplication(jobOptional.get(), micoApplication.getShortName(), micoApplication.getVersion());
+                CompletableFuture<MicoService> buildJob = awaitRunningBuildJob(jobOptional.get(), micoServiceDeploymentInfo);
+                buildJobs.add(buildJob);
+                return buildJob;
             }
         }
+        // The job stays pending until the build scheduler has a free build slot.
+        // If the job shares a build that is already in flight, it stays pending until that build is finished.
         MicoServiceBackgroundJob job = new MicoServiceBackgroundJob()
             .setServiceShortName(micoService.getShortName())
             .setServiceVersion(micoService.getVersion())
             .setInstanceId(micoServiceDeploymentInfo.getInstanceId())
+            .setApplicationShortName(micoApplication.getShortName())
+            .setApplicationVersion(micoApplication.getVersion())
             .setType(MicoServiceBackgroundJob.Type.BUILD)
-            .setStatus(MicoServiceBackgroundJob.Status.RUNNING);
+            .setStatus(MicoServiceBackgroundJob.Status.PENDING);
         backgroundJobBroker.saveJob(job);
 
-        log.info("Start build of service '{}' '{}'.", micoService.getShortName(), micoService.getVersion());
+        log.info("Schedule build of service '{}' '{}' ({} build(s) running, {} build(s) queued).", micoService.getShortName(),
+            micoService.getVersion(), imageBuildScheduler.getActiveBuilds(), imageBuildScheduler.getQueuedBuilds());
 
-        ExecutorService pool = Executors.newFixedThreadPool(3);
-        CompletableFuture<MicoService> buildJob = CompletableFuture.supplyAsync(() -> buildMicoService(micoService), pool)
+        CompletableFuture<MicoService> scheduledBuild = buildMicoService(micoService, rebuild,
+            () -> backgroundJobBroker.saveNewStatus(micoServiceDeploymentInfo, MicoServiceBackgroundJob.Type.BUILD,
+                MicoServiceBackgroundJob.Status.RUNNING));
+        CompletableFuture<MicoService> buildJob = scheduledBuild
             .exceptionally(ex -> {
                 // Build failed
                 backgroundJobBroker.saveNewStatus(micoServiceDeploymentInfo, MicoServiceBackgroundJob.Type.BUILD,
@@ -270,9 +469,44 @@ private void createBuildJobForMicoServiceInstance(MicoApplication micoApplicatio
                 }
                 return null;
             });
-        log.debug("Started build of service '{}' in version '{}'.", micoService.getShortName(), micoService.getVersion());
+        log.debug("Scheduled build of service '{}' in version '{}'.", micoService.getShortName(), micoService.getVersion());
         buildJobs.add(buildJob);
         backgroundJobBroker.saveFutureOfJob(micoServiceDeploymentInfo, MicoServiceBackgroundJob.Type.BUILD, buildJob);
+        return buildJob;
+    }
+
+    /**
+     * Returns a build job that completes as soon as the given build job, which is already pending or running, is
+     * finished. The Docker image URI of the build is set to the {@link MicoService} of the given {@link
+     * MicoServiceDeploymentInfo}, because the running build job may have been started by another deployment with its
+     * own copy of the {@link MicoService}.
+     * <p>
+     * If the running build job has no future in this MICO instance, the deployment cannot wait for it. In that case
+     * the returned build job completes with {@code null}, i.e., it is handled like a failed build.
+     *
+     * @param runningJob                the {@link MicoServiceBackgroundJob} that is already pending or running
+     * @param micoServiceDeploymentInfo the {@link MicoServiceDeploymentInfo} of the MicoService instance
+     * @return the {@link CompletableFuture} that completes with the built {@link MicoService} or {@code null}
+     */
+    private CompletableFuture<MicoService> awaitRunningBuildJob(MicoServiceBackgroundJob runningJob,
+                                                                MicoServiceDeploymentInfo micoServiceDeploymentInfo) {
+        MicoService micoService = micoServiceDeploymentInfo.getService();
+        Optional<CompletableFuture<?>> runningFuture = backgroundJobBroker.getFutureOfJob(runningJob);
+        if (!runningFuture.isPresent()) {
+            log.warn("Build job '{}' of service '{}' '{}' with instance ID '{}' is {}, but it is not running in this MICO instance. " +
+                    "Its Kubernetes resources cannot be created / updated by this deployment.", runningJob.getId(),
+                micoService.getShortName(), micoService.getVersion(), micoServiceDeploymentInfo.getInstanceId(),
+                runningJob.getStatus().toString().toLowerCase());
+            return CompletableFuture.completedFuture(null);
+        }
+        return runningFuture.get().handle((result, throwable) -> {
+            MicoService builtService = throwable == null ? MicoService.class.cast(result) : null;
+            if (builtService == null) {
+                return null;
+            }
+            micoService.setDockerImageUri(builtService.getDockerImageUri());
+            return micoService;
+        });
     }
 
     private void checkIfMicoApplicationIsDeployable(MicoApplication micoApplication) throws MicoServiceInterfaceNotFoundException, DeploymentRequirementsOfKafkaFaasConnectorNotMetException {
@@ -322,37 +556,58 @@ public void checkIfKafkaFaasConnectorIsDeployable(MicoServiceDeploymentInfo kfCo
      * Builds a {@link MicoService} and sets the resulting Docker image URI to the {@link MicoService} object. This
      * method does not save the changes to the database immediately, because it would lead to deadlock problems (Neo4j
      * multi-threading problems).
+     * <p>
+     * If a build of the same {@link MicoService} is already in flight (e.g. triggered by the deployment of another
+     * application), no further build is scheduled. Instead the result of the running build is used.
      *
      * @param micoService the {@link MicoService}
-     * @return the {@link MicoService} with the updated Docker image URI
+     * @param rebuild     whether the image should be rebuilt, even if it is in the build cache
+     * @param onStart     the callback that is executed as soon as the build is started
+     * @return the {@link CompletableFuture} that completes with the {@link MicoService} with the updated Docker image URI
      */
-    private MicoService buildMicoService(MicoService micoService) {
-        try {
-            // Blocks this thread until build is finished, failed or TimeoutException is thrown
-            CompletableFuture<String> buildFuture = imageBuilder.build(micoService);
-            if (buildFuture.get() != null) {
-                String dockerImageUri = buildFuture.get();
-                log.info("Build of service '{}' in version '{}' finished with image '{}'.",
-                    micoService.getShortName(), micoService.getVersion(), dockerImageUri);
-                micoService.setDockerImageUri(dockerImageUri);
-                return micoService;
-            } else {
+    private CompletableFuture<MicoService> buildMicoService(MicoService micoService, boolean rebuild, Runnable onStart) {
+        CompletableFuture<String> imageBuild = imageBuildCoordinator.build(micoService,
+            () -> imageBuildScheduler.schedule(onStart, () -> buildImage(micoService, rebuild)));
+        return imageBuild.thenApply(dockerImageUri -> {
+            if (dockerImageUri == null) {
                 String errorMessage = "Build of service '" + micoService.getShortName() + "' '" + micoService.getVersion() + "' didn't return a Docker image URI.";
                 throw new CompletionException(new RuntimeException(errorMessage));
             }
-        } catch (InterruptedException | ExecutionException | TimeoutException | KubernetesResourceException | NotInitializedException e) {
-            throw new RuntimeException(e);
+            log.info("Build of service '{}' in version '{}' finished with image '{}'.",
+                micoService.getShortName(), micoService.getVersion(), dockerImageUri);
+            micoService.setDockerImageUri(dockerImageUri);
+            return micoService;
+        });
+    }
+
+    /**
+     * Triggers the image build of a {@link MicoService}.
+     *
+     * @param micoService the {@link MicoService}
+     * @param rebuild     whether the image should be rebuilt, even if it is in the build cache
+     * @return the {@link CompletableFuture} that completes with the Docker image URI
+     */
+    private CompletableFuture<String> buildImage(MicoService micoService, boolean rebuild) {
+        try {
+            return imageBuilder.build(micoService, rebuild);
+        } catch (NotInitializedException e) {
+            CompletableFuture<String> failedBuild = new CompletableFuture<>();
+            failedBuild.completeExceptionally(e);
+            return failedBuild;
         }
     }
 
     /**
-     * Creates or updates the Kubernetes resources based on the {@code MicoServiceDeploymentInfo}.
+     * Creates or updates the Kubernetes resources based on the {@code MicoServiceDeploymentInfo}. Kubernetes resources
+     * that are already up to date are left unchanged.
      *
      * @param serviceDeploymentInfo the {@link MicoServiceDeploymentInfo}
+     * @param applyReport           the {@link KubernetesApplyReport} that records the applied Kubernetes resources
      * @return the {@link KubernetesDeploymentInfo}
      * @throws KubernetesResourceException if there is an error during the creation of Kubernetes resources
      */
-    private KubernetesDeploymentInfo createOrUpdateKubernetesResources(MicoServiceDeploymentInfo serviceDeploymentInfo) throws KubernetesResourceException {
+    private KubernetesDeploymentInfo createOrUpdateKubernetesResources(MicoServiceDeploymentInfo serviceDeploymentInfo,
+                                                                       KubernetesApplyReport applyReport) throws KubernetesResourceException {
         MicoService micoService = serviceDeploymentInfo.getService();
         String instanceId = serviceDeploymentInfo.getInstanceId();
         log.info("Creating / updating Kubernetes resources for service '{}' '{}' with instance ID '{}'.",
@@ -360,27 +615,30 @@ private KubernetesDeploymentInfo createOrUpdateKubernetesResources(MicoServiceDe
         log.debug("Using deployment information for service '{}' '{}': {}",
             micoService.getShortName(), micoService.getVersion(), serviceDeploymentInfo.toString());
 
-        // If the Kubernetes deployment already exists and is deployed, scale out,
-        // otherwise create the Kubernetes deployment
+        // If the Kubernetes deployment was deployed by another MicoApplication, scale out,
+        // otherwise create the Kubernetes deployment or update it if it differs from the desired state
         boolean micoServiceInstanceIsDeployed = micoKubernetesClient.isMicoServiceInstanceDeployed(serviceDeploymentInfo);
-        if (micoServiceInstanceIsDeployed && serviceDeploymentInfo.getKubernetesDeploymentInfo() != null) {
-            log.info("MicoService '{}' '{}' in instance '{}' is already deployed by this MicoApplication. Nothing to do.",
-                micoService.getShortName(), micoService.getVersion(), instanceId);
-            return serviceDeploymentInfo.getKubernetesDeploymentInfo();
-        }
-
         Deployment deployment;
-        if (!micoServiceInstanceIsDeployed) {
-            log.info("MicoService '{}' '{}' in instance '{}' is not deployed yet. Create the required Kubernetes resources.",
-                micoService.getShortName(), micoService.getVersion(), instanceId);
-            deployment = micoKubernetesClient.createMicoServiceInstance(serviceDeploymentInfo);
+        if (!micoServiceInstanceIsDeployed || serviceDeploymentInfo.getKubernetesDeploymentInfo() != null) {
+            if (micoServiceInstanceIsDeployed) {
+                log.info("MicoService '{}' '{}' in instance '{}' is already deployed by this MicoApplication. Update the Kubernetes resources that differ.",
+                    micoService.getShortName(), micoService.getVersion(), instanceId);
+            } else {
+                log.info("MicoService '{}' '{}' in instance '{}' is not deployed yet. Create the required Kubernetes resources.",
+                    micoService.getShortName(), micoService.getVersion(), instanceId);
+            }
+            KubernetesApplyResult<Deployment> deploymentResult = micoKubernetesClient.createMicoServiceInstance(serviceDeploymentInfo);
+            applyReport.record(deploymentResult);
+            deployment = deploymentResult.getResource();
+            // The autoscaler is owned by the MicoApplication that owns the Kubernetes deployment
+            micoKubernetesClient.createOrUpdateHorizontalPodAutoscaler(serviceDeploymentInfo).ifPresent(applyReport::record);
         } else {
             // MICO service was deployed by another MICO application.
             // Get information about the actual deployment to be able to perform the scaling.
             log.info("MicoService '{}' '{}' in instance '{}' was already deployed by another MicoApplication. Scale out by increasing the replicas by {}.",
                 micoService.getShortName(), micoService.getVersion(), instanceId, serviceDeploymentInfo.getReplicas());
 
-            Optional<Deployment> deploymentOptional = micoKubernetesClient.getDeploymentOfMicoServiceInstance(serviceDeploymentInfo);
+            Optional<Deployment> deploymentOptional = micoKubernetesClient.getLiveDeploymentOfMicoServiceInstance(serviceDeploymentInfo);
             if (deploymentOptional.isPresent()) {
                 deployment = deploymentOptional.get();
             } else {
@@ -409,9 +667,10 @@ private KubernetesDeploymentInfo createOrUpdateKubernetesResources(MicoServiceDe
         // Create / update the Kubernetes services that corresponds to the interfaces of the MICO services.
         List<io.fabric8.kubernetes.api.model.Service> createdServices = new ArrayList<>();
         for (MicoServiceInterface serviceInterface : micoService.getServiceInterfaces()) {
-            io.fabric8.kubernetes.api.model.Service createdService = micoKubernetesClient
+            KubernetesApplyResult<io.fabric8.kubernetes.api.model.Service> serviceResult = micoKubernetesClient
                 .createMicoServiceInterface(serviceInterface, serviceDeploymentInfo);
-            createdServices.add(createdService);
+            applyReport.record(serviceResult);
+            createdServices.add(serviceResult.getResource());
         }
 
         log.info("Successfully created / updated Kubernetes resources for MicoService '{}' in version '{}' in instance '{}'.",
@@ -19,6 +19,7 @@
 
 package io.github.ust.mico.core.broker;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,8 +33,7 @@
 import io.github.ust.mico.core.model.MicoTopicRole;
 import io.github.ust.mico.core.model.OpenFaaSFunction;
 import io.github.ust.mico.core.persistence.MicoServiceDeploymentInfoRepository;
-import io.github.ust.mico.core.persistence.MicoTopicRepository;
-import io.github.ust.mico.core.persistence.OpenFaaSFunctionRepository;
+import io.github.ust.mico.core.service.TanglingNodeCollector;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -55,10 +55,7 @@ public class KafkaFaasConnectorDeploymentInfoBroker {
     private MicoServiceDeploymentInfoBroker serviceDeploymentInfoBroker;
 
     @Autowired
-    private MicoTopicRepository topicRepository;
-
-    @Autowired
-    private OpenFaaSFunctionRepository openFaaSFunctionRepository;
+    private TanglingNodeCollector tanglingNodeCollector;
 
     /**
      * Fetches a list of {@link MicoServiceDeploymentInfo MicoServiceDeploymentInfos} of all KafkaFaasConnector
@@ -72,7 +69,7 @@ public class KafkaFaasConnectorDeploymentInfoBroker {
     public List<MicoServiceDeploymentInfo> getKafkaFaasConnectorDeploymentInformation(
         String micoApplicationShortName, String micoApplicationVersion) throws MicoApplicationNotFoundException {
 
-        MicoApplication micoApplication = applicationBroker.getMicoApplicationByShortNameAndVersion(micoApplicationShortName, micoApplicationVersion);
+        MicoApplication micoApplication = applicationBroker.getMicoApplicationFromCache(micoApplicationShortName, micoApplicationVersion);
         List<MicoServiceDeploymentInfo> micoServiceDeploymentInfos = micoApplication.getKafkaFaasConnectorDeploymentInfos();
         log.debug("There are {} KafkaFaasConnector deployment information for MicoApplication '{}' in version '{}'.",
             micoServiceDeploymentInfos.size(), micoApplicationShortName, micoApplicationVersion);
@@ -142,15 +139,11 @@ public MicoServiceDeploymentInfo updateKafkaFaasConnectorDeploymentInformation(S
     private MicoServiceDeploymentInfo saveValuesToDatabase(KFConnectorDeploymentInfoRequestDTO kfConnectorDeploymentInfoRequestDTO,
                                                            MicoServiceDeploymentInfo storedServiceDeploymentInfo) {
 
-        eventuallyUpdateTopics(kfConnectorDeploymentInfoRequestDTO, storedServiceDeploymentInfo);
-        eventuallyUpdateOpenFaaSFunction(kfConnectorDeploymentInfoRequestDTO, storedServiceDeploymentInfo);
-        MicoServiceDeploymentInfo updatedServiceDeploymentInfo = deploymentInfoRepository.save(storedServiceDeploymentInfo);
-        topicRepository.cleanUp();
-        openFaaSFunctionRepository.cleanUp();
-
-        serviceDeploymentInfoBroker.cleanUpTanglingNodes();
-
-        return updatedServiceDeploymentInfo;
+        return tanglingNodeCollector.executeAndDeleteDetachedNodes(Collections.singletonList(storedServiceDeploymentInfo.getId()), () -> {
+            eventuallyUpdateTopics(kfConnectorDeploymentInfoRequestDTO, storedServiceDeploymentInfo);
+            eventuallyUpdateOpenFaaSFunction(kfConnectorDeploymentInfoRequestDTO, storedServiceDeploymentInfo);
+            return deploymentInfoRepository.save(storedServiceDeploymentInfo);
+        });
     }
 
     /**
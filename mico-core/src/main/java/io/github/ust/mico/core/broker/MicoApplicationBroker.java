@@ -11,18 +11,30 @@
 import io.github.ust.mico.core.persistence.MicoServiceDeploymentInfoRepository;
 import io.github.ust.mico.core.persistence.MicoServiceRepository;
 import io.github.ust.mico.core.resource.ApplicationResource;
+import io.github.ust.mico.core.service.MicoApplicationDeploymentStatusEngine;
+import io.github.ust.mico.core.service.MicoEntityCache;
 import io.github.ust.mico.core.service.MicoKubernetesClient;
 import io.github.ust.mico.core.service.MicoStatusService;
+import io.github.ust.mico.core.service.TanglingNodeCollector;
 import io.github.ust.mico.core.util.CollectionUtils;
+import io.github.ust.mico.core.util.PageCursor;
 import io.github.ust.mico.core.util.UIDUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.hateoas.Link;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
@@ -56,12 +68,21 @@ public class MicoApplicationBroker {
     @Autowired
     private MicoStatusService micoStatusService;
 
+    @Autowired
+    private MicoApplicationDeploymentStatusEngine applicationDeploymentStatusEngine;
+
     @Autowired
     private KafkaFaasConnectorDeploymentInfoBroker kafkaFaasConnectorDeploymentInfoBroker;
 
     @Autowired
     private MicoServiceDeploymentInfoBroker serviceDeploymentInfoBroker;
 
+    @Autowired
+    private MicoEntityCache entityCache;
+
+    @Autowired
+    private TanglingNodeCollector tanglingNodeCollector;
+
     public MicoApplication getMicoApplicationByShortNameAndVersion(String shortName, String version) throws MicoApplicationNotFoundException {
         Optional<MicoApplication> micoApplicationOptional = applicationRepository.findByShortNameAndVersion(shortName, version);
         if (!micoApplicationOptional.isPresent()) {
@@ -70,6 +91,25 @@ public MicoApplication getMicoApplicationByShortNameAndVersion(String shortName,
         return micoApplicationOptional.get();
     }
 
+    /**
+     * Returns the {@link MicoApplication} from the {@link MicoEntityCache} or loads it from the database. The returned
+     * application is shared and must not be modified, use {@link #getMicoApplicationByShortNameAndVersion(String,
+     * String)} instead.
+     *
+     * @param shortName the short name of the {@link MicoApplication}
+     * @param version   the version of the {@link MicoApplication}
+     * @return the {@link MicoApplication}
+     * @throws MicoApplicationNotFoundException if the {@link MicoApplication} does not exist
+     */
+    public MicoApplication getMicoApplicationFromCache(String shortName, String version) throws MicoApplicationNotFoundException {
+        Optional<MicoApplication> micoApplicationOptional = entityCache.get(MicoApplication.class, shortName, version, 3,
+            () -> applicationRepository.findByShortNameAndVersion(shortName, version));
+        if (!micoApplicationOptional.isPresent()) {
+            throw new MicoApplicationNotFoundException(shortName, version);
+        }
+        return micoApplicationOptional.get();
+    }
+
     public List<MicoApplication> getMicoApplicationsByShortName(String shortName) {
         return applicationRepository.findByShortName(shortName);
     }
@@ -78,6 +118,42 @@ public List<MicoApplication> getMicoApplications() {
         return applicationRepository.findAll(3);
     }
 
+    /**
+     * Returns a page of {@link MicoApplication MicoApplications}. The applications are ordered by short name and
+     * version. All filters are optional, i.e. {@code null} disables the respective filter.
+     *
+     * @param shortNamePrefix      the prefix of the short names
+     * @param owner                the owner of the applications
+     * @param after                the cursor pointing to the last application of the previous page, {@code null}
+     *                             for the first page
+     * @param limit                the maximum number of applications of the page
+     * @param includeRelationships if {@code false}, the applications are returned without their relationships
+     *                             (depth 0), otherwise the services and deployment infos are loaded as well
+     * @return the {@link Slice} of applications, {@link Slice#hasNext()} indicates whether there are further pages
+     */
+    public Slice<MicoApplication> getMicoApplications(String shortNamePrefix, String owner, PageCursor after, int limit,
+                                                      boolean includeRelationships) {
+        // Request one additional application to determine whether there is a next page
+        List<MicoApplication> applications = applicationRepository.findPage(shortNamePrefix, owner,
+            after != null ? after.getShortName() : null,
+            after != null ? after.getVersion() : null,
+            limit < Integer.MAX_VALUE ? limit + 1 : limit);
+        boolean hasNext = applications.size() > limit;
+        if (hasNext) {
+            applications = applications.subList(0, limit);
+        }
+        if (includeRelationships && !applications.isEmpty()) {
+            // Load the relationships of all applications of the page with a single query
+            List<Long> ids = applications.stream().map(MicoApplication::getId).collect(Collectors.toList());
+            Map<Long, MicoApplication> applicationsById = new HashMap<>();
+            applicationRepository.findAllById(ids, 3).forEach(application -> applicationsById.put(application.getId(), application));
+            applications = applications.stream()
+                .map(application -> applicationsById.getOrDefault(application.getId(), application))
+                .collect(Collectors.toList());
+        }
+        return new SliceImpl<>(applications, Pageable.unpaged(), hasNext);
+    }
+
     public void deleteMicoApplicationByShortNameAndVersion(String shortName, String version) throws MicoApplicationNotFoundException, MicoApplicationIsNotUndeployedException {
         // Retrieve application to delete from the database (checks whether it exists)
         MicoApplication micoApplication = getMicoApplicationByShortNameAndVersion(shortName, version);
@@ -89,11 +165,13 @@ public void deleteMicoApplicationByShortNameAndVersion(String shortName, String
         // before (!) the actual application is deleted, otherwise the query for
         // deleting the service deployment information would not work.
         // This deletes also the service deployment information for the included KafkaFaasConnectors.
-        serviceDeploymentInfoRepository.deleteAllByApplication(shortName, version);
+        tanglingNodeCollector.executeAndDeleteDetachedNodes(getServiceDeploymentInfoIds(micoApplication), () -> {
+            serviceDeploymentInfoRepository.deleteAllByApplication(shortName, version);
 
-        // Delete actual application
-        applicationRepository.delete(micoApplication);
-        serviceDeploymentInfoBroker.cleanUpTanglingNodes();
+            // Delete actual application
+            applicationRepository.delete(micoApplication);
+        });
+        applicationDeploymentStatusEngine.evict(shortName, version);
     }
 
     public void deleteMicoApplicationsByShortName(String shortName) throws MicoApplicationIsNotUndeployedException {
@@ -109,11 +187,16 @@ public void deleteMicoApplicationsByShortName(String shortName) throws MicoAppli
         // before (!) the actual application is deleted, otherwise the query for
         // deleting the service deployment information would not work.
         // This deletes also the service deployment information for the included KafkaFaasConnectors.
-        serviceDeploymentInfoRepository.deleteAllByApplication(shortName);
-
-        // No version of the application is deployed -> delete all
-        applicationRepository.deleteAll(micoApplicationList);
-        serviceDeploymentInfoBroker.cleanUpTanglingNodes();
+        List<Long> serviceDeploymentInfoIds = micoApplicationList.stream()
+            .flatMap(application -> getServiceDeploymentInfoIds(application).stream())
+            .collect(Collectors.toList());
+        tanglingNodeCollector.executeAndDeleteDetachedNodes(serviceDeploymentInfoIds, () -> {
+            serviceDeploymentInfoRepository.deleteAllByApplication(shortName);
+
+            // No version of the application is deployed -> delete all
+            applicationRepository.deleteAll(micoApplicationList);
+        });
+        micoApplicationList.forEach(application -> applicationDeploymentStatusEngine.evict(application.getShortName(), application.getVersion()));
     }
 
     public MicoApplication createMicoApplication(MicoApplication micoApplication) throws MicoApplicationAlreadyExistsException {
@@ -125,6 +208,31 @@ public MicoApplication createMicoApplication(MicoApplication micoApplication) th
         throw new MicoApplicationAlreadyExistsException(micoApplication.getShortName(), micoApplication.getVersion());
     }
 
+    /**
+     * Creates all given applications that do not exist yet. Applications that already exist in the database or that
+     * occur more than once in the given list are skipped. The existence of all applications is checked with a single
+     * query and the new applications are saved with a single transaction.
+     *
+     * @param micoApplications the {@link MicoApplication MicoApplications} to create
+     * @return the applications that were created
+     */
+    public List<MicoApplication> createMicoApplications(List<MicoApplication> micoApplications) {
+        List<Map<String, String>> keys = micoApplications.stream()
+            .map(application -> CollectionUtils.mapOf("shortName", application.getShortName(), "version", application.getVersion()))
+            .collect(Collectors.toList());
+        Set<List<String>> existingKeys = applicationRepository.findAllByKeys(keys).stream()
+            .map(application -> Arrays.asList(application.getShortName(), application.getVersion()))
+            .collect(Collectors.toCollection(HashSet::new));
+        List<MicoApplication> applicationsToCreate = micoApplications.stream()
+            .filter(application -> existingKeys.add(Arrays.asList(application.getShortName(), application.getVersion())))
+            .collect(Collectors.toList());
+        log.debug("Create {} of {} application(s), the others already exist.", applicationsToCreate.size(), micoApplications.size());
+        if (!applicationsToCreate.isEmpty()) {
+            applicationRepository.saveAll(applicationsToCreate);
+        }
+        return applicationsToCreate;
+    }
+
     public MicoApplication updateMicoApplication(String shortName, String version, MicoApplication micoApplication) throws MicoApplicationNotFoundException, ShortNameOfMicoApplicationDoesNotMatchException, VersionOfMicoApplicationDoesNotMatchException, MicoApplicationIsNotUndeployedException {
         if (!micoApplication.getShortName().equals(shortName)) {
             throw new ShortNameOfMicoApplicationDoesNotMatchException();
@@ -165,7 +273,7 @@ public MicoApplication copyAndUpgradeMicoApplicationByShortNameAndVersion(String
     }
 
     public List<MicoService> getMicoServicesOfMicoApplicationByShortNameAndVersion(String shortName, String version) throws MicoApplicationNotFoundException {
-        MicoApplication micoApplication = getMicoApplicationByShortNameAndVersion(shortName, version);
+        MicoApplication micoApplication = getMicoApplicationFromCache(shortName, version);
         return serviceRepository.findAllByApplication(micoApplication.getShortName(), micoApplication.getVersion());
     }
 
@@ -309,13 +417,17 @@ public MicoApplication removeMicoServiceFromMicoApplicationByShortNameAndVersion
             throw new MicoApplicationDoesNotIncludeMicoServiceException(applicationShortName, applicationVersion, serviceShortName);
         }
 
-        // 1. Delete the corresponding service deployment information
-        serviceDeploymentInfoRepository.deleteByApplicationAndService(applicationShortName, applicationVersion, serviceShortName);
-        // 2. Remove the service from the application
-        micoApplication.getServices().removeIf(s -> s.getShortName().equals(serviceShortName));
-        MicoApplication updatedApplication = applicationRepository.save(micoApplication);
-        serviceDeploymentInfoBroker.cleanUpTanglingNodes();
-        return updatedApplication;
+        List<Long> serviceDeploymentInfoIds = micoApplication.getServiceDeploymentInfos().stream()
+            .filter(sdi -> sdi.getService() != null && sdi.getService().getShortName().equals(serviceShortName))
+            .map(MicoServiceDeploymentInfo::getId)
+            .collect(Collectors.toList());
+        return tanglingNodeCollector.executeAndDeleteDetachedNodes(serviceDeploymentInfoIds, () -> {
+            // 1. Delete the corresponding service deployment information
+            serviceDeploymentInfoRepository.deleteByApplicationAndService(applicationShortName, applicationVersion, serviceShortName);
+            // 2. Remove the service from the application
+            micoApplication.getServices().removeIf(s -> s.getShortName().equals(serviceShortName));
+            return applicationRepository.save(micoApplication);
+        });
 
         // TODO: Update Kubernetes deployment (see issue mico#627)
     }
@@ -514,6 +626,20 @@ MicoApplication getMicoApplicationForMicoService(String applicationShortName, St
         return micoApplication;
     }
 
+    /**
+     * Retrieves the IDs of all service deployment information of the {@code MicoApplication}, including the ones of the
+     * KafkaFaasConnector instances.
+     *
+     * @param micoApplication the {@link MicoApplication}
+     * @return the IDs of the {@link MicoServiceDeploymentInfo MicoServiceDeploymentInfos}
+     */
+    private List<Long> getServiceDeploymentInfoIds(MicoApplication micoApplication) {
+        List<Long> serviceDeploymentInfoIds = new ArrayList<>();
+        micoApplication.getServiceDeploymentInfos().forEach(sdi -> serviceDeploymentInfoIds.add(sdi.getId()));
+        micoApplication.getKafkaFaasConnectorDeploymentInfos().forEach(sdi -> serviceDeploymentInfoIds.add(sdi.getId()));
+        return serviceDeploymentInfoIds;
+    }
+
     /**
      * Retrieves the list of {@code KFConnectorDeploymentInfos} that are part of the {@code MicoApplication}.
      * They are used for the deployment of KafkaFaasConnector instances.
@@ -619,16 +745,18 @@ private void deleteKafkaFaasConnectorDeploymentInfos(MicoApplication application
         if (kafkaFaasConnectorSDIs.isEmpty()) {
             return;
         }
-        for (MicoServiceDeploymentInfo kafkaFaasConnectorSDI : kafkaFaasConnectorSDIs) {
-            log.debug("Remove KafkaFaasConnector instance '{}' in version '{}' from application '{}' '{}'.",
-                kafkaFaasConnectorSDI.getInstanceId(), kafkaFaasConnectorSDI.getService().getVersion(),
-                application.getShortName(), application.getVersion());
-
-            serviceDeploymentInfoRepository.delete(kafkaFaasConnectorSDI);
-            application.getKafkaFaasConnectorDeploymentInfos().remove(kafkaFaasConnectorSDI);
-        }
-        applicationRepository.save(application);
-        micoServiceDeploymentInfoBroker.cleanUpTanglingNodes();
+        List<Long> serviceDeploymentInfoIds = kafkaFaasConnectorSDIs.stream().map(MicoServiceDeploymentInfo::getId).collect(Collectors.toList());
+        tanglingNodeCollector.executeAndDeleteDetachedNodes(serviceDeploymentInfoIds, () -> {
+            for (MicoServiceDeploymentInfo kafkaFaasConnectorSDI : kafkaFaasConnectorSDIs) {
+                log.debug("Remove KafkaFaasConnector instance '{}' in version '{}' from application '{}' '{}'.",
+                    kafkaFaasConnectorSDI.getInstanceId(), kafkaFaasConnectorSDI.getService().getVersion(),
+                    application.getShortName(), application.getVersion());
+
+                serviceDeploymentInfoRepository.delete(kafkaFaasConnectorSDI);
+                application.getKafkaFaasConnectorDeploymentInfos().remove(kafkaFaasConnectorSDI);
+            }
+            applicationRepository.save(application);
+        });
     }
 
     /**
@@ -655,7 +783,7 @@ private MicoApplication getMicoApplicationForKFConnectorInstance(String applicat
 
     //TODO: Change return value to not use a DTO (see issue mico#630)
     public MicoApplicationStatusResponseDTO getApplicationStatus(String shortName, String version) throws MicoApplicationNotFoundException {
-        MicoApplication micoApplication = getMicoApplicationByShortNameAndVersion(shortName, version);
+        MicoApplication micoApplication = getMicoApplicationFromCache(shortName, version);
         MicoApplicationStatusResponseDTO applicationStatus = micoStatusService.getApplicationStatus(micoApplication);
         applicationStatus.setApplicationDeploymentStatusResponseDTO(new MicoApplicationDeploymentStatusResponseDTO(
             getApplicationDeploymentStatus(shortName, version)));
@@ -663,15 +791,20 @@ public MicoApplicationStatusResponseDTO getApplicationStatus(String shortName, S
     }
 
     public MicoApplicationDeploymentStatus getApplicationDeploymentStatus(String shortName, String version) throws MicoApplicationNotFoundException {
-        MicoApplication micoApplication = getMicoApplicationByShortNameAndVersion(shortName, version);
-        return micoKubernetesClient.getApplicationDeploymentStatus(micoApplication);
+        // The materialized status is only available for existing applications, the lookup is not required.
+        Optional<MicoApplicationDeploymentStatus> materializedStatus = applicationDeploymentStatusEngine.getMaterializedStatus(shortName, version);
+        if (materializedStatus.isPresent()) {
+            return materializedStatus.get();
+        }
+        MicoApplication micoApplication = getMicoApplicationFromCache(shortName, version);
+        return applicationDeploymentStatusEngine.getApplicationDeploymentStatus(micoApplication);
     }
 
     //TODO: Move to Resource or keep in Broker? (see issue mico#632)
     public Iterable<Link> getLinksOfMicoApplication(MicoApplication application) {
         ArrayList<Link> links = new ArrayList<>();
         links.add(linkTo(methodOn(ApplicationResource.class).getApplicationByShortNameAndVersion(application.getShortName(), application.getVersion())).withSelfRel());
-        links.add(linkTo(methodOn(ApplicationResource.class).getAllApplications()).withRel("applications"));
+        links.add(linkTo(methodOn(ApplicationResource.class).getAllApplications(null, null, null, null, null)).withRel("applications").expand());
         return links;
     }
 
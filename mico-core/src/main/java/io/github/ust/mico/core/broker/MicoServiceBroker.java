@@ -9,18 +9,29 @@
 import io.github.ust.mico.core.exception.*;
 import io.github.ust.mico.core.model.MicoApplication;
 import io.github.ust.mico.core.model.MicoService;
+import io.github.ust.mico.core.model.MicoServiceCrawlingOrigin;
 import io.github.ust.mico.core.model.MicoServiceDependency;
 import io.github.ust.mico.core.model.MicoServiceDeploymentInfo;
 import io.github.ust.mico.core.persistence.MicoServiceDeploymentInfoRepository;
 import io.github.ust.mico.core.persistence.MicoServiceRepository;
+import io.github.ust.mico.core.service.MicoEntityCache;
 import io.github.ust.mico.core.service.MicoKubernetesClient;
+import io.github.ust.mico.core.util.CollectionUtils;
+import io.github.ust.mico.core.util.PageCursor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -42,10 +53,37 @@ public class MicoServiceBroker {
     @Autowired
     private KafkaFaasConnectorConfig kafkaFaasConnectorConfig;
 
+    @Autowired
+    private MicoEntityCache entityCache;
+
     public List<MicoService> getAllServicesAsList() {
         return serviceRepository.findAll(2);
     }
 
+    /**
+     * Returns a page of {@link MicoService MicoServices} without their relationships. The services are ordered by
+     * short name and version. All filters are optional, i.e. {@code null} disables the respective filter.
+     *
+     * @param shortNamePrefix the prefix of the short names
+     * @param owner           the owner of the services
+     * @param crawlingOrigin  the {@link MicoServiceCrawlingOrigin} of the services
+     * @param after           the cursor pointing to the last service of the previous page, {@code null} for the first
+     *                        page
+     * @param limit           the maximum number of services of the page
+     * @return the {@link Slice} of services, {@link Slice#hasNext()} indicates whether there are further pages
+     */
+    public Slice<MicoService> getServices(String shortNamePrefix, String owner, MicoServiceCrawlingOrigin crawlingOrigin,
+                                          PageCursor after, int limit) {
+        // Request one additional service to determine whether there is a next page
+        List<MicoService> services = serviceRepository.findPage(shortNamePrefix, owner,
+            crawlingOrigin != null ? crawlingOrigin.name() : null,
+            after != null ? after.getShortName() : null,
+            after != null ? after.getVersion() : null,
+            limit < Integer.MAX_VALUE ? limit + 1 : limit);
+        boolean hasNext = services.size() > limit;
+        return new SliceImpl<>(hasNext ? services.subList(0, limit) : services, Pageable.unpaged(), hasNext);
+    }
+
     public MicoService getServiceFromDatabase(String shortName, String version) throws MicoServiceNotFoundException {
         Optional<MicoService> serviceOptional = serviceRepository.findByShortNameAndVersion(shortName, version);
         if (!serviceOptional.isPresent()) {
@@ -54,6 +92,24 @@ public MicoService getServiceFromDatabase(String shortName, String version) thro
         return serviceOptional.get();
     }
 
+    /**
+     * Returns the {@link MicoService} from the {@link MicoEntityCache} or loads it from the database. The returned
+     * service is shared and must not be modified, use {@link #getServiceFromDatabase(String, String)} instead.
+     *
+     * @param shortName the short name of the {@link MicoService}
+     * @param version   the version of the {@link MicoService}
+     * @return the {@link MicoService}
+     * @throws MicoServiceNotFoundException if the {@link MicoService} does not exist
+     */
+    public MicoService getServiceFromCache(String shortName, String version) throws MicoServiceNotFoundException {
+        Optional<MicoService> serviceOptional = entityCache.get(MicoService.class, shortName, version, 2,
+            () -> serviceRepository.findByShortNameAndVersion(shortName, version));
+        if (!serviceOptional.isPresent()) {
+            throw new MicoServiceNotFoundException(shortName, version);
+        }
+        return serviceOptional.get();
+    }
+
     public MicoServiceDeploymentInfo getServiceInstanceFromDatabase(String shortName, String version, String instanceId) throws MicoServiceInstanceNotFoundException, MicoServiceInstanceDoesNotMatchShortNameAndVersionException {
         Optional<MicoServiceDeploymentInfo> serviceDeploymentInfoOptional = serviceDeploymentInfoRepository.findByInstanceId(instanceId);
         if (!serviceDeploymentInfoOptional.isPresent()) {
@@ -90,10 +146,10 @@ public List<MicoService> getAllVersionsOfServiceFromDatabase(String shortName) {
     public void deleteService(MicoService service) throws MicoServiceHasDependersException, MicoServiceIsDeployedException, MicoServiceIsUsedByMicoApplicationsException {
         throwConflictIfServiceIsDeployed(service);
         throwConflictIfServiceIsIncludedInApplications(service);
-        if (!getDependers(service).isEmpty()) {
-            throw new MicoServiceHasDependersException(service.getShortName(), service.getVersion());
-        }
+        throwConflictIfServiceHasDependers(service);
         serviceRepository.deleteServiceByShortNameAndVersion(service.getShortName(), service.getVersion());
+        // The custom query bypasses Neo4j-OGM, therefore the service is not invalidated automatically
+        entityCache.invalidateService(service.getShortName(), service.getVersion());
         log.debug("Deleted MicoService '{}' '{}'.", service.getShortName(), service.getVersion());
     }
 
@@ -136,31 +192,49 @@ private void throwConflictIfServiceIsIncludedInApplications(MicoService service)
         }
     }
 
-    //TODO: Same functionality as findDependers?
+    /**
+     * Checks if other services depend on a service. If yes the method throws a {@code MicoServiceHasDependersException}.
+     *
+     * @param service the {@link MicoService}
+     * @throws MicoServiceHasDependersException if the service has dependers
+     */
+    private void throwConflictIfServiceHasDependers(MicoService service) throws MicoServiceHasDependersException {
+        if (serviceRepository.hasDependers(service.getShortName(), service.getVersion())) {
+            log.info("MicoService '{}' in version '{}' has dependers.", service.getShortName(), service.getVersion());
+            throw new MicoServiceHasDependersException(service.getShortName(), service.getVersion());
+        }
+    }
+
+    /**
+     * Returns the services that depend directly on the given service.
+     *
+     * @param serviceToLookFor the {@link MicoService} (dependee)
+     * @return the list of {@link MicoService MicoServices} (dependers)
+     */
     public List<MicoService> getDependers(MicoService serviceToLookFor) {
-        List<MicoService> serviceList = serviceRepository.findAll(2);
-        log.debug("Got following services as list from the database: {}", serviceList);
-        List<MicoService> dependers = new ArrayList<>();
-
-        serviceList.forEach(service -> {
-            List<MicoServiceDependency> dependees = service.getDependencies();
-            if (dependees != null) {
-                dependees.forEach(dependee -> {
-                    if (dependee.getDependedService().equals(serviceToLookFor)) {
-                        dependers.add(dependee.getService());
-                    }
-                });
-            }
-        });
+        List<MicoService> dependers = findDependers(serviceToLookFor);
         log.debug("Found following dependers: {}", dependers);
         return dependers;
     }
 
-    //TODO: Same functionality as getDependers?
     public List<MicoService> findDependers(MicoService service) {
         return serviceRepository.findDependers(service.getShortName(), service.getVersion());
     }
 
+    /**
+     * Returns the services that depend directly or transitively on the given service.
+     *
+     * @param service  the {@link MicoService} (dependee)
+     * @param maxDepth the maximum length of the considered dependency paths, 1 results in the direct dependers
+     * @return the list of {@link MicoService MicoServices} (dependers)
+     */
+    public List<MicoService> findDependers(MicoService service, int maxDepth) {
+        if (maxDepth == 1) {
+            return findDependers(service);
+        }
+        return serviceRepository.findTransitiveDependers(service.getShortName(), service.getVersion(), maxDepth);
+    }
+
     public MicoService persistService(MicoService newService) throws MicoServiceAlreadyExistsException {
         Optional<MicoService> micoServiceOptional = serviceRepository.findByShortNameAndVersion(newService.getShortName(), newService.getVersion());
         if (micoServiceOptional.isPresent()) {
@@ -169,6 +243,31 @@ public MicoService persistService(MicoService newService) throws MicoServiceAlre
         return serviceRepository.save(newService);
     }
 
+    /**
+     * Persists all given services that do not exist yet. Services that already exist in the database or that occur
+     * more than once in the given list are skipped. The existence of all services is checked with a single query and
+     * the new services are saved with a single transaction.
+     *
+     * @param newServices the {@link MicoService MicoServices} to persist
+     * @return the services that were created
+     */
+    public List<MicoService> persistNewServices(List<MicoService> newServices) {
+        List<Map<String, String>> keys = newServices.stream()
+            .map(service -> CollectionUtils.mapOf("shortName", service.getShortName(), "version", service.getVersion()))
+            .collect(Collectors.toList());
+        Set<List<String>> existingKeys = serviceRepository.findAllByKeys(keys).stream()
+            .map(service -> Arrays.asList(service.getShortName(), service.getVersion()))
+            .collect(Collectors.toCollection(HashSet::new));
+        List<MicoService> servicesToCreate = newServices.stream()
+            .filter(service -> existingKeys.add(Arrays.asList(service.getShortName(), service.getVersion())))
+            .collect(Collectors.toList());
+        log.debug("Persist {} of {} service(s), the others already exist.", servicesToCreate.size(), newServices.size());
+        if (!servicesToCreate.isEmpty()) {
+            serviceRepository.saveAll(servicesToCreate);
+        }
+        return servicesToCreate;
+    }
+
     public List<MicoService> getDependeesByMicoService(MicoService service) {
         return serviceRepository.findDependees(service.getShortName(), service.getVersion());
     }
@@ -242,20 +341,28 @@ public MicoService promoteService(MicoService service, String newVersion) throws
         return persistService(service);
     }
 
-    //TODO: Create test
+    /**
+     * Returns the {@link MicoService MicoServices} of the dependency graph of the given {@link MicoService}, i.e. the
+     * service itself and all services it depends on directly or transitively. The graph is loaded with a single query,
+     * the edges of the graph are provided by the {@link MicoService#getDependencies() dependencies} of the returned
+     * services.
+     *
+     * @param micoServiceRoot the root {@link MicoService} of the dependency graph
+     * @return the list of {@link MicoService MicoServices} with their dependencies
+     */
+    public List<MicoService> getDependencyGraphServices(MicoService micoServiceRoot) {
+        return serviceRepository.findDependencyGraph(micoServiceRoot.getShortName(), micoServiceRoot.getVersion());
+    }
+
     //TODO: We should not use DTOs here, improve
-    public MicoServiceDependencyGraphResponseDTO getDependencyGraph(MicoService micoServiceRoot) throws MicoServiceNotFoundException {
-        List<MicoService> micoServices = serviceRepository.findDependeesIncludeDepender(micoServiceRoot.getShortName(),
-            micoServiceRoot.getVersion());
+    public MicoServiceDependencyGraphResponseDTO getDependencyGraph(MicoService micoServiceRoot) {
+        List<MicoService> micoServices = getDependencyGraphServices(micoServiceRoot);
 
         List<MicoServiceResponseDTO> micoServiceDTOS = micoServices.stream().map(MicoServiceResponseDTO::new).collect(Collectors.toList());
         MicoServiceDependencyGraphResponseDTO micoServiceDependencyGraph = new MicoServiceDependencyGraphResponseDTO().setMicoServices(micoServiceDTOS);
         ArrayList<MicoServiceDependencyGraphEdgeResponseDTO> micoServiceDependencyGraphEdgeList = new ArrayList<>();
         for (MicoService micoService : micoServices) {
-            //Request each mico service again from the db, because the dependencies are not included
-            //in the result of the custom query. TODO improve query to also include the dependencies (Depth parameter)
-            MicoService micoServiceFromDB = getServiceFromDatabase(micoService.getShortName(), micoService.getVersion());
-            micoServiceFromDB.getDependencies().forEach(micoServiceDependency -> {
+            micoService.getDependencies().forEach(micoServiceDependency -> {
                 MicoServiceDependencyGraphEdgeResponseDTO edge = new MicoServiceDependencyGraphEdgeResponseDTO(micoService, micoServiceDependency.getDependedService());
                 micoServiceDependencyGraphEdgeList.add(edge);
             });
@@ -273,7 +380,7 @@ public MicoServiceDependencyGraphResponseDTO getDependencyGraph(MicoService mico
      * @return the kubernetes YAML for the {@link MicoService}.
      */
     public String getServiceYamlByShortNameAndVersion(String shortName, String version) throws MicoServiceNotFoundException, JsonProcessingException {
-        return micoKubernetesClient.getYaml(getServiceFromDatabase(shortName, version));
+        return micoKubernetesClient.getYaml(getServiceFromCache(shortName, version));
     }
 
     /**
@@ -20,6 +20,7 @@
 package io.github.ust.mico.core.broker;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
@@ -43,14 +44,12 @@
 import io.github.ust.mico.core.model.MicoTopic;
 import io.github.ust.mico.core.model.MicoTopicRole;
 import io.github.ust.mico.core.model.OpenFaaSFunction;
-import io.github.ust.mico.core.persistence.KubernetesDeploymentInfoRepository;
-import io.github.ust.mico.core.persistence.MicoEnvironmentVariableRepository;
-import io.github.ust.mico.core.persistence.MicoInterfaceConnectionRepository;
-import io.github.ust.mico.core.persistence.MicoLabelRepository;
 import io.github.ust.mico.core.persistence.MicoServiceDeploymentInfoRepository;
 import io.github.ust.mico.core.persistence.MicoTopicRepository;
 import io.github.ust.mico.core.persistence.OpenFaaSFunctionRepository;
+import io.github.ust.mico.core.service.MicoEntityCache;
 import io.github.ust.mico.core.service.MicoKubernetesClient;
+import io.github.ust.mico.core.service.TanglingNodeCollector;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -68,9 +67,6 @@ public class MicoServiceDeploymentInfoBroker {
     @Autowired
     private MicoKubernetesClient micoKubernetesClient;
 
-    @Autowired
-    private MicoLabelRepository micoLabelRepository;
-
     @Autowired
     private MicoTopicRepository micoTopicRepository;
 
@@ -78,19 +74,16 @@ public class MicoServiceDeploymentInfoBroker {
     private OpenFaaSFunctionRepository openFaaSFunctionRepository;
 
     @Autowired
-    private MicoEnvironmentVariableRepository micoEnvironmentVariableRepository;
-
-    @Autowired
-    private KubernetesDeploymentInfoRepository kubernetesDeploymentInfoRepository;
+    private KafkaConfig kafkaConfig;
 
     @Autowired
-    private MicoInterfaceConnectionRepository micoInterfaceConnectionRepository;
+    private OpenFaaSConfig openFaaSConfig;
 
     @Autowired
-    private KafkaConfig kafkaConfig;
+    private MicoEntityCache entityCache;
 
     @Autowired
-    private OpenFaaSConfig openFaaSConfig;
+    private TanglingNodeCollector tanglingNodeCollector;
 
     /**
      * Returns the {@link MicoServiceDeploymentInfo} stored in the database.
@@ -116,6 +109,36 @@ public MicoServiceDeploymentInfo getMicoServiceDeploymentInformation(String appl
         return serviceDeploymentInfos.get(0);
     }
 
+    /**
+     * Returns the {@link MicoServiceDeploymentInfo} from the {@link MicoEntityCache} or loads it from the database. The
+     * returned deployment information is shared and must not be modified, use {@link
+     * #getMicoServiceDeploymentInformation(String, String, String)} instead.
+     *
+     * @param applicationShortName the short name of the {@link MicoApplication}
+     * @param applicationVersion   the version of the {@link MicoApplication}
+     * @param serviceShortName     the short name of the {@link MicoService}
+     * @return the {@link MicoServiceDeploymentInfo}
+     * @throws MicoServiceDeploymentInformationNotFoundException if there is no {@code MicoServiceDeploymentInfo} stored
+     *                                                           in the database
+     * @throws MicoApplicationNotFoundException                  if there is no {@code MicoApplication} with the
+     *                                                           specified short name and version
+     * @throws MicoApplicationDoesNotIncludeMicoServiceException if there is no service included in the specified {@code
+     *                                                           MicoApplication} with the particular short name
+     */
+    public MicoServiceDeploymentInfo getMicoServiceDeploymentInformationFromCache(String applicationShortName, String applicationVersion, String serviceShortName) throws MicoServiceDeploymentInformationNotFoundException, MicoApplicationNotFoundException, MicoApplicationDoesNotIncludeMicoServiceException {
+        MicoApplication micoApplication = applicationBroker.getMicoApplicationFromCache(applicationShortName, applicationVersion);
+        if (micoApplication.getServices().stream().noneMatch(service -> service.getShortName().equals(serviceShortName))) {
+            throw new MicoApplicationDoesNotIncludeMicoServiceException(applicationShortName, applicationVersion, serviceShortName);
+        }
+
+        List<MicoServiceDeploymentInfo> serviceDeploymentInfos = entityCache.getServiceDeploymentInfos(applicationShortName, applicationVersion, serviceShortName, 2,
+            () -> serviceDeploymentInfoRepository.findByApplicationAndService(applicationShortName, applicationVersion, serviceShortName));
+        if (serviceDeploymentInfos.isEmpty()) {
+            throw new MicoServiceDeploymentInformationNotFoundException(applicationShortName, applicationVersion, serviceShortName);
+        }
+        return serviceDeploymentInfos.get(0);
+    }
+
     /**
      * Retrieves the {@link MicoServiceDeploymentInfo} that is used for the deployment of the requested {@link
      * MicoService} as part of a {@link MicoApplication}. There must not be zero or more than one service deployment
@@ -177,19 +200,27 @@ public MicoServiceDeploymentInfo updateMicoServiceDeploymentInformation(String a
         MicoServiceDeploymentInfo storedServiceDeploymentInfo = getMicoServiceDeploymentInformation(applicationShortName, applicationVersion, serviceShortName);
 
         int oldReplicas = storedServiceDeploymentInfo.getReplicas();
-        MicoServiceDeploymentInfo updatedServiceDeploymentInfo = saveValuesToDatabase(serviceDeploymentInfoDTO, storedServiceDeploymentInfo);
-        cleanUpTanglingNodes();
+        boolean hadAutoscaling = storedServiceDeploymentInfo.getAutoscaling() != null;
+        MicoServiceDeploymentInfo updatedServiceDeploymentInfo = tanglingNodeCollector.executeAndDeleteDetachedNodes(
+            Collections.singletonList(storedServiceDeploymentInfo.getId()),
+            () -> saveValuesToDatabase(serviceDeploymentInfoDTO, storedServiceDeploymentInfo));
 
-        // FIXME: Currently we only supported scale in / scale out.
-        // 		  If the MICO service is already deployed, we only update the replicas.
+        // FIXME: Currently we only supported scale in / scale out and autoscaling.
+        // 		  If the MICO service is already deployed, we only update the replicas or the autoscaler.
         // 	      The other properties are ignored!
         if (micoKubernetesClient.isApplicationDeployed(micoApplication)) {
             MicoService micoService = updatedServiceDeploymentInfo.getService();
             log.info("MicoApplication '{}' {}' is already deployed. Update the deployment of the included MicoService '{} '{}'.",
                 micoApplication.getShortName(), micoApplication.getVersion(), micoService.getShortName(), micoService.getVersion());
-            // MICO service is already deployed. Update the replicas.
-            int requestedReplicas = updatedServiceDeploymentInfo.getReplicas();
-            scaleDeployment(requestedReplicas, oldReplicas, updatedServiceDeploymentInfo);
+            if (updatedServiceDeploymentInfo.getAutoscaling() != null || hadAutoscaling) {
+                // Create, update or delete the autoscaler, it takes over the replicas of the deployment.
+                micoKubernetesClient.createOrUpdateHorizontalPodAutoscaler(updatedServiceDeploymentInfo);
+            }
+            if (updatedServiceDeploymentInfo.getAutoscaling() == null) {
+                // MICO service is already deployed. Update the replicas.
+                int requestedReplicas = updatedServiceDeploymentInfo.getReplicas();
+                scaleDeployment(requestedReplicas, oldReplicas, updatedServiceDeploymentInfo);
+            }
         }
 
         return updatedServiceDeploymentInfo;
@@ -255,23 +286,6 @@ private MicoServiceDeploymentInfo saveValuesToDatabase(MicoServiceDeploymentInfo
         return serviceDeploymentInfoRepository.save(updatedDeploymentInfo);
     }
 
-    /**
-     * Cleans up tangling nodes related to a {@link MicoServiceDeploymentInfo} in the database.
-     *
-     * In case addition properties (stored as separate node entity) such as labels, environment variables have been
-     * removed from a service deployment information, the standard {@code save()} function of the service deployment
-     * information repository will not delete those "tangling" (without relationships) labels (nodes), hence the manual
-     * clean up.
-     */
-    public void cleanUpTanglingNodes() {
-        micoLabelRepository.cleanUp();
-        micoTopicRepository.cleanUp();
-        micoEnvironmentVariableRepository.cleanUp();
-        kubernetesDeploymentInfoRepository.cleanUp();
-        micoInterfaceConnectionRepository.cleanUp();
-        openFaaSFunctionRepository.cleanUp();
-    }
-
     /**
      * Validates the topics. Throws an error if there are multiple topics with the same role.
      *
@@ -6,6 +6,7 @@
 import io.github.ust.mico.core.model.MicoService;
 import io.github.ust.mico.core.model.MicoServiceInterface;
 import io.github.ust.mico.core.persistence.MicoServiceInterfaceRepository;
+import io.github.ust.mico.core.service.MicoEntityCache;
 import io.github.ust.mico.core.service.MicoKubernetesClient;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,6 +28,9 @@ public class MicoServiceInterfaceBroker {
     @Autowired
     private MicoKubernetesClient micoKubernetesClient;
 
+    @Autowired
+    private MicoEntityCache entityCache;
+
     public List<MicoServiceInterface> getInterfacesOfService(String shortName, String version) {
         return serviceInterfaceRepository.findByService(shortName, version);
     }
@@ -47,6 +51,8 @@ public void deleteMicoServiceInterface(MicoService micoService, String serviceIn
             throw new MicoServiceIsDeployedException(micoService.getShortName(), micoService.getVersion());
         }
         serviceInterfaceRepository.deleteByServiceAndName(micoService.getShortName(), micoService.getVersion(), serviceInterfaceName);
+        // The custom query bypasses Neo4j-OGM, therefore the service is not invalidated automatically
+        entityCache.invalidateService(micoService.getShortName(), micoService.getVersion());
     }
 
     public MicoServiceInterface persistMicoServiceInterface(MicoService micoService, MicoServiceInterface micoServiceInterface) throws MicoServiceInterfaceAlreadyExistsException, MicoServiceIsDeployedException {
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.github.ust.mico.core.configuration;
+
+import javax.validation.constraints.Min;
+
+import io.github.ust.mico.core.service.BackgroundJobRecovery;
+import io.github.ust.mico.core.service.MicoInstanceLease;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration of the recovery of background jobs ({@link BackgroundJobRecovery}) and of the lease of this MICO
+ * instance ({@link MicoInstanceLease}).
+ */
+@Component
+@Setter
+@Getter
+@ConfigurationProperties(prefix = "background-job-recovery")
+public class BackgroundJobRecoveryConfig {
+
+    /**
+     * Boolean value to set whether this MICO instance holds a lease on its background jobs and recovers the background
+     * jobs of stopped MICO instances.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The duration in seconds of the lease of a MICO instance. The lease is renewed three times per duration. If it
+     * expires, the pending and running background jobs of the MICO instance are recovered by another MICO instance.
+     */
+    @Min(value = 3, message = "must be at least 3")
+    private int leaseDuration = 30;
+
+    /**
+     * The interval in seconds in which the background jobs of stopped MICO instances are recovered.
+     */
+    @Min(value = 1, message = "must be at least 1")
+    private int recoveryInterval = 60;
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.github.ust.mico.core.configuration;
+
+import javax.validation.constraints.Min;
+
+import io.github.ust.mico.core.util.RestTemplates;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration of the HTTP clients used by the {@link RestTemplates}. Each destination (Prometheus, GitHub and the
+ * OpenFaaS gateway) has its own connection pool, so that a slow destination cannot exhaust the connections of the
+ * others. All other requests use the general pool.
+ */
+@Component
+@Setter
+@Getter
+@ConfigurationProperties(prefix = "http-client")
+public class HttpClientConfig {
+
+    /**
+     * The connection pool used by the primary {@code RestTemplate}.
+     */
+    private Pool general = new Pool();
+
+    /**
+     * The connection pool used for Prometheus queries.
+     */
+    private Pool prometheus = new Pool().setReadTimeout(5000);
+
+    /**
+     * The connection pool used for requests to the GitHub API.
+     */
+    private Pool github = new Pool();
+
+    /**
+     * The connection pool used for requests to the OpenFaaS gateway.
+     */
+    private Pool openfaas = new Pool();
+
+    @Getter
+    @Setter
+    @Accessors(chain = true)
+    public static class Pool {
+
+        /**
+         * The timeout in milliseconds for establishing a connection. Defaults to 5 seconds.
+         */
+        @Min(value = 1, message = "must be at least 1 millisecond")
+        private int connectTimeout = 5000;
+
+        /**
+         * The timeout in milliseconds for reading from a connection. Defaults to 30 seconds.
+         */
+        @Min(value = 1, message = "must be at least 1 millisecond")
+        private int readTimeout = 30000;
+
+        /**
+         * The maximum number of idle connections that are kept alive. Defaults to 5.
+         */
+        @Min(value = 0, message = "must be at least 0")
+        private int maxIdleConnections = 5;
+
+        /**
+         * The time in seconds an idle connection is kept alive. Defaults to 5 minutes.
+         */
+        @Min(value = 1, message = "must be at least 1 second")
+        private int keepAliveDuration = 300;
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.github.ust.mico.core.configuration;
+
+import javax.validation.constraints.Min;
+
+import io.github.ust.mico.core.service.MicoBulkImportService;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration of the bulk import of services and applications ({@link MicoBulkImportService}).
+ */
+@Component
+@Setter
+@Getter
+@ConfigurationProperties(prefix = "bulk-import")
+public class MicoBulkImportConfig {
+
+    /**
+     * The maximum number of documents that are validated and written to the database together. Defaults to 500.
+     */
+    @Min(value = 1, message = "must be at least 1")
+    private int batchSize = 500;
+}
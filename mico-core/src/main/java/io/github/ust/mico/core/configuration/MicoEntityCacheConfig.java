@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.github.ust.mico.core.configuration;
+
+import javax.validation.constraints.Min;
+
+import io.github.ust.mico.core.service.MicoEntityCache;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration of the cache for MicoServices and MicoApplications loaded from the database ({@link
+ * MicoEntityCache}).
+ */
+@Component
+@Setter
+@Getter
+@ConfigurationProperties(prefix = "entity-cache")
+public class MicoEntityCacheConfig {
+
+    /**
+     * Boolean value to set whether entities are cached. If disabled, every lookup queries the database.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The maximum number of cached lookups. Defaults to 1000.
+     */
+    @Min(value = 1, message = "must be at least 1")
+    private long maximumSize = 1000;
+
+    /**
+     * The time in seconds after which a cached lookup expires. It bounds the staleness in case of changes that are not
+     * made by this instance of MICO. Defaults to 60 seconds.
+     */
+    @Min(value = 1, message = "must be at least 1")
+    private long timeToLive = 60;
+}
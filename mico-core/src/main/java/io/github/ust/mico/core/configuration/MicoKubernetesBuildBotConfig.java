@@ -71,6 +71,28 @@ public class MicoKubernetesBuildBotConfig {
     @Min(value = 30, message = "must be at least set to 30 seconds")
     private int buildTimeout = 600;
 
+    /**
+     * The maximum number of image builds that are executed concurrently. Defaults to 3.
+     */
+    @NotNull
+    @Min(value = 1, message = "must be at least 1")
+    private int maxConcurrentBuilds = 3;
+
+    /**
+     * The maximum number of image builds that are waiting for execution. Builds exceeding this limit are rejected.
+     * Defaults to 100.
+     */
+    @NotNull
+    @Min(value = 1, message = "must be at least 1")
+    private int buildQueueCapacity = 100;
+
+    /**
+     * Boolean value to set whether the results of image builds are cached. If enabled, an image is not built again if
+     * an image was already built from the same commit and Dockerfile.
+     */
+    @NotNull
+    private boolean buildCacheEnabled = true;
+
     /**
      * Boolean value to set whether an undeployment of a MicoApplication should also clean up all build resources
      * associated with the MicoServices included by the MicoApplication.
@@ -24,6 +24,7 @@
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotBlank;
 
 /**
@@ -49,4 +50,39 @@ public class MicoKubernetesConfig {
     @NotBlank
     private String namespaceOpenFaasWorkspace;
 
+    /**
+     * Boolean value to set whether the Kubernetes resources of a MICO service instance are created as soon as its
+     * image is built (pipelined deployment). Otherwise the Kubernetes resources of an application are created after
+     * the images of all its MICO services are built.
+     */
+    private boolean pipelinedDeployment = false;
+
+    /**
+     * The maximum number of Kubernetes API operations (e.g. the creation of the resources of a MICO service instance)
+     * that are executed concurrently during a deployment. Defaults to 4.
+     */
+    @Min(value = 1, message = "must be at least 1")
+    private int operationParallelism = 4;
+
+    /**
+     * The timeout in seconds after which a single Kubernetes API operation of a deployment is aborted. Defaults to 60
+     * seconds.
+     */
+    @Min(value = 1, message = "must be at least 1 second")
+    private int operationTimeout = 60;
+
+    /**
+     * Boolean value to set whether the Deployments, Services and Pods in the MICO workspace are kept in an in-memory
+     * cache that is maintained by shared informers. If enabled, reads of these resources are served from memory
+     * instead of querying the Kubernetes API server.
+     */
+    private boolean resourceCacheEnabled = false;
+
+    /**
+     * The period in seconds after which the informers of the resource cache resync their state. Defaults to 5 minutes
+     * (300 seconds).
+     */
+    @Min(value = 1, message = "must be at least 1 second")
+    private int resourceCacheResyncPeriod = 300;
+
 }
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.github.ust.mico.core.configuration;
+
+import javax.validation.constraints.Min;
+
+import io.github.ust.mico.core.service.MicoStatusEventPublisher;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration of the server-sent events of job and deployment status changes ({@link MicoStatusEventPublisher}).
+ */
+@Component
+@Setter
+@Getter
+@ConfigurationProperties(prefix = "status-events")
+public class MicoStatusEventsConfig {
+
+    /**
+     * The time in seconds after which an event stream is completed by the server. Clients are expected to reconnect
+     * afterwards. Defaults to 30 minutes.
+     */
+    @Min(value = 1, message = "must be at least 1")
+    private int emitterTimeout = 1800;
+
+    /**
+     * The interval in seconds in which a comment is sent on every event stream, so that proxies do not close them and
+     * disconnected clients are detected. Defaults to 15 seconds.
+     */
+    @Min(value = 1, message = "must be at least 1")
+    private int heartbeatInterval = 15;
+
+    /**
+     * The number of threads that send the events to the clients. A client that does not read its event stream only
+     * blocks one of these threads until the send timeout is detected. Defaults to 4.
+     */
+    @Min(value = 1, message = "must be at least 1")
+    private int senderThreads = 4;
+
+    /**
+     * The maximum number of events that are queued for a single client. A client whose queue is full is
+     * unsubscribed. Defaults to 100.
+     */
+    @Min(value = 1, message = "must be at least 1")
+    private int eventQueueCapacity = 100;
+
+    /**
+     * The time in seconds after which a client is unsubscribed if sending a single event does not finish. It is
+     * checked together with the heartbeat. Defaults to 10 seconds.
+     */
+    @Min(value = 1, message = "must be at least 1")
+    private int sendTimeout = 10;
+}
@@ -24,6 +24,7 @@
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotBlank;
 
 @Component
@@ -37,4 +38,18 @@ public class PrometheusConfig {
      */
     @NotBlank
     private String uri;
+
+    /**
+     * The time budget in milliseconds for all Prometheus queries of a single status request. Metrics that are not
+     * retrieved within this time are reported as 0. Defaults to 5 seconds.
+     */
+    @Min(value = 1, message = "must be at least 1 millisecond")
+    private int queryTimeout = 5000;
+
+    /**
+     * The maximum number of pods whose metrics are requested with a single Prometheus query. Pods exceeding this limit
+     * are requested with additional queries. Defaults to 100.
+     */
+    @Min(value = 1, message = "must be at least 1")
+    private int maxPodsPerQuery = 100;
 }
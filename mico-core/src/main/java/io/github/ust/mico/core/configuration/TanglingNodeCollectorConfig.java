@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.github.ust.mico.core.configuration;
+
+import javax.validation.constraints.Min;
+
+import io.github.ust.mico.core.service.TanglingNodeCollector;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration of the clean up of tangling nodes ({@link TanglingNodeCollector}).
+ */
+@Component
+@Setter
+@Getter
+@ConfigurationProperties(prefix = "tangling-node-collector")
+public class TanglingNodeCollectorConfig {
+
+    /**
+     * Boolean value to set whether all tangling nodes are periodically cleaned up in the background. Nodes that are
+     * detached by MICO are deleted immediately anyway, so the background collection only catches stragglers.
+     */
+    private boolean backgroundCollectionEnabled = true;
+
+    /**
+     * The interval in seconds in which all tangling nodes are cleaned up in the background. Defaults to one hour.
+     */
+    @Min(value = 1, message = "must be at least 1")
+    private int backgroundCollectionInterval = 3600;
+}
@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.github.ust.mico.core.dto.request;
+
+import javax.validation.constraints.AssertTrue;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.Pattern;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.annotation.Nulls;
+
+import io.github.ust.mico.core.configuration.extension.CustomOpenApiExtentionsPlugin;
+import io.github.ust.mico.core.model.MicoAutoscalingPolicy;
+import io.swagger.annotations.ApiModelProperty;
+import io.swagger.annotations.Extension;
+import io.swagger.annotations.ExtensionProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+/**
+ * DTO for a {@link MicoAutoscalingPolicy} intended to use with requests only.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(chain = true)
+public class MicoAutoscalingPolicyRequestDTO {
+
+    /**
+     * The lower limit for the number of replicas. Defaults to 1.
+     * {@code null} is ignored.
+     */
+    @ApiModelProperty(extensions = {@Extension(
+        name = CustomOpenApiExtentionsPlugin.X_MICO_CUSTOM_EXTENSION,
+        properties = {
+            @ExtensionProperty(name = "title", value = "Minimum Replicas"),
+            @ExtensionProperty(name = "minimum", value = "1"),
+            @ExtensionProperty(name = "default", value = "1"),
+            @ExtensionProperty(name = "x-order", value = "10"),
+            @ExtensionProperty(name = "description", value = "The lower limit for the number of replicas. " +
+                "Defaults to 1.")
+        }
+    )})
+    @Min(value = 1, message = "must be at least one replica")
+    @JsonSetter(nulls = Nulls.SKIP)
+    private int minReplicas = 1;
+
+    /**
+     * The upper limit for the number of replicas. Must not be less than the minimum replicas.
+     */
+    @ApiModelProperty(required = true, extensions = {@Extension(
+        name = CustomOpenApiExtentionsPlugin.X_MICO_CUSTOM_EXTENSION,
+        properties = {
+            @ExtensionProperty(name = "title", value = "Maximum Replicas"),
+            @ExtensionProperty(name = "minimum", value = "1"),
+            @ExtensionProperty(name = "x-order", value = "20"),
+            @ExtensionProperty(name = "description", value = "The upper limit for the number of replicas. " +
+                "Must not be less than the minimum replicas.")
+        }
+    )})
+    @Min(value = 1, message = "must be at least one replica")
+    private int maxReplicas;
+
+    /**
+     * The target average CPU utilization of the pods in percent of the requested CPU.
+     */
+    @ApiModelProperty(extensions = {@Extension(
+        name = CustomOpenApiExtentionsPlugin.X_MICO_CUSTOM_EXTENSION,
+        properties = {
+            @ExtensionProperty(name = "title", value = "Target CPU Utilization"),
+            @ExtensionProperty(name = "minimum", value = "1"),
+            @ExtensionProperty(name = "maximum", value = "100"),
+            @ExtensionProperty(name = "x-order", value = "30"),
+            @ExtensionProperty(name = "description", value = "The target average CPU utilization of the pods " +
+                "in percent of the requested CPU.")
+        }
+    )})
+    @Min(value = 1, message = "must be at least 1")
+    @Max(value = 100, message = "must be at most 100")
+    private Integer targetCpuUtilization;
+
+    /**
+     * The target average memory utilization of the pods in percent of the requested memory.
+     */
+    @ApiModelProperty(extensions = {@Extension(
+        name = CustomOpenApiExtentionsPlugin.X_MICO_CUSTOM_EXTENSION,
+        properties = {
+            @ExtensionProperty(name = "title", value = "Target Memory Utilization"),
+            @ExtensionProperty(name = "minimum", value = "1"),
+            @ExtensionProperty(name = "maximum", value = "100"),
+            @ExtensionProperty(name = "x-order", value = "40"),
+            @ExtensionProperty(name = "description", value = "The target average memory utilization of the pods " +
+                "in percent of the requested memory.")
+        }
+    )})
+    @Min(value = 1, message = "must be at least 1")
+    @Max(value = 100, message = "must be at most 100")
+    private Integer targetMemoryUtilization;
+
+    /**
+     * The name of a custom pod metric, e.g. a Prometheus metric served by the custom metrics API.
+     */
+    @ApiModelProperty(extensions = {@Extension(
+        name = CustomOpenApiExtentionsPlugin.X_MICO_CUSTOM_EXTENSION,
+        properties = {
+            @ExtensionProperty(name = "title", value = "Custom Metric Name"),
+            @ExtensionProperty(name = "x-order", value = "50"),
+            @ExtensionProperty(name = "description", value = "The name of a custom pod metric, " +
+                "e.g. a Prometheus metric served by the custom metrics API.")
+        }
+    )})
+    private String customMetricName;
+
+    /**
+     * The target average value of the custom metric per pod as a Kubernetes quantity.
+     */
+    @ApiModelProperty(extensions = {@Extension(
+        name = CustomOpenApiExtentionsPlugin.X_MICO_CUSTOM_EXTENSION,
+        properties = {
+            @ExtensionProperty(name = "title", value = "Custom Metric Target Average Value"),
+            @ExtensionProperty(name = "pattern", value = "^[0-9]+(\\.[0-9]+)?(m|k|M|G)?$"),
+            @ExtensionProperty(name = "x-order", value = "60"),
+            @ExtensionProperty(name = "description", value = "The target average value of the custom metric " +
+                "per pod as a Kubernetes quantity, e.g. 100 or 500m.")
+        }
+    )})
+    @Pattern(regexp = "^[0-9]+(\\.[0-9]+)?(m|k|M|G)?$", message = "must be a Kubernetes quantity, e.g. 100 or 500m")
+    private String customMetricTargetAverageValue;
+
+
+    // -------------------
+    // -> Constructors ---
+    // -------------------
+
+    /**
+     * Creates an instance of {@code MicoAutoscalingPolicyRequestDTO} based on a
+     * {@code MicoAutoscalingPolicy}.
+     *
+     * @param autoscalingPolicy the {@link MicoAutoscalingPolicy}.
+     */
+    public MicoAutoscalingPolicyRequestDTO(MicoAutoscalingPolicy autoscalingPolicy) {
+        this.minReplicas = autoscalingPolicy.getMinReplicas();
+        this.maxReplicas = autoscalingPolicy.getMaxReplicas();
+        this.targetCpuUtilization = autoscalingPolicy.getTargetCpuUtilization();
+        this.targetMemoryUtilization = autoscalingPolicy.getTargetMemoryUtilization();
+        this.customMetricName = autoscalingPolicy.getCustomMetricName();
+        this.customMetricTargetAverageValue = autoscalingPolicy.getCustomMetricTargetAverageValue();
+    }
+
+
+    // -----------------------------
+    // -> Cross-field validation ---
+    // -----------------------------
+
+    @JsonIgnore
+    @ApiModelProperty(hidden = true)
+    @AssertTrue(message = "maximum replicas must not be less than the minimum replicas")
+    public boolean isReplicaRangeValid() {
+        return maxReplicas >= minReplicas;
+    }
+
+    @JsonIgnore
+    @ApiModelProperty(hidden = true)
+    @AssertTrue(message = "at least one target (CPU utilization, memory utilization or custom metric) is required")
+    public boolean isTargetDefined() {
+        return targetCpuUtilization != null || targetMemoryUtilization != null || customMetricName != null;
+    }
+
+    @JsonIgnore
+    @ApiModelProperty(hidden = true)
+    @AssertTrue(message = "custom metric name and target average value must be set together")
+    public boolean isCustomMetricComplete() {
+        return (customMetricName == null) == (customMetricTargetAverageValue == null);
+    }
+
+}
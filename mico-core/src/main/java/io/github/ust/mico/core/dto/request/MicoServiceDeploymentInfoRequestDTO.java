@@ -68,6 +68,25 @@ public class MicoServiceDeploymentInfoRequestDTO {
     @JsonSetter(nulls = Nulls.SKIP)
     private int replicas = 1;
 
+    /**
+     * The policy for the horizontal autoscaling of this instance.
+     * If it is set, the number of replicas is adjusted between the minimum
+     * and maximum replicas based on the metric targets.
+     * {@code null} disables the autoscaling.
+     */
+    @ApiModelProperty(extensions = {@Extension(
+        name = CustomOpenApiExtentionsPlugin.X_MICO_CUSTOM_EXTENSION,
+        properties = {
+            @ExtensionProperty(name = "title", value = "Autoscaling"),
+            @ExtensionProperty(name = "x-order", value = "35"),
+            @ExtensionProperty(name = "description", value = "The policy for the horizontal autoscaling of this instance. " +
+                "If it is set, the number of replicas is adjusted between the minimum and maximum replicas " +
+                "based on the metric targets.\n Null disables the autoscaling.")
+        }
+    )})
+    @Valid
+    private MicoAutoscalingPolicyRequestDTO autoscaling;
+
     /**
      * Those labels are key-value pairs that are attached to the deployment
      * of this {@link MicoService}. Intended to be used to specify identifying attributes
@@ -189,6 +208,9 @@ public class MicoServiceDeploymentInfoRequestDTO {
      */
     public MicoServiceDeploymentInfoRequestDTO(MicoServiceDeploymentInfo serviceDeploymentInfo) {
         this.replicas = serviceDeploymentInfo.getReplicas();
+        if (serviceDeploymentInfo.getAutoscaling() != null) {
+            this.autoscaling = new MicoAutoscalingPolicyRequestDTO(serviceDeploymentInfo.getAutoscaling());
+        }
         this.labels = serviceDeploymentInfo.getLabels().stream().map(MicoLabelRequestDTO::new).collect(Collectors.toList());
         this.environmentVariables = serviceDeploymentInfo.getEnvironmentVariables().stream().map(MicoEnvironmentVariableRequestDTO::new).collect(Collectors.toList());
         this.interfaceConnections = serviceDeploymentInfo.getInterfaceConnections().stream().map(MicoInterfaceConnectionRequestDTO::new).collect(Collectors.toList());
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.github.ust.mico.core.dto.response;
+
+import io.github.ust.mico.core.dto.request.MicoAutoscalingPolicyRequestDTO;
+import io.github.ust.mico.core.model.MicoAutoscalingPolicy;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+/**
+ * DTO for a {@link MicoAutoscalingPolicy} intended to use with responses only.
+ */
+@Data
+@ToString(callSuper = true)
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@Accessors(chain = true)
+public class MicoAutoscalingPolicyResponseDTO extends MicoAutoscalingPolicyRequestDTO {
+
+    // -------------------
+    // -> Constructors ---
+    // -------------------
+
+    /**
+     * Creates an instance of {@code MicoAutoscalingPolicyResponseDTO} based on a
+     * {@code MicoAutoscalingPolicy}.
+     *
+     * @param autoscalingPolicy the {@link MicoAutoscalingPolicy}.
+     */
+    public MicoAutoscalingPolicyResponseDTO(MicoAutoscalingPolicy autoscalingPolicy) {
+        super(autoscalingPolicy);
+    }
+
+}
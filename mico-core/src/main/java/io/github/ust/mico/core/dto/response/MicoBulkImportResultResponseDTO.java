@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.github.ust.mico.core.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.github.ust.mico.core.configuration.extension.CustomOpenApiExtentionsPlugin;
+import io.swagger.annotations.ApiModelProperty;
+import io.swagger.annotations.Extension;
+import io.swagger.annotations.ExtensionProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+/**
+ * DTO for the result of a single document of a bulk import intended to use with responses only.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(chain = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MicoBulkImportResultResponseDTO {
+
+    /**
+     * The position of the document within the imported stream, starting at 0.
+     */
+    @ApiModelProperty(extensions = {
+        @Extension(name = CustomOpenApiExtentionsPlugin.X_MICO_CUSTOM_EXTENSION, properties = {
+            @ExtensionProperty(name = "title", value = "Index"),
+            @ExtensionProperty(name = "x-order", value = "10"),
+            @ExtensionProperty(name = "readOnly", value = "true"),
+            @ExtensionProperty(name = "description", value = "The position of the document within the imported stream.")
+        })
+    })
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private int index;
+
+    /**
+     * The short name of the imported entity, if the document contains one.
+     */
+    @ApiModelProperty(extensions = {
+        @Extension(name = CustomOpenApiExtentionsPlugin.X_MICO_CUSTOM_EXTENSION, properties = {
+            @ExtensionProperty(name = "title", value = "Short Name"),
+            @ExtensionProperty(name = "x-order", value = "20"),
+            @ExtensionProperty(name = "readOnly", value = "true"),
+            @ExtensionProperty(name = "description", value = "The short name of the imported entity.")
+        })
+    })
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String shortName;
+
+    /**
+     * The version of the imported entity, if the document contains one.
+     */
+    @ApiModelProperty(extensions = {
+        @Extension(name = CustomOpenApiExtentionsPlugin.X_MICO_CUSTOM_EXTENSION, properties = {
+            @ExtensionProperty(name = "title", value = "Version"),
+            @ExtensionProperty(name = "x-order", value = "30"),
+            @ExtensionProperty(name = "readOnly", value = "true"),
+            @ExtensionProperty(name = "description", value = "The version of the imported entity.")
+        })
+    })
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String version;
+
+    /**
+     * The {@link Status} of the import of the document.
+     */
+    @ApiModelProperty(extensions = {
+        @Extension(name = CustomOpenApiExtentionsPlugin.X_MICO_CUSTOM_EXTENSION, properties = {
+            @ExtensionProperty(name = "title", value = "Status"),
+            @ExtensionProperty(name = "x-order", value = "40"),
+            @ExtensionProperty(name = "readOnly", value = "true"),
+            @ExtensionProperty(name = "description", value = "The status of the import of the document.")
+        })
+    })
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Status status;
+
+    /**
+     * A message explaining why the document was not imported.
+     */
+    @ApiModelProperty(extensions = {
+        @Extension(name = CustomOpenApiExtentionsPlugin.X_MICO_CUSTOM_EXTENSION, properties = {
+            @ExtensionProperty(name = "title", value = "Message"),
+            @ExtensionProperty(name = "x-order", value = "50"),
+            @ExtensionProperty(name = "readOnly", value = "true"),
+            @ExtensionProperty(name = "description", value = "A message explaining why the document was not imported.")
+        })
+    })
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String message;
+
+    /**
+     * Enumeration for the results of the import of a single document.
+     */
+    public enum Status {
+        /**
+         * The entity was created.
+         */
+        CREATED,
+        /**
+         * An entity with the same short name and version already exists. It was not changed.
+         */
+        ALREADY_EXISTS,
+        /**
+         * The document could not be parsed or is not valid.
+         */
+        INVALID,
+        /**
+         * The entity could not be written to the database.
+         */
+        FAILED
+    }
+}
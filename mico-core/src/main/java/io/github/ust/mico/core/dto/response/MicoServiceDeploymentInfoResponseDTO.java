@@ -109,6 +109,11 @@ public MicoServiceDeploymentInfoResponseDTO(MicoServiceDeploymentInfo serviceDep
 
         setTopics(serviceDeploymentInfo.getTopics().stream().map(MicoTopicResponseDTO::new).collect(Collectors.toList()));
 
+        // Autoscaling policy maybe null if autoscaling is disabled
+        if (serviceDeploymentInfo.getAutoscaling() != null) {
+            setAutoscaling(new MicoAutoscalingPolicyResponseDTO(serviceDeploymentInfo.getAutoscaling()));
+        }
+
         // Kubernetes deployment info maybe null if not available
         if (serviceDeploymentInfo.getKubernetesDeploymentInfo() != null) {
             setKubernetesDeploymentInfo(new KubernetesDeploymentInfoResponseDTO(serviceDeploymentInfo.getKubernetesDeploymentInfo()));
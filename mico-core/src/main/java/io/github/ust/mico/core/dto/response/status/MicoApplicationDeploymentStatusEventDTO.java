@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.github.ust.mico.core.dto.response.status;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import io.github.ust.mico.core.configuration.extension.CustomOpenApiExtentionsPlugin;
+import io.github.ust.mico.core.model.MicoApplication;
+import io.github.ust.mico.core.model.MicoApplicationDeploymentStatus;
+import io.swagger.annotations.ApiModelProperty;
+import io.swagger.annotations.Extension;
+import io.swagger.annotations.ExtensionProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+/**
+ * DTO for a change of the {@link MicoApplicationDeploymentStatus} of a {@link MicoApplication} intended to use with
+ * server-sent events only. In contrast to the {@link MicoApplicationDeploymentStatusResponseDTO}, it includes the
+ * short name and the version of the application, since an event stream may contain the changes of all applications.
+ */
+@Data
+@ToString(callSuper = true)
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(chain = true)
+public class MicoApplicationDeploymentStatusEventDTO extends MicoApplicationDeploymentStatusResponseDTO {
+
+    // ----------------------
+    // -> Required Fields ---
+    // ----------------------
+
+    /**
+     * The short name of the {@link MicoApplication}.
+     */
+    @ApiModelProperty(extensions = {@Extension(
+        name = CustomOpenApiExtentionsPlugin.X_MICO_CUSTOM_EXTENSION,
+        properties = {
+            @ExtensionProperty(name = "title", value = "Application Short Name"),
+            @ExtensionProperty(name = "readOnly", value = "true"),
+            @ExtensionProperty(name = "x-order", value = "1"),
+            @ExtensionProperty(name = "description", value = "The short name of the application.")
+        }
+    )})
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String applicationShortName;
+
+    /**
+     * The version of the {@link MicoApplication}.
+     */
+    @ApiModelProperty(extensions = {@Extension(
+        name = CustomOpenApiExtentionsPlugin.X_MICO_CUSTOM_EXTENSION,
+        properties = {
+            @ExtensionProperty(name = "title", value = "Application Version"),
+            @ExtensionProperty(name = "readOnly", value = "true"),
+            @ExtensionProperty(name = "x-order", value = "2"),
+            @ExtensionProperty(name = "description", value = "The version of the application.")
+        }
+    )})
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String applicationVersion;
+
+
+    // -------------------
+    // -> Constructors ---
+    // -------------------
+
+    /**
+     * Creates an instance of {@code MicoApplicationDeploymentStatusEventDTO} based on a {@code MicoApplication}
+     * and its {@code MicoApplicationDeploymentStatus}.
+     *
+     * @param applicationShortName        the short name of the {@link MicoApplication}.
+     * @param applicationVersion          the version of the {@link MicoApplication}.
+     * @param applicationDeploymentStatus the {@link MicoApplicationDeploymentStatus applicationDeploymentStatus}.
+     */
+    public MicoApplicationDeploymentStatusEventDTO(String applicationShortName, String applicationVersion,
+                                                   MicoApplicationDeploymentStatus applicationDeploymentStatus) {
+        super(applicationDeploymentStatus);
+        this.applicationShortName = applicationShortName;
+        this.applicationVersion = applicationVersion;
+    }
+
+}
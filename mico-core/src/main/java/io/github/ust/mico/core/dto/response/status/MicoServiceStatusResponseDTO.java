@@ -124,6 +124,20 @@ public class MicoServiceStatusResponseDTO {
     )})
     private int availableReplicas;
 
+    /**
+     * Status of the autoscaler of the corresponding MicoService instance, {@code null} if autoscaling is disabled.
+     */
+    @ApiModelProperty(extensions = {@Extension(
+        name = CustomOpenApiExtentionsPlugin.X_MICO_CUSTOM_EXTENSION,
+        properties = {
+            @ExtensionProperty(name = "title", value = "Autoscaling"),
+            @ExtensionProperty(name = "x-order", value = "55"),
+            @ExtensionProperty(name = "description", value = "Status of the autoscaler with the current and desired " +
+                "replicas. Only set if autoscaling is enabled.")
+        }
+    )})
+    private MicoAutoscalingStatusResponseDTO autoscaling;
+
     /**
      * Contains information about the Kubernetes services deployed for each MicoServiceInterface of the corresponding
      * MicoService.
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.github.ust.mico.core.model;
+
+import org.neo4j.ogm.annotation.GeneratedValue;
+import org.neo4j.ogm.annotation.Id;
+import org.neo4j.ogm.annotation.NodeEntity;
+
+import io.github.ust.mico.core.dto.request.MicoAutoscalingPolicyRequestDTO;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+/**
+ * Represents the policy for the horizontal autoscaling of a {@link MicoService} instance. The number of replicas is
+ * adjusted between the minimum and maximum number of replicas, so that the given metric targets are met. At least one
+ * target must be set.
+ * <p>
+ * Instances of this class are persisted as nodes in the Neo4j database.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(chain = true)
+@NodeEntity
+public class MicoAutoscalingPolicy {
+
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    /**
+     * The lower limit for the number of replicas. Defaults to 1.
+     */
+    private int minReplicas = 1;
+
+    /**
+     * The upper limit for the number of replicas.
+     */
+    private int maxReplicas;
+
+    /**
+     * The target average CPU utilization of the pods in percent of the requested CPU.
+     * {@code null} if the CPU utilization is not used for the autoscaling.
+     */
+    private Integer targetCpuUtilization;
+
+    /**
+     * The target average memory utilization of the pods in percent of the requested memory.
+     * {@code null} if the memory utilization is not used for the autoscaling.
+     */
+    private Integer targetMemoryUtilization;
+
+    /**
+     * The name of a custom pod metric, e.g. a Prometheus metric served by the custom metrics API.
+     * {@code null} if no custom metric is used for the autoscaling.
+     */
+    private String customMetricName;
+
+    /**
+     * The target average value of the custom metric per pod as a Kubernetes quantity (e.g. {@code 100} or {@code
+     * 500m}).
+     */
+    private String customMetricTargetAverageValue;
+
+
+    // ----------------------
+    // -> Static Creators ---
+    // ----------------------
+
+    /**
+     * Creates a new {@code MicoAutoscalingPolicy} based on a {@code MicoAutoscalingPolicyRequestDTO}.
+     * Note that the id will be set to {@code null}.
+     *
+     * @param autoscalingPolicyDto the {@link MicoAutoscalingPolicyRequestDTO}.
+     * @return a {@link MicoAutoscalingPolicy}.
+     */
+    public static MicoAutoscalingPolicy valueOf(MicoAutoscalingPolicyRequestDTO autoscalingPolicyDto) {
+        return new MicoAutoscalingPolicy()
+            .setMinReplicas(autoscalingPolicyDto.getMinReplicas())
+            .setMaxReplicas(autoscalingPolicyDto.getMaxReplicas())
+            .setTargetCpuUtilization(autoscalingPolicyDto.getTargetCpuUtilization())
+            .setTargetMemoryUtilization(autoscalingPolicyDto.getTargetMemoryUtilization())
+            .setCustomMetricName(autoscalingPolicyDto.getCustomMetricName())
+            .setCustomMetricTargetAverageValue(autoscalingPolicyDto.getCustomMetricTargetAverageValue());
+    }
+
+}
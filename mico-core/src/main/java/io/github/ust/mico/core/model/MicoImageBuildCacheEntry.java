@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.github.ust.mico.core.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.redis.core.RedisHash;
+
+import java.io.Serializable;
+
+/**
+ * Result of an image build, identified by the Git repository, the commit and the Dockerfile the image was built from.
+ * <p>
+ * Instances of this class are persisted in the Redis database.
+ */
+@Data
+@NoArgsConstructor
+@Accessors(chain = true)
+@RedisHash("ImageBuildCache")
+public class MicoImageBuildCacheEntry implements Serializable {
+
+    private static final long serialVersionUID = 3902581384265612730L;
+
+    /**
+     * The cache key derived from the Git clone url, the commit SHA and the Dockerfile path.
+     */
+    @Id
+    private String id;
+
+    /**
+     * The clone url of the Git repository.
+     */
+    private String gitCloneUrl;
+
+    /**
+     * The SHA of the commit the image was built from.
+     */
+    private String commitSha;
+
+    /**
+     * The path of the Dockerfile relative to the repository root. Empty if the Dockerfile is located in the root.
+     */
+    private String dockerfilePath;
+
+    /**
+     * The URI of the built Docker image.
+     */
+    private String dockerImageUri;
+
+}
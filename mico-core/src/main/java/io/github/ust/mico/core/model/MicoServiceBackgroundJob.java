@@ -26,12 +26,13 @@
 import org.springframework.data.redis.core.index.Indexed;
 
 import java.io.Serializable;
-import java.util.concurrent.CompletableFuture;
 
 /**
  * Background job for a {@link MicoService}.
  * <p>
- * Instances of this class are persisted in the Redis database.
+ * Instances of this class are persisted in the Redis database. The future of a running job is not part of the
+ * job, it is kept by the {@link io.github.ust.mico.core.service.JobHandleRegistry} of the MICO instance that runs the
+ * job. That MICO instance is stored as the owner of the job.
  */
 @Data
 @NoArgsConstructor
@@ -47,11 +48,6 @@ public class MicoServiceBackgroundJob implements Serializable {
     @Id
     private String id;
 
-    /**
-     * The actual job future.
-     */
-    private CompletableFuture<?> future;
-
     /**
      * The short name of the corresponding {@link MicoService}.
      */
@@ -70,6 +66,16 @@ public class MicoServiceBackgroundJob implements Serializable {
     @Indexed
     private String instanceId;
 
+    /**
+     * The short name of the {@link MicoApplication} whose deployment created this job.
+     */
+    private String applicationShortName;
+
+    /**
+     * The version of the {@link MicoApplication} whose deployment created this job.
+     */
+    private String applicationVersion;
+
     /**
      * The {@link Type} of this job.
      */
@@ -86,6 +92,11 @@ public class MicoServiceBackgroundJob implements Serializable {
      */
     private String errorMessage;
 
+    /**
+     * The ID of the MICO instance that runs this job, see {@link io.github.ust.mico.core.service.MicoInstanceLease}.
+     */
+    private String ownerId;
+
 
     // Build contains currently build and deploy.
     public enum Type {
@@ -90,6 +90,15 @@ public class MicoServiceDeploymentInfo {
      */
     private int replicas = 1;
 
+    /**
+     * The policy for the horizontal autoscaling of this instance.
+     * If it is set, the number of replicas is adjusted by a Kubernetes HorizontalPodAutoscaler
+     * and {@code replicas} is only used as the initial number of replicas.
+     * {@code null} disables the autoscaling.
+     */
+    @Relationship(type = "HAS")
+    private MicoAutoscalingPolicy autoscaling;
+
     /**
      * Those labels are key-value pairs that are attached to the deployment
      * of this {@link MicoService}. Intended to be used to specify identifying attributes
@@ -186,6 +195,8 @@ public String toString() {
      */
     public MicoServiceDeploymentInfo applyValuesFrom(MicoServiceDeploymentInfoRequestDTO serviceDeploymentInfoDto) {
         return setReplicas(serviceDeploymentInfoDto.getReplicas())
+            .setAutoscaling(serviceDeploymentInfoDto.getAutoscaling() == null ? null
+                : MicoAutoscalingPolicy.valueOf(serviceDeploymentInfoDto.getAutoscaling()))
             .setLabels(serviceDeploymentInfoDto.getLabels().stream().map(MicoLabel::valueOf).collect(Collectors.toList()))
             .setEnvironmentVariables(serviceDeploymentInfoDto.getEnvironmentVariables().stream().map(MicoEnvironmentVariable::valueOf).collect(Collectors.toList()))
             .setInterfaceConnections(serviceDeploymentInfoDto.getInterfaceConnections().stream().map(MicoInterfaceConnection::valueOf).collect(Collectors.toList()))
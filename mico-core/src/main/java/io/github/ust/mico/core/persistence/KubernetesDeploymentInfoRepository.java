@@ -19,8 +19,11 @@
 
 package io.github.ust.mico.core.persistence;
 
+import java.util.List;
+
 import org.springframework.data.neo4j.annotation.Query;
 import org.springframework.data.neo4j.repository.Neo4jRepository;
+import org.springframework.data.repository.query.Param;
 
 import io.github.ust.mico.core.model.KubernetesDeploymentInfo;
 
@@ -32,4 +35,12 @@ public interface KubernetesDeploymentInfoRepository extends Neo4jRepository<Kube
     @Query("MATCH (kdi:KubernetesDeploymentInfo) WHERE size((kdi)--()) = 0 DELETE kdi")
     void cleanUp();
 
+    /**
+     * Deletes the {@link KubernetesDeploymentInfo} nodes with the given IDs with a single query.
+     *
+     * @param ids the IDs of the {@link KubernetesDeploymentInfo} nodes
+     */
+    @Query("MATCH (kdi:KubernetesDeploymentInfo) WHERE id(kdi) IN {ids} DETACH DELETE kdi")
+    void deleteAllByIds(@Param("ids") List<Long> ids);
+
 }
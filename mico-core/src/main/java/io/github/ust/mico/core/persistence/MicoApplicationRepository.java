@@ -28,6 +28,7 @@
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface MicoApplicationRepository extends Neo4jRepository<MicoApplication, Long> {
@@ -44,6 +45,42 @@ public interface MicoApplicationRepository extends Neo4jRepository<MicoApplicati
     @Depth(3)
     Optional<MicoApplication> findByShortNameAndVersion(String shortName, String version);
 
+    /**
+     * Finds all applications that match one of the given keys, without their relationships (depth 0). Each key is a
+     * map with the entries {@code shortName} and {@code version}.
+     *
+     * @param keys the short names and versions of the applications
+     * @return a list of the existing {@link MicoApplication MicoApplications}
+     */
+    @Query("UNWIND {keys} AS key "
+        + "MATCH (a:MicoApplication) WHERE a.shortName = key.shortName AND a.version = key.version "
+        + "RETURN a")
+    List<MicoApplication> findAllByKeys(@Param("keys") List<Map<String, String>> keys);
+
+    /**
+     * Finds a page of applications without their relationships (depth 0). Applications are ordered by short name and
+     * version. All filter parameters are optional, i.e. {@code null} disables the respective filter.
+     *
+     * @param shortNamePrefix the prefix of the short names of the applications
+     * @param owner           the owner of the applications
+     * @param afterShortName  the short name of the last application of the previous page
+     * @param afterVersion    the version of the last application of the previous page
+     * @param limit           the maximum number of applications
+     * @return a list of {@link MicoApplication MicoApplications}
+     */
+    @Query("MATCH (a:MicoApplication) "
+        + "WHERE ({shortNamePrefix} IS NULL OR a.shortName STARTS WITH {shortNamePrefix}) "
+        + "AND ({owner} IS NULL OR a.owner = {owner}) "
+        + "AND ({afterShortName} IS NULL OR a.shortName > {afterShortName} "
+        + "OR (a.shortName = {afterShortName} AND a.version > {afterVersion})) "
+        + "RETURN a ORDER BY a.shortName, a.version LIMIT {limit}")
+    List<MicoApplication> findPage(
+        @Param("shortNamePrefix") String shortNamePrefix,
+        @Param("owner") String owner,
+        @Param("afterShortName") String afterShortName,
+        @Param("afterVersion") String afterVersion,
+        @Param("limit") int limit);
+
     /**
      * Find all applications that are using the given service.
      *
@@ -26,6 +26,7 @@
 import org.springframework.data.neo4j.repository.Neo4jRepository;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -231,4 +232,33 @@ void deleteByApplicationAndService(
         @Param("serviceShortName") String serviceShortName,
         @Param("serviceVersion") String serviceVersion);
 
+    /**
+     * Retrieves the IDs of all nodes that are related to the given service deployment information as additional
+     * property, i.e. labels, environment variables, interface connections, topics, Kubernetes deployment information
+     * and OpenFaaS functions.
+     *
+     * @param serviceDeploymentInfoIds the IDs of the {@link MicoServiceDeploymentInfo MicoServiceDeploymentInfos}.
+     * @return the IDs of the related nodes.
+     */
+    @Query("MATCH (sdi:MicoServiceDeploymentInfo)-[:HAS|:COMMUNICATES_USING]->(relatedNode) "
+        + "WHERE id(sdi) IN {serviceDeploymentInfoIds} "
+        + "RETURN DISTINCT id(relatedNode)")
+    List<Long> findRelatedNodeIds(@Param("serviceDeploymentInfoIds") Collection<Long> serviceDeploymentInfoIds);
+
+    /**
+     * Deletes the given nodes that do <b>not</b> have any relationship to another node (anymore).
+     * Only nodes that are stored as additional property of a {@link MicoServiceDeploymentInfo} are deleted,
+     * see {@link #findRelatedNodeIds(Collection)}.
+     * In contrast to the {@code cleanUp} queries of the particular repositories,
+     * only the given nodes are checked instead of all nodes with the particular label.
+     *
+     * @param nodeIds the IDs of the nodes that are deleted if they are detached.
+     */
+    @Query("MATCH (relatedNode) WHERE id(relatedNode) IN {nodeIds} AND size((relatedNode)--()) = 0 "
+        + "AND (relatedNode:MicoLabel OR relatedNode:MicoEnvironmentVariable OR relatedNode:MicoInterfaceConnection "
+        + "OR relatedNode:MicoTopic OR relatedNode:KubernetesDeploymentInfo OR relatedNode:OpenFaaSFunction "
+        + "OR relatedNode:MicoAutoscalingPolicy) "
+        + "DELETE relatedNode")
+    void deleteDetachedNodes(@Param("nodeIds") Collection<Long> nodeIds);
+
 }
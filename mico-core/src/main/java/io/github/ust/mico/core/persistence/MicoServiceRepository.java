@@ -20,6 +20,7 @@
 package io.github.ust.mico.core.persistence;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.data.neo4j.annotation.Depth;
@@ -30,7 +31,7 @@
 import io.github.ust.mico.core.model.MicoApplication;
 import io.github.ust.mico.core.model.MicoService;
 
-public interface MicoServiceRepository extends Neo4jRepository<MicoService, Long> {
+public interface MicoServiceRepository extends Neo4jRepository<MicoService, Long>, MicoServiceRepositoryCustom {
 
     @Override
     List<MicoService> findAll();
@@ -38,6 +39,33 @@ public interface MicoServiceRepository extends Neo4jRepository<MicoService, Long
     @Override
     List<MicoService> findAll(@Depth int depth);
 
+    /**
+     * Finds a page of services without their relationships (depth 0). Services are ordered by short name and
+     * version. All filter parameters are optional, i.e. {@code null} disables the respective filter.
+     *
+     * @param shortNamePrefix       the prefix of the short names of the services
+     * @param owner                 the owner of the services
+     * @param serviceCrawlingOrigin the name of the {@link io.github.ust.mico.core.model.MicoServiceCrawlingOrigin}
+     * @param afterShortName        the short name of the last service of the previous page
+     * @param afterVersion          the version of the last service of the previous page
+     * @param limit                 the maximum number of services
+     * @return a list of {@link MicoService MicoServices}.
+     */
+    @Query("MATCH (s:MicoService) "
+        + "WHERE ({shortNamePrefix} IS NULL OR s.shortName STARTS WITH {shortNamePrefix}) "
+        + "AND ({owner} IS NULL OR s.owner = {owner}) "
+        + "AND ({serviceCrawlingOrigin} IS NULL OR s.serviceCrawlingOrigin = {serviceCrawlingOrigin}) "
+        + "AND ({afterShortName} IS NULL OR s.shortName > {afterShortName} "
+        + "OR (s.shortName = {afterShortName} AND s.version > {afterVersion})) "
+        + "RETURN s ORDER BY s.shortName, s.version LIMIT {limit}")
+    List<MicoService> findPage(
+        @Param("shortNamePrefix") String shortNamePrefix,
+        @Param("owner") String owner,
+        @Param("serviceCrawlingOrigin") String serviceCrawlingOrigin,
+        @Param("afterShortName") String afterShortName,
+        @Param("afterVersion") String afterVersion,
+        @Param("limit") int limit);
+
     /**
      * Finds all services that are included by a given application.
      *
@@ -76,6 +104,18 @@ Optional<MicoService> findAllByApplicationAndServiceShortName(
     @Depth(2)
     Optional<MicoService> findByShortNameAndVersion(String shortName, String version);
 
+    /**
+     * Finds all services that match one of the given keys, without their relationships (depth 0). Each key is a map
+     * with the entries {@code shortName} and {@code version}.
+     *
+     * @param keys the short names and versions of the services
+     * @return a list of the existing {@link MicoService MicoServices}
+     */
+    @Query("UNWIND {keys} AS key "
+        + "MATCH (s:MicoService) WHERE s.shortName = key.shortName AND s.version = key.version "
+        + "RETURN s")
+    List<MicoService> findAllByKeys(@Param("keys") List<Map<String, String>> keys);
+
     /**
      * Finds all services (dependees) the given service (depender) depends on
      * as well as the service (depender) itself.
@@ -92,6 +132,26 @@ List<MicoService> findDependeesIncludeDepender(
         @Param("shortName") String shortName,
         @Param("version") String version);
 
+    /**
+     * Finds the dependency graph of the given service (depender), i.e. all services (dependees) the given service
+     * depends on directly or transitively as well as the service (depender) itself. In contrast to {@link
+     * #findDependeesIncludeDepender(String, String)} the {@code DEPENDS_ON} relationships between these services are
+     * loaded in the same query, so the edges of the graph are available via {@link MicoService#getDependencies()}.
+     *
+     * @param shortName the short name of the {@link MicoService} (depender).
+     * @param version   the version of the {@link MicoService} (depender).
+     * @return a list of {@link MicoService MicoServices} including all dependees
+     * as well as the depender and their dependencies.
+     */
+    @Query("MATCH (s:MicoService)-[:DEPENDS_ON*0..]->(d:MicoService) "
+        + "WHERE s.shortName = {shortName} AND s.version = {version} "
+        + "WITH DISTINCT d "
+        + "OPTIONAL MATCH (d)-[r:DEPENDS_ON]->(dependency:MicoService) "
+        + "RETURN d, COLLECT(r), COLLECT(dependency)")
+    List<MicoService> findDependencyGraph(
+        @Param("shortName") String shortName,
+        @Param("version") String version);
+
     /**
      * Finds all services (dependees) the given service (depender) depends on.
      *
@@ -120,6 +180,20 @@ List<MicoService> findDependers(
         @Param("shortName") String shortName,
         @Param("version") String version);
 
+    /**
+     * Checks whether there is any service (depender) that depends on the given service (dependee).
+     *
+     * @param shortName the short name of the {@link MicoService} (dependee).
+     * @param version   the version of the {@link MicoService} (dependee).
+     * @return {@code true} if the {@link MicoService} has at least one depender.
+     */
+    @Query("MATCH (s:MicoService)-[:DEPENDS_ON]->(dependency:MicoService) "
+        + "WHERE dependency.shortName = {shortName} AND dependency.version = {version} "
+        + "RETURN COUNT(s) > 0")
+    boolean hasDependers(
+        @Param("shortName") String shortName,
+        @Param("version") String version);
+
     @Query("MATCH (s:MicoService) WHERE s.shortName = {shortName} AND s.version = {version} "
         + "WITH s OPTIONAL MATCH (s)-[:PROVIDES]->(i:MicoServiceInterface) "
         + "WITH s, i OPTIONAL MATCH (i)-[:PROVIDES]->(p:MicoServicePort) "
@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.github.ust.mico.core.persistence;
+
+import java.util.List;
+
+import io.github.ust.mico.core.model.MicoService;
+
+/**
+ * Queries of the {@link MicoServiceRepository} that cannot be expressed with {@link
+ * org.springframework.data.neo4j.annotation.Query} annotations.
+ */
+public interface MicoServiceRepositoryCustom {
+
+    /**
+     * The maximum depth of the dependency paths that are considered by {@link #findTransitiveDependers(String, String,
+     * int)}.
+     */
+    int MAX_DEPENDERS_DEPTH = 10;
+
+    /**
+     * Finds all services (dependers) that depend directly or transitively on the given service (dependee). Only
+     * dependency paths up to the given maximum depth are considered, i.e. a maximum depth of 1 results in the direct
+     * dependers.
+     *
+     * @param shortName the short name of the {@link MicoService} (dependee).
+     * @param version   the version of the {@link MicoService} (dependee).
+     * @param maxDepth  the maximum length of the dependency paths, between 1 and {@link #MAX_DEPENDERS_DEPTH}.
+     * @return a list of {@link MicoService MicoServices}.
+     * @throws IllegalArgumentException if the maximum depth is out of range
+     */
+    List<MicoService> findTransitiveDependers(String shortName, String version, int maxDepth);
+}
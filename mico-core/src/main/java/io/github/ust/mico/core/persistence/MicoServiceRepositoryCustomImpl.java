@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.github.ust.mico.core.persistence;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.github.ust.mico.core.model.MicoService;
+import org.neo4j.ogm.session.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Implementation of the {@link MicoServiceRepositoryCustom} queries.
+ */
+public class MicoServiceRepositoryCustomImpl implements MicoServiceRepositoryCustom {
+
+    @Autowired
+    private Session session;
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The bounds of a variable length relationship cannot be passed as parameters, hence the validated maximum depth
+     * is inlined into the pattern. That way the traversal stops at the maximum depth instead of expanding all paths
+     * and filtering them afterwards.
+     */
+    @Override
+    public List<MicoService> findTransitiveDependers(String shortName, String version, int maxDepth) {
+        if (maxDepth < 1 || maxDepth > MAX_DEPENDERS_DEPTH) {
+            throw new IllegalArgumentException("The maximum depth must be between 1 and " + MAX_DEPENDERS_DEPTH + ", but was " + maxDepth);
+        }
+        String cypher = "MATCH (s:MicoService)-[:DEPENDS_ON*1.." + maxDepth + "]->(dependency:MicoService) "
+            + "WHERE dependency.shortName = {shortName} AND dependency.version = {version} AND s <> dependency "
+            + "RETURN DISTINCT s";
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("shortName", shortName);
+        parameters.put("version", version);
+        List<MicoService> dependers = new ArrayList<>();
+        session.query(MicoService.class, cypher, parameters).forEach(dependers::add);
+        return dependers;
+    }
+}
@@ -24,6 +24,7 @@
 import io.github.ust.mico.core.dto.request.MicoApplicationRequestDTO;
 import io.github.ust.mico.core.dto.request.MicoVersionRequestDTO;
 import io.github.ust.mico.core.dto.response.KFConnectorDeploymentInfoResponseDTO;
+import io.github.ust.mico.core.dto.response.MicoApplicationResponseDTO;
 import io.github.ust.mico.core.dto.response.MicoApplicationWithServicesResponseDTO;
 import io.github.ust.mico.core.dto.response.MicoServiceDeploymentInfoResponseDTO;
 import io.github.ust.mico.core.dto.response.MicoServiceResponseDTO;
@@ -34,19 +35,30 @@
 import io.github.ust.mico.core.model.MicoApplicationDeploymentStatus;
 import io.github.ust.mico.core.model.MicoService;
 import io.github.ust.mico.core.model.MicoServiceDeploymentInfo;
+import io.github.ust.mico.core.service.MicoBulkImportService;
+import io.github.ust.mico.core.service.MicoStatusEventPublisher;
+import io.github.ust.mico.core.util.PageCursor;
 import io.swagger.annotations.ApiOperation;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.hateoas.Link;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.hateoas.Resource;
 import org.springframework.hateoas.Resources;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import springfox.documentation.annotations.ApiIgnore;
 
 import javax.validation.Valid;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -63,8 +75,10 @@ public class ApplicationResource {
 
     private static final String PATH_SERVICES = "services";
     private static final String PATH_PROMOTE = "promote";
+    private static final String PATH_IMPORT = "import";
     private static final String PATH_DEPLOYMENT_STATUS = "deploymentStatus";
     private static final String PATH_STATUS = "status";
+    private static final String PATH_EVENTS = "events";
     public static final String PATH_KAFKA_FAAS_CONNECTOR = "kafka-faas-connector";
 
     static final String PATH_VARIABLE_SHORT_NAME = "micoApplicationShortName";
@@ -73,6 +87,9 @@ public class ApplicationResource {
     private static final String PATH_VARIABLE_SERVICE_SHORT_NAME = "micoServiceShortName";
     private static final String PATH_VARIABLE_SERVICE_VERSION = "micoServiceVersion";
     public static final String PATH_VARIABLE_KAFKA_FAAS_CONNECTOR_VERSION = "version";
+    private static final String REQUEST_PARAMETER_PROJECTION = "projection";
+    private static final String PROJECTION_FULL = "full";
+    private static final String PROJECTION_SUMMARY = "summary";
     static final String PATH_VARIABLE_KAFKA_FAAS_CONNECTOR_INSTANCE_ID = "kafkaFaasConnectorInstanceId";
 
     @Autowired
@@ -81,13 +98,42 @@ public class ApplicationResource {
     @Autowired
     private MicoServiceBroker serviceBroker;
 
+    @Autowired
+    private MicoBulkImportService bulkImportService;
+
+    @Autowired
+    private MicoStatusEventPublisher statusEventPublisher;
+
     @GetMapping()
-    public ResponseEntity<Resources<Resource<MicoApplicationWithServicesResponseDTO>>> getAllApplications() {
-        List<MicoApplication> applications = applicationBroker.getMicoApplications();
+    public ResponseEntity<Resources<Resource<? extends MicoApplicationResponseDTO>>> getAllApplications(@RequestParam(value = ServiceResource.REQUEST_PARAMETER_SHORT_NAME_PREFIX, required = false) String shortNamePrefix,
+                                                                                                        @RequestParam(value = ServiceResource.REQUEST_PARAMETER_OWNER, required = false) String owner,
+                                                                                                        @RequestParam(value = ServiceResource.REQUEST_PARAMETER_CURSOR, required = false) String cursor,
+                                                                                                        @RequestParam(value = ServiceResource.REQUEST_PARAMETER_LIMIT, required = false) Integer limit,
+                                                                                                        @RequestParam(value = REQUEST_PARAMETER_PROJECTION, required = false) String projection) {
+        // The summary projection only includes the properties of the applications without their services
+        boolean summary = PROJECTION_SUMMARY.equals(projection);
+        if (projection != null && !summary && !PROJECTION_FULL.equals(projection)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The projection must be either '"
+                + PROJECTION_FULL + "' or '" + PROJECTION_SUMMARY + "'");
+        }
+        Slice<MicoApplication> applications = applicationBroker.getMicoApplications(shortNamePrefix, owner,
+            ServiceResource.decodePageCursor(cursor), ServiceResource.getPageLimit(limit), !summary);
+
+        List<Resource<? extends MicoApplicationResponseDTO>> applicationResources = new ArrayList<>();
+        if (summary) {
+            applications.forEach(application -> applicationResources.add(getApplicationResponseDTOResourceWithDeploymentStatus(application)));
+        } else {
+            applicationResources.addAll(getApplicationWithServicesResponseDTOResourceList(applications.getContent()));
+        }
 
-        return ResponseEntity.ok(
-            new Resources<>(getApplicationWithServicesResponseDTOResourceList(applications),
-                linkTo(methodOn(ApplicationResource.class).getAllApplications()).withSelfRel()));
+        List<Link> links = new ArrayList<>();
+        links.add(linkTo(methodOn(ApplicationResource.class).getAllApplications(shortNamePrefix, owner, cursor, limit, projection)).withSelfRel().expand());
+        if (applications.hasNext()) {
+            MicoApplication lastApplication = applications.getContent().get(applications.getNumberOfElements() - 1);
+            String nextCursor = new PageCursor(lastApplication.getShortName(), lastApplication.getVersion()).encode();
+            links.add(linkTo(methodOn(ApplicationResource.class).getAllApplications(shortNamePrefix, owner, nextCursor, limit, projection)).withRel(Link.REL_NEXT).expand());
+        }
+        return ResponseEntity.ok(new Resources<>(applicationResources, links));
     }
 
     @GetMapping("/{" + PATH_VARIABLE_SHORT_NAME + "}")
@@ -104,7 +150,7 @@ public ResponseEntity<Resource<MicoApplicationWithServicesResponseDTO>> getAppli
                                                                                                                 @PathVariable(PATH_VARIABLE_VERSION) String version) {
         MicoApplication application;
         try {
-            application = applicationBroker.getMicoApplicationByShortNameAndVersion(shortName, version);
+            application = applicationBroker.getMicoApplicationFromCache(shortName, version);
         } catch (MicoApplicationNotFoundException e) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
         }
@@ -130,6 +176,25 @@ public ResponseEntity<Resource<MicoApplicationWithServicesResponseDTO>> createAp
             .body(new Resource<>(dto, applicationBroker.getLinksOfMicoApplication(application)));
     }
 
+    /**
+     * Imports a stream of {@link MicoApplicationRequestDTO MicoApplicationRequestDTOs}, either as JSON lines or as YAML
+     * documents. Existing applications are not changed. The result of each document is streamed back as a JSON line.
+     *
+     * @param contentType the content type of the request body
+     * @param input       the request body
+     * @return the stream of {@link io.github.ust.mico.core.dto.response.MicoBulkImportResultResponseDTO
+     * MicoBulkImportResultResponseDTOs}
+     */
+    @PostMapping(value = "/" + PATH_IMPORT,
+        consumes = {MicoBulkImportService.MEDIA_TYPE_JSON_LINES, MicoBulkImportService.MEDIA_TYPE_YAML},
+        produces = MicoBulkImportService.MEDIA_TYPE_JSON_LINES)
+    public ResponseEntity<StreamingResponseBody> importApplications(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                                    InputStream input) {
+        StreamingResponseBody responseBody = bulkImportService.importDocuments(input, contentType,
+            MicoApplicationRequestDTO.class, MicoApplication::valueOf, applicationBroker::createMicoApplications);
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(MicoBulkImportService.MEDIA_TYPE_JSON_LINES)).body(responseBody);
+    }
+
     @PutMapping("/{" + PATH_VARIABLE_SHORT_NAME + "}/{" + PATH_VARIABLE_VERSION + "}")
     public ResponseEntity<Resource<MicoApplicationWithServicesResponseDTO>> updateApplication(@PathVariable(PATH_VARIABLE_SHORT_NAME) String shortName,
                                                                                               @PathVariable(PATH_VARIABLE_VERSION) String version,
@@ -352,6 +417,21 @@ public ResponseEntity<Resource<MicoApplicationDeploymentStatusResponseDTO>> getA
         return ResponseEntity.ok(new Resource<>(new MicoApplicationDeploymentStatusResponseDTO(applicationDeploymentStatus)));
     }
 
+    @ApiOperation(value = "Streams the deployment status changes of the application and the status changes of the " +
+        "jobs of its services as server-sent events. The current deployment status is sent as the first event.")
+    @GetMapping(value = "/{" + PATH_VARIABLE_SHORT_NAME + "}/{" + PATH_VARIABLE_VERSION + "}/" + PATH_EVENTS,
+        produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter getStatusEventsOfApplication(@PathVariable(PATH_VARIABLE_SHORT_NAME) String shortName,
+                                                   @PathVariable(PATH_VARIABLE_VERSION) String version) {
+        MicoApplicationDeploymentStatus applicationDeploymentStatus;
+        try {
+            applicationDeploymentStatus = applicationBroker.getApplicationDeploymentStatus(shortName, version);
+        } catch (MicoApplicationNotFoundException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+        return statusEventPublisher.subscribe(shortName, version, applicationDeploymentStatus);
+    }
+
     @GetMapping("/{" + PATH_VARIABLE_SHORT_NAME + "}/{" + PATH_VARIABLE_VERSION + "}/" + PATH_STATUS)
     public ResponseEntity<Resource<MicoApplicationStatusResponseDTO>> getStatusOfApplication(@PathVariable(PATH_VARIABLE_SHORT_NAME) String shortName,
                                                                                              @PathVariable(PATH_VARIABLE_VERSION) String version) {
@@ -368,6 +448,18 @@ private List<Resource<MicoApplicationWithServicesResponseDTO>> getApplicationWit
         return applications.stream().map(this::getApplicationWithServicesResponseDTOResourceWithDeploymentStatus).collect(Collectors.toList());
     }
 
+    private Resource<MicoApplicationResponseDTO> getApplicationResponseDTOResourceWithDeploymentStatus(MicoApplication application) {
+        MicoApplicationResponseDTO dto = new MicoApplicationResponseDTO(application);
+        try {
+            dto.setDeploymentStatus(new MicoApplicationDeploymentStatusResponseDTO(
+                applicationBroker.getApplicationDeploymentStatus(application.getShortName(), application.getVersion())));
+        } catch (MicoApplicationNotFoundException e) {
+            // Application was already checked -> it's safe to not throw an exception.
+            log.error(e.getMessage());
+        }
+        return new Resource<>(dto, applicationBroker.getLinksOfMicoApplication(application));
+    }
+
     private Resource<MicoApplicationWithServicesResponseDTO> getApplicationWithServicesResponseDTOResourceWithDeploymentStatus(MicoApplication application) {
         MicoApplicationWithServicesResponseDTO dto = new MicoApplicationWithServicesResponseDTO(application);
         try {
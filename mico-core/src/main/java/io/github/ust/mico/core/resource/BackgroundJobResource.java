@@ -28,7 +28,6 @@
 import java.util.Optional;
 import java.util.stream.Collectors;
 
-import io.github.ust.mico.core.exception.MicoApplicationNotFoundException;
 import io.github.ust.mico.core.model.MicoApplicationJobStatus;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.hateoas.Link;
@@ -37,20 +36,25 @@
 import org.springframework.hateoas.Resources;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import io.github.ust.mico.core.broker.BackgroundJobBroker;
 import io.github.ust.mico.core.dto.response.MicoApplicationJobStatusResponseDTO;
 import io.github.ust.mico.core.dto.response.MicoServiceBackgroundJobResponseDTO;
 import io.github.ust.mico.core.model.MicoServiceBackgroundJob;
+import io.github.ust.mico.core.service.MicoStatusEventPublisher;
+import io.swagger.annotations.ApiOperation;
 
 @RestController
 @RequestMapping(value = "/jobs", produces = MediaTypes.HAL_JSON_VALUE)
 public class BackgroundJobResource {
 
     private static final String PATH_STATUS = "status";
+    private static final String PATH_EVENTS = "events";
     private static final String PATH_VARIABLE_ID = "id";
     private static final String PATH_VARIABLE_SHORT_NAME = "shortName";
     private static final String PATH_VARIABLE_VERSION = "version";
@@ -58,6 +62,9 @@ public class BackgroundJobResource {
     @Autowired
     private BackgroundJobBroker backgroundJobBroker;
 
+    @Autowired
+    private MicoStatusEventPublisher statusEventPublisher;
+
     @GetMapping()
     public ResponseEntity<Resources<Resource<MicoServiceBackgroundJobResponseDTO>>> getAllJobs() {
         List<MicoServiceBackgroundJob> jobs = backgroundJobBroker.getAllJobs();
@@ -68,18 +75,20 @@ public ResponseEntity<Resources<Resource<MicoServiceBackgroundJobResponseDTO>>>
 
     @GetMapping("/{" + PATH_VARIABLE_SHORT_NAME + "}/{" + PATH_VARIABLE_VERSION + "}/" + PATH_STATUS)
     public ResponseEntity<Resource<MicoApplicationJobStatusResponseDTO>> getJobStatusByApplicationShortNameAndVersion(@PathVariable(PATH_VARIABLE_SHORT_NAME) String shortName, @PathVariable(PATH_VARIABLE_VERSION) String version) {
-        MicoApplicationJobStatus jobStatus;
-        try {
-            jobStatus = backgroundJobBroker.getJobStatusByApplicationShortNameAndVersion(shortName, version);
-        } catch (MicoApplicationNotFoundException e) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
-        }
+        MicoApplicationJobStatus jobStatus = backgroundJobBroker.getJobStatusByApplicationShortNameAndVersion(shortName, version);
 
         return ResponseEntity.ok(new Resource<>(new MicoApplicationJobStatusResponseDTO(jobStatus),
             linkTo(methodOn(BackgroundJobResource.class)
                 .getJobStatusByApplicationShortNameAndVersion(shortName, version)).withSelfRel()));
     }
 
+    @ApiOperation(value = "Streams the status changes of all jobs and the deployment status changes of all " +
+        "applications as server-sent events.")
+    @GetMapping(value = "/" + PATH_EVENTS, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter getStatusEvents() {
+        return statusEventPublisher.subscribe();
+    }
+
     @GetMapping("/{" + PATH_VARIABLE_ID + "}")
     public ResponseEntity<Resource<MicoServiceBackgroundJobResponseDTO>> getJobById(@PathVariable(PATH_VARIABLE_ID) String id) {
         Optional<MicoServiceBackgroundJob> jobOptional = backgroundJobBroker.getJobById(id);
@@ -59,7 +59,7 @@ public ResponseEntity<Resource<MicoServiceDeploymentInfoResponseDTO>> getService
                                                                                                           @PathVariable(PATH_VARIABLE_SERVICE_SHORT_NAME) String serviceShortName) {
         MicoServiceDeploymentInfo micoServiceDeploymentInfo;
         try {
-            micoServiceDeploymentInfo = broker.getMicoServiceDeploymentInformation(shortName, version, serviceShortName);
+            micoServiceDeploymentInfo = broker.getMicoServiceDeploymentInformationFromCache(shortName, version, serviceShortName);
         } catch (MicoServiceDeploymentInformationNotFoundException | MicoApplicationNotFoundException e) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
         } catch (MicoApplicationDoesNotIncludeMicoServiceException e) {
@@ -19,34 +19,48 @@
 
 package io.github.ust.mico.core.resource;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.ust.mico.core.broker.MicoServiceBroker;
 import io.github.ust.mico.core.dto.request.CrawlingInfoRequestDTO;
 import io.github.ust.mico.core.dto.request.MicoServiceRequestDTO;
 import io.github.ust.mico.core.dto.request.MicoVersionRequestDTO;
+import io.github.ust.mico.core.dto.response.MicoServiceDependencyGraphEdgeResponseDTO;
 import io.github.ust.mico.core.dto.response.MicoServiceDependencyGraphResponseDTO;
 import io.github.ust.mico.core.dto.response.MicoServiceResponseDTO;
 import io.github.ust.mico.core.dto.response.MicoYamlResponseDTO;
 import io.github.ust.mico.core.dto.response.status.MicoServiceStatusResponseDTO;
 import io.github.ust.mico.core.exception.*;
 import io.github.ust.mico.core.model.MicoService;
+import io.github.ust.mico.core.model.MicoServiceCrawlingOrigin;
 import io.github.ust.mico.core.model.MicoServiceDependency;
 import io.github.ust.mico.core.model.MicoServiceDeploymentInfo;
+import io.github.ust.mico.core.persistence.MicoServiceRepository;
 import io.github.ust.mico.core.service.GitHubCrawler;
+import io.github.ust.mico.core.service.MicoBulkImportService;
 import io.github.ust.mico.core.service.MicoStatusService;
+import io.github.ust.mico.core.util.PageCursor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.hateoas.Resource;
 import org.springframework.hateoas.Resources;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -71,28 +85,53 @@ public class ServiceResource {
     private static final String PATH_DEPENDERS = "dependers";
     private static final String PATH_PROMOTE = "promote";
     private static final String PATH_DEPENDENCY_GRAPH = "dependencyGraph";
+    private static final String PATH_STREAM = "stream";
+    private static final String REQUEST_PARAMETER_DEPTH = "depth";
+    static final String REQUEST_PARAMETER_SHORT_NAME_PREFIX = "shortNamePrefix";
+    static final String REQUEST_PARAMETER_OWNER = "owner";
+    static final String REQUEST_PARAMETER_CURSOR = "cursor";
+    static final String REQUEST_PARAMETER_LIMIT = "limit";
+    private static final String REQUEST_PARAMETER_CRAWLING_ORIGIN = "crawlingOrigin";
 
     @Autowired
     private MicoServiceBroker micoServiceBroker;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Autowired
     private MicoStatusService micoStatusService;
 
     @Autowired
     private GitHubCrawler crawler;
 
+    @Autowired
+    private MicoBulkImportService bulkImportService;
+
     @GetMapping()
-    public ResponseEntity<Resources<Resource<MicoServiceResponseDTO>>> getServiceList() {
-        List<MicoService> services = micoServiceBroker.getAllServicesAsList();
-        List<Resource<MicoServiceResponseDTO>> serviceResources = getServiceResponseDTOResourcesList(services);
-        return ResponseEntity.ok(
-            new Resources<>(serviceResources, linkTo(methodOn(ServiceResource.class).getServiceList()).withSelfRel()));
+    public ResponseEntity<Resources<Resource<MicoServiceResponseDTO>>> getServiceList(@RequestParam(value = REQUEST_PARAMETER_SHORT_NAME_PREFIX, required = false) String shortNamePrefix,
+                                                                                      @RequestParam(value = REQUEST_PARAMETER_OWNER, required = false) String owner,
+                                                                                      @RequestParam(value = REQUEST_PARAMETER_CRAWLING_ORIGIN, required = false) MicoServiceCrawlingOrigin crawlingOrigin,
+                                                                                      @RequestParam(value = REQUEST_PARAMETER_CURSOR, required = false) String cursor,
+                                                                                      @RequestParam(value = REQUEST_PARAMETER_LIMIT, required = false) Integer limit) {
+        // The response only consists of the properties of the services, therefore their relationships are not loaded
+        Slice<MicoService> services = micoServiceBroker.getServices(shortNamePrefix, owner, crawlingOrigin,
+            decodePageCursor(cursor), getPageLimit(limit));
+
+        List<Link> links = new ArrayList<>();
+        links.add(linkTo(methodOn(ServiceResource.class).getServiceList(shortNamePrefix, owner, crawlingOrigin, cursor, limit)).withSelfRel().expand());
+        if (services.hasNext()) {
+            MicoService lastService = services.getContent().get(services.getNumberOfElements() - 1);
+            String nextCursor = new PageCursor(lastService.getShortName(), lastService.getVersion()).encode();
+            links.add(linkTo(methodOn(ServiceResource.class).getServiceList(shortNamePrefix, owner, crawlingOrigin, nextCursor, limit)).withRel(Link.REL_NEXT).expand());
+        }
+        return ResponseEntity.ok(new Resources<>(getServiceResponseDTOResourcesList(services.getContent()), links));
     }
 
     @GetMapping("/{" + PATH_VARIABLE_SHORT_NAME + "}/{" + PATH_VARIABLE_VERSION + "}")
     public ResponseEntity<Resource<MicoServiceResponseDTO>> getServiceByShortNameAndVersion(@PathVariable(PATH_VARIABLE_SHORT_NAME) String shortName,
                                                                                             @PathVariable(PATH_VARIABLE_VERSION) String version) {
-        MicoService service = getServiceFromMicoServiceBroker(shortName, version);
+        MicoService service = getServiceFromCache(shortName, version);
         return ResponseEntity.ok(getServiceResponseDTOResource(service));
     }
 
@@ -124,7 +163,6 @@ public ResponseEntity<Void> deleteService(@PathVariable(PATH_VARIABLE_SHORT_NAME
                                               @PathVariable(PATH_VARIABLE_VERSION) String version) {
         MicoService service = getServiceFromMicoServiceBroker(shortName, version);
 
-        //TODO: findDependers and getDependers inside deleteService seem to be a logical copy
         try {
             micoServiceBroker.deleteService(service);
         } catch (MicoServiceHasDependersException e) {
@@ -156,7 +194,7 @@ public ResponseEntity<Void> deleteAllVersionsOfService(@PathVariable(PATH_VARIAB
     @GetMapping("/{" + PATH_VARIABLE_SHORT_NAME + "}/{" + PATH_VARIABLE_VERSION + "}" + "/status")
     public ResponseEntity<Resources<Resource<MicoServiceStatusResponseDTO>>> getStatusListOfService(@PathVariable(PATH_VARIABLE_SHORT_NAME) String shortName,
                                                                                                     @PathVariable(PATH_VARIABLE_VERSION) String version) {
-        MicoService micoService = getServiceFromMicoServiceBroker(shortName, version);
+        MicoService micoService = getServiceFromCache(shortName, version);
 
         List<MicoServiceStatusResponseDTO> micoServiceStatusList = micoStatusService.getServiceStatus(micoService);
         List<Resource<MicoServiceStatusResponseDTO>> micoServiceStatusResourceList = getMicoServiceStatusResourceList(micoServiceStatusList, micoService);
@@ -203,7 +241,7 @@ public ResponseEntity<Resource<MicoServiceResponseDTO>> createService(@Valid @Re
     @GetMapping("/{" + PATH_VARIABLE_SHORT_NAME + "}/{" + PATH_VARIABLE_VERSION + "}/" + PATH_DEPENDEES)
     public ResponseEntity<Resources<Resource<MicoServiceResponseDTO>>> getDependees(@PathVariable(PATH_VARIABLE_SHORT_NAME) String shortName,
                                                                                     @PathVariable(PATH_VARIABLE_VERSION) String version) {
-        MicoService service = getServiceFromMicoServiceBroker(shortName, version);
+        MicoService service = getServiceFromCache(shortName, version);
         List<MicoServiceDependency> dependees = service.getDependencies();
         if (dependees == null) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Service dependees must not be null.");
@@ -279,13 +317,39 @@ public ResponseEntity<Void> deleteDependee(@PathVariable(PATH_VARIABLE_SHORT_NAM
 
     @GetMapping("/{" + PATH_VARIABLE_SHORT_NAME + "}/{" + PATH_VARIABLE_VERSION + "}/" + PATH_DEPENDERS)
     public ResponseEntity<Resources<Resource<MicoServiceResponseDTO>>> getDependers(@PathVariable(PATH_VARIABLE_SHORT_NAME) String shortName,
-                                                                                    @PathVariable(PATH_VARIABLE_VERSION) String version) {
-        MicoService service = getServiceFromMicoServiceBroker(shortName, version);
-        List<MicoService> dependers = micoServiceBroker.findDependers(service);
+                                                                                    @PathVariable(PATH_VARIABLE_VERSION) String version,
+                                                                                    @RequestParam(value = REQUEST_PARAMETER_DEPTH, required = false) Integer depth) {
+        // Only direct dependers are returned by default
+        int maxDepth = depth != null ? depth : 1;
+        if (maxDepth < 1 || maxDepth > MicoServiceRepository.MAX_DEPENDERS_DEPTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "The depth must be between 1 and " + MicoServiceRepository.MAX_DEPENDERS_DEPTH);
+        }
+        MicoService service = getServiceFromCache(shortName, version);
+        List<MicoService> dependers = micoServiceBroker.findDependers(service, maxDepth);
 
         return ResponseEntity.ok(
             new Resources<>(getServiceResponseDTOResourcesList(dependers),
-                linkTo(methodOn(ServiceResource.class).getDependers(shortName, version)).withSelfRel()));
+                linkTo(methodOn(ServiceResource.class).getDependers(shortName, version, depth)).withSelfRel().expand()));
+    }
+
+    /**
+     * Imports a stream of {@link MicoServiceRequestDTO MicoServiceRequestDTOs}, either as JSON lines or as YAML
+     * documents. Existing services are not changed. The result of each document is streamed back as a JSON line.
+     *
+     * @param contentType the content type of the request body
+     * @param input       the request body
+     * @return the stream of {@link io.github.ust.mico.core.dto.response.MicoBulkImportResultResponseDTO
+     * MicoBulkImportResultResponseDTOs}
+     */
+    @PostMapping(value = "/" + PATH_VARIABLE_IMPORT,
+        consumes = {MicoBulkImportService.MEDIA_TYPE_JSON_LINES, MicoBulkImportService.MEDIA_TYPE_YAML},
+        produces = MicoBulkImportService.MEDIA_TYPE_JSON_LINES)
+    public ResponseEntity<StreamingResponseBody> importServices(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                                InputStream input) {
+        StreamingResponseBody responseBody = bulkImportService.importDocuments(input, contentType,
+            MicoServiceRequestDTO.class, MicoService::valueOf, micoServiceBroker::persistNewServices);
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(MicoBulkImportService.MEDIA_TYPE_JSON_LINES)).body(responseBody);
     }
 
     @PostMapping(PATH_GITHUB_ENDPOINT)
@@ -348,19 +412,53 @@ public ResponseEntity<Resources<Resource<MicoVersionRequestDTO>>> getVersionsFro
     @GetMapping("/{" + PATH_VARIABLE_SHORT_NAME + "}/{" + PATH_VARIABLE_VERSION + "}/" + PATH_DEPENDENCY_GRAPH)
     public ResponseEntity<Resource<MicoServiceDependencyGraphResponseDTO>> getDependencyGraph(@PathVariable(PATH_VARIABLE_SHORT_NAME) String shortName,
                                                                                               @PathVariable(PATH_VARIABLE_VERSION) String version) {
-        MicoService micoServiceRoot = getServiceFromMicoServiceBroker(shortName, version);
-
-        MicoServiceDependencyGraphResponseDTO micoServiceDependencyGraph;
-        try {
-            micoServiceDependencyGraph = micoServiceBroker.getDependencyGraph(micoServiceRoot);
-        } catch (MicoServiceNotFoundException e) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
-        }
+        MicoService micoServiceRoot = getServiceFromCache(shortName, version);
+        MicoServiceDependencyGraphResponseDTO micoServiceDependencyGraph = micoServiceBroker.getDependencyGraph(micoServiceRoot);
 
         return ResponseEntity.ok(new Resource<>(micoServiceDependencyGraph,
             linkTo(methodOn(ServiceResource.class).getDependencyGraph(shortName, version)).withSelfRel()));
     }
 
+    /**
+     * Streams the dependency graph of a {@link MicoService}. The response has the same structure as the {@link
+     * MicoServiceDependencyGraphResponseDTO}, but it is written incrementally without HAL links. The services of the
+     * dependency graph are loaded completely before the response is written, only the response DTOs are not built in
+     * memory.
+     *
+     * @param shortName the short name of the {@link MicoService}
+     * @param version   the version of the {@link MicoService}
+     * @return the {@link StreamingResponseBody} that writes the dependency graph
+     */
+    @GetMapping(value = "/{" + PATH_VARIABLE_SHORT_NAME + "}/{" + PATH_VARIABLE_VERSION + "}/" + PATH_DEPENDENCY_GRAPH + "/" + PATH_STREAM,
+        produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamDependencyGraph(@PathVariable(PATH_VARIABLE_SHORT_NAME) String shortName,
+                                                                       @PathVariable(PATH_VARIABLE_VERSION) String version) {
+        MicoService micoServiceRoot = getServiceFromCache(shortName, version);
+        List<MicoService> micoServices = micoServiceBroker.getDependencyGraphServices(micoServiceRoot);
+
+        StreamingResponseBody responseBody = outputStream -> {
+            // The output stream itself is flushed and closed by Spring after the response body is written
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+                generator.writeStartObject();
+                generator.writeArrayFieldStart("micoServices");
+                for (MicoService micoService : micoServices) {
+                    generator.writeObject(new MicoServiceResponseDTO(micoService));
+                }
+                generator.writeEndArray();
+                generator.writeArrayFieldStart("micoServiceDependencyGraphEdgeList");
+                for (MicoService micoService : micoServices) {
+                    for (MicoServiceDependency micoServiceDependency : micoService.getDependencies()) {
+                        generator.writeObject(new MicoServiceDependencyGraphEdgeResponseDTO(micoService, micoServiceDependency.getDependedService()));
+                    }
+                }
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON_UTF8).body(responseBody);
+    }
+
     /**
      * Return yaml for a {@link MicoService} for the give shortName and version.
      *
@@ -393,10 +491,45 @@ static List<Resource<MicoServiceResponseDTO>> getServiceResponseDTOResourcesList
     static Iterable<Link> getServiceLinks(MicoService service) {
         LinkedList<Link> links = new LinkedList<>();
         links.add(linkTo(methodOn(ServiceResource.class).getServiceByShortNameAndVersion(service.getShortName(), service.getVersion())).withSelfRel());
-        links.add(linkTo(methodOn(ServiceResource.class).getServiceList()).withRel("services"));
+        links.add(linkTo(methodOn(ServiceResource.class).getServiceList(null, null, null, null, null)).withRel("services").expand());
         return links;
     }
 
+    /**
+     * Decodes the cursor of a paginated list request.
+     *
+     * @param cursor the encoded {@link PageCursor}, may be {@code null}
+     * @return the {@link PageCursor} or {@code null} if no cursor is provided
+     * @throws ResponseStatusException if the cursor is invalid
+     */
+    static PageCursor decodePageCursor(String cursor) throws ResponseStatusException {
+        if (cursor == null) {
+            return null;
+        }
+        try {
+            return PageCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor '" + cursor + "'");
+        }
+    }
+
+    /**
+     * Returns the page size of a paginated list request. If no limit is provided, all entities are returned.
+     *
+     * @param limit the requested page size, may be {@code null}
+     * @return the page size
+     * @throws ResponseStatusException if the limit is less than 1
+     */
+    static int getPageLimit(Integer limit) throws ResponseStatusException {
+        if (limit == null) {
+            return Integer.MAX_VALUE;
+        }
+        if (limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The limit must be at least 1");
+        }
+        return limit;
+    }
+
     /**
      * Returns the existing {@link MicoService} object from the database for the given shortName and version.
      *
@@ -415,6 +548,23 @@ private MicoService getServiceFromMicoServiceBroker(String shortName, String ver
         return service;
     }
 
+    /**
+     * Returns the existing {@link MicoService} from the cache of the {@link MicoServiceBroker}. The service must not be
+     * modified.
+     *
+     * @param shortName the short name of a {@link MicoService}
+     * @param version   the version of a {@link MicoService}
+     * @return the existing {@link MicoService}
+     * @throws ResponseStatusException if a {@link MicoService} for the given shortName and version does not exist
+     */
+    private MicoService getServiceFromCache(String shortName, String version) throws ResponseStatusException {
+        try {
+            return micoServiceBroker.getServiceFromCache(shortName, version);
+        } catch (MicoServiceNotFoundException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
     /**
      * Returns the existing {@link MicoServiceDeploymentInfo} object from the database for the given shortName, version and instanceId.
      *
@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.github.ust.mico.core.service;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
+
+import io.github.ust.mico.core.broker.BackgroundJobBroker;
+import io.github.ust.mico.core.configuration.BackgroundJobRecoveryConfig;
+import io.github.ust.mico.core.exception.NotInitializedException;
+import io.github.ust.mico.core.model.MicoService;
+import io.github.ust.mico.core.model.MicoServiceBackgroundJob;
+import io.github.ust.mico.core.model.MicoServiceBackgroundJob.Status;
+import io.github.ust.mico.core.persistence.MicoServiceRepository;
+import io.github.ust.mico.core.service.imagebuilder.ImageBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recovers the {@link MicoServiceBackgroundJob MicoServiceBackgroundJobs} that were pending or running when MICO was
+ * stopped. Their futures were lost with the previous MICO instance, hence they would never be finished.
+ * <p>
+ * Several MICO instances may run at the same time. A job is only recovered if the lease of its owner has expired, see
+ * {@link MicoInstanceLease}. The jobs are recovered at startup and periodically afterwards, so that the jobs of a
+ * stopped MICO instance are recovered by the remaining ones. Only one MICO instance recovers a job, it becomes the new
+ * owner of the job.
+ * <p>
+ * If the build of a job is still executed by a PipelineRun, the job is re-attached to it. As soon as the build is
+ * finished, the Docker image URI is stored, so that a new deployment does not have to build the image again. The
+ * Kubernetes resources of the interrupted deployment are not created, hence the job ends with an error that asks for
+ * a new deployment. Jobs without a PipelineRun fail immediately.
+ */
+@Slf4j
+@Component
+public class BackgroundJobRecovery {
+
+    static final String MESSAGE_INTERRUPTED = "The job was interrupted by a restart of MICO.";
+    static final String MESSAGE_REDEPLOY = "The image was built, but the deployment was interrupted by a restart of MICO. "
+        + "Deploy the application again.";
+
+    private final BackgroundJobRecoveryConfig recoveryConfig;
+    private final BackgroundJobBroker backgroundJobBroker;
+    private final JobHandleRegistry jobHandleRegistry;
+    private final MicoInstanceLease micoInstanceLease;
+    private final ImageBuilder imageBuilder;
+    private final MicoServiceRepository serviceRepository;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+        new CustomizableThreadFactory("background-job-recovery-"));
+
+    @Autowired
+    public BackgroundJobRecovery(BackgroundJobRecoveryConfig recoveryConfig, BackgroundJobBroker backgroundJobBroker,
+                                 JobHandleRegistry jobHandleRegistry, MicoInstanceLease micoInstanceLease,
+                                 ImageBuilder imageBuilder, MicoServiceRepository serviceRepository) {
+        this.recoveryConfig = recoveryConfig;
+        this.backgroundJobBroker = backgroundJobBroker;
+        this.jobHandleRegistry = jobHandleRegistry;
+        this.micoInstanceLease = micoInstanceLease;
+        this.imageBuilder = imageBuilder;
+        this.serviceRepository = serviceRepository;
+    }
+
+    /**
+     * Recovers the jobs as soon as MICO is ready and periodically afterwards. The image builder is initialized at
+     * this point.
+     *
+     * @param event the {@link ApplicationReadyEvent}
+     */
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        if (!recoveryConfig.isEnabled()) {
+            log.info("Recovery of background jobs is disabled.");
+            return;
+        }
+        if (!imageBuilder.isInitialized()) {
+            log.info("Image builder is not initialized. Don't recover background jobs.");
+            return;
+        }
+        recoverJobs();
+        int interval = recoveryConfig.getRecoveryInterval();
+        scheduler.scheduleWithFixedDelay(this::recoverJobsInBackground, interval, interval, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Recovers all pending or running jobs whose owner is not alive anymore and that are not claimed by another MICO
+     * instance.
+     */
+    public void recoverJobs() {
+        int recoveredJobs = 0;
+        for (MicoServiceBackgroundJob job : backgroundJobBroker.getAllJobs()) {
+            if ((job.getStatus() == Status.PENDING || job.getStatus() == Status.RUNNING)
+                && !jobHandleRegistry.getFuture(job.getId()).isPresent()
+                && (job.getOwnerId() == null || !micoInstanceLease.isAlive(job.getOwnerId()))
+                && micoInstanceLease.claim(job.getId())) {
+                recoverJob(job);
+                recoveredJobs++;
+            }
+        }
+        if (recoveredJobs > 0) {
+            log.info("Recovered {} background job(s) of a stopped MICO instance.", recoveredJobs);
+        }
+    }
+
+    private void recoverJobsInBackground() {
+        try {
+            recoverJobs();
+        } catch (Exception e) {
+            // Failures must not stop the periodic execution
+            log.warn("Failed to recover background jobs. Caused by: {}", e.getMessage(), e);
+        }
+    }
+
+    private void recoverJob(MicoServiceBackgroundJob job) {
+        Optional<MicoService> micoServiceOptional = serviceRepository.findByShortNameAndVersion(job.getServiceShortName(), job.getServiceVersion());
+        Optional<CompletableFuture<String>> buildOptional = Optional.empty();
+        if (micoServiceOptional.isPresent()) {
+            try {
+                buildOptional = imageBuilder.resumeBuild(micoServiceOptional.get());
+            } catch (NotInitializedException | RuntimeException e) {
+                log.warn("Failed to resume the build of job '{}'. Caused by: {}", job.getId(), e.getMessage());
+            }
+        }
+        if (!buildOptional.isPresent()) {
+            log.info("Job '{}' of MicoService '{}' '{}' with instance ID '{}' has no running build -> Fail it.",
+                job.getId(), job.getServiceShortName(), job.getServiceVersion(), job.getInstanceId());
+            saveStatus(job.getId(), Status.ERROR, MESSAGE_INTERRUPTED);
+            return;
+        }
+
+        log.info("Re-attach job '{}' of MicoService '{}' '{}' with instance ID '{}' to its running build.",
+            job.getId(), job.getServiceShortName(), job.getServiceVersion(), job.getInstanceId());
+        saveStatus(job.getId(), Status.RUNNING, null);
+        MicoService micoService = micoServiceOptional.get();
+        CompletableFuture<Void> resumedJob = buildOptional.get().handle((dockerImageUri, throwable) -> {
+            if (throwable != null) {
+                saveStatus(job.getId(), Status.ERROR, ExceptionUtils.getRootCauseMessage(throwable));
+            } else {
+                micoService.setDockerImageUri(dockerImageUri);
+                serviceRepository.save(micoService, 0);
+                saveStatus(job.getId(), Status.ERROR, MESSAGE_REDEPLOY);
+            }
+            return null;
+        });
+        jobHandleRegistry.register(job.getId(), resumedJob);
+    }
+
+    /**
+     * Saves the status of a job. The job is loaded again, because it may have been deleted in the meantime. This MICO
+     * instance becomes the owner of the job.
+     */
+    private void saveStatus(String jobId, Status status, String errorMessage) {
+        backgroundJobBroker.getJobById(jobId).ifPresent(job -> backgroundJobBroker.saveJob(job
+            .setStatus(status)
+            .setErrorMessage(errorMessage)
+            .setOwnerId(micoInstanceLease.getInstanceId())));
+    }
+}
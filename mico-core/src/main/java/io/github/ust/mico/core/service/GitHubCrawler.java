@@ -22,8 +22,10 @@
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
@@ -35,12 +37,14 @@
 import io.github.ust.mico.core.model.MicoService;
 import io.github.ust.mico.core.model.MicoServiceCrawlingOrigin;
 import io.github.ust.mico.core.util.KubernetesNameNormalizer;
+import io.github.ust.mico.core.util.RestTemplates;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.http.HttpStatus;
 import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.util.UriComponents;
 import org.springframework.web.util.UriComponentsBuilder;
 
@@ -56,12 +60,14 @@ public class GitHubCrawler {
     private static final String GITHUB_HTML_URL = "https://github.com/";
     private static final String GITHUB_API_URL = "https://api.github.com/repos/";
     private static final String GITHUB_API_CONTENTS = "contents";
+    private static final String GITHUB_API_COMMITS = "commits";
+    private static final String GIT_SUFFIX = ".git";
 
     private final RestTemplate restTemplate;
     private final KubernetesNameNormalizer kubernetesNameNormalizer;
 
     @Autowired
-    public GitHubCrawler(RestTemplate restTemplate, KubernetesNameNormalizer kubernetesNameNormalizer) {
+    public GitHubCrawler(@Qualifier(RestTemplates.QUALIFIER_GITHUB_REST_TEMPLATE) RestTemplate restTemplate, KubernetesNameNormalizer kubernetesNameNormalizer) {
         this.restTemplate = restTemplate;
         this.kubernetesNameNormalizer = kubernetesNameNormalizer;
     }
@@ -187,6 +193,32 @@ public String adaptUriForGitHubApi(String url) {
         return url.replace(GITHUB_HTML_URL, GITHUB_API_URL);
     }
 
+    /**
+     * Resolves a Git revision (e.g. a tag or branch) of a GitHub repository to the SHA of the commit it points to.
+     *
+     * @param gitCloneUrl the clone url of the GitHub repository. For example https://github.com/UST-MICO/hello.git
+     * @param revision    the revision to resolve
+     * @return the commit SHA or {@link Optional#empty()} if the repository is not hosted on GitHub or the revision could
+     * not be resolved
+     */
+    public Optional<String> resolveCommitSha(String gitCloneUrl, String revision) {
+        if (StringUtils.isEmpty(gitCloneUrl) || StringUtils.isEmpty(revision) || !gitCloneUrl.trim().startsWith(GITHUB_HTML_URL)) {
+            return Optional.empty();
+        }
+        String gitHubRepoUrl = adaptUriForGitHubApi(StringUtils.removeEnd(gitCloneUrl.trim(), GIT_SUFFIX));
+        URI commitUri = UriComponentsBuilder.fromHttpUrl(gitHubRepoUrl).pathSegment(GITHUB_API_COMMITS).pathSegment(revision).build().toUri();
+        log.debug("Resolve revision '{}' of '{}' from '{}'", revision, gitCloneUrl, commitUri);
+        try {
+            ResponseEntity<String> response = restTemplate.getForEntity(commitUri, String.class);
+            JsonNode commitJson = new ObjectMapper().readTree(response.getBody());
+            JsonNode sha = commitJson.get("sha");
+            return sha != null ? Optional.of(sha.textValue()) : Optional.empty();
+        } catch (RestClientException | IOException e) {
+            log.warn("Failed to resolve revision '{}' of '{}'. Caused by: {}", revision, gitCloneUrl, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
     public List<String> getVersionsFromGitHubRepo(String gitHubRepoUrl) throws IOException {
         gitHubRepoUrl = adaptUriForGitHubApi(gitHubRepoUrl);
         String releasesUrl = gitHubRepoUrl + "/" + RELEASES;
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.github.ust.mico.core.service;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.github.ust.mico.core.model.MicoServiceBackgroundJob;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process registry of the futures of running {@link MicoServiceBackgroundJob MicoServiceBackgroundJobs}, keyed by
+ * the job ID. Futures only live as long as the MICO instance that started the job, hence they are kept here and only
+ * the metadata of the jobs is stored in Redis. A future is removed from the registry as soon as it is completed.
+ */
+@Slf4j
+@Component
+public class JobHandleRegistry {
+
+    private final Map<String, CompletableFuture<?>> futures = new ConcurrentHashMap<>();
+
+    @Autowired
+    public JobHandleRegistry(MeterRegistry meterRegistry) {
+        Gauge.builder("mico.jobs.handles", futures, Map::size)
+            .description("Number of background jobs with a running future in this MICO instance")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Registers the future of a job. A future that was registered before for the same job is replaced, but not
+     * cancelled.
+     *
+     * @param jobId  the ID of the {@link MicoServiceBackgroundJob}
+     * @param future the future of the job
+     */
+    public void register(String jobId, CompletableFuture<?> future) {
+        futures.put(jobId, future);
+        future.whenComplete((result, throwable) -> futures.remove(jobId, future));
+    }
+
+    /**
+     * Returns the running future of a job.
+     *
+     * @param jobId the ID of the {@link MicoServiceBackgroundJob}
+     * @return the future or {@link Optional#empty()} if there is no running future for the job in this MICO instance
+     */
+    public Optional<CompletableFuture<?>> getFuture(String jobId) {
+        return Optional.ofNullable(futures.get(jobId));
+    }
+
+    /**
+     * Cancels the running future of a job and removes it from the registry.
+     *
+     * @param jobId the ID of the {@link MicoServiceBackgroundJob}
+     * @return {@code true} if a running future was cancelled
+     */
+    public boolean cancel(String jobId) {
+        CompletableFuture<?> future = futures.remove(jobId);
+        return future != null && future.cancel(true);
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.github.ust.mico.core.service;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import io.github.ust.mico.core.service.KubernetesApplyResult.Outcome;
+
+/**
+ * Counts the Kubernetes resources that were created, patched or left unchanged during a single deployment. The
+ * Kubernetes resources of a deployment are created concurrently, hence all methods are thread-safe.
+ */
+public class KubernetesApplyReport {
+
+    private final Map<Outcome, Integer> counts = new EnumMap<>(Outcome.class);
+
+    /**
+     * Records the outcome of applying a Kubernetes resource.
+     *
+     * @param result the {@link KubernetesApplyResult}
+     */
+    public synchronized void record(KubernetesApplyResult<?> result) {
+        counts.merge(result.getOutcome(), 1, Integer::sum);
+    }
+
+    /**
+     * Returns how many Kubernetes resources were applied with the given outcome.
+     *
+     * @param outcome the {@link Outcome}
+     * @return the number of Kubernetes resources
+     */
+    public synchronized int getCount(Outcome outcome) {
+        return counts.getOrDefault(outcome, 0);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return getCount(Outcome.CREATED) + " created, " + getCount(Outcome.PATCHED) + " patched, "
+            + getCount(Outcome.UNCHANGED) + " unchanged";
+    }
+}
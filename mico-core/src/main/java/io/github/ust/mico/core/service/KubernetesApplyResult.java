@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.github.ust.mico.core.service;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import lombok.Value;
+
+/**
+ * The result of creating or updating a single Kubernetes resource by the {@link MicoKubernetesClient}.
+ *
+ * @param <T> the type of the Kubernetes resource
+ */
+@Value
+public class KubernetesApplyResult<T extends HasMetadata> {
+
+    /**
+     * What was done to apply the desired state of the Kubernetes resource.
+     */
+    public enum Outcome {
+        /**
+         * The resource did not exist and was created.
+         */
+        CREATED,
+        /**
+         * The resource existed, but differed from the desired state and was patched.
+         */
+        PATCHED,
+        /**
+         * The resource already matched the desired state. Nothing was sent to Kubernetes.
+         */
+        UNCHANGED
+    }
+
+    /**
+     * The Kubernetes resource after applying the desired state.
+     */
+    T resource;
+
+    /**
+     * What was done to apply the desired state.
+     */
+    Outcome outcome;
+
+    public static <T extends HasMetadata> KubernetesApplyResult<T> created(T resource) {
+        return new KubernetesApplyResult<>(resource, Outcome.CREATED);
+    }
+
+    public static <T extends HasMetadata> KubernetesApplyResult<T> patched(T resource) {
+        return new KubernetesApplyResult<>(resource, Outcome.PATCHED);
+    }
+
+    public static <T extends HasMetadata> KubernetesApplyResult<T> unchanged(T resource) {
+        return new KubernetesApplyResult<>(resource, Outcome.UNCHANGED);
+    }
+}
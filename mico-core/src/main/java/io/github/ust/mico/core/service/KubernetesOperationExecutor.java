@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.github.ust.mico.core.service;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.annotation.PreDestroy;
+
+import io.github.ust.mico.core.configuration.MicoKubernetesConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Executes blocking Kubernetes API operations concurrently on a bounded number of threads. Each operation is aborted
+ * (interrupted) if it does not finish within the configured operation timeout, so a single slow operation cannot stall
+ * a whole deployment.
+ */
+@Slf4j
+@Component
+public class KubernetesOperationExecutor {
+
+    private final ExecutorService executor;
+
+    private final ScheduledExecutorService timeoutScheduler = Executors.newSingleThreadScheduledExecutor(
+        new CustomizableThreadFactory("kubernetes-operation-timeout-"));
+
+    private final int operationTimeout;
+
+    /**
+     * Creates the executor based on the limits configured in the {@link MicoKubernetesConfig}.
+     *
+     * @param micoKubernetesConfig the Kubernetes configuration
+     */
+    @Autowired
+    public KubernetesOperationExecutor(MicoKubernetesConfig micoKubernetesConfig) {
+        this.executor = Executors.newFixedThreadPool(micoKubernetesConfig.getOperationParallelism(),
+            new CustomizableThreadFactory("kubernetes-operation-"));
+        this.operationTimeout = micoKubernetesConfig.getOperationTimeout();
+    }
+
+    /**
+     * Submits a Kubernetes API operation. The returned future completes exceptionally with the exception thrown by the
+     * operation or with a {@link TimeoutException} if the operation does not finish within the operation timeout.
+     *
+     * @param description a short description of the operation used for logging
+     * @param operation   the operation
+     * @param <T>         the type of the result of the operation
+     * @return the {@link CompletableFuture} that completes with the result of the operation
+     */
+    public <T> CompletableFuture<T> submit(String description, Callable<T> operation) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        executor.execute(() -> {
+            if (result.isDone()) {
+                return;
+            }
+            // The timeout starts as soon as the operation is executed, not while it is queued.
+            RunningOperation runningOperation = new RunningOperation(Thread.currentThread());
+            ScheduledFuture<?> timeout = timeoutScheduler.schedule(() -> {
+                if (result.completeExceptionally(new TimeoutException(
+                    "Kubernetes operation '" + description + "' did not finish within " + operationTimeout + " seconds"))) {
+                    log.warn("Kubernetes operation '{}' did not finish within {} seconds -> Abort it.", description, operationTimeout);
+                    runningOperation.interrupt();
+                }
+            }, operationTimeout, TimeUnit.SECONDS);
+            try {
+                result.complete(operation.call());
+            } catch (Exception e) {
+                result.completeExceptionally(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+            } finally {
+                timeout.cancel(false);
+                runningOperation.finish();
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Stops the execution of queued and running operations.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        timeoutScheduler.shutdownNow();
+    }
+
+    /**
+     * The worker thread of a running operation. Ensures that the worker thread is only interrupted as long as it
+     * executes the operation and not while it is already executing the next one.
+     */
+    private static class RunningOperation {
+
+        private final Thread worker;
+
+        private boolean finished;
+
+        RunningOperation(Thread worker) {
+            this.worker = worker;
+        }
+
+        synchronized void interrupt() {
+            if (!finished) {
+                worker.interrupt();
+            }
+        }
+
+        synchronized void finish() {
+            finished = true;
+            // Clear the interrupted flag, so it does not affect the next operation executed by this worker thread.
+            Thread.interrupted();
+        }
+    }
+}
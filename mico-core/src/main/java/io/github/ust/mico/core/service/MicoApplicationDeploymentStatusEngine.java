@@ -0,0 +1,335 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.github.ust.mico.core.service;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+import javax.annotation.PreDestroy;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.github.ust.mico.core.broker.BackgroundJobBroker;
+import io.github.ust.mico.core.configuration.MicoKubernetesConfig;
+import io.github.ust.mico.core.model.MicoApplication;
+import io.github.ust.mico.core.model.MicoApplicationDeploymentStatus;
+import io.github.ust.mico.core.model.MicoServiceBackgroundJob;
+import io.github.ust.mico.core.model.MicoServiceDeploymentInfo;
+import io.github.ust.mico.core.persistence.MicoApplicationRepository;
+import io.github.ust.mico.core.persistence.MicoServiceDeploymentInfoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps a materialized {@link MicoApplicationDeploymentStatus} per {@link MicoApplication}, so that the deployment
+ * status can be answered without querying Neo4j, Redis and the Kubernetes API server on every request.
+ * <p>
+ * The status of an application is computed once by {@link MicoKubernetesClient#getApplicationDeploymentStatus(MicoApplication)}
+ * and then recomputed in the background whenever a Kubernetes resource of one of its MICO service instances (reported
+ * by the {@link MicoKubernetesResourceCache}) or a background job changes.
+ * <p>
+ * Kubernetes changes are only observed while the {@link MicoKubernetesResourceCache} is synced. Otherwise, the status
+ * is computed on every request. In addition, a materialized status expires after the resync period of the resource
+ * cache, which bounds the staleness in case of changes that are not reported by any event (e.g. a MICO service that
+ * was added to the application).
+ */
+@Slf4j
+@Component
+public class MicoApplicationDeploymentStatusEngine {
+
+    private final MicoKubernetesClient micoKubernetesClient;
+    private final MicoKubernetesResourceCache resourceCache;
+    private final MicoApplicationRepository applicationRepository;
+    private final MicoServiceDeploymentInfoRepository serviceDeploymentInfoRepository;
+    private final MicoKubernetesConfig micoKubernetesConfig;
+
+    /**
+     * The materialized status of each application, keyed by short name and version of the application.
+     */
+    private final Map<String, MaterializedStatus> statuses = new ConcurrentHashMap<>();
+
+    /**
+     * The keys of the materialized applications that include a MICO service instance, keyed by the instance ID.
+     */
+    private final Map<String, Set<String>> applicationsByInstanceId = new ConcurrentHashMap<>();
+
+    /**
+     * The keys of the applications whose status is going to be recomputed. Used to coalesce bursts of events.
+     */
+    private final Set<String> pendingRefreshes = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The listeners that are notified whenever the materialized status of an application changes.
+     */
+    private final List<BiConsumer<MicoApplication, MicoApplicationDeploymentStatus>> statusListeners = new CopyOnWriteArrayList<>();
+
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(
+        new CustomizableThreadFactory("application-status-"));
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter refreshCounter;
+
+    @Autowired
+    public MicoApplicationDeploymentStatusEngine(MicoKubernetesClient micoKubernetesClient, MicoKubernetesResourceCache resourceCache,
+                                                 BackgroundJobBroker backgroundJobBroker,
+                                                 MicoApplicationRepository applicationRepository,
+                                                 MicoServiceDeploymentInfoRepository serviceDeploymentInfoRepository,
+                                                 MicoKubernetesConfig micoKubernetesConfig, MeterRegistry meterRegistry) {
+        this.micoKubernetesClient = micoKubernetesClient;
+        this.resourceCache = resourceCache;
+        this.applicationRepository = applicationRepository;
+        this.serviceDeploymentInfoRepository = serviceDeploymentInfoRepository;
+        this.micoKubernetesConfig = micoKubernetesConfig;
+
+        resourceCache.addResourceListener(this::onResourceChanged);
+        backgroundJobBroker.addJobListener(this::onJobChanged);
+
+        hitCounter = requestCounter(meterRegistry, "hit");
+        missCounter = requestCounter(meterRegistry, "miss");
+        refreshCounter = Counter.builder("mico.applications.status.refreshes")
+            .description("Number of recomputations of materialized application deployment statuses")
+            .register(meterRegistry);
+        Gauge.builder("mico.applications.status.materialized", statuses, Map::size)
+            .description("Number of applications with a materialized deployment status")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Returns the deployment status of the given application. The materialized status is returned if it is available,
+     * otherwise the status is computed and materialized.
+     *
+     * @param micoApplication the {@link MicoApplication}
+     * @return the {@link MicoApplicationDeploymentStatus}
+     */
+    public MicoApplicationDeploymentStatus getApplicationDeploymentStatus(MicoApplication micoApplication) {
+        if (!resourceCache.isSynced()) {
+            return micoKubernetesClient.getApplicationDeploymentStatus(micoApplication);
+        }
+        Optional<MicoApplicationDeploymentStatus> materializedStatus =
+            getMaterializedStatus(micoApplication.getShortName(), micoApplication.getVersion());
+        if (materializedStatus.isPresent()) {
+            return materializedStatus.get();
+        }
+        missCounter.increment();
+        return refresh(micoApplication);
+    }
+
+    /**
+     * Returns the materialized deployment status of an application if it is available and not expired.
+     *
+     * @param shortName the short name of the {@link MicoApplication}
+     * @param version   the version of the {@link MicoApplication}
+     * @return the materialized {@link MicoApplicationDeploymentStatus} or an empty {@link Optional}
+     */
+    public Optional<MicoApplicationDeploymentStatus> getMaterializedStatus(String shortName, String version) {
+        if (!resourceCache.isSynced()) {
+            return Optional.empty();
+        }
+        MaterializedStatus materializedStatus = statuses.get(applicationKey(shortName, version));
+        long maxAge = TimeUnit.SECONDS.toMillis(micoKubernetesConfig.getResourceCacheResyncPeriod());
+        if (materializedStatus == null || System.currentTimeMillis() - materializedStatus.computedAt > maxAge) {
+            return Optional.empty();
+        }
+        hitCounter.increment();
+        return Optional.of(materializedStatus.status);
+    }
+
+    /**
+     * Removes the materialized deployment status of an application, e.g. because the application was deleted.
+     *
+     * @param shortName the short name of the {@link MicoApplication}
+     * @param version   the version of the {@link MicoApplication}
+     */
+    public void evict(String shortName, String version) {
+        String key = applicationKey(shortName, version);
+        MaterializedStatus removed = statuses.remove(key);
+        if (removed != null) {
+            unindex(key, removed.instanceIds);
+        }
+    }
+
+    /**
+     * Registers a listener that is notified with the application and its new status whenever a materialized
+     * deployment status is recomputed and differs from the previous one. Only applications whose status is
+     * materialized are observed, so the status of an application should be requested once beforehand.
+     *
+     * @param listener the listener
+     */
+    public void addStatusListener(BiConsumer<MicoApplication, MicoApplicationDeploymentStatus> listener) {
+        statusListeners.add(listener);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private MicoApplicationDeploymentStatus refresh(MicoApplication micoApplication) {
+        String key = applicationKey(micoApplication.getShortName(), micoApplication.getVersion());
+        Set<String> instanceIds = serviceDeploymentInfoRepository
+            .findAllByApplication(micoApplication.getShortName(), micoApplication.getVersion()).stream()
+            .map(MicoServiceDeploymentInfo::getInstanceId)
+            .collect(Collectors.toSet());
+        MicoApplicationDeploymentStatus status = micoKubernetesClient.getApplicationDeploymentStatus(micoApplication);
+        refreshCounter.increment();
+
+        MaterializedStatus previous = statuses.put(key,
+            new MaterializedStatus(micoApplication.getShortName(), micoApplication.getVersion(), status, instanceIds, System.currentTimeMillis()));
+        if (previous != null) {
+            unindex(key, previous.instanceIds);
+        }
+        instanceIds.forEach(instanceId -> applicationsByInstanceId.computeIfAbsent(instanceId, id -> ConcurrentHashMap.newKeySet()).add(key));
+        log.debug("Materialized deployment status of MicoApplication '{}' '{}': {}",
+            micoApplication.getShortName(), micoApplication.getVersion(), status.getValue());
+        if (previous != null && !previous.status.equals(status)) {
+            notifyStatusListeners(micoApplication, status);
+        }
+        return status;
+    }
+
+    private void onResourceChanged(HasMetadata resource) {
+        String instanceId = MicoKubernetesResourceCache.instanceIdOf(resource);
+        if (instanceId != null) {
+            applicationsByInstanceId.getOrDefault(instanceId, Collections.emptySet()).forEach(this::scheduleRefresh);
+        }
+    }
+
+    private void onJobChanged(MicoServiceBackgroundJob job) {
+        Set<String> applicationKeys = applicationsByInstanceId.get(job.getInstanceId());
+        if (applicationKeys != null) {
+            applicationKeys.forEach(this::scheduleRefresh);
+        } else if (!statuses.isEmpty()) {
+            // The job belongs to an instance that is not known yet, e.g. a MICO service that was added
+            // to an application after its status was materialized. Its applications are resolved in the
+            // background, since this may require a Neo4j query.
+            refreshExecutor.execute(() -> resolveApplicationKeys(job).forEach(this::scheduleRefresh));
+        }
+    }
+
+    /**
+     * Resolves the keys of the applications that are affected by a job of an instance that is not indexed. These are
+     * the application the job was created for, or, if it is not known, the applications that use the instance.
+     */
+    private Set<String> resolveApplicationKeys(MicoServiceBackgroundJob job) {
+        if (job.getApplicationShortName() != null && job.getApplicationVersion() != null) {
+            return Collections.singleton(applicationKey(job.getApplicationShortName(), job.getApplicationVersion()));
+        }
+        if (job.getInstanceId() == null) {
+            return Collections.emptySet();
+        }
+        try {
+            return applicationRepository.findAllByUsedServiceInstance(job.getInstanceId()).stream()
+                .map(application -> applicationKey(application.getShortName(), application.getVersion()))
+                .collect(Collectors.toSet());
+        } catch (Exception e) {
+            log.warn("Failed to look up the applications of MICO service instance '{}': {}", job.getInstanceId(), e.getMessage());
+            return Collections.emptySet();
+        }
+    }
+
+    private void scheduleRefresh(String key) {
+        if (!statuses.containsKey(key) || !pendingRefreshes.add(key)) {
+            return;
+        }
+        refreshExecutor.execute(() -> {
+            pendingRefreshes.remove(key);
+            MaterializedStatus materializedStatus = statuses.get(key);
+            if (materializedStatus == null) {
+                return;
+            }
+            String shortName = materializedStatus.shortName;
+            String version = materializedStatus.version;
+            try {
+                // Reload the application, its services may have changed since the status was materialized
+                Optional<MicoApplication> micoApplication = applicationRepository.findByShortNameAndVersion(shortName, version);
+                if (micoApplication.isPresent()) {
+                    refresh(micoApplication.get());
+                } else {
+                    log.debug("MicoApplication '{}' '{}' does not exist anymore, evicting its deployment status", shortName, version);
+                    evict(shortName, version);
+                }
+            } catch (Exception e) {
+                log.warn("Failed to recompute the deployment status of MicoApplication '{}' '{}': {}",
+                    shortName, version, e.getMessage());
+                evict(shortName, version);
+            }
+        });
+    }
+
+    private void notifyStatusListeners(MicoApplication micoApplication, MicoApplicationDeploymentStatus status) {
+        for (BiConsumer<MicoApplication, MicoApplicationDeploymentStatus> listener : statusListeners) {
+            try {
+                listener.accept(micoApplication, status);
+            } catch (Exception e) {
+                log.warn("Status listener failed for MicoApplication '{}' '{}': {}",
+                    micoApplication.getShortName(), micoApplication.getVersion(), e.getMessage(), e);
+            }
+        }
+    }
+
+    private void unindex(String key, Set<String> instanceIds) {
+        for (String instanceId : instanceIds) {
+            applicationsByInstanceId.computeIfPresent(instanceId, (id, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+
+    private static String applicationKey(String shortName, String version) {
+        return shortName + ":" + version;
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("mico.applications.status.requests")
+            .description("Number of requests of application deployment statuses")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    /**
+     * The materialized status of an application together with the instance IDs of its MICO service instances at the
+     * time the status was computed.
+     */
+    @AllArgsConstructor
+    private static class MaterializedStatus {
+        private final String shortName;
+        private final String version;
+        private final MicoApplicationDeploymentStatus status;
+        private final Set<String> instanceIds;
+        private final long computedAt;
+    }
+}
@@ -0,0 +1,296 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.github.ust.mico.core.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.TreeNode;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import io.github.ust.mico.core.configuration.MicoBulkImportConfig;
+import io.github.ust.mico.core.dto.response.MicoBulkImportResultResponseDTO;
+import io.github.ust.mico.core.dto.response.MicoBulkImportResultResponseDTO.Status;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Imports a stream of request DTOs (e.g. services or applications) in batches.
+ * <p>
+ * The documents are read either as JSON lines (one JSON document per line) or as a YAML stream (documents separated
+ * by {@code ---}). The documents of a batch are validated in parallel, the valid ones are handed over to a batch
+ * writer and the result of each document is written to the response as a JSON line as soon as its batch is finished.
+ * Invalid documents do not abort the import.
+ */
+@Slf4j
+@Component
+public class MicoBulkImportService {
+
+    /**
+     * The media type of a stream of JSON documents separated by line breaks.
+     */
+    public static final String MEDIA_TYPE_JSON_LINES = "application/x-ndjson";
+
+    /**
+     * The media type of a YAML stream, which may contain multiple documents.
+     */
+    public static final String MEDIA_TYPE_YAML = "application/x-yaml";
+
+    private static final String FIELD_SHORT_NAME = "shortName";
+    private static final String FIELD_VERSION = "version";
+
+    private final MicoBulkImportConfig bulkImportConfig;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    /**
+     * Only used to parse YAML documents into trees, which are mapped to the DTOs by the {@link #objectMapper}.
+     */
+    private final YAMLMapper yamlMapper = new YAMLMapper();
+
+    @Autowired
+    public MicoBulkImportService(MicoBulkImportConfig bulkImportConfig, ObjectMapper objectMapper, Validator validator) {
+        this.bulkImportConfig = bulkImportConfig;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+    }
+
+    /**
+     * Creates the response body of a bulk import. The input is read as soon as the response body is written.
+     *
+     * @param input        the {@link InputStream} containing the documents
+     * @param contentType  the content type of the input, either {@link #MEDIA_TYPE_JSON_LINES} or {@link
+     *                     #MEDIA_TYPE_YAML}
+     * @param documentType the type of the request DTOs
+     * @param entityMapper the function that maps a valid request DTO to the entity that is written
+     * @param batchWriter  writes a batch of entities and returns the entities that were created; entities that are not
+     *                     returned already existed
+     * @param <T>          the type of the request DTOs
+     * @param <E>          the type of the entities
+     * @return the {@link StreamingResponseBody} containing one {@link MicoBulkImportResultResponseDTO} per document
+     */
+    public <T, E> StreamingResponseBody importDocuments(InputStream input, MediaType contentType, Class<T> documentType,
+                                                        Function<T, E> entityMapper, UnaryOperator<List<E>> batchWriter) {
+        boolean yaml = MediaType.parseMediaType(MEDIA_TYPE_YAML).isCompatibleWith(contentType);
+        return outputStream -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8);
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            Map<Status, Integer> statistics = new EnumMap<>(Status.class);
+
+            DocumentSource documentSource = yaml ? yamlDocuments(input) : jsonLineDocuments(input);
+            List<ParsedDocument> batch = new ArrayList<>(bulkImportConfig.getBatchSize());
+            ParsedDocument document;
+            do {
+                document = documentSource.next();
+                if (document != null) {
+                    batch.add(document);
+                }
+                if (batch.size() == bulkImportConfig.getBatchSize() || (document == null && !batch.isEmpty())) {
+                    for (MicoBulkImportResultResponseDTO result : importBatch(batch, documentType, entityMapper, batchWriter)) {
+                        generator.writeObject(result);
+                        statistics.merge(result.getStatus(), 1, Integer::sum);
+                    }
+                    generator.flush();
+                    batch.clear();
+                }
+            } while (document != null);
+            generator.writeRaw('\n');
+            generator.flush();
+            log.info("Bulk import of {} document(s) finished: {}", documentType.getSimpleName(), statistics);
+        };
+    }
+
+    /**
+     * Validates the documents of a batch in parallel and writes all valid documents with a single call of the batch
+     * writer.
+     */
+    private <T, E> List<MicoBulkImportResultResponseDTO> importBatch(List<ParsedDocument> documents, Class<T> documentType,
+                                                                   Function<T, E> entityMapper, UnaryOperator<List<E>> batchWriter) {
+        List<ImportItem<E>> items = documents.parallelStream()
+            .map(document -> validate(document, documentType, entityMapper))
+            .collect(Collectors.toList());
+        List<ImportItem<E>> validItems = items.stream()
+            .filter(item -> item.getEntity() != null)
+            .collect(Collectors.toList());
+
+        if (!validItems.isEmpty()) {
+            try {
+                // Compare by identity, the entities may be equal according to their equals method
+                Set<E> createdEntities = Collections.newSetFromMap(new IdentityHashMap<>());
+                createdEntities.addAll(batchWriter.apply(validItems.stream().map(ImportItem::getEntity).collect(Collectors.toList())));
+                validItems.forEach(item -> item.getResult().setStatus(
+                    createdEntities.contains(item.getEntity()) ? Status.CREATED : Status.ALREADY_EXISTS));
+            } catch (RuntimeException e) {
+                log.error("Failed to write a batch of {} document(s). Caused by: {}", validItems.size(), e.getMessage(), e);
+                validItems.forEach(item -> item.getResult().setStatus(Status.FAILED).setMessage(e.getMessage()));
+            }
+        }
+        return items.stream().map(ImportItem::getResult).collect(Collectors.toList());
+    }
+
+    private <T, E> ImportItem<E> validate(ParsedDocument document, Class<T> documentType, Function<T, E> entityMapper) {
+        MicoBulkImportResultResponseDTO result = new MicoBulkImportResultResponseDTO().setIndex(document.getIndex());
+        if (document.getContent() == null) {
+            return new ImportItem<>(null, result.setStatus(Status.INVALID).setMessage(document.getError()));
+        }
+        result.setShortName(document.getShortName()).setVersion(document.getVersion());
+
+        T dto;
+        try {
+            dto = objectMapper.treeToValue(document.getContent(), documentType);
+        } catch (JsonProcessingException e) {
+            return new ImportItem<>(null, result.setStatus(Status.INVALID).setMessage(e.getOriginalMessage()));
+        }
+        Set<ConstraintViolation<T>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+            return new ImportItem<>(null, result.setStatus(Status.INVALID).setMessage(message));
+        }
+        return new ImportItem<>(entityMapper.apply(dto), result);
+    }
+
+    /**
+     * Reads one JSON document per line. Empty lines are skipped. A line that is not valid JSON only invalidates the
+     * document of this line.
+     */
+    private DocumentSource jsonLineDocuments(InputStream input) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        int[] index = {0};
+        return () -> {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.trim().isEmpty());
+            int documentIndex = index[0]++;
+            try {
+                return ParsedDocument.of(documentIndex, objectMapper.readTree(line));
+            } catch (JsonProcessingException e) {
+                return ParsedDocument.invalid(documentIndex, e.getOriginalMessage());
+            }
+        };
+    }
+
+    /**
+     * Reads the documents of a YAML stream. Since the parser cannot recover from a syntax error, the import stops at
+     * the first document that is not valid YAML.
+     */
+    private DocumentSource yamlDocuments(InputStream input) throws IOException {
+        MappingIterator<JsonNode> documents = yamlMapper.readerFor(JsonNode.class).readValues(input);
+        int[] index = {0};
+        boolean[] failed = {false};
+        return () -> {
+            try {
+                while (!failed[0] && documents.hasNextValue()) {
+                    JsonNode content = documents.nextValue();
+                    // Empty documents, e.g. caused by a leading separator, are skipped
+                    if (content != null && !content.isMissingNode() && !content.isNull()) {
+                        return ParsedDocument.of(index[0]++, content);
+                    }
+                }
+                return null;
+            } catch (JsonProcessingException e) {
+                failed[0] = true;
+                return ParsedDocument.invalid(index[0]++, "Import stopped, invalid YAML: " + e.getOriginalMessage());
+            }
+        };
+    }
+
+    /**
+     * Provides the documents of the input one by one.
+     */
+    @FunctionalInterface
+    private interface DocumentSource {
+
+        /**
+         * Returns the next document of the input.
+         *
+         * @return the next {@link ParsedDocument} or {@code null} if the end of the input is reached
+         * @throws IOException if the input cannot be read
+         */
+        ParsedDocument next() throws IOException;
+    }
+
+    /**
+     * A document of the input. Either the content or the error is set. The content is not typed as {@link JsonNode},
+     * because Neo4j OGM scans all classes of this application and treats fields of {@link Iterable} types as
+     * collections.
+     */
+    @Getter
+    @AllArgsConstructor
+    private static class ParsedDocument {
+        private final int index;
+        private final TreeNode content;
+        private final String shortName;
+        private final String version;
+        private final String error;
+
+        static ParsedDocument of(int index, JsonNode content) {
+            return new ParsedDocument(index, content, content.path(FIELD_SHORT_NAME).textValue(),
+                content.path(FIELD_VERSION).textValue(), null);
+        }
+
+        static ParsedDocument invalid(int index, String error) {
+            return new ParsedDocument(index, null, null, null, error);
+        }
+    }
+
+    /**
+     * A validated document. The entity is {@code null} if the document is not valid.
+     */
+    @Getter
+    @AllArgsConstructor
+    private static class ImportItem<E> {
+        private final E entity;
+        private final MicoBulkImportResultResponseDTO result;
+    }
+}
@@ -0,0 +1,331 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.github.ust.mico.core.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import javax.annotation.PostConstruct;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.github.ust.mico.core.configuration.MicoEntityCacheConfig;
+import io.github.ust.mico.core.model.KubernetesDeploymentInfo;
+import io.github.ust.mico.core.model.MicoApplication;
+import io.github.ust.mico.core.model.MicoService;
+import io.github.ust.mico.core.model.MicoServiceDependency;
+import io.github.ust.mico.core.model.MicoServiceDeploymentInfo;
+import io.github.ust.mico.core.model.MicoServiceInterface;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.neo4j.ogm.session.SessionFactory;
+import org.neo4j.ogm.session.event.Event;
+import org.neo4j.ogm.session.event.EventListenerAdapter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Read-through cache for {@link MicoService MicoServices}, {@link MicoApplication MicoApplications} and {@link
+ * MicoServiceDeploymentInfo MicoServiceDeploymentInfos} that are looked up by short name and version. Lookups are
+ * keyed by the type, the short name, the version and the depth with which the entity is loaded.
+ * <p>
+ * Cached entities are shared between all callers and must not be modified. Code that modifies an entity must load it
+ * from the database instead.
+ * <p>
+ * Entries are evicted based on size and time to live. In addition, all entries that contain a written entity are
+ * invalidated as soon as a {@link MicoService}, {@link MicoApplication}, {@link MicoServiceDeploymentInfo}, {@link
+ * MicoServiceInterface} or {@link KubernetesDeploymentInfo} is saved or deleted by Neo4j-OGM. Entities that are
+ * deleted with a custom Cypher query bypass Neo4j-OGM and must be invalidated explicitly.
+ */
+@Slf4j
+@Component
+public class MicoEntityCache {
+
+    private static final String CACHE_NAME = "mico-entities";
+    private static final String METRIC_PREFIX = "mico.entity.cache";
+
+    private final MicoEntityCacheConfig entityCacheConfig;
+    private final SessionFactory sessionFactory;
+
+    private final Cache<EntityKey, Object> cache;
+
+    private final Counter invalidationCounter;
+
+    /**
+     * Incremented on every invalidation. A lookup result is only cached if no invalidation happened while it was
+     * loaded, otherwise it could be outdated already.
+     */
+    private final AtomicLong invalidationGeneration = new AtomicLong();
+
+    @Autowired
+    public MicoEntityCache(MicoEntityCacheConfig entityCacheConfig, SessionFactory sessionFactory, MeterRegistry meterRegistry) {
+        this.entityCacheConfig = entityCacheConfig;
+        this.sessionFactory = sessionFactory;
+        this.cache = CacheBuilder.newBuilder()
+            .maximumSize(entityCacheConfig.getMaximumSize())
+            .expireAfterWrite(entityCacheConfig.getTimeToLive(), TimeUnit.SECONDS)
+            .recordStats()
+            .build();
+
+        // Publishes the standard cache metrics (cache.gets, cache.evictions, ...) tagged with the name of the cache
+        GuavaCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder(METRIC_PREFIX + ".hit.ratio", cache, c -> c.stats().hitRate())
+            .description("Ratio of entity lookups that were answered by the cache")
+            .register(meterRegistry);
+        this.invalidationCounter = Counter.builder(METRIC_PREFIX + ".invalidations")
+            .description("Number of cached entity lookups that were invalidated because an entity was written")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void registerEventListener() {
+        if (!entityCacheConfig.isEnabled()) {
+            log.info("Entity cache is disabled.");
+            return;
+        }
+        sessionFactory.register(new EventListenerAdapter() {
+            @Override
+            public void onPostSave(Event event) {
+                invalidateAfterWrite(event.getObject());
+            }
+
+            @Override
+            public void onPostDelete(Event event) {
+                invalidateAfterWrite(event.getObject());
+            }
+        });
+    }
+
+    /**
+     * Returns the cached entity or loads it with the given loader. Lookups that do not find an entity are not cached.
+     *
+     * @param type      the type of the entity
+     * @param shortName the short name of the entity
+     * @param version   the version of the entity
+     * @param depth     the depth with which the entity is loaded by the loader
+     * @param loader    the loader that queries the database
+     * @param <T>       the type of the entity
+     * @return the {@link Optional} entity
+     */
+    public <T> Optional<T> get(Class<T> type, String shortName, String version, int depth, Supplier<Optional<T>> loader) {
+        EntityKey key = new EntityKey(type, shortName, version, null, depth);
+        return Optional.ofNullable(type.cast(getOrLoad(key, () -> loader.get().orElse(null))));
+    }
+
+    /**
+     * Returns the cached list of {@link MicoServiceDeploymentInfo MicoServiceDeploymentInfos} for the given
+     * application and service or loads it with the given loader. Empty lists are not cached.
+     *
+     * @param applicationShortName the short name of the {@link MicoApplication}
+     * @param applicationVersion   the version of the {@link MicoApplication}
+     * @param serviceShortName     the short name of the {@link MicoService}
+     * @param depth                the depth with which the deployment information is loaded by the loader
+     * @param loader               the loader that queries the database
+     * @return the list of {@link MicoServiceDeploymentInfo MicoServiceDeploymentInfos}
+     */
+    @SuppressWarnings("unchecked")
+    public List<MicoServiceDeploymentInfo> getServiceDeploymentInfos(String applicationShortName, String applicationVersion,
+                                                                     String serviceShortName, int depth,
+                                                                     Supplier<List<MicoServiceDeploymentInfo>> loader) {
+        EntityKey key = new EntityKey(MicoServiceDeploymentInfo.class, applicationShortName, applicationVersion, serviceShortName, depth);
+        return (List<MicoServiceDeploymentInfo>) getOrLoad(key, () -> {
+            List<MicoServiceDeploymentInfo> serviceDeploymentInfos = loader.get();
+            return serviceDeploymentInfos.isEmpty() ? null : serviceDeploymentInfos;
+        });
+    }
+
+    /**
+     * Invalidates all cached lookups that contain the {@link MicoService} with the given short name and version. This
+     * includes the applications that include the service, the services that depend on it and its deployment
+     * information.
+     *
+     * @param shortName the short name of the {@link MicoService}
+     * @param version   the version of the {@link MicoService}
+     */
+    public void invalidateService(String shortName, String version) {
+        Predicate<MicoService> isService = service -> service != null
+            && Objects.equals(service.getShortName(), shortName) && Objects.equals(service.getVersion(), version);
+        invalidateIf((key, value) -> (key.getType() == MicoService.class && key.matches(shortName, version))
+            || servicesOf(value).anyMatch(isService));
+    }
+
+    /**
+     * Invalidates all cached lookups of the {@link MicoApplication} with the given short name and version, including
+     * the lookups of its deployment information.
+     *
+     * @param shortName the short name of the {@link MicoApplication}
+     * @param version   the version of the {@link MicoApplication}
+     */
+    public void invalidateApplication(String shortName, String version) {
+        invalidateIf((key, value) -> (key.getType() == MicoApplication.class || key.getType() == MicoServiceDeploymentInfo.class)
+            && key.matches(shortName, version));
+    }
+
+    /**
+     * Invalidates all cached lookups.
+     */
+    public void invalidateAll() {
+        invalidationGeneration.incrementAndGet();
+        invalidationCounter.increment(cache.size());
+        cache.invalidateAll();
+    }
+
+    /**
+     * Invalidates all cached lookups that contain the given entity. Unknown types are ignored.
+     *
+     * @param entity the entity that was saved or deleted
+     */
+    public void invalidate(Object entity) {
+        if (entity instanceof MicoService) {
+            MicoService service = (MicoService) entity;
+            invalidateService(service.getShortName(), service.getVersion());
+        } else if (entity instanceof MicoApplication) {
+            MicoApplication application = (MicoApplication) entity;
+            invalidateApplication(application.getShortName(), application.getVersion());
+        } else if (entity instanceof MicoServiceDeploymentInfo) {
+            String instanceId = ((MicoServiceDeploymentInfo) entity).getInstanceId();
+            invalidateIf((key, value) -> serviceDeploymentInfosOf(value)
+                .anyMatch(sdi -> Objects.equals(sdi.getInstanceId(), instanceId)));
+        } else if (entity instanceof KubernetesDeploymentInfo) {
+            Long id = ((KubernetesDeploymentInfo) entity).getId();
+            invalidateIf((key, value) -> serviceDeploymentInfosOf(value)
+                .anyMatch(sdi -> sdi.getKubernetesDeploymentInfo() != null && Objects.equals(sdi.getKubernetesDeploymentInfo().getId(), id)));
+        } else if (entity instanceof MicoServiceInterface) {
+            Long id = ((MicoServiceInterface) entity).getId();
+            invalidateIf((key, value) -> servicesOf(value)
+                .anyMatch(service -> service != null && service.getServiceInterfaces().stream()
+                    .anyMatch(serviceInterface -> Objects.equals(serviceInterface.getId(), id))));
+        }
+    }
+
+    private Object getOrLoad(EntityKey key, Supplier<Object> loader) {
+        if (!entityCacheConfig.isEnabled()) {
+            return loader.get();
+        }
+        Object cachedValue = cache.getIfPresent(key);
+        if (cachedValue != null) {
+            return cachedValue;
+        }
+        long generation = invalidationGeneration.get();
+        Object value = loader.get();
+        if (value != null && invalidationGeneration.get() == generation) {
+            cache.put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Invalidates the cache entries that contain the written entity. If the entity was written within a transaction,
+     * the entries are invalidated again after the transaction is completed, because a concurrent lookup could have
+     * loaded and cached the previous state in the meantime.
+     */
+    private void invalidateAfterWrite(Object entity) {
+        invalidate(entity);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(entity);
+                }
+            });
+        }
+    }
+
+    private void invalidateIf(EntryPredicate predicate) {
+        invalidationGeneration.incrementAndGet();
+        Map<EntityKey, Object> entries = cache.asMap();
+        entries.entrySet().removeIf(entry -> {
+            boolean invalidate = predicate.test(entry.getKey(), entry.getValue());
+            if (invalidate) {
+                log.trace("Invalidate cached lookup {}.", entry.getKey());
+                invalidationCounter.increment();
+            }
+            return invalidate;
+        });
+    }
+
+    /**
+     * Returns the services that are part of the cached value, i.e. the service itself and its dependencies, the
+     * services included by an application or the services of deployment information.
+     */
+    private static Stream<MicoService> servicesOf(Object value) {
+        if (value instanceof MicoService) {
+            MicoService service = (MicoService) value;
+            return Stream.concat(Stream.of(service), service.getDependencies().stream().map(MicoServiceDependency::getDependedService));
+        }
+        if (value instanceof MicoApplication) {
+            MicoApplication application = (MicoApplication) value;
+            return Stream.concat(application.getServices().stream(), serviceDeploymentInfosOf(value).map(MicoServiceDeploymentInfo::getService));
+        }
+        return serviceDeploymentInfosOf(value).map(MicoServiceDeploymentInfo::getService);
+    }
+
+    /**
+     * Returns the deployment information that are part of the cached value.
+     */
+    private static Stream<MicoServiceDeploymentInfo> serviceDeploymentInfosOf(Object value) {
+        if (value instanceof MicoApplication) {
+            MicoApplication application = (MicoApplication) value;
+            return Stream.concat(application.getServiceDeploymentInfos().stream(), application.getKafkaFaasConnectorDeploymentInfos().stream());
+        }
+        if (value instanceof Collection) {
+            return ((Collection<?>) value).stream()
+                .filter(MicoServiceDeploymentInfo.class::isInstance)
+                .map(MicoServiceDeploymentInfo.class::cast);
+        }
+        return Stream.empty();
+    }
+
+    @FunctionalInterface
+    private interface EntryPredicate {
+        boolean test(EntityKey key, Object value);
+    }
+
+    /**
+     * The key of a cached lookup. The qualifier is only used for lookups that need more than a short name and a
+     * version, e.g. the short name of the service of a deployment information.
+     */
+    @Value
+    private static class EntityKey {
+        Class<?> type;
+        String shortName;
+        String version;
+        String qualifier;
+        int depth;
+
+        boolean matches(String shortName, String version) {
+            return this.shortName.equals(shortName) && this.version.equals(version);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.github.ust.mico.core.service;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import io.github.ust.mico.core.configuration.BackgroundJobRecoveryConfig;
+import io.github.ust.mico.core.model.MicoServiceBackgroundJob;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lease of this MICO instance in Redis. Each MICO instance has a random ID that is stored as the owner of the {@link
+ * MicoServiceBackgroundJob MicoServiceBackgroundJobs} it runs. The lease is renewed periodically as long as the MICO
+ * instance is running. If it expires, the MICO instance is considered to be stopped and its pending or running jobs
+ * are recovered by another MICO instance, see {@link BackgroundJobRecovery}.
+ */
+@Slf4j
+@Component
+public class MicoInstanceLease {
+
+    /**
+     * The prefix of the Redis keys of the leases. The value of a key is the ID of the MICO instance.
+     */
+    private static final String LEASE_KEY_PREFIX = "MicoInstanceLease:";
+
+    /**
+     * The prefix of the Redis keys that prevent that a job is recovered by several MICO instances at the same time.
+     */
+    private static final String CLAIM_KEY_PREFIX = LEASE_KEY_PREFIX + "claim:";
+
+    private final BackgroundJobRecoveryConfig recoveryConfig;
+    private final StringRedisTemplate redisTemplate;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+        new CustomizableThreadFactory("mico-instance-lease-"));
+
+    @Autowired
+    public MicoInstanceLease(BackgroundJobRecoveryConfig recoveryConfig, StringRedisTemplate redisTemplate) {
+        this.recoveryConfig = recoveryConfig;
+        this.redisTemplate = redisTemplate;
+    }
+
+    @PostConstruct
+    public void startRenewal() {
+        if (!recoveryConfig.isEnabled()) {
+            log.info("Recovery of background jobs is disabled. Don't hold a lease for MICO instance '{}'.", instanceId);
+            return;
+        }
+        long renewalInterval = TimeUnit.SECONDS.toMillis(recoveryConfig.getLeaseDuration()) / 3;
+        scheduler.scheduleAtFixedRate(this::renew, 0, renewalInterval, TimeUnit.MILLISECONDS);
+        log.info("Renew the lease of MICO instance '{}' every {} ms.", instanceId, renewalInterval);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Returns the ID of this MICO instance.
+     *
+     * @return the ID of this MICO instance
+     */
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    /**
+     * Checks whether the lease of a MICO instance is still valid.
+     *
+     * @param instanceId the ID of the MICO instance
+     * @return {@code true} if the MICO instance is this one or if its lease is still valid
+     */
+    public boolean isAlive(String instanceId) {
+        return this.instanceId.equals(instanceId) || Boolean.TRUE.equals(redisTemplate.hasKey(LEASE_KEY_PREFIX + instanceId));
+    }
+
+    /**
+     * Claims the recovery of a job for this MICO instance. Only one MICO instance can claim a job within the duration
+     * of a lease. That is sufficient, because the recovering MICO instance becomes the owner of the job.
+     *
+     * @param jobId the ID of the {@link MicoServiceBackgroundJob}
+     * @return {@code true} if the job was claimed by this MICO instance
+     */
+    public boolean claim(String jobId) {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(CLAIM_KEY_PREFIX + jobId, instanceId,
+            Duration.ofSeconds(recoveryConfig.getLeaseDuration())));
+    }
+
+    private void renew() {
+        try {
+            redisTemplate.opsForValue().set(LEASE_KEY_PREFIX + instanceId, instanceId,
+                Duration.ofSeconds(recoveryConfig.getLeaseDuration()));
+        } catch (Exception e) {
+            // Failures must not stop the periodic execution
+            log.warn("Failed to renew the lease of MICO instance '{}'. Caused by: {}", instanceId, e.getMessage());
+        }
+    }
+}
@@ -22,10 +22,18 @@
 import java.net.PasswordAuthentication;
 import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiPredicate;
 import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -33,20 +41,29 @@
 import io.fabric8.kubernetes.api.model.ContainerBuilder;
 import io.fabric8.kubernetes.api.model.ContainerPort;
 import io.fabric8.kubernetes.api.model.ContainerPortBuilder;
+import io.fabric8.kubernetes.api.model.DeletionPropagation;
 import io.fabric8.kubernetes.api.model.DoneableSecret;
 import io.fabric8.kubernetes.api.model.EnvVar;
 import io.fabric8.kubernetes.api.model.EnvVarBuilder;
 import io.fabric8.kubernetes.api.model.LoadBalancerIngress;
 import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.Quantity;
 import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.api.model.SecretList;
 import io.fabric8.kubernetes.api.model.Service;
 import io.fabric8.kubernetes.api.model.ServiceBuilder;
 import io.fabric8.kubernetes.api.model.ServicePort;
 import io.fabric8.kubernetes.api.model.ServicePortBuilder;
+import io.fabric8.kubernetes.api.model.ServiceSpec;
 import io.fabric8.kubernetes.api.model.ServiceStatus;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
 import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
+import io.fabric8.kubernetes.api.model.apps.DeploymentSpec;
+import io.fabric8.kubernetes.api.model.autoscaling.v2beta2.HorizontalPodAutoscaler;
+import io.fabric8.kubernetes.api.model.autoscaling.v2beta2.HorizontalPodAutoscalerBuilder;
+import io.fabric8.kubernetes.api.model.autoscaling.v2beta2.HorizontalPodAutoscalerSpec;
+import io.fabric8.kubernetes.api.model.autoscaling.v2beta2.MetricSpec;
+import io.fabric8.kubernetes.api.model.autoscaling.v2beta2.MetricSpecBuilder;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation;
 import io.fabric8.kubernetes.client.dsl.Resource;
@@ -55,12 +72,12 @@
 import io.github.ust.mico.core.configuration.MicoKubernetesBuildBotConfig;
 import io.github.ust.mico.core.configuration.MicoKubernetesConfig;
 import io.github.ust.mico.core.exception.KubernetesResourceException;
-import io.github.ust.mico.core.exception.MicoApplicationNotFoundException;
 import io.github.ust.mico.core.model.KubernetesDeploymentInfo;
 import io.github.ust.mico.core.model.MicoApplication;
 import io.github.ust.mico.core.model.MicoApplicationDeploymentStatus;
 import io.github.ust.mico.core.model.MicoApplicationDeploymentStatus.Value;
 import io.github.ust.mico.core.model.MicoApplicationJobStatus;
+import io.github.ust.mico.core.model.MicoAutoscalingPolicy;
 import io.github.ust.mico.core.model.MicoEnvironmentVariable;
 import io.github.ust.mico.core.model.MicoInterfaceConnection;
 import io.github.ust.mico.core.model.MicoLabel;
@@ -106,25 +123,25 @@ public class MicoKubernetesClient {
      * @see <a href="https://kubernetes.io/docs/concepts/overview/working-with-objects/common-labels">Recommended
      * Labels</a>
      */
-    private static final String LABEL_PREFIX = "ust.mico/";
+    public static final String LABEL_PREFIX = "ust.mico/";
     /**
      * The label to get the name of the {@link MicoService}. It is used in conjunction with the version label to select
      * all Kubernetes resources that belong to a specific version of a {@link MicoService}. It is set to the value of
      * the `shortName` property of the {@link MicoService}.
      */
-    private static final String LABEL_NAME_KEY = LABEL_PREFIX + "name";
+    public static final String LABEL_NAME_KEY = LABEL_PREFIX + "name";
     /**
      * The label to get the current version of the {@link MicoService} (semantic version). It is used in conjunction
      * with the name label to select all Kubernetes resources that belong to a specific version of a {@link
      * MicoService}. It is set to the value of the `version` property of the {@link MicoService}.
      */
-    private static final String LABEL_VERSION_KEY = LABEL_PREFIX + "version";
+    public static final String LABEL_VERSION_KEY = LABEL_PREFIX + "version";
     /**
      * The label to get the name of the {@link MicoServiceInterface}. It is used in conjunction with the name and
      * version label to select the Kubernetes {@link Service} resource that belong to a specific version of a {@link
      * MicoServiceInterface}. It is set to the value of the name property of the {@link MicoServiceInterface}.
      */
-    private static final String LABEL_INTERFACE_KEY = LABEL_PREFIX + "interface";
+    public static final String LABEL_INTERFACE_KEY = LABEL_PREFIX + "interface";
     /**
      * The label to identify the instance of the MICO resource ({@link MicoService} or {@link MicoServiceInterface}).
      * {@link MicoService}: Label is used for the selector field of Kubernetes Deployments to find the Pods to manage.
@@ -133,7 +150,7 @@ public class MicoKubernetesClient {
      * <p>
      * It is a unique name (UID) created for each {@link MicoService}.
      */
-    private static final String LABEL_INSTANCE_KEY = LABEL_PREFIX + "instance";
+    public static final String LABEL_INSTANCE_KEY = LABEL_PREFIX + "instance";
     /**
      * The revision history limit specifies the number of old ReplicaSets to retain to allow rollback. Setting this
      * field to zero means that all old ReplicaSets with 0 replicas will be cleaned up. For more information see
@@ -148,13 +165,17 @@ public class MicoKubernetesClient {
     private final MicoApplicationRepository applicationRepository;
     private final MicoServiceDeploymentInfoRepository serviceDeploymentInfoRepository;
     private final KubernetesDeploymentInfoRepository kubernetesDeploymentInfoRepository;
+    private final MicoKubernetesResourceCache resourceCache;
+    private final KubernetesOperationExecutor kubernetesOperationExecutor;
 
     @Autowired
     public MicoKubernetesClient(MicoKubernetesConfig micoKubernetesConfig, MicoKubernetesBuildBotConfig buildBotConfig,
                                 KubernetesClient kubernetesClient, TektonPipelinesController imageBuilder,
                                 BackgroundJobBroker backgroundJobBroker, MicoApplicationRepository applicationRepository,
                                 MicoServiceDeploymentInfoRepository serviceDeploymentInfoRepository,
-                                KubernetesDeploymentInfoRepository kubernetesDeploymentInfoRepository) {
+                                KubernetesDeploymentInfoRepository kubernetesDeploymentInfoRepository,
+                                MicoKubernetesResourceCache resourceCache,
+                                KubernetesOperationExecutor kubernetesOperationExecutor) {
         this.micoKubernetesConfig = micoKubernetesConfig;
         this.buildBotConfig = buildBotConfig;
         this.kubernetesClient = kubernetesClient;
@@ -163,15 +184,22 @@ public MicoKubernetesClient(MicoKubernetesConfig micoKubernetesConfig, MicoKuber
         this.applicationRepository = applicationRepository;
         this.serviceDeploymentInfoRepository = serviceDeploymentInfoRepository;
         this.kubernetesDeploymentInfoRepository = kubernetesDeploymentInfoRepository;
+        this.resourceCache = resourceCache;
+        this.kubernetesOperationExecutor = kubernetesOperationExecutor;
     }
 
     /**
-     * Create a Kubernetes deployment based on a {@link MicoServiceDeploymentInfo}.
+     * Create or update a Kubernetes deployment based on a {@link MicoServiceDeploymentInfo}.
+     * <p>
+     * If the Kubernetes deployment already exists, the desired state is compared with the existing one (always read
+     * from the Kubernetes API). The deployment is only patched if it differs, so that an unchanged deployment
+     * does not trigger a rollout. The replicas of an existing deployment are not touched, because they are managed by
+     * scaling. DNS environment variables that are set by the interface connections are preserved.
      *
      * @param serviceDeploymentInfo the {@link MicoServiceDeploymentInfo}
-     * @return the Kubernetes {@link Deployment} resource object
+     * @return the {@link KubernetesApplyResult} with the Kubernetes {@link Deployment} resource object
      */
-    public Deployment createMicoServiceInstance(MicoServiceDeploymentInfo serviceDeploymentInfo) {
+    public KubernetesApplyResult<Deployment> createMicoServiceInstance(MicoServiceDeploymentInfo serviceDeploymentInfo) {
         MicoService micoService = serviceDeploymentInfo.getService();
         String instanceId = serviceDeploymentInfo.getInstanceId();
         if (micoService == null) {
@@ -182,13 +210,6 @@ public Deployment createMicoServiceInstance(MicoServiceDeploymentInfo serviceDep
         }
         String namespace = micoKubernetesConfig.getNamespaceMicoWorkspace();
 
-        // Check if there are already Kubernetes deployments for the requested MicoService
-        Optional<Deployment> existingDeployment = getDeploymentOfMicoServiceInstance(serviceDeploymentInfo);
-        if (existingDeployment.isPresent()) {
-            log.info("MicoService '{}' in version '{}' is already deployed. Kubernetes Deployment '{}' will be updated.",
-                micoService.getShortName(), micoService.getVersion(), instanceId);
-        }
-
         ArrayList<MicoEnvironmentVariable> micoEnvironmentVariables = new ArrayList<>(serviceDeploymentInfo.getEnvironmentVariables());
         // Add topics as environment variables
         micoEnvironmentVariables.addAll(serviceDeploymentInfo.getTopics().stream().map(this::createEnvVarBasedOnTopic).collect(Collectors.toList()));
@@ -242,10 +263,92 @@ public Deployment createMicoServiceInstance(MicoServiceDeploymentInfo serviceDep
             .endSpec()
             .build();
 
-        Deployment createdDeployment = kubernetesClient.apps().deployments().inNamespace(namespace).createOrReplace(deployment);
-        log.debug("Successfully created / updated Kubernetes deployment '{}' in namespace '{}' for MicoService '{}' '{}'",
-            createdDeployment.getMetadata().getName(), namespace, micoService.getShortName(), micoService.getVersion());
-        return createdDeployment;
+        // Check if there are already Kubernetes deployments for the requested MicoService
+        Optional<Deployment> existingDeployment = getLiveDeploymentOfMicoServiceInstance(serviceDeploymentInfo);
+        if (!existingDeployment.isPresent()) {
+            Deployment createdDeployment = kubernetesClient.apps().deployments().inNamespace(namespace).createOrReplace(deployment);
+            log.debug("Successfully created Kubernetes deployment '{}' in namespace '{}' for MicoService '{}' '{}'",
+                createdDeployment.getMetadata().getName(), namespace, micoService.getShortName(), micoService.getVersion());
+            return KubernetesApplyResult.created(createdDeployment);
+        }
+
+        Deployment deploymentToUpdate = existingDeployment.get();
+        Set<String> preservedEnvVarNames = serviceDeploymentInfo.getInterfaceConnections().stream()
+            .map(MicoInterfaceConnection::getEnvironmentVariableName).collect(Collectors.toSet());
+        List<String> changedFields = applyDesiredDeployment(deploymentToUpdate, deployment, preservedEnvVarNames);
+        if (changedFields.isEmpty()) {
+            log.debug("Kubernetes deployment '{}' of MicoService '{}' '{}' is already up to date. Update not required.",
+                instanceId, micoService.getShortName(), micoService.getVersion());
+            return KubernetesApplyResult.unchanged(existingDeployment.get());
+        }
+        log.info("MicoService '{}' in version '{}' is already deployed. Kubernetes Deployment '{}' differs in {} and will be patched.",
+            micoService.getShortName(), micoService.getVersion(), instanceId, changedFields);
+        Deployment patchedDeployment = kubernetesClient.apps().deployments().inNamespace(namespace)
+            .withName(instanceId).patch(deploymentToUpdate);
+        log.debug("Successfully patched Kubernetes deployment '{}' in namespace '{}' for MicoService '{}' '{}'",
+            patchedDeployment.getMetadata().getName(), namespace, micoService.getShortName(), micoService.getVersion());
+        return KubernetesApplyResult.patched(patchedDeployment);
+    }
+
+    /**
+     * Applies the MICO-managed fields of the desired deployment to the existing deployment. The replicas and all fields
+     * that are defaulted by Kubernetes are kept as they are.
+     *
+     * @param existingDeployment   the copy of the existing {@link Deployment} that will be modified
+     * @param desiredDeployment    the desired {@link Deployment}
+     * @param preservedEnvVarNames the names of the environment variables that are kept if they are not desired
+     * @return the names of the fields that differ, an empty list if the existing deployment is up to date
+     */
+    private List<String> applyDesiredDeployment(Deployment existingDeployment, Deployment desiredDeployment, Set<String> preservedEnvVarNames) {
+        List<String> changedFields = new ArrayList<>();
+        if (!Objects.equals(existingDeployment.getMetadata().getLabels(), desiredDeployment.getMetadata().getLabels())) {
+            existingDeployment.getMetadata().setLabels(desiredDeployment.getMetadata().getLabels());
+            changedFields.add("labels");
+        }
+        DeploymentSpec existingSpec = existingDeployment.getSpec();
+        DeploymentSpec desiredSpec = desiredDeployment.getSpec();
+        if (!Objects.equals(existingSpec.getRevisionHistoryLimit(), desiredSpec.getRevisionHistoryLimit())) {
+            existingSpec.setRevisionHistoryLimit(desiredSpec.getRevisionHistoryLimit());
+            changedFields.add("revisionHistoryLimit");
+        }
+        if (!Objects.equals(existingSpec.getTemplate().getMetadata().getLabels(), desiredSpec.getTemplate().getMetadata().getLabels())) {
+            existingSpec.getTemplate().getMetadata().setLabels(desiredSpec.getTemplate().getMetadata().getLabels());
+            changedFields.add("template labels");
+        }
+
+        Container desiredContainer = desiredSpec.getTemplate().getSpec().getContainers().get(0);
+        List<Container> existingContainers = existingSpec.getTemplate().getSpec().getContainers();
+        Optional<Container> existingContainerOptional = existingContainers.stream()
+            .filter(c -> c.getName().equals(desiredContainer.getName())).findFirst();
+        if (existingContainers.size() != 1 || !existingContainerOptional.isPresent()) {
+            existingSpec.getTemplate().getSpec().setContainers(CollectionUtils.listOf(desiredContainer));
+            changedFields.add("containers");
+            return changedFields;
+        }
+        Container existingContainer = existingContainerOptional.get();
+        if (!Objects.equals(existingContainer.getImage(), desiredContainer.getImage())) {
+            existingContainer.setImage(desiredContainer.getImage());
+            changedFields.add("image");
+        }
+        if (!Objects.equals(existingContainer.getImagePullPolicy(), desiredContainer.getImagePullPolicy())) {
+            existingContainer.setImagePullPolicy(desiredContainer.getImagePullPolicy());
+            changedFields.add("imagePullPolicy");
+        }
+        if (!Objects.equals(existingContainer.getPorts(), desiredContainer.getPorts())) {
+            existingContainer.setPorts(desiredContainer.getPorts());
+            changedFields.add("ports");
+        }
+        // Keep the DNS environment variables of the interface connections that are not part of the desired state
+        List<EnvVar> desiredEnvVars = new ArrayList<>(desiredContainer.getEnv());
+        Set<String> desiredEnvVarNames = desiredEnvVars.stream().map(EnvVar::getName).collect(Collectors.toSet());
+        existingContainer.getEnv().stream()
+            .filter(envVar -> preservedEnvVarNames.contains(envVar.getName()) && !desiredEnvVarNames.contains(envVar.getName()))
+            .forEach(desiredEnvVars::add);
+        if (!Objects.equals(existingContainer.getEnv(), desiredEnvVars)) {
+            existingContainer.setEnv(desiredEnvVars);
+            changedFields.add("env");
+        }
+        return changedFields;
     }
 
     // TODO this has to be changed for creating multiple input/output topics for example, by concatenating values with ; as a delimeter
@@ -274,13 +377,16 @@ private MicoEnvironmentVariable createEnvVarBasedOnTopic(MicoTopicRole t) {
     }
 
     /**
-     * Create a Kubernetes service based on a MICO service interface.
+     * Create or update a Kubernetes service based on a MICO service interface.
+     * <p>
+     * An existing Kubernetes service is only patched if it differs from the desired state. The node ports that are
+     * allocated by Kubernetes are kept.
      *
      * @param micoServiceInterface      the {@link MicoServiceInterface}
      * @param micoServiceDeploymentInfo the {@link MicoServiceDeploymentInfo}
-     * @return the Kubernetes {@link Service} resource
+     * @return the {@link KubernetesApplyResult} with the Kubernetes {@link Service} resource
      */
-    public Service createMicoServiceInterface(MicoServiceInterface micoServiceInterface, MicoServiceDeploymentInfo micoServiceDeploymentInfo) throws KubernetesResourceException {
+    public KubernetesApplyResult<Service> createMicoServiceInterface(MicoServiceInterface micoServiceInterface, MicoServiceDeploymentInfo micoServiceDeploymentInfo) throws KubernetesResourceException {
         MicoService micoService = micoServiceDeploymentInfo.getService();
         String micoServiceInstanceId = micoServiceDeploymentInfo.getInstanceId();
         String namespace = micoKubernetesConfig.getNamespaceMicoWorkspace();
@@ -288,17 +394,13 @@ public Service createMicoServiceInterface(MicoServiceInterface micoServiceInterf
 
         // Check if there are already Kubernetes services for the requested MicoServiceInterface
         String micoServiceInterfaceName = micoServiceInterface.getServiceInterfaceName();
-        Optional<Service> existingService = getInterfaceByNameOfMicoServiceInstance(micoServiceDeploymentInfo, micoServiceInterfaceName);
+        Optional<Service> existingService = getLiveInterfaceByNameOfMicoServiceInstance(micoServiceDeploymentInfo, micoServiceInterfaceName);
         if (!existingService.isPresent()) {
             // There is no existing service -> create new Kubernetes Service with a new name
             serviceInterfaceUid = createServiceName(micoServiceDeploymentInfo, micoServiceInterface);
         } else {
             // There is already a Kubernetes Service -> use existing name and update the Service
             String existingServiceName = existingService.get().getMetadata().getName();
-            log.info("MicoServiceInterface '{}' of MicoService '{}' '{}' with instance ID '{}' already exists. Kubernetes Service '{}' will be updated.",
-                micoServiceInterface.getServiceInterfaceName(), micoService.getShortName(),
-                micoService.getVersion(), micoServiceInstanceId, existingServiceName);
-
             serviceInterfaceUid = existingServiceName;
         }
 
@@ -331,10 +433,224 @@ public Service createMicoServiceInterface(MicoServiceInterface micoServiceInterf
             .endSpec()
             .build();
 
-        Service createdService = kubernetesClient.services().inNamespace(namespace).createOrReplace(service);
-        log.debug("Successfully created / updated Kubernetes service '{}' in namespace '{}' for MicoServiceInterface '{}' of MicoService '{}' '{}' with micoServiceInstanceId '{}'.",
-            createdService.getMetadata().getName(), namespace, micoServiceInterfaceName, micoService.getShortName(), micoService.getVersion(), micoServiceInstanceId);
-        return createdService;
+        if (!existingService.isPresent()) {
+            Service createdService = kubernetesClient.services().inNamespace(namespace).createOrReplace(service);
+            log.debug("Successfully created Kubernetes service '{}' in namespace '{}' for MicoServiceInterface '{}' of MicoService '{}' '{}' with micoServiceInstanceId '{}'.",
+                createdService.getMetadata().getName(), namespace, micoServiceInterfaceName, micoService.getShortName(), micoService.getVersion(), micoServiceInstanceId);
+            return KubernetesApplyResult.created(createdService);
+        }
+
+        Service serviceToUpdate = existingService.get();
+        List<String> changedFields = applyDesiredService(serviceToUpdate, service);
+        if (changedFields.isEmpty()) {
+            log.debug("Kubernetes service '{}' of MicoServiceInterface '{}' of MicoService '{}' '{}' is already up to date. Update not required.",
+                serviceInterfaceUid, micoServiceInterfaceName, micoService.getShortName(), micoService.getVersion());
+            return KubernetesApplyResult.unchanged(existingService.get());
+        }
+        log.info("MicoServiceInterface '{}' of MicoService '{}' '{}' with instance ID '{}' already exists. Kubernetes Service '{}' differs in {} and will be patched.",
+            micoServiceInterfaceName, micoService.getShortName(), micoService.getVersion(), micoServiceInstanceId, serviceInterfaceUid, changedFields);
+        Service patchedService = kubernetesClient.services().inNamespace(namespace).withName(serviceInterfaceUid).patch(serviceToUpdate);
+        log.debug("Successfully patched Kubernetes service '{}' in namespace '{}' for MicoServiceInterface '{}' of MicoService '{}' '{}' with micoServiceInstanceId '{}'.",
+            patchedService.getMetadata().getName(), namespace, micoServiceInterfaceName, micoService.getShortName(), micoService.getVersion(), micoServiceInstanceId);
+        return KubernetesApplyResult.patched(patchedService);
+    }
+
+    /**
+     * Applies the MICO-managed fields of the desired service to the existing service. Ports are compared by their
+     * port, target port and protocol, the node ports of the existing ports are kept.
+     *
+     * @param existingService the copy of the existing {@link Service} that will be modified
+     * @param desiredService  the desired {@link Service}
+     * @return the names of the fields that differ, an empty list if the existing service is up to date
+     */
+    private List<String> applyDesiredService(Service existingService, Service desiredService) {
+        List<String> changedFields = new ArrayList<>();
+        if (!Objects.equals(existingService.getMetadata().getLabels(), desiredService.getMetadata().getLabels())) {
+            existingService.getMetadata().setLabels(desiredService.getMetadata().getLabels());
+            changedFields.add("labels");
+        }
+        ServiceSpec existingSpec = existingService.getSpec();
+        ServiceSpec desiredSpec = desiredService.getSpec();
+        if (!Objects.equals(existingSpec.getType(), desiredSpec.getType())) {
+            existingSpec.setType(desiredSpec.getType());
+            changedFields.add("type");
+        }
+        if (!Objects.equals(existingSpec.getSelector(), desiredSpec.getSelector())) {
+            existingSpec.setSelector(desiredSpec.getSelector());
+            changedFields.add("selector");
+        }
+        BiPredicate<ServicePort, ServicePort> isSamePort = (existingPort, desiredPort) ->
+            Objects.equals(existingPort.getPort(), desiredPort.getPort())
+                && Objects.equals(existingPort.getTargetPort(), desiredPort.getTargetPort())
+                && Objects.equals(existingPort.getProtocol(), desiredPort.getProtocol());
+        List<ServicePort> existingPorts = existingSpec.getPorts();
+        List<ServicePort> desiredPorts = desiredSpec.getPorts();
+        boolean portsDiffer = existingPorts.size() != desiredPorts.size();
+        for (int i = 0; !portsDiffer && i < desiredPorts.size(); i++) {
+            portsDiffer = !isSamePort.test(existingPorts.get(i), desiredPorts.get(i));
+        }
+        if (portsDiffer) {
+            for (ServicePort desiredPort : desiredPorts) {
+                existingPorts.stream()
+                    .filter(existingPort -> Objects.equals(existingPort.getPort(), desiredPort.getPort()))
+                    .findFirst()
+                    .ifPresent(existingPort -> desiredPort.setNodePort(existingPort.getNodePort()));
+            }
+            existingSpec.setPorts(desiredPorts);
+            changedFields.add("ports");
+        }
+        return changedFields;
+    }
+
+    /**
+     * Create, update or delete the Kubernetes {@link HorizontalPodAutoscaler} of a {@link MicoServiceDeploymentInfo}.
+     * <p>
+     * The autoscaler scales the Kubernetes deployment of the instance within the replica range of the {@link
+     * MicoAutoscalingPolicy}. If an autoscaler already exists, it is only patched if it differs from the desired
+     * state. If the service deployment information has no autoscaling policy, an existing autoscaler is deleted.
+     * <p>
+     * Note that CPU and memory utilization targets are relative to the resource requests of the containers. A custom
+     * metric must be served by an adapter of the custom metrics API (e.g. the Prometheus adapter).
+     *
+     * @param serviceDeploymentInfo the {@link MicoServiceDeploymentInfo}
+     * @return the {@link KubernetesApplyResult} with the Kubernetes {@link HorizontalPodAutoscaler} resource object,
+     * or an empty {@link Optional} if autoscaling is disabled
+     */
+    public Optional<KubernetesApplyResult<HorizontalPodAutoscaler>> createOrUpdateHorizontalPodAutoscaler(MicoServiceDeploymentInfo serviceDeploymentInfo) {
+        MicoService micoService = serviceDeploymentInfo.getService();
+        String instanceId = serviceDeploymentInfo.getInstanceId();
+        String namespace = micoKubernetesConfig.getNamespaceMicoWorkspace();
+        MicoAutoscalingPolicy autoscaling = serviceDeploymentInfo.getAutoscaling();
+
+        Optional<HorizontalPodAutoscaler> existingAutoscaler = getHorizontalPodAutoscalerOfMicoServiceInstance(serviceDeploymentInfo);
+        if (autoscaling == null) {
+            if (existingAutoscaler.isPresent()) {
+                log.info("Autoscaling of MicoService '{}' '{}' with instance ID '{}' is disabled. Delete the Kubernetes horizontal pod autoscaler.",
+                    micoService.getShortName(), micoService.getVersion(), instanceId);
+                kubernetesClient.autoscaling().v2beta2().horizontalPodAutoscalers().inNamespace(namespace).withName(instanceId).delete();
+            }
+            return Optional.empty();
+        }
+
+        HorizontalPodAutoscaler autoscaler = new HorizontalPodAutoscalerBuilder()
+            .withNewMetadata()
+            .withName(instanceId)
+            .withNamespace(namespace)
+            .addToLabels(LABEL_NAME_KEY, micoService.getShortName())
+            .addToLabels(LABEL_VERSION_KEY, micoService.getVersion())
+            .addToLabels(LABEL_INSTANCE_KEY, instanceId)
+            .endMetadata()
+            .withNewSpec()
+            .withNewScaleTargetRef()
+            .withApiVersion("apps/v1")
+            .withKind("Deployment")
+            .withName(instanceId)
+            .endScaleTargetRef()
+            .withMinReplicas(autoscaling.getMinReplicas())
+            .withMaxReplicas(autoscaling.getMaxReplicas())
+            .withMetrics(createMetricSpecs(autoscaling))
+            .endSpec()
+            .build();
+
+        if (!existingAutoscaler.isPresent()) {
+            HorizontalPodAutoscaler createdAutoscaler = kubernetesClient.autoscaling().v2beta2().horizontalPodAutoscalers()
+                .inNamespace(namespace).createOrReplace(autoscaler);
+            log.debug("Successfully created Kubernetes horizontal pod autoscaler '{}' in namespace '{}' for MicoService '{}' '{}'",
+                instanceId, namespace, micoService.getShortName(), micoService.getVersion());
+            return Optional.of(KubernetesApplyResult.created(createdAutoscaler));
+        }
+
+        HorizontalPodAutoscaler autoscalerToUpdate = new HorizontalPodAutoscalerBuilder(existingAutoscaler.get()).build();
+        List<String> changedFields = applyDesiredHorizontalPodAutoscaler(autoscalerToUpdate, autoscaler);
+        if (changedFields.isEmpty()) {
+            log.debug("Kubernetes horizontal pod autoscaler '{}' of MicoService '{}' '{}' is already up to date. Update not required.",
+                instanceId, micoService.getShortName(), micoService.getVersion());
+            return Optional.of(KubernetesApplyResult.unchanged(existingAutoscaler.get()));
+        }
+        log.info("Kubernetes horizontal pod autoscaler '{}' of MicoService '{}' '{}' differs in {} and will be patched.",
+            instanceId, micoService.getShortName(), micoService.getVersion(), changedFields);
+        HorizontalPodAutoscaler patchedAutoscaler = kubernetesClient.autoscaling().v2beta2().horizontalPodAutoscalers()
+            .inNamespace(namespace).withName(instanceId).patch(autoscalerToUpdate);
+        return Optional.of(KubernetesApplyResult.patched(patchedAutoscaler));
+    }
+
+    /**
+     * Creates the metric specifications of a Kubernetes {@link HorizontalPodAutoscaler} for the targets that are
+     * defined by the {@link MicoAutoscalingPolicy}.
+     *
+     * @param autoscaling the {@link MicoAutoscalingPolicy}
+     * @return the list of {@link MetricSpec MetricSpecs}
+     */
+    private List<MetricSpec> createMetricSpecs(MicoAutoscalingPolicy autoscaling) {
+        List<MetricSpec> metrics = new ArrayList<>();
+        if (autoscaling.getTargetCpuUtilization() != null) {
+            metrics.add(createResourceMetricSpec("cpu", autoscaling.getTargetCpuUtilization()));
+        }
+        if (autoscaling.getTargetMemoryUtilization() != null) {
+            metrics.add(createResourceMetricSpec("memory", autoscaling.getTargetMemoryUtilization()));
+        }
+        if (autoscaling.getCustomMetricName() != null) {
+            metrics.add(new MetricSpecBuilder()
+                .withType("Pods")
+                .withNewPods()
+                .withNewMetric()
+                .withName(autoscaling.getCustomMetricName())
+                .endMetric()
+                .withNewTarget()
+                .withType("AverageValue")
+                .withAverageValue(new Quantity(autoscaling.getCustomMetricTargetAverageValue()))
+                .endTarget()
+                .endPods()
+                .build());
+        }
+        return metrics;
+    }
+
+    private MetricSpec createResourceMetricSpec(String resourceName, int targetAverageUtilization) {
+        return new MetricSpecBuilder()
+            .withType("Resource")
+            .withNewResource()
+            .withName(resourceName)
+            .withNewTarget()
+            .withType("Utilization")
+            .withAverageUtilization(targetAverageUtilization)
+            .endTarget()
+            .endResource()
+            .build();
+    }
+
+    /**
+     * Applies the MICO-managed fields of the desired horizontal pod autoscaler to the existing one.
+     *
+     * @param existingAutoscaler the copy of the existing {@link HorizontalPodAutoscaler} that will be modified
+     * @param desiredAutoscaler  the desired {@link HorizontalPodAutoscaler}
+     * @return the names of the fields that differ, an empty list if the existing autoscaler is up to date
+     */
+    private List<String> applyDesiredHorizontalPodAutoscaler(HorizontalPodAutoscaler existingAutoscaler, HorizontalPodAutoscaler desiredAutoscaler) {
+        List<String> changedFields = new ArrayList<>();
+        if (!Objects.equals(existingAutoscaler.getMetadata().getLabels(), desiredAutoscaler.getMetadata().getLabels())) {
+            existingAutoscaler.getMetadata().setLabels(desiredAutoscaler.getMetadata().getLabels());
+            changedFields.add("labels");
+        }
+        HorizontalPodAutoscalerSpec existingSpec = existingAutoscaler.getSpec();
+        HorizontalPodAutoscalerSpec desiredSpec = desiredAutoscaler.getSpec();
+        if (!Objects.equals(existingSpec.getScaleTargetRef(), desiredSpec.getScaleTargetRef())) {
+            existingSpec.setScaleTargetRef(desiredSpec.getScaleTargetRef());
+            changedFields.add("scaleTargetRef");
+        }
+        if (!Objects.equals(existingSpec.getMinReplicas(), desiredSpec.getMinReplicas())) {
+            existingSpec.setMinReplicas(desiredSpec.getMinReplicas());
+            changedFields.add("minReplicas");
+        }
+        if (!Objects.equals(existingSpec.getMaxReplicas(), desiredSpec.getMaxReplicas())) {
+            existingSpec.setMaxReplicas(desiredSpec.getMaxReplicas());
+            changedFields.add("maxReplicas");
+        }
+        if (!Objects.equals(existingSpec.getMetrics(), desiredSpec.getMetrics())) {
+            existingSpec.setMetrics(desiredSpec.getMetrics());
+            changedFields.add("metrics");
+        }
+        return changedFields;
     }
 
     /**
@@ -357,74 +673,113 @@ public String createServiceName(MicoServiceDeploymentInfo serviceDeploymentInfo,
      * @param micoApplication the {@link MicoApplication}
      */
     public void createOrUpdateInterfaceConnections(MicoApplication micoApplication) {
+        createOrUpdateInterfaceConnections(micoApplication, (source, target) -> true);
+    }
+
+    /**
+     * Creates or updates the interface connections of the given {@code MicoApplication} that became possible because
+     * the given MICO service instance was deployed. These are the connections from the deployed instance to instances
+     * that are already deployed and the connections from already deployed instances to the deployed instance.
+     * <p>
+     * This is used by the pipelined deployment, where the MICO service instances of an application are deployed one
+     * after another as soon as their images are built.
+     *
+     * @param micoApplication     the {@link MicoApplication}
+     * @param deployedInstance    the {@link MicoServiceDeploymentInfo} of the MICO service instance that was deployed
+     * @param deployedInstanceIds the instance IDs of all MICO service instances of the application that are already
+     *                            deployed (including the given one)
+     */
+    public void createOrUpdateInterfaceConnections(MicoApplication micoApplication, MicoServiceDeploymentInfo deployedInstance,
+                                                   Collection<String> deployedInstanceIds) {
+        String deployedInstanceId = deployedInstance.getInstanceId();
+        createOrUpdateInterfaceConnections(micoApplication, (source, target) ->
+            (source.getInstanceId().equals(deployedInstanceId) && deployedInstanceIds.contains(target.getInstanceId()))
+                || (target.getInstanceId().equals(deployedInstanceId) && deployedInstanceIds.contains(source.getInstanceId())));
+    }
+
+    /**
+     * Creates or updates the interface connections of the given {@code MicoApplication} that match the given filter.
+     *
+     * @param micoApplication  the {@link MicoApplication}
+     * @param connectionFilter the filter that is applied to the source and the target MICO service instance of each
+     *                         interface connection
+     */
+    private void createOrUpdateInterfaceConnections(MicoApplication micoApplication,
+                                                    BiPredicate<MicoServiceDeploymentInfo, MicoServiceDeploymentInfo> connectionFilter) {
         List<MicoServiceDeploymentInfo> serviceDeploymentInfos = serviceDeploymentInfoRepository.findMicoServiceSDIsByApplication(
             micoApplication.getShortName(), micoApplication.getVersion());
         log.debug("Creating or updating interface connections for MicoServices of MicoApplication '{}' '{}' with {} service deployment information.",
             micoApplication.getShortName(), micoApplication.getVersion(), serviceDeploymentInfos.size());
 
+        // Index the possible targets of the interface connections, so that they are not searched for each connection
+        Map<String, MicoServiceDeploymentInfo> targetInstancesByShortName = new HashMap<>();
+        for (MicoServiceDeploymentInfo targetInstance : micoApplication.getServiceDeploymentInfos()) {
+            targetInstancesByShortName.putIfAbsent(targetInstance.getService().getShortName(), targetInstance);
+        }
+        Map<String, Map<String, MicoServiceInterface>> targetInterfacesByInstanceId = new HashMap<>();
+        // The DNS name of each targeted interface, keyed by instance ID and interface name. Computed at most once.
+        Map<String, Optional<String>> dnsByTargetInterface = new HashMap<>();
+
         for (MicoServiceDeploymentInfo serviceDeploymentInfo : serviceDeploymentInfos) {
             MicoService micoService = serviceDeploymentInfo.getService();
             log.debug("MicoService '{}' '{}' of MicoApplication '{}' '{}' has {} interface connection(s).",
                 micoService.getShortName(), micoService.getVersion(), micoApplication.getShortName(), micoApplication.getVersion(), serviceDeploymentInfo.getInterfaceConnections().size());
+            // The DNS environment variables of all interface connections of the MICO service instance, keyed by their name
+            Map<String, String> dnsEnvVars = new LinkedHashMap<>();
             for (MicoInterfaceConnection interfaceConnection : serviceDeploymentInfo.getInterfaceConnections()) {
                 String targetMicoServiceShortName = interfaceConnection.getMicoServiceShortName();
                 String targetMicoServiceInterfaceName = interfaceConnection.getMicoServiceInterfaceName();
-                String environmentVariableName = interfaceConnection.getEnvironmentVariableName();
-                Optional<MicoServiceDeploymentInfo> targetMicoServiceInstanceOptional = micoApplication.getServiceDeploymentInfos().stream().filter(
-                    sdi -> sdi.getService().getShortName().equals(targetMicoServiceShortName)).findFirst();
-                if (!targetMicoServiceInstanceOptional.isPresent()) {
+                MicoServiceDeploymentInfo targetMicoServiceInstance = targetInstancesByShortName.get(targetMicoServiceShortName);
+                if (targetMicoServiceInstance == null) {
                     log.error("Application '{}' '{}' does not include MicoService '{}'. Can't update interface connections of this MicoService.",
                         micoApplication.getShortName(), micoApplication.getVersion(), targetMicoServiceShortName);
                     continue;
                 }
-                MicoServiceDeploymentInfo targetMicoServiceInstance = targetMicoServiceInstanceOptional.get();
+                if (!connectionFilter.test(serviceDeploymentInfo, targetMicoServiceInstance)) {
+                    continue;
+                }
                 MicoService targetMicoService = targetMicoServiceInstance.getService();
-                Optional<MicoServiceInterface> targetMicoServiceInterfaceOptional = targetMicoService.getServiceInterfaces().stream().filter(
-                    serviceInterface -> serviceInterface.getServiceInterfaceName().equals(targetMicoServiceInterfaceName)).findFirst();
-                if (!targetMicoServiceInterfaceOptional.isPresent()) {
+                MicoServiceInterface targetServiceInterface = targetInterfacesByInstanceId
+                    .computeIfAbsent(targetMicoServiceInstance.getInstanceId(), instanceId -> targetMicoService.getServiceInterfaces().stream()
+                        .collect(Collectors.toMap(MicoServiceInterface::getServiceInterfaceName, serviceInterface -> serviceInterface, (first, second) -> first)))
+                    .get(targetMicoServiceInterfaceName);
+                if (targetServiceInterface == null) {
                     log.error("MicoService '{}' of application '{}' '{}' does not provide an interface with the name '{}'. " +
                             "Can't update interface connections of this MicoServiceInterface.",
                         targetMicoServiceShortName, micoApplication.getShortName(), micoApplication.getVersion(), targetMicoServiceInterfaceName);
                     continue;
                 }
-                MicoServiceInterface targetServiceInterface = targetMicoServiceInterfaceOptional.get();
                 log.info("Create / update interface connection between MicoService '{}' '{}' with instance ID '{}' and interface '{}' of MicoService '{}' '{}'.",
-                    micoService.getShortName(), micoService.getVersion(), serviceDeploymentInfo,
+                    micoService.getShortName(), micoService.getVersion(), serviceDeploymentInfo.getInstanceId(),
                     targetMicoServiceInterfaceName,
                     targetMicoService.getShortName(), targetMicoService.getVersion());
-                updateDnsEnvVar(serviceDeploymentInfo, targetMicoServiceInstance, targetServiceInterface, environmentVariableName);
+                dnsByTargetInterface
+                    .computeIfAbsent(targetMicoServiceInstance.getInstanceId() + "/" + targetMicoServiceInterfaceName,
+                        key -> getDnsOfInterface(targetMicoServiceInstance, targetServiceInterface))
+                    .ifPresent(dns -> dnsEnvVars.put(interfaceConnection.getEnvironmentVariableName(), dns));
+            }
+            if (!dnsEnvVars.isEmpty()) {
+                updateDnsEnvVars(serviceDeploymentInfo, dnsEnvVars);
             }
         }
     }
 
     /**
-     * Sets or updates the DNS environment variable for the given interface connection.
+     * Returns the DNS name (including the port) of the Kubernetes Service of the given interface.
      *
-     * @param serviceDeploymentInfo      the {@link MicoServiceDeploymentInfo} to update
      * @param targetMicoServiceInstance  the {@link MicoServiceDeploymentInfo} that is targeted
      * @param targetMicoServiceInterface the {@link MicoServiceInterface} that is targeted
-     * @param environmentVariableName    the environment variable name
+     * @return the DNS name or an empty {@link Optional} if the interface is not deployed yet
      */
-    private void updateDnsEnvVar(MicoServiceDeploymentInfo serviceDeploymentInfo, MicoServiceDeploymentInfo targetMicoServiceInstance,
-                                 MicoServiceInterface targetMicoServiceInterface, String environmentVariableName) {
-
-        MicoService micoServiceToUpdate = serviceDeploymentInfo.getService();
-        Optional<Deployment> deploymentToUpdateOptional = getDeploymentOfMicoServiceInstance(serviceDeploymentInfo);
-        if (!deploymentToUpdateOptional.isPresent()) {
-            log.error("There is no Kubernetes deployment for MicoService '{}' '{}'. Can't update DNS environment variable.",
-                micoServiceToUpdate.getShortName(), micoServiceToUpdate.getVersion());
-            return;
-        }
-        Optional<Service> kubernetesServiceOptional = getInterfaceByNameOfMicoServiceInstance(targetMicoServiceInstance, targetMicoServiceInterface.getServiceInterfaceName());
+    private Optional<String> getDnsOfInterface(MicoServiceDeploymentInfo targetMicoServiceInstance, MicoServiceInterface targetMicoServiceInterface) {
+        MicoService targetMicoService = targetMicoServiceInstance.getService();
+        Optional<Service> kubernetesServiceOptional = getLiveInterfaceByNameOfMicoServiceInstance(targetMicoServiceInstance, targetMicoServiceInterface.getServiceInterfaceName());
         if (!kubernetesServiceOptional.isPresent()) {
             log.error("There is no Kubernetes service for interface '{}' of MicoService '{}' '{}'. Can't update DNS environment variable.",
-                targetMicoServiceInterface.getServiceInterfaceName(), micoServiceToUpdate.getShortName(), micoServiceToUpdate.getVersion());
-            return;
+                targetMicoServiceInterface.getServiceInterfaceName(), targetMicoService.getShortName(), targetMicoService.getVersion());
+            return Optional.empty();
         }
-
-        Deployment deploymentToUpdate = deploymentToUpdateOptional.get();
         Service targetKubernetesService = kubernetesServiceOptional.get();
-
         String namespace = targetKubernetesService.getMetadata().getNamespace();
         String kubernetesServiceName = targetKubernetesService.getMetadata().getName();
 
@@ -432,60 +787,83 @@ private void updateDnsEnvVar(MicoServiceDeploymentInfo serviceDeploymentInfo, Mi
         int port = 80;
         if (servicePorts.isEmpty()) {
             log.warn("There are no ports defined for interface '{}' of MicoService '{}' '{}' with instance ID '{}'. Using default port {}.",
-                targetMicoServiceInterface.getServiceInterfaceName(), targetMicoServiceInstance.getService().getShortName(),
-                targetMicoServiceInstance.getService().getVersion(), targetMicoServiceInstance.getInstanceId(), port);
+                targetMicoServiceInterface.getServiceInterfaceName(), targetMicoService.getShortName(),
+                targetMicoService.getVersion(), targetMicoServiceInstance.getInstanceId(), port);
         } else {
             port = servicePorts.get(0).getPort();
             if (servicePorts.size() > 1) {
                 log.warn("There are {} ports defined for interface '{}' of MicoService '{}' '{}' with instance ID '{}'. Using first port {}.",
-                    servicePorts.size(), targetMicoServiceInterface.getServiceInterfaceName(), targetMicoServiceInstance.getService().getShortName(),
-                    targetMicoServiceInstance.getService().getVersion(), targetMicoServiceInstance.getInstanceId(), port);
+                    servicePorts.size(), targetMicoServiceInterface.getServiceInterfaceName(), targetMicoService.getShortName(),
+                    targetMicoService.getVersion(), targetMicoServiceInstance.getInstanceId(), port);
             }
         }
         String dns = kubernetesServiceName + "." + namespace + ".svc.cluster.local:" + port;
-        log.debug("For the connection between '{}' '{}' and the interface '{}' of '{}' '{}' the DNS record '{}' is used.",
-            micoServiceToUpdate.getShortName(), micoServiceToUpdate.getVersion(), targetMicoServiceInterface.getServiceInterfaceName(),
-            targetMicoServiceInstance.getService().getShortName(), targetMicoServiceInstance.getService().getVersion(), dns);
+        log.debug("For the interface '{}' of '{}' '{}' the DNS record '{}' is used.",
+            targetMicoServiceInterface.getServiceInterfaceName(), targetMicoService.getShortName(), targetMicoService.getVersion(), dns);
+        return Optional.of(dns);
+    }
+
+    /**
+     * Sets or updates the DNS environment variables of all interface connections of a MICO service instance.
+     * All changes are applied with a single patch of its Kubernetes deployment, so that the pods are restarted
+     * at most once. If all environment variables are already up to date, the deployment is not changed.
+     *
+     * @param serviceDeploymentInfo the {@link MicoServiceDeploymentInfo} to update
+     * @param dnsEnvVars            the DNS environment variables, keyed by their name
+     */
+    private void updateDnsEnvVars(MicoServiceDeploymentInfo serviceDeploymentInfo, Map<String, String> dnsEnvVars) {
+        MicoService micoServiceToUpdate = serviceDeploymentInfo.getService();
+        Optional<Deployment> deploymentToUpdateOptional = getLiveDeploymentOfMicoServiceInstance(serviceDeploymentInfo);
+        if (!deploymentToUpdateOptional.isPresent()) {
+            log.error("There is no Kubernetes deployment for MicoService '{}' '{}'. Can't update DNS environment variables.",
+                micoServiceToUpdate.getShortName(), micoServiceToUpdate.getVersion());
+            return;
+        }
+        Deployment deploymentToUpdate = deploymentToUpdateOptional.get();
 
         Optional<Container> containerToUpdateOptional = deploymentToUpdate.getSpec().getTemplate().getSpec().getContainers().stream().filter(
             c -> c.getName().equals(micoServiceToUpdate.getShortName())).findFirst();
         if (!containerToUpdateOptional.isPresent()) {
-            log.error("Expected container '{}' of MicoService '{}' '{}' does not exist (existing containers '{}'). Can't update DNS environment variable.",
+            log.error("Expected container '{}' of MicoService '{}' '{}' does not exist (existing containers '{}'). Can't update DNS environment variables.",
                 micoServiceToUpdate.getShortName(), micoServiceToUpdate.getShortName(), micoServiceToUpdate.getVersion(),
                 deploymentToUpdate.getSpec().getTemplate().getSpec().getContainers().stream().map(Container::getName).collect(Collectors.toList()));
             return;
         }
         Container containerToUpdate = containerToUpdateOptional.get();
-        List<EnvVar> envVarList = containerToUpdate.getEnv();
-        Optional<EnvVar> dnsEnvVarOptional = envVarList.stream().filter(envVar -> envVar.getName().equals(environmentVariableName)).findFirst();
-        boolean updateRequired = true;
-        if (dnsEnvVarOptional.isPresent()) {
-            EnvVar dnsEnvVar = dnsEnvVarOptional.get();
-            if (dnsEnvVar.getValue().equals(dns)) {
-                log.debug("DNS is already up to date. Update not required.");
-                updateRequired = false;
-            } else {
+        List<EnvVar> envVarList = new ArrayList<>(containerToUpdate.getEnv());
+        Map<String, EnvVar> envVarsByName = envVarList.stream()
+            .collect(Collectors.toMap(EnvVar::getName, envVar -> envVar, (first, second) -> first));
+        int changedEnvVars = 0;
+        for (Map.Entry<String, String> dnsEnvVar : dnsEnvVars.entrySet()) {
+            EnvVar existingEnvVar = envVarsByName.get(dnsEnvVar.getKey());
+            if (existingEnvVar == null) {
+                log.debug("Set new DNS environment variable '{}' to Kubernetes deployment of MicoService '{}' '{}': '{}'",
+                    dnsEnvVar.getKey(), micoServiceToUpdate.getShortName(), micoServiceToUpdate.getVersion(), dnsEnvVar.getValue());
+                envVarList.add(new EnvVarBuilder().withName(dnsEnvVar.getKey()).withValue(dnsEnvVar.getValue()).build());
+                changedEnvVars++;
+            } else if (!dnsEnvVar.getValue().equals(existingEnvVar.getValue())) {
                 log.debug("Deployment of MicoService '{}' '{}' contains a different value for the environment variable '{}'. " +
                         "It will be updated: '{}' → '{}'.",
-                    micoServiceToUpdate.getShortName(), micoServiceToUpdate.getVersion(), dnsEnvVar.getName(), dnsEnvVar.getValue(), dns);
-                dnsEnvVar.setValue(dns);
+                    micoServiceToUpdate.getShortName(), micoServiceToUpdate.getVersion(), existingEnvVar.getName(), existingEnvVar.getValue(), dnsEnvVar.getValue());
+                existingEnvVar.setValue(dnsEnvVar.getValue());
+                changedEnvVars++;
             }
-        } else {
-            log.debug("Set new DNS environment variable '{}' to Kubernetes deployment of MicoService '{}' '{}': '{}'",
-                environmentVariableName, micoServiceToUpdate.getShortName(), micoServiceToUpdate.getVersion(), dns);
-            envVarList.add(new EnvVarBuilder().withName(environmentVariableName).withValue(dns).build());
         }
-        if (updateRequired) {
-            containerToUpdate.setEnv(envVarList);
-            log.debug("Deployment after setting env: {}", deploymentToUpdate);
-            try {
-                kubernetesClient.apps().deployments().inNamespace(namespace).createOrReplace(deploymentToUpdate);
-                log.debug("Updated Kubernetes deployment with new DNS environment variable.");
-            } catch (Exception e) {
-                log.error("Failed to set DNS environment variable for interface " + targetMicoServiceInterface.getServiceInterfaceName()
-                    + " of MicoService '" + micoServiceToUpdate.getShortName() + "' '" + micoServiceToUpdate.getVersion()
-                    + "'. Caused by: " + e.getMessage(), e);
-            }
+        if (changedEnvVars == 0) {
+            log.debug("DNS environment variables of MicoService '{}' '{}' are already up to date. Update not required.",
+                micoServiceToUpdate.getShortName(), micoServiceToUpdate.getVersion());
+            return;
+        }
+        containerToUpdate.setEnv(envVarList);
+        try {
+            kubernetesClient.apps().deployments().inNamespace(deploymentToUpdate.getMetadata().getNamespace())
+                .withName(deploymentToUpdate.getMetadata().getName()).patch(deploymentToUpdate);
+            log.debug("Updated Kubernetes deployment of MicoService '{}' '{}' with {} DNS environment variable(s).",
+                micoServiceToUpdate.getShortName(), micoServiceToUpdate.getVersion(), changedEnvVars);
+        } catch (Exception e) {
+            log.error("Failed to set DNS environment variables " + dnsEnvVars.keySet() + " of MicoService '"
+                + micoServiceToUpdate.getShortName() + "' '" + micoServiceToUpdate.getVersion()
+                + "'. Caused by: " + e.getMessage(), e);
         }
     }
 
@@ -534,18 +912,10 @@ public MicoApplicationDeploymentStatus getApplicationDeploymentStatus(MicoApplic
         String message;
 
         // Check whether there are jobs currently running for the deployment of the MicoApplication
-        MicoServiceBackgroundJob.Status jobStatus;
-        List<MicoServiceBackgroundJob> jobs;
-        try {
-            MicoApplicationJobStatus applicationJobStatus = backgroundJobBroker
-                .getJobStatusByApplicationShortNameAndVersion(applicationShortName, applicationVersion);
-            jobStatus = applicationJobStatus.getStatus();
-            jobs = applicationJobStatus.getJobs();
-        } catch (MicoApplicationNotFoundException e) {
-            log.debug("There are no jobs for MicoApplication '{}' '{}'.", applicationShortName, applicationVersion);
-            jobStatus = MicoServiceBackgroundJob.Status.UNDEFINED;
-            jobs = new ArrayList<>();
-        }
+        MicoApplicationJobStatus applicationJobStatus = backgroundJobBroker
+            .getJobStatusByApplicationShortNameAndVersion(applicationShortName, applicationVersion);
+        MicoServiceBackgroundJob.Status jobStatus = applicationJobStatus.getStatus();
+        List<MicoServiceBackgroundJob> jobs = applicationJobStatus.getJobs();
         switch (jobStatus) {
             case PENDING:
                 // 'Pending' indicates that the deployment is scheduled to be executed in the future
@@ -839,7 +1209,8 @@ private Optional<KubernetesDeploymentInfo> updateKubernetesDeploymentInfo(MicoSe
     }
 
     /**
-     * Checks if a {@link MicoService} instance is already deployed.
+     * Checks if a {@link MicoService} instance is already deployed. The Kubernetes API is requested directly, because
+     * the result is used to decide whether the Kubernetes resources are created or updated.
      *
      * @param serviceDeploymentInfo the {@link MicoServiceDeploymentInfo}
      * @return {@code true} if the {@link MicoService} is deployed.
@@ -847,7 +1218,7 @@ private Optional<KubernetesDeploymentInfo> updateKubernetesDeploymentInfo(MicoSe
     public boolean isMicoServiceInstanceDeployed(MicoServiceDeploymentInfo serviceDeploymentInfo) {
         boolean result = false;
         MicoService micoService = serviceDeploymentInfo.getService();
-        Optional<Deployment> deploymentOptional = getDeploymentOfMicoServiceInstance(serviceDeploymentInfo);
+        Optional<Deployment> deploymentOptional = getLiveDeploymentOfMicoServiceInstance(serviceDeploymentInfo);
         if (deploymentOptional.isPresent()) {
             result = true;
         }
@@ -879,19 +1250,40 @@ public boolean isMicoServiceDeployed(MicoService micoService) {
     /**
      * Returns a Kubernetes {@link Deployment} instance that corresponds to the provided {@link
      * MicoServiceDeploymentInfo}, if it is already deployed to the Kubernetes cluster. Labels are used for the lookup.
+     * <p>
+     * The deployment is taken from the resource cache if it is synced, so it may be outdated. It must only be used
+     * for reading, use {@link #getLiveDeploymentOfMicoServiceInstance(MicoServiceDeploymentInfo)} before writing.
      *
      * @param serviceDeploymentInfo the {@link MicoServiceDeploymentInfo}
      * @return an {@link Optional<Deployment>} with the {@link Deployment} of the Kubernetes service, or an empty {@link
      * Optional<Deployment>} if there is no Kubernetes deployment of the {@link MicoService}.
      */
     public Optional<Deployment> getDeploymentOfMicoServiceInstance(MicoServiceDeploymentInfo serviceDeploymentInfo) {
+        return getDeploymentOfMicoServiceInstance(serviceDeploymentInfo, resourceCache.isSynced());
+    }
+
+    /**
+     * Returns the Kubernetes {@link Deployment} of the provided {@link MicoServiceDeploymentInfo} like {@link
+     * #getDeploymentOfMicoServiceInstance(MicoServiceDeploymentInfo)}, but always requests it from the Kubernetes API.
+     * Resources that were created or changed just before are not in the resource cache yet, therefore all paths that
+     * create, patch or reconcile Kubernetes resources use this method.
+     *
+     * @param serviceDeploymentInfo the {@link MicoServiceDeploymentInfo}
+     * @return an {@link Optional<Deployment>} with the {@link Deployment} of the Kubernetes service, or an empty {@link
+     * Optional<Deployment>} if there is no Kubernetes deployment of the {@link MicoService}.
+     */
+    public Optional<Deployment> getLiveDeploymentOfMicoServiceInstance(MicoServiceDeploymentInfo serviceDeploymentInfo) {
+        return getDeploymentOfMicoServiceInstance(serviceDeploymentInfo, false);
+    }
 
+    private Optional<Deployment> getDeploymentOfMicoServiceInstance(MicoServiceDeploymentInfo serviceDeploymentInfo, boolean fromCache) {
         String namespace = micoKubernetesConfig.getNamespaceMicoWorkspace();
         String instanceId = serviceDeploymentInfo.getInstanceId();
         MicoService micoService = serviceDeploymentInfo.getService();
 
-        Optional<Deployment> deploymentOptional = Optional.ofNullable(
-            kubernetesClient.apps().deployments().inNamespace(namespace).withName(instanceId).get());
+        Optional<Deployment> deploymentOptional = fromCache
+            ? resourceCache.getDeployment(instanceId)
+            : Optional.ofNullable(kubernetesClient.apps().deployments().inNamespace(namespace).withName(instanceId).get());
 
         if (deploymentOptional.isPresent()) {
             log.debug("Found Kubernetes deployment '{}' for MicoService '{}' '{}' with instance ID '{}'.",
@@ -904,6 +1296,21 @@ public Optional<Deployment> getDeploymentOfMicoServiceInstance(MicoServiceDeploy
         }
     }
 
+    /**
+     * Returns the Kubernetes {@link HorizontalPodAutoscaler} of the provided {@link MicoServiceDeploymentInfo}, if
+     * there is one in the Kubernetes cluster. The autoscaler is always requested from the Kubernetes API, so its status
+     * contains the current and desired replicas.
+     *
+     * @param serviceDeploymentInfo the {@link MicoServiceDeploymentInfo}
+     * @return an {@link Optional} with the {@link HorizontalPodAutoscaler}, or an empty {@link Optional} if there is no
+     * autoscaler of the instance
+     */
+    public Optional<HorizontalPodAutoscaler> getHorizontalPodAutoscalerOfMicoServiceInstance(MicoServiceDeploymentInfo serviceDeploymentInfo) {
+        String namespace = micoKubernetesConfig.getNamespaceMicoWorkspace();
+        return Optional.ofNullable(kubernetesClient.autoscaling().v2beta2().horizontalPodAutoscalers()
+            .inNamespace(namespace).withName(serviceDeploymentInfo.getInstanceId()).get());
+    }
+
     /**
      * Returns a list of Kubernetes {@link Deployment} instances that corresponds to the {@link MicoService} Labels are
      * used for the lookup.
@@ -919,7 +1326,9 @@ public List<Deployment> getDeploymentsOfMicoService(MicoService micoService) {
         );
         String namespace = micoKubernetesConfig.getNamespaceMicoWorkspace();
 
-        List<Deployment> deploymentList = kubernetesClient.apps().deployments().inNamespace(namespace).withLabels(labels).list().getItems();
+        List<Deployment> deploymentList = resourceCache.isSynced()
+            ? resourceCache.getDeployments(micoService.getShortName(), micoService.getVersion())
+            : kubernetesClient.apps().deployments().inNamespace(namespace).withLabels(labels).list().getItems();
         log.debug("Found {} Kubernetes deployment(s) that match the labels '{}'.", deploymentList.size(), labels.toString());
 
         if (deploymentList.isEmpty()) {
@@ -935,6 +1344,10 @@ public List<Deployment> getDeploymentsOfMicoService(MicoService micoService) {
     /**
      * Check if the {@link MicoServiceInterface} is already created for the {@link MicoService} in the Kubernetes
      * cluster. Labels are used for the lookup.
+     * <p>
+     * The service is taken from the resource cache if it is synced, so it may be outdated. It must only be used for
+     * reading, use {@link #getLiveInterfaceByNameOfMicoServiceInstance(MicoServiceDeploymentInfo, String)} before
+     * writing.
      *
      * @param serviceDeploymentInfo    the {@link MicoServiceDeploymentInfo}
      * @param micoServiceInterfaceName the name of a {@link MicoServiceInterface}
@@ -942,13 +1355,39 @@ public List<Deployment> getDeploymentsOfMicoService(MicoService micoService) {
      * if there is no Kubernetes {@link Service} for this {@link MicoServiceInterface}.
      */
     public Optional<Service> getInterfaceByNameOfMicoServiceInstance(MicoServiceDeploymentInfo serviceDeploymentInfo, String micoServiceInterfaceName) {
+        return getInterfaceByNameOfMicoServiceInstance(serviceDeploymentInfo, micoServiceInterfaceName, resourceCache.isSynced());
+    }
+
+    /**
+     * Returns the Kubernetes {@link Service} of a {@link MicoServiceInterface} like {@link
+     * #getInterfaceByNameOfMicoServiceInstance(MicoServiceDeploymentInfo, String)}, but always requests it from the
+     * Kubernetes API.
+     *
+     * @param serviceDeploymentInfo    the {@link MicoServiceDeploymentInfo}
+     * @param micoServiceInterfaceName the name of a {@link MicoServiceInterface}
+     * @return an {@link Optional<Service>} with the Kubernetes {@link Service}, or an empty {@link Optional<Service>}
+     * if there is no Kubernetes {@link Service} for this {@link MicoServiceInterface}.
+     */
+    public Optional<Service> getLiveInterfaceByNameOfMicoServiceInstance(MicoServiceDeploymentInfo serviceDeploymentInfo, String micoServiceInterfaceName) {
+        return getInterfaceByNameOfMicoServiceInstance(serviceDeploymentInfo, micoServiceInterfaceName, false);
+    }
+
+    private Optional<Service> getInterfaceByNameOfMicoServiceInstance(MicoServiceDeploymentInfo serviceDeploymentInfo, String micoServiceInterfaceName,
+                                                                      boolean fromCache) {
         MicoService micoService = serviceDeploymentInfo.getService();
         Map<String, String> labels = CollectionUtils.mapOf(
             LABEL_INSTANCE_KEY, serviceDeploymentInfo.getInstanceId(),
             LABEL_INTERFACE_KEY, micoServiceInterfaceName
         );
         String namespace = micoKubernetesConfig.getNamespaceMicoWorkspace();
-        List<Service> serviceList = kubernetesClient.services().inNamespace(namespace).withLabels(labels).list().getItems();
+        List<Service> serviceList;
+        if (fromCache) {
+            serviceList = resourceCache.getServices(serviceDeploymentInfo.getInstanceId()).stream()
+                .filter(service -> micoServiceInterfaceName.equals(service.getMetadata().getLabels().get(LABEL_INTERFACE_KEY)))
+                .collect(Collectors.toList());
+        } else {
+            serviceList = kubernetesClient.services().inNamespace(namespace).withLabels(labels).list().getItems();
+        }
         log.debug("Found {} Kubernetes service(s) that match the labels '{}'.", serviceList.size(), labels.toString());
 
         if (serviceList.isEmpty()) {
@@ -979,7 +1418,9 @@ public List<Service> getInterfacesOfMicoService(MicoService micoService) {
             LABEL_VERSION_KEY, micoService.getVersion()
         );
         String namespace = micoKubernetesConfig.getNamespaceMicoWorkspace();
-        List<Service> serviceList = kubernetesClient.services().inNamespace(namespace).withLabels(labels).list().getItems();
+        List<Service> serviceList = resourceCache.isSynced()
+            ? resourceCache.getServices(micoService.getShortName(), micoService.getVersion())
+            : kubernetesClient.services().inNamespace(namespace).withLabels(labels).list().getItems();
         log.debug("Found {} Kubernetes service(s) that match the labels '{}'.", serviceList.size(), labels.toString());
 
         return serviceList;
@@ -997,7 +1438,9 @@ public List<Service> getInterfacesOfMicoServiceInstance(MicoServiceDeploymentInf
             LABEL_INSTANCE_KEY, serviceDeploymentInfo.getInstanceId()
         );
         String namespace = micoKubernetesConfig.getNamespaceMicoWorkspace();
-        List<Service> serviceList = kubernetesClient.services().inNamespace(namespace).withLabels(labels).list().getItems();
+        List<Service> serviceList = resourceCache.isSynced()
+            ? resourceCache.getServices(serviceDeploymentInfo.getInstanceId())
+            : kubernetesClient.services().inNamespace(namespace).withLabels(labels).list().getItems();
         log.debug("Found {} Kubernetes service(s) that match the labels '{}'.", serviceList.size(), labels.toString());
 
         return serviceList;
@@ -1016,7 +1459,9 @@ public List<Pod> getPodsCreatedByDeploymentOfMicoServiceInstance(MicoServiceDepl
             LABEL_INSTANCE_KEY, serviceDeploymentInfo.getInstanceId()
         );
         String namespace = micoKubernetesConfig.getNamespaceMicoWorkspace();
-        List<Pod> podList = kubernetesClient.pods().inNamespace(namespace).withLabels(labels).list().getItems();
+        List<Pod> podList = resourceCache.isSynced()
+            ? resourceCache.getPods(serviceDeploymentInfo.getInstanceId())
+            : kubernetesClient.pods().inNamespace(namespace).withLabels(labels).list().getItems();
         log.debug("Found {} Kubernetes pod(s) that match the labels '{}'.", podList.size(), labels.toString());
 
         return podList;
@@ -1122,6 +1567,9 @@ public void undeployApplication(MicoApplication application) {
         List<MicoServiceDeploymentInfo> serviceInstancesToDelete = new ArrayList<>();
         serviceInstancesToDelete.addAll(application.getServiceDeploymentInfos());
         serviceInstancesToDelete.addAll(application.getKafkaFaasConnectorDeploymentInfos());
+        // The instances that are undeployed completely and the Kubernetes deployment information to delete afterwards
+        List<MicoServiceDeploymentInfo> serviceInstancesToUndeploy = new ArrayList<>();
+        List<KubernetesDeploymentInfo> kubernetesDeploymentInfosToDelete = new ArrayList<>();
 
         for (MicoServiceDeploymentInfo serviceDeploymentInfo : serviceInstancesToDelete) {
             MicoService micoService = serviceDeploymentInfo.getService();
@@ -1158,7 +1606,7 @@ public void undeployApplication(MicoApplication application) {
                 // Service is not used by other deployed applications -> simply undeploy it
                 log.debug("MicoService '{}' in version '{}' with instance ID '{}' is not used by other MicoApplications.",
                     micoService.getShortName(), micoService.getVersion(), micoServiceInstanceId);
-                undeploy(serviceDeploymentInfo);
+                serviceInstancesToUndeploy.add(serviceDeploymentInfo);
             } else {
                 // Service used by multiple applications -> scale in
                 log.debug("MicoService '{}' in version '{}' with instance ID '{}' is also used by {} other deployed MicoApplication(s): {}",
@@ -1183,19 +1631,85 @@ public void undeployApplication(MicoApplication application) {
                 // The updated number of total requested replicas for the current micoService
                 // is the current total minus the replicas of the current micoService.
                 int updatedTotalRequestedReplicas = currentTotalRequestedReplicas - serviceDeploymentInfo.getReplicas();
+                if (updatedTotalRequestedReplicas <= 0) {
+                    // No replicas are requested anymore -> undeploy it together with the other instances
+                    log.debug("No replicas of MicoService '{}' '{}' with instance ID '{}' are requested by the other MicoApplication(s).",
+                        micoService.getShortName(), micoService.getVersion(), micoServiceInstanceId);
+                    serviceInstancesToUndeploy.add(serviceDeploymentInfo);
+                    continue;
+                }
                 log.debug("Scale in MicoService '{}' '{}' with instance ID '{}': {} → {}",
                     micoService.getShortName(), micoService.getVersion(), micoServiceInstanceId, currentTotalRequestedReplicas, updatedTotalRequestedReplicas);
 
                 // Actual scaling
                 scale(serviceDeploymentInfo, updatedTotalRequestedReplicas);
 
-                // Delete Kubernetes deployment info in database
-                log.debug("Delete Kubernetes deployment info in database for MicoService '{}' '{}' with instance ID '{}'.",
-                    serviceDeploymentInfo.getService().getShortName(), serviceDeploymentInfo.getService().getVersion(),
-                    micoServiceInstanceId);
-                kubernetesDeploymentInfoRepository.delete(serviceDeploymentInfo.getKubernetesDeploymentInfo());
+                kubernetesDeploymentInfosToDelete.add(serviceDeploymentInfo.getKubernetesDeploymentInfo());
+            }
+        }
+
+        kubernetesDeploymentInfosToDelete.addAll(undeployAll(serviceInstancesToUndeploy));
+
+        // Delete Kubernetes deployment infos in database
+        List<Long> kubernetesDeploymentInfoIds = kubernetesDeploymentInfosToDelete.stream()
+            .map(KubernetesDeploymentInfo::getId).filter(Objects::nonNull).collect(Collectors.toList());
+        if (!kubernetesDeploymentInfoIds.isEmpty()) {
+            log.debug("Delete {} Kubernetes deployment info(s) in database for MicoApplication '{}' '{}'.",
+                kubernetesDeploymentInfoIds.size(), application.getShortName(), application.getVersion());
+            kubernetesDeploymentInfoRepository.deleteAllByIds(kubernetesDeploymentInfoIds);
+        }
+    }
+
+    /**
+     * Undeploys multiple {@link MicoServiceDeploymentInfo MicoServiceDeploymentInfos} by deleting their Kubernetes
+     * {@link Deployment Deployments}, {@link Service Services} and {@link HorizontalPodAutoscaler
+     * HorizontalPodAutoscalers}. The resources of each instance are selected by the instance label, so resources
+     * that are missing in the Kubernetes deployment information are deleted as well. Note that the Kubernetes client
+     * lists the matching resources and deletes them one by one, it does not issue a single collection delete. The
+     * Deployments and Services are deleted with background propagation, so the API server does not wait for the pods
+     * to be terminated. All deletions run concurrently on the {@link KubernetesOperationExecutor}.
+     * <p>
+     * The Kubernetes deployment information is not deleted from the database.
+     *
+     * @param serviceDeploymentInfos the {@link MicoServiceDeploymentInfo MicoServiceDeploymentInfos} to undeploy
+     * @return the {@link KubernetesDeploymentInfo KubernetesDeploymentInfos} of the instances that were undeployed
+     * successfully
+     */
+    private List<KubernetesDeploymentInfo> undeployAll(List<MicoServiceDeploymentInfo> serviceDeploymentInfos) {
+        Map<MicoServiceDeploymentInfo, CompletableFuture<Void>> deletions = new LinkedHashMap<>();
+        for (MicoServiceDeploymentInfo serviceDeploymentInfo : serviceDeploymentInfos) {
+            String instanceId = serviceDeploymentInfo.getInstanceId();
+            String namespace = serviceDeploymentInfo.getKubernetesDeploymentInfo().getNamespace();
+            log.debug("Delete the Kubernetes deployment, services and autoscaler of MicoService '{}' '{}' with instance ID '{}'.",
+                serviceDeploymentInfo.getService().getShortName(), serviceDeploymentInfo.getService().getVersion(), instanceId);
+            CompletableFuture<Boolean> deploymentDeletion = kubernetesOperationExecutor.submit("delete deployment of instance " + instanceId,
+                () -> kubernetesClient.apps().deployments().inNamespace(namespace).withLabel(LABEL_INSTANCE_KEY, instanceId)
+                    .withPropagationPolicy(DeletionPropagation.BACKGROUND).delete());
+            CompletableFuture<Boolean> serviceDeletion = kubernetesOperationExecutor.submit("delete services of instance " + instanceId,
+                () -> kubernetesClient.services().inNamespace(namespace).withLabel(LABEL_INSTANCE_KEY, instanceId)
+                    .withPropagationPolicy(DeletionPropagation.BACKGROUND).delete());
+            CompletableFuture<Boolean> autoscalerDeletion = kubernetesOperationExecutor.submit("delete autoscaler of instance " + instanceId,
+                () -> kubernetesClient.autoscaling().v2beta2().horizontalPodAutoscalers().inNamespace(namespace)
+                    .withLabel(LABEL_INSTANCE_KEY, instanceId).delete());
+            deletions.put(serviceDeploymentInfo, CompletableFuture.allOf(deploymentDeletion, serviceDeletion, autoscalerDeletion));
+        }
+
+        List<KubernetesDeploymentInfo> undeployedKubernetesDeploymentInfos = new ArrayList<>();
+        for (Map.Entry<MicoServiceDeploymentInfo, CompletableFuture<Void>> deletion : deletions.entrySet()) {
+            MicoService micoService = deletion.getKey().getService();
+            String instanceId = deletion.getKey().getInstanceId();
+            try {
+                deletion.getValue().join();
+                undeployedKubernetesDeploymentInfos.add(deletion.getKey().getKubernetesDeploymentInfo());
+                log.info("MicoService '{}' '{}' with instance ID '{}' was undeployed successfully.",
+                    micoService.getShortName(), micoService.getVersion(), instanceId);
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                log.error("Failed to undeploy MicoService '" + micoService.getShortName() + "' '" + micoService.getVersion()
+                    + "' with instance ID '" + instanceId + "'. Caused by: " + cause.getMessage(), cause);
             }
         }
+        return undeployedKubernetesDeploymentInfos;
     }
 
     /**
@@ -1295,7 +1809,7 @@ private int getSpecifiedReplicas(MicoServiceDeploymentInfo serviceDeploymentInfo
 
     /**
      * Undeploys a {@link MicoServiceDeploymentInfo} by deleting all associated Kubernetes resources: {@link
-     * Deployment}, {@link Service}, //@link //Build.
+     * Deployment}, {@link Service}, {@link HorizontalPodAutoscaler}, //@link //Build.
      *
      * @param serviceDeploymentInfo the {@link MicoServiceDeploymentInfo}
      */
@@ -1329,6 +1843,15 @@ private void undeploy(MicoServiceDeploymentInfo serviceDeploymentInfo) {
                 .withName(kubernetesServiceName)
                 .delete();
         }
+        // Delete Kubernetes HorizontalPodAutoscaler
+        kubernetesClient
+            .autoscaling()
+            .v2beta2()
+            .horizontalPodAutoscalers()
+            .inNamespace(kubernetesDeploymentInfo.getNamespace())
+            .withName(instanceId)
+            .delete();
+
         // TODO: refactor for tekton-based imageBuilder
         //cleanUpBuildResources(micoService);
 
@@ -0,0 +1,384 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.github.ust.mico.core.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import javax.annotation.PreDestroy;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodList;
+import io.fabric8.kubernetes.api.model.Service;
+import io.fabric8.kubernetes.api.model.ServiceList;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentList;
+import io.fabric8.kubernetes.client.Config;
+import io.fabric8.kubernetes.client.ConfigBuilder;
+import io.fabric8.kubernetes.client.HttpClientAware;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.base.OperationContext;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.fabric8.kubernetes.client.informers.SharedInformerFactory;
+import io.github.ust.mico.core.configuration.MicoKubernetesConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.OkHttpClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory cache of the Kubernetes {@link Deployment Deployments}, {@link Service Services} and {@link Pod Pods} in
+ * the MICO workspace namespace. The cache is maintained by shared informers, i.e. by a single list and watch per
+ * resource type, and is indexed by the MICO labels (instance ID as well as name and version of the {@link
+ * io.github.ust.mico.core.model.MicoService MicoService}).
+ * <p>
+ * Reads must only be served from the cache if it {@link #isSynced() is synced}. Until then (or if the cache is
+ * disabled) callers have to fall back to the Kubernetes API server. The cache lags behind the API server, therefore it
+ * is only used for reading (e.g. the status endpoints). Paths that create, patch or reconcile resources always read
+ * them from the API server.
+ */
+@Slf4j
+@Component
+public class MicoKubernetesResourceCache {
+
+    private static final String INDEX_INSTANCE = "instance";
+    private static final String INDEX_NAME_VERSION = "name-version";
+
+    private final KubernetesClient kubernetesClient;
+    private final MicoKubernetesConfig micoKubernetesConfig;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * The listeners that are notified whenever a cached resource is added, changed or deleted.
+     */
+    private final List<Consumer<HasMetadata>> resourceListeners = new CopyOnWriteArrayList<>();
+
+    private ExecutorService informerExecutor;
+    private SharedInformerFactory informerFactory;
+    private CachedResources<Deployment> deployments;
+    private CachedResources<Service> services;
+    private CachedResources<Pod> pods;
+
+    @Autowired
+    public MicoKubernetesResourceCache(KubernetesClient kubernetesClient, MicoKubernetesConfig micoKubernetesConfig,
+                                       MeterRegistry meterRegistry) {
+        this.kubernetesClient = kubernetesClient;
+        this.micoKubernetesConfig = micoKubernetesConfig;
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("mico.kubernetes.cache.synced", this, cache -> cache.isSynced() ? 1 : 0)
+            .description("Whether the Kubernetes resource cache is synced (1) or not (0)")
+            .register(meterRegistry);
+    }
+
+    @EventListener
+    public void init(ContextRefreshedEvent cre) {
+        // The informers must only be started in an environment with a connection to Kubernetes.
+        // Skip the initialization if we are in the 'local' or 'unit-testing' profile (e.g. Travis CI).
+        Environment environment = cre.getApplicationContext().getEnvironment();
+        if (environment.acceptsProfiles(Profiles.of("local", "unit-testing"))) {
+            log.info("Profile(s) {} is/are active. Don't start Kubernetes resource cache.", Arrays.toString(environment.getActiveProfiles()));
+            return;
+        }
+        if (!micoKubernetesConfig.isResourceCacheEnabled()) {
+            log.info("Kubernetes resource cache is disabled.");
+            return;
+        }
+        start();
+    }
+
+    /**
+     * Starts the informers of the Deployments, Services and Pods in the MICO workspace namespace. The cache is synced
+     * as soon as the initial list of all informers is received.
+     */
+    public synchronized void start() {
+        if (informerFactory != null) {
+            return;
+        }
+        String namespace = micoKubernetesConfig.getNamespaceMicoWorkspace();
+        long resyncPeriod = TimeUnit.SECONDS.toMillis(micoKubernetesConfig.getResourceCacheResyncPeriod());
+        // The informers list and watch the resources in the namespace of the configuration, regardless of their context
+        Config config = new ConfigBuilder(kubernetesClient.getConfiguration()).withNamespace(namespace).build();
+        OkHttpClient httpClient = ((HttpClientAware) kubernetesClient).getHttpClient();
+        informerExecutor = Executors.newCachedThreadPool(new CustomizableThreadFactory("kubernetes-informer-"));
+        informerFactory = new SharedInformerFactory(informerExecutor, httpClient, config);
+        deployments = new CachedResources<>("deployment", informerFactory.sharedIndexInformerFor(
+            Deployment.class, DeploymentList.class, operationContext(httpClient, config, "deployments", "apps"), resyncPeriod));
+        services = new CachedResources<>("service", informerFactory.sharedIndexInformerFor(
+            Service.class, ServiceList.class, operationContext(httpClient, config, "services", null), resyncPeriod));
+        pods = new CachedResources<>("pod", informerFactory.sharedIndexInformerFor(
+            Pod.class, PodList.class, operationContext(httpClient, config, "pods", null), resyncPeriod));
+        informerFactory.startAllRegisteredInformers();
+        log.info("Started Kubernetes resource cache for namespace '{}' (resync period: {} seconds).",
+            namespace, micoKubernetesConfig.getResourceCacheResyncPeriod());
+    }
+
+    /**
+     * Stops all informers. The cache is not synced anymore afterwards.
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        if (informerFactory != null) {
+            log.info("Stopping Kubernetes resource cache.");
+            informerFactory.stopAllRegisteredInformers();
+            informerExecutor.shutdownNow();
+            informerFactory = null;
+            deployments = null;
+            services = null;
+            pods = null;
+        }
+    }
+
+    /**
+     * Checks whether the informers of all resource types have received their initial list and are running. Only if
+     * the cache is synced, it reflects the state of the Kubernetes cluster.
+     *
+     * @return {@code true} if the cache is synced
+     */
+    public synchronized boolean isSynced() {
+        return informerFactory != null
+            && deployments.informer.hasSynced() && services.informer.hasSynced() && pods.informer.hasSynced();
+    }
+
+    /**
+     * Registers a listener that is notified with the resource whenever a Deployment, Service or Pod is added, changed
+     * or deleted. Resyncs of unchanged resources are not propagated.
+     *
+     * @param listener the listener
+     */
+    public void addResourceListener(Consumer<HasMetadata> listener) {
+        resourceListeners.add(listener);
+    }
+
+    /**
+     * Returns the Kubernetes {@link Deployment} of a MICO service instance.
+     *
+     * @param instanceId the instance ID, which is the name of the Deployment
+     * @return the {@link Deployment} or an empty {@link Optional} if it does not exist
+     */
+    public Optional<Deployment> getDeployment(String instanceId) {
+        String key = micoKubernetesConfig.getNamespaceMicoWorkspace() + "/" + instanceId;
+        return Optional.ofNullable(cached(() -> deployments).informer.getIndexer().getByKey(key));
+    }
+
+    /**
+     * Returns the Kubernetes {@link Deployment Deployments} of all instances of a MICO service.
+     *
+     * @param name    the short name of the MICO service
+     * @param version the version of the MICO service
+     * @return the list of {@link Deployment Deployments}
+     */
+    public List<Deployment> getDeployments(String name, String version) {
+        return cached(() -> deployments).byIndex(INDEX_NAME_VERSION, nameVersionKey(name, version));
+    }
+
+    /**
+     * Returns the Kubernetes {@link Service Services} of a MICO service instance.
+     *
+     * @param instanceId the instance ID
+     * @return the list of {@link Service Services}
+     */
+    public List<Service> getServices(String instanceId) {
+        return cached(() -> services).byIndex(INDEX_INSTANCE, instanceId);
+    }
+
+    /**
+     * Returns the Kubernetes {@link Service Services} of all instances of a MICO service.
+     *
+     * @param name    the short name of the MICO service
+     * @param version the version of the MICO service
+     * @return the list of {@link Service Services}
+     */
+    public List<Service> getServices(String name, String version) {
+        return cached(() -> services).byIndex(INDEX_NAME_VERSION, nameVersionKey(name, version));
+    }
+
+    /**
+     * Returns the Kubernetes {@link Pod Pods} of a MICO service instance.
+     *
+     * @param instanceId the instance ID
+     * @return the list of {@link Pod Pods}
+     */
+    public List<Pod> getPods(String instanceId) {
+        return cached(() -> pods).byIndex(INDEX_INSTANCE, instanceId);
+    }
+
+    private synchronized <T extends HasMetadata> CachedResources<T> cached(Supplier<CachedResources<T>> resources) {
+        if (informerFactory == null) {
+            throw new IllegalStateException("Kubernetes resource cache is not started");
+        }
+        return resources.get();
+    }
+
+    /**
+     * Creates the context of the list and watch requests of an informer. It must be complete (including the HTTP
+     * client and the configuration), because the informer factory does not merge it with the context of the client.
+     */
+    private static OperationContext operationContext(OkHttpClient httpClient, Config config, String plural, String apiGroupName) {
+        return new OperationContext()
+            .withOkhttpClient(httpClient)
+            .withConfig(config)
+            .withNamespace(config.getNamespace())
+            .withPlural(plural)
+            .withApiGroupName(apiGroupName)
+            .withApiGroupVersion("v1");
+    }
+
+    private static String nameVersionKey(String name, String version) {
+        return name + ":" + version;
+    }
+
+    private static List<String> indexInstance(HasMetadata resource) {
+        String instanceId = labelOf(resource, MicoKubernetesClient.LABEL_INSTANCE_KEY);
+        return instanceId == null ? Collections.emptyList() : Collections.singletonList(instanceId);
+    }
+
+    private static List<String> indexNameVersion(HasMetadata resource) {
+        String name = labelOf(resource, MicoKubernetesClient.LABEL_NAME_KEY);
+        String version = labelOf(resource, MicoKubernetesClient.LABEL_VERSION_KEY);
+        return name == null || version == null ? Collections.emptyList() : Collections.singletonList(nameVersionKey(name, version));
+    }
+
+    /**
+     * Returns the instance ID of a MICO service instance the given Kubernetes resource belongs to.
+     *
+     * @param resource the Kubernetes resource
+     * @return the value of the instance label or {@code null} if the resource is not labeled
+     */
+    public static String instanceIdOf(HasMetadata resource) {
+        return labelOf(resource, MicoKubernetesClient.LABEL_INSTANCE_KEY);
+    }
+
+    private void notifyResourceListeners(HasMetadata resource) {
+        for (Consumer<HasMetadata> listener : resourceListeners) {
+            try {
+                listener.accept(resource);
+            } catch (Exception e) {
+                log.warn("Resource listener failed for '{}': {}", resource.getMetadata().getName(), e.getMessage(), e);
+            }
+        }
+    }
+
+    private static String labelOf(HasMetadata resource, String labelKey) {
+        if (resource.getMetadata() == null || resource.getMetadata().getLabels() == null) {
+            return null;
+        }
+        return resource.getMetadata().getLabels().get(labelKey);
+    }
+
+    /**
+     * The informer of one resource type together with its metrics. The time of the last received event (including
+     * resyncs) is tracked to expose the freshness of the cached resources.
+     */
+    private class CachedResources<T extends HasMetadata> implements ResourceEventHandler<T> {
+
+        private final SharedIndexInformer<T> informer;
+        private final Counter addCounter;
+        private final Counter updateCounter;
+        private final Counter deleteCounter;
+        private final Counter resyncCounter;
+        private volatile long lastEventTime = System.currentTimeMillis();
+
+        CachedResources(String resourceType, SharedIndexInformer<T> informer) {
+            this.informer = informer;
+            Map<String, Function<T, List<String>>> indexers = new HashMap<>();
+            indexers.put(INDEX_INSTANCE, MicoKubernetesResourceCache::indexInstance);
+            indexers.put(INDEX_NAME_VERSION, MicoKubernetesResourceCache::indexNameVersion);
+            informer.addIndexers(indexers);
+            informer.addEventHandler(this);
+
+            Gauge.builder("mico.kubernetes.cache.size", informer, i -> i.getIndexer().list().size())
+                .description("Number of Kubernetes resources in the cache")
+                .tag("resource", resourceType)
+                .register(meterRegistry);
+            Gauge.builder("mico.kubernetes.cache.staleness", this, r -> (System.currentTimeMillis() - r.lastEventTime) / 1000.0)
+                .description("Seconds since the last event (including resyncs) was received by the informer")
+                .tag("resource", resourceType)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+            addCounter = eventCounter(resourceType, "add");
+            updateCounter = eventCounter(resourceType, "update");
+            deleteCounter = eventCounter(resourceType, "delete");
+            resyncCounter = eventCounter(resourceType, "resync");
+        }
+
+        List<T> byIndex(String indexName, String key) {
+            List<T> resources = informer.getIndexer().byIndex(indexName, key);
+            return resources == null ? new ArrayList<>() : new ArrayList<>(resources);
+        }
+
+        @Override
+        public void onAdd(T resource) {
+            lastEventTime = System.currentTimeMillis();
+            addCounter.increment();
+            notifyResourceListeners(resource);
+        }
+
+        @Override
+        public void onUpdate(T oldResource, T newResource) {
+            lastEventTime = System.currentTimeMillis();
+            // Resyncs deliver the unchanged resource again
+            if (Objects.equals(oldResource.getMetadata().getResourceVersion(), newResource.getMetadata().getResourceVersion())) {
+                resyncCounter.increment();
+            } else {
+                updateCounter.increment();
+                notifyResourceListeners(newResource);
+            }
+        }
+
+        @Override
+        public void onDelete(T resource, boolean deletedFinalStateUnknown) {
+            lastEventTime = System.currentTimeMillis();
+            deleteCounter.increment();
+            notifyResourceListeners(resource);
+        }
+
+        private Counter eventCounter(String resourceType, String eventType) {
+            return Counter.builder("mico.kubernetes.cache.events")
+                .description("Number of events received by the informers of the Kubernetes resource cache")
+                .tag("resource", resourceType)
+                .tag("type", eventType)
+                .register(meterRegistry);
+        }
+    }
+}
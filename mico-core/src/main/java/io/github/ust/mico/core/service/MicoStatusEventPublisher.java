@@ -0,0 +1,340 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.github.ust.mico.core.service;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import io.github.ust.mico.core.broker.BackgroundJobBroker;
+import io.github.ust.mico.core.configuration.MicoStatusEventsConfig;
+import io.github.ust.mico.core.dto.response.MicoServiceBackgroundJobResponseDTO;
+import io.github.ust.mico.core.dto.response.status.MicoApplicationDeploymentStatusEventDTO;
+import io.github.ust.mico.core.model.MicoApplication;
+import io.github.ust.mico.core.model.MicoApplicationDeploymentStatus;
+import io.github.ust.mico.core.model.MicoServiceBackgroundJob;
+import io.github.ust.mico.core.model.MicoServiceDeploymentInfo;
+import io.github.ust.mico.core.persistence.MicoServiceDeploymentInfoRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes status changes to clients as server-sent events, so that they do not have to poll the job status and the
+ * deployment status of applications.
+ * <p>
+ * Two kinds of events are sent:
+ * <ul>
+ * <li>{@value #EVENT_JOB}: a {@link MicoServiceBackgroundJob} changed its status
+ * (see {@link BackgroundJobBroker#addJobStatusListener}). The data is a {@link MicoServiceBackgroundJobResponseDTO}.</li>
+ * <li>{@value #EVENT_DEPLOYMENT_STATUS}: the {@link MicoApplicationDeploymentStatus} of a {@link MicoApplication}
+ * changed (see {@link MicoApplicationDeploymentStatusEngine#addStatusListener}). The data is a
+ * {@link MicoApplicationDeploymentStatusEventDTO}.</li>
+ * </ul>
+ * Each subscription has its own bounded queue of events, so that the threads that change the statuses are never
+ * blocked. The queues are drained by a small pool of sender threads, at most one thread per subscription at a time, so
+ * that a slow client does not delay the events of the other clients. A subscription is removed if sending an event or
+ * a heartbeat fails, if its queue is full, or if sending a single event takes longer than the send timeout. In these
+ * cases the {@link SseEmitter} is completed, so that the client notices the end of the stream and can reconnect.
+ */
+@Slf4j
+@Component
+public class MicoStatusEventPublisher {
+
+    public static final String EVENT_JOB = "job";
+    public static final String EVENT_DEPLOYMENT_STATUS = "deploymentStatus";
+
+    private final MicoServiceDeploymentInfoRepository serviceDeploymentInfoRepository;
+    private final MicoStatusEventsConfig statusEventsConfig;
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    private final ScheduledExecutorService heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(
+        new CustomizableThreadFactory("status-events-heartbeat-"));
+
+    private final ExecutorService sendExecutor;
+
+    @Autowired
+    public MicoStatusEventPublisher(BackgroundJobBroker backgroundJobBroker,
+                                    MicoApplicationDeploymentStatusEngine applicationDeploymentStatusEngine,
+                                    MicoServiceDeploymentInfoRepository serviceDeploymentInfoRepository,
+                                    MicoStatusEventsConfig statusEventsConfig, MeterRegistry meterRegistry) {
+        this.serviceDeploymentInfoRepository = serviceDeploymentInfoRepository;
+        this.statusEventsConfig = statusEventsConfig;
+        this.sendExecutor = Executors.newFixedThreadPool(statusEventsConfig.getSenderThreads(),
+            new CustomizableThreadFactory("status-events-"));
+
+        backgroundJobBroker.addJobStatusListener(this::onJobStatusChanged);
+        applicationDeploymentStatusEngine.addStatusListener(this::onDeploymentStatusChanged);
+
+        Gauge.builder("mico.status.events.subscriptions", subscriptions, List::size)
+            .description("Number of clients that are subscribed to status events")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void startHeartbeat() {
+        int interval = statusEventsConfig.getHeartbeatInterval();
+        heartbeatExecutor.scheduleWithFixedDelay(this::sendHeartbeat, interval, interval, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeatExecutor.shutdownNow();
+        sendExecutor.shutdownNow();
+        subscriptions.forEach(subscription -> subscription.emitter.complete());
+        subscriptions.clear();
+    }
+
+    /**
+     * Subscribes to the status changes of all jobs and applications.
+     *
+     * @return the {@link SseEmitter} that sends the events
+     */
+    public SseEmitter subscribe() {
+        Subscription subscription = new Subscription(createEmitter(), null, null, Collections.emptySet(),
+            statusEventsConfig.getEventQueueCapacity());
+        register(subscription);
+        subscriptions.add(subscription);
+        return subscription.emitter;
+    }
+
+    /**
+     * Subscribes to the status changes of a single application and the jobs of its MICO services. The current
+     * deployment status is sent as the first event.
+     *
+     * @param shortName     the short name of the {@link MicoApplication}
+     * @param version       the version of the {@link MicoApplication}
+     * @param currentStatus the current {@link MicoApplicationDeploymentStatus} of the application
+     * @return the {@link SseEmitter} that sends the events
+     */
+    public SseEmitter subscribe(String shortName, String version, MicoApplicationDeploymentStatus currentStatus) {
+        Set<String> instanceIds = serviceDeploymentInfoRepository.findAllByApplication(shortName, version).stream()
+            .map(MicoServiceDeploymentInfo::getInstanceId)
+            .collect(Collectors.toSet());
+        Subscription subscription = new Subscription(createEmitter(), shortName, version, instanceIds,
+            statusEventsConfig.getEventQueueCapacity());
+        register(subscription);
+        MicoApplicationDeploymentStatusEventDTO currentStatusDTO =
+            new MicoApplicationDeploymentStatusEventDTO(shortName, version, currentStatus);
+        // Queue the current status before subscribing, so that it is sent before any subsequent change
+        enqueue(subscription, SseEmitter.event().name(EVENT_DEPLOYMENT_STATUS).data(currentStatusDTO, MediaType.APPLICATION_JSON));
+        subscriptions.add(subscription);
+        return subscription.emitter;
+    }
+
+    /**
+     * Creates the emitter of a new subscription.
+     *
+     * @return the {@link SseEmitter}
+     */
+    protected SseEmitter createEmitter() {
+        return new SseEmitter(TimeUnit.SECONDS.toMillis(statusEventsConfig.getEmitterTimeout()));
+    }
+
+    private void register(Subscription subscription) {
+        subscription.emitter.onCompletion(() -> unsubscribe(subscription));
+        subscription.emitter.onTimeout(() -> unsubscribe(subscription));
+        subscription.emitter.onError(e -> unsubscribe(subscription));
+    }
+
+    private void onJobStatusChanged(MicoServiceBackgroundJob job) {
+        MicoServiceBackgroundJobResponseDTO jobDTO = new MicoServiceBackgroundJobResponseDTO(job);
+        publish(subscription -> subscription.includesJob(job),
+            () -> SseEmitter.event().id(job.getId()).name(EVENT_JOB).data(jobDTO, MediaType.APPLICATION_JSON));
+    }
+
+    private void onDeploymentStatusChanged(MicoApplication micoApplication, MicoApplicationDeploymentStatus status) {
+        MicoApplicationDeploymentStatusEventDTO statusDTO =
+            new MicoApplicationDeploymentStatusEventDTO(micoApplication.getShortName(), micoApplication.getVersion(), status);
+        publish(subscription -> subscription.includesApplication(micoApplication.getShortName(), micoApplication.getVersion()),
+            () -> SseEmitter.event().name(EVENT_DEPLOYMENT_STATUS).data(statusDTO, MediaType.APPLICATION_JSON));
+    }
+
+    /**
+     * Queues an event for all matching subscriptions. A new event is built for each subscription, since an
+     * {@link SseEmitter.SseEventBuilder} must only be built once.
+     */
+    private void publish(Predicate<Subscription> filter, Supplier<SseEmitter.SseEventBuilder> event) {
+        subscriptions.stream().filter(filter).forEach(subscription -> enqueue(subscription, event.get()));
+    }
+
+    /**
+     * Queues a heartbeat for all subscriptions and removes the subscriptions whose current send exceeds the send
+     * timeout.
+     */
+    private void sendHeartbeat() {
+        long sendTimeout = TimeUnit.SECONDS.toNanos(statusEventsConfig.getSendTimeout());
+        long now = System.nanoTime();
+        for (Subscription subscription : subscriptions) {
+            long sendStartedAt = subscription.sendStartedAt;
+            if (sendStartedAt != 0 && now - sendStartedAt > sendTimeout) {
+                unsubscribe(subscription, "sending an event took longer than " + statusEventsConfig.getSendTimeout() + " seconds");
+            } else {
+                enqueue(subscription, SseEmitter.event().comment("heartbeat"));
+            }
+        }
+    }
+
+    private void enqueue(Subscription subscription, SseEmitter.SseEventBuilder event) {
+        if (!subscription.events.offer(event)) {
+            unsubscribe(subscription, "the event queue is full");
+            return;
+        }
+        scheduleDrain(subscription);
+    }
+
+    private void scheduleDrain(Subscription subscription) {
+        if (subscription.closed || !subscription.draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sendExecutor.execute(() -> drain(subscription));
+        } catch (RejectedExecutionException e) {
+            // The publisher is shut down
+            subscription.draining.set(false);
+        }
+    }
+
+    /**
+     * Sends the queued events of a subscription in order. Only one thread drains the queue of a subscription at a
+     * time.
+     */
+    private void drain(Subscription subscription) {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while (!subscription.closed && (event = subscription.events.poll()) != null) {
+                subscription.sendStartedAt = System.nanoTime();
+                try {
+                    subscription.emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    // The client has disconnected or the emitter is already completed
+                    unsubscribe(subscription, e.getMessage());
+                } finally {
+                    subscription.sendStartedAt = 0;
+                }
+            }
+        } finally {
+            subscription.draining.set(false);
+        }
+        if (subscription.closed) {
+            // The subscription was dropped while an event was sent
+            completeIfIdle(subscription);
+        } else if (!subscription.events.isEmpty()) {
+            // An event may have been queued after the queue was found to be empty
+            scheduleDrain(subscription);
+        }
+    }
+
+    private void unsubscribe(Subscription subscription) {
+        subscription.closed = true;
+        subscriptions.remove(subscription);
+        subscription.events.clear();
+    }
+
+    /**
+     * Removes a subscription that is dropped by the publisher and completes its emitter.
+     */
+    private void unsubscribe(Subscription subscription, String reason) {
+        log.debug("Failed to send status event, remove subscription: {}", reason);
+        unsubscribe(subscription);
+        completeIfIdle(subscription);
+    }
+
+    /**
+     * Completes the emitter of a closed subscription unless an event is being sent. Completing the emitter would wait
+     * for the send in progress, hence it is left to the sender thread in that case (see {@link #drain(Subscription)}).
+     * The emitter is completed at most once, because the subscription is never drained again afterwards.
+     */
+    private void completeIfIdle(Subscription subscription) {
+        if (subscription.draining.compareAndSet(false, true)) {
+            subscription.emitter.complete();
+        }
+    }
+
+    /**
+     * A subscribed client. If the application is not set, the client is subscribed to all status changes.
+     */
+    private static class Subscription {
+        private final SseEmitter emitter;
+        @Nullable
+        private final String applicationShortName;
+        @Nullable
+        private final String applicationVersion;
+        /**
+         * The instance IDs of the MICO services of the application at the time of the subscription.
+         */
+        private final Set<String> instanceIds;
+        /**
+         * The events that are not sent yet.
+         */
+        private final BlockingQueue<SseEmitter.SseEventBuilder> events;
+        /**
+         * Whether a sender thread is draining the queue of events.
+         */
+        private final AtomicBoolean draining = new AtomicBoolean();
+        /**
+         * The time ({@link System#nanoTime()}) at which the current send started or {@code 0} if no event is sent.
+         */
+        private volatile long sendStartedAt;
+        private volatile boolean closed;
+
+        private Subscription(SseEmitter emitter, @Nullable String applicationShortName, @Nullable String applicationVersion,
+                             Set<String> instanceIds, int eventQueueCapacity) {
+            this.emitter = emitter;
+            this.applicationShortName = applicationShortName;
+            this.applicationVersion = applicationVersion;
+            this.instanceIds = instanceIds;
+            this.events = new ArrayBlockingQueue<>(eventQueueCapacity);
+        }
+
+        private boolean includesApplication(String shortName, String version) {
+            return applicationShortName == null
+                || (applicationShortName.equals(shortName) && applicationVersion.equals(version));
+        }
+
+        private boolean includesJob(MicoServiceBackgroundJob job) {
+            return includesApplication(job.getApplicationShortName(), job.getApplicationVersion())
+                || instanceIds.contains(job.getInstanceId());
+        }
+    }
+}
@@ -23,9 +23,10 @@
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.Service;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.autoscaling.v2beta2.HorizontalPodAutoscaler;
 import io.github.ust.mico.core.configuration.PrometheusConfig;
 import io.github.ust.mico.core.dto.response.MicoApplicationResponseDTO;
-import io.github.ust.mico.core.dto.response.internal.PrometheusResponseDTO;
+import io.github.ust.mico.core.dto.response.internal.PrometheusVectorResponseDTO;
 import io.github.ust.mico.core.dto.response.status.*;
 import io.github.ust.mico.core.exception.KubernetesResourceException;
 import io.github.ust.mico.core.exception.PrometheusRequestFailedException;
@@ -33,17 +34,28 @@
 import io.github.ust.mico.core.persistence.MicoApplicationRepository;
 import io.github.ust.mico.core.persistence.MicoServiceDeploymentInfoRepository;
 import io.github.ust.mico.core.util.CollectionUtils;
+import io.github.ust.mico.core.util.RestTemplates;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import javax.annotation.PreDestroy;
 import javax.validation.constraints.NotNull;
 import java.net.URI;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 
 /**
  * Provides functionality to retrieve status information for a {@link MicoApplication} or a particular {@link
@@ -54,18 +66,26 @@
 public class MicoStatusService {
 
     private static final String POD_PHASE_RUNNING = "Running";
-    private static final String PROMETHEUS_QUERY_FOR_MEMORY_USAGE = "sum(container_memory_working_set_bytes{pod_name=\"%s\",container_name=\"\"})";
-    private static final String PROMETHEUS_QUERY_FOR_CPU_USAGE = "sum(container_cpu_load_average_10s{pod_name=\"%s\"})";
+    private static final String PROMETHEUS_QUERY_FOR_MEMORY_USAGE = "sum by (pod_name) (container_memory_working_set_bytes{pod_name=~\"%s\",container_name=\"\"})";
+    private static final String PROMETHEUS_QUERY_FOR_CPU_USAGE = "sum by (pod_name) (container_cpu_load_average_10s{pod_name=~\"%s\"})";
     private static final String PROMETHEUS_QUERY_PARAMETER_NAME = "query";
+    private static final int PROMETHEUS_QUERY_THREADS = 4;
     private final PrometheusConfig prometheusConfig;
     private final MicoKubernetesClient micoKubernetesClient;
     private final RestTemplate restTemplate;
     private final MicoServiceDeploymentInfoRepository serviceDeploymentInfoRepository;
     private final MicoApplicationRepository micoApplicationRepository;
 
+    /**
+     * Executes the Prometheus queries of a status request concurrently.
+     */
+    private final ExecutorService prometheusQueryExecutor = Executors.newFixedThreadPool(PROMETHEUS_QUERY_THREADS,
+        new CustomizableThreadFactory("prometheus-query-"));
+
     @Autowired
     public MicoStatusService(PrometheusConfig prometheusConfig, MicoKubernetesClient micoKubernetesClient,
-                             RestTemplate restTemplate, MicoServiceDeploymentInfoRepository serviceDeploymentInfoRepository,
+                             @Qualifier(RestTemplates.QUALIFIER_PROMETHEUS_REST_TEMPLATE) RestTemplate restTemplate,
+                             MicoServiceDeploymentInfoRepository serviceDeploymentInfoRepository,
                              MicoApplicationRepository micoApplicationRepository) {
         this.prometheusConfig = prometheusConfig;
         this.micoKubernetesClient = micoKubernetesClient;
@@ -91,8 +111,7 @@ public MicoApplicationStatusResponseDTO getApplicationStatus(MicoApplication mic
         int requestedReplicasCount = 0;
         int availableReplicasCount = 0;
 
-        for (MicoServiceDeploymentInfo serviceDeploymentInfo : serviceDeploymentInfos) {
-            MicoServiceStatusResponseDTO micoServiceStatus = getServiceInstanceStatus(serviceDeploymentInfo);
+        for (MicoServiceStatusResponseDTO micoServiceStatus : getServiceInstanceStatuses(serviceDeploymentInfos)) {
             podCount += micoServiceStatus.getPodsInformation().size();
             requestedReplicasCount += micoServiceStatus.getRequestedReplicas();
             availableReplicasCount += micoServiceStatus.getAvailableReplicas();
@@ -123,8 +142,10 @@ public List<MicoServiceStatusResponseDTO> getServiceStatus(MicoService micoServi
         List<MicoServiceDeploymentInfo> serviceDeploymentInfos = serviceDeploymentInfoRepository.findAllByService(
             micoService.getShortName(), micoService.getVersion());
         List<MicoServiceStatusResponseDTO> responseDTOList = new ArrayList<>();
-        for (MicoServiceDeploymentInfo serviceDeploymentInfo : serviceDeploymentInfos) {
-            MicoServiceStatusResponseDTO serviceInstanceStatus = getServiceInstanceStatus(serviceDeploymentInfo);
+        List<MicoServiceStatusResponseDTO> serviceInstanceStatuses = getServiceInstanceStatuses(serviceDeploymentInfos);
+        for (int i = 0; i < serviceDeploymentInfos.size(); i++) {
+            MicoServiceDeploymentInfo serviceDeploymentInfo = serviceDeploymentInfos.get(i);
+            MicoServiceStatusResponseDTO serviceInstanceStatus = serviceInstanceStatuses.get(i);
             // Add the instance only to the list if it's considered to be relevant for the service status:
             // Either it must be requested to be deployed (requested replicas > 0)
             // or it must be currently deployed (available replicas > 0).
@@ -148,6 +169,74 @@ public List<MicoServiceStatusResponseDTO> getServiceStatus(MicoService micoServi
      * for a specific instance of a {@link MicoService}.
      */
     public MicoServiceStatusResponseDTO getServiceInstanceStatus(MicoServiceDeploymentInfo serviceDeploymentInfo) {
+        return getServiceInstanceStatuses(Collections.singletonList(serviceDeploymentInfo)).get(0);
+    }
+
+    /**
+     * Get status information for multiple {@link MicoServiceDeploymentInfo MicoServiceDeploymentInfos}. The pod
+     * metrics of all instances are requested together, i.e. with one Prometheus query per metric instead of one query
+     * per metric and pod.
+     *
+     * @param serviceDeploymentInfos the list of {@link MicoServiceDeploymentInfo MicoServiceDeploymentInfos}.
+     * @return the list of {@link MicoServiceStatusResponseDTO MicoServiceStatusResponseDTOs} in the same order as the
+     * provided {@link MicoServiceDeploymentInfo MicoServiceDeploymentInfos}.
+     */
+    private List<MicoServiceStatusResponseDTO> getServiceInstanceStatuses(List<MicoServiceDeploymentInfo> serviceDeploymentInfos) {
+        Map<String, Optional<Deployment>> deployments = new HashMap<>();
+        Map<String, List<Pod>> pods = new HashMap<>();
+        List<String> runningPodNames = new ArrayList<>();
+        for (MicoServiceDeploymentInfo serviceDeploymentInfo : serviceDeploymentInfos) {
+            Optional<Deployment> deploymentOptional = micoKubernetesClient.getDeploymentOfMicoServiceInstance(serviceDeploymentInfo);
+            deployments.put(serviceDeploymentInfo.getInstanceId(), deploymentOptional);
+            if (deploymentOptional.isPresent()) {
+                List<Pod> podList = micoKubernetesClient.getPodsCreatedByDeploymentOfMicoServiceInstance(serviceDeploymentInfo);
+                pods.put(serviceDeploymentInfo.getInstanceId(), podList);
+                podList.stream()
+                    .filter(pod -> POD_PHASE_RUNNING.equals(pod.getStatus().getPhase()))
+                    .forEach(pod -> runningPodNames.add(pod.getMetadata().getName()));
+            }
+        }
+
+        Map<String, KubernetesPodMetricsResponseDTO> podMetrics = getPodMetrics(runningPodNames);
+        return serviceDeploymentInfos.stream()
+            .map(serviceDeploymentInfo -> getServiceInstanceStatus(serviceDeploymentInfo,
+                deployments.get(serviceDeploymentInfo.getInstanceId()),
+                pods.getOrDefault(serviceDeploymentInfo.getInstanceId(), Collections.emptyList()),
+                podMetrics))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Get the status of the Kubernetes horizontal pod autoscaler of a {@link MicoServiceDeploymentInfo}. If the
+     * autoscaler does not exist (yet), only the replica range of the autoscaling policy is returned.
+     *
+     * @param serviceDeploymentInfo the {@link MicoServiceDeploymentInfo} with autoscaling enabled
+     * @return the {@link MicoAutoscalingStatusResponseDTO} with the current and desired replicas
+     */
+    private MicoAutoscalingStatusResponseDTO getAutoscalingStatus(MicoServiceDeploymentInfo serviceDeploymentInfo) {
+        MicoAutoscalingPolicy autoscaling = serviceDeploymentInfo.getAutoscaling();
+        MicoAutoscalingStatusResponseDTO autoscalingStatus = new MicoAutoscalingStatusResponseDTO()
+            .setMinReplicas(autoscaling.getMinReplicas())
+            .setMaxReplicas(autoscaling.getMaxReplicas());
+        Optional<HorizontalPodAutoscaler> autoscalerOptional = micoKubernetesClient.getHorizontalPodAutoscalerOfMicoServiceInstance(serviceDeploymentInfo);
+        if (!autoscalerOptional.isPresent()) {
+            log.debug("There is no horizontal pod autoscaler of MicoService '{}' '{}' with instance ID '{}'.",
+                serviceDeploymentInfo.getService().getShortName(), serviceDeploymentInfo.getService().getVersion(),
+                serviceDeploymentInfo.getInstanceId());
+            return autoscalingStatus;
+        }
+        HorizontalPodAutoscaler autoscaler = autoscalerOptional.get();
+        autoscalingStatus.setMinReplicas(autoscaler.getSpec().getMinReplicas())
+            .setMaxReplicas(autoscaler.getSpec().getMaxReplicas());
+        if (autoscaler.getStatus() != null) {
+            autoscalingStatus.setCurrentReplicas(autoscaler.getStatus().getCurrentReplicas())
+                .setDesiredReplicas(autoscaler.getStatus().getDesiredReplicas());
+        }
+        return autoscalingStatus;
+    }
+
+    private MicoServiceStatusResponseDTO getServiceInstanceStatus(MicoServiceDeploymentInfo serviceDeploymentInfo, Optional<Deployment> deploymentOptional,
+                                                                  List<Pod> podList, Map<String, KubernetesPodMetricsResponseDTO> podMetrics) {
         MicoService micoService = serviceDeploymentInfo.getService();
         String instanceId = serviceDeploymentInfo.getInstanceId();
         MicoServiceStatusResponseDTO serviceStatus = new MicoServiceStatusResponseDTO()
@@ -157,7 +246,6 @@ public MicoServiceStatusResponseDTO getServiceInstanceStatus(MicoServiceDeployme
             .setInstanceId(instanceId);
 
         String message;
-        Optional<Deployment> deploymentOptional = micoKubernetesClient.getDeploymentOfMicoServiceInstance(serviceDeploymentInfo);
         if (deploymentOptional.isPresent()) {
             Deployment deployment = deploymentOptional.get();
             serviceStatus.setRequestedReplicas(deployment.getSpec().getReplicas());
@@ -176,6 +264,9 @@ public MicoServiceStatusResponseDTO getServiceInstanceStatus(MicoServiceDeployme
                     micoService.getShortName(), micoService.getVersion(), instanceId);
                 serviceStatus.setAvailableReplicas(0);
             }
+            if (serviceDeploymentInfo.getAutoscaling() != null) {
+                serviceStatus.setAutoscaling(getAutoscalingStatus(serviceDeploymentInfo));
+            }
         } else {
             message = "MicoService '" + micoService.getShortName() + "' '" + micoService.getVersion() +
                 "' with instance ID '" + instanceId + "' is not deployed.";
@@ -203,7 +294,6 @@ public MicoServiceStatusResponseDTO getServiceInstanceStatus(MicoServiceDeployme
         }
 
         // Get status information for all pods of a service
-        List<Pod> podList = micoKubernetesClient.getPodsCreatedByDeploymentOfMicoServiceInstance(serviceDeploymentInfo);
         List<KubernetesPodInformationResponseDTO> podInfos = new ArrayList<>();
         // Get all the nodes on which the pods of a deployment of a MicoService are running
         Map<String, List<Pod>> podsPerNode = new HashMap<>();
@@ -222,7 +312,7 @@ public MicoServiceStatusResponseDTO getServiceInstanceStatus(MicoServiceDeployme
             int sumCpuLoadOnNode = 0;
             int sumMemoryUsageOnNode = 0;
             for (Pod pod : podsPerNode.get(nodeName)) {
-                KubernetesPodInformationResponseDTO podInformation = getPodInformation(pod);
+                KubernetesPodInformationResponseDTO podInformation = getPodInformation(pod, podMetrics);
                 podInfos.add(podInformation);
                 String phase = pod.getStatus().getPhase();
                 if (phase.equals(POD_PHASE_RUNNING)) {
@@ -332,11 +422,12 @@ public MicoServiceInterfaceStatusResponseDTO getPublicIpOfKubernetesService(Mico
     /**
      * Get information and metrics for a {@link Pod} representing an instance of a {@link MicoService}.
      *
-     * @param pod is a {@link Pod} of Kubernetes.
+     * @param pod        is a {@link Pod} of Kubernetes.
+     * @param podMetrics the metrics of all running pods, keyed by the pod name.
      * @return a {@link KubernetesPodInformationResponseDTO} which has node name, pod name, phase, host ip, memory
      * usage, and CPU load as status information.
      */
-    private KubernetesPodInformationResponseDTO getPodInformation(Pod pod) {
+    private KubernetesPodInformationResponseDTO getPodInformation(Pod pod, Map<String, KubernetesPodMetricsResponseDTO> podMetrics) {
         String nodeName = pod.getSpec().getNodeName();
         String podName = pod.getMetadata().getName();
         String phase = pod.getStatus().getPhase();
@@ -355,48 +446,98 @@ private KubernetesPodInformationResponseDTO getPodInformation(Pod pod) {
             .setRestarts(restarts)
             .setStartTime(age);
 
-        // Request values from Prometheus only if the pod phase is "Running"
+        // Values from Prometheus are only available if the pod phase is "Running"
         if (phase.equals(POD_PHASE_RUNNING)) {
-            int memoryUsage = 0;
-            int cpuLoad = 0;
-            try {
-                memoryUsage = getMemoryUsageForPod(podName);
-                cpuLoad = getCpuLoadForPod(podName);
-            } catch (PrometheusRequestFailedException | ResourceAccessException e) {
-                log.error(e.getMessage(), e);
-            }
-            kubernetesPodInformationResponseDTO.setMetrics(new KubernetesPodMetricsResponseDTO()
-                .setMemoryUsage(memoryUsage)
-                .setCpuLoad(cpuLoad));
+            kubernetesPodInformationResponseDTO.setMetrics(podMetrics.getOrDefault(podName, new KubernetesPodMetricsResponseDTO()));
         }
         return kubernetesPodInformationResponseDTO;
     }
 
-    private int getMemoryUsageForPod(String podName) throws PrometheusRequestFailedException {
-        URI prometheusUri = getPrometheusUri(PROMETHEUS_QUERY_FOR_MEMORY_USAGE, podName);
-        return requestValueFromPrometheus(prometheusUri);
+    /**
+     * Requests the memory usage and CPU load of the given pods from Prometheus. There is one query per metric for (up
+     * to {@link PrometheusConfig#getMaxPodsPerQuery()}) pods, all queries are executed concurrently. Metrics that could
+     * not be retrieved within the time budget {@link PrometheusConfig#getQueryTimeout()} are reported as 0.
+     *
+     * @param podNames the names of the {@link Pod Pods}
+     * @return the metrics keyed by the pod name
+     */
+    private Map<String, KubernetesPodMetricsResponseDTO> getPodMetrics(List<String> podNames) {
+        if (podNames.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<CompletableFuture<Map<String, Integer>>> memoryUsageQueries = new ArrayList<>();
+        List<CompletableFuture<Map<String, Integer>>> cpuLoadQueries = new ArrayList<>();
+        for (int i = 0; i < podNames.size(); i += prometheusConfig.getMaxPodsPerQuery()) {
+            List<String> podNamesOfQuery = podNames.subList(i, Math.min(i + prometheusConfig.getMaxPodsPerQuery(), podNames.size()));
+            memoryUsageQueries.add(queryPrometheusAsync(PROMETHEUS_QUERY_FOR_MEMORY_USAGE, podNamesOfQuery));
+            cpuLoadQueries.add(queryPrometheusAsync(PROMETHEUS_QUERY_FOR_CPU_USAGE, podNamesOfQuery));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(prometheusConfig.getQueryTimeout());
+        Map<String, Integer> memoryUsage = collectQueryResults(memoryUsageQueries, deadline);
+        Map<String, Integer> cpuLoad = collectQueryResults(cpuLoadQueries, deadline);
+
+        Map<String, KubernetesPodMetricsResponseDTO> podMetrics = new HashMap<>();
+        for (String podName : podNames) {
+            podMetrics.put(podName, new KubernetesPodMetricsResponseDTO()
+                .setMemoryUsage(memoryUsage.getOrDefault(podName, 0))
+                .setCpuLoad(cpuLoad.getOrDefault(podName, 0)));
+        }
+        return podMetrics;
     }
 
-    private int getCpuLoadForPod(String podName) throws PrometheusRequestFailedException {
-        URI prometheusUri = getPrometheusUri(PROMETHEUS_QUERY_FOR_CPU_USAGE, podName);
-        return requestValueFromPrometheus(prometheusUri);
+    private CompletableFuture<Map<String, Integer>> queryPrometheusAsync(String query, List<String> podNames) {
+        URI prometheusUri = getPrometheusUri(query, podNames);
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return requestValuesFromPrometheus(prometheusUri);
+            } catch (PrometheusRequestFailedException e) {
+                throw new CompletionException(e);
+            }
+        }, prometheusQueryExecutor);
     }
 
     /**
-     * Requests the CPU load / memory usage value from Prometheus.
+     * Waits for the results of the given Prometheus queries until the deadline is reached. Failed queries and queries
+     * that did not finish in time are skipped.
+     *
+     * @param queries  the futures of the queries
+     * @param deadline the deadline in terms of {@link System#nanoTime()}
+     * @return the merged results of all successful queries
+     */
+    private Map<String, Integer> collectQueryResults(List<CompletableFuture<Map<String, Integer>>> queries, long deadline) {
+        Map<String, Integer> results = new HashMap<>();
+        for (CompletableFuture<Map<String, Integer>> query : queries) {
+            try {
+                results.putAll(query.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                log.warn("Prometheus query did not finish within {} ms.", prometheusConfig.getQueryTimeout());
+                query.cancel(true);
+            } catch (ExecutionException e) {
+                log.error(e.getCause().getMessage(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                query.cancel(true);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Requests the CPU load / memory usage values of multiple pods from Prometheus.
      *
      * @param prometheusUri is the adapted URI with the query for Prometheus, either CPU load or memory usage.
-     * @return a single Integer value of the current CPU load or the memory usage of a {@link Pod}.
+     * @return the current CPU load or the memory usage values keyed by the name of the {@link Pod}.
      * @throws PrometheusRequestFailedException is thrown if Prometheus returns an error, if there is no response body,
      *                                          or if the HTTP request was not successful.
      */
-    private int requestValueFromPrometheus(URI prometheusUri) throws PrometheusRequestFailedException {
-        ResponseEntity<PrometheusResponseDTO> response = restTemplate.getForEntity(prometheusUri, PrometheusResponseDTO.class);
+    private Map<String, Integer> requestValuesFromPrometheus(URI prometheusUri) throws PrometheusRequestFailedException {
+        ResponseEntity<PrometheusVectorResponseDTO> response = restTemplate.getForEntity(prometheusUri, PrometheusVectorResponseDTO.class);
         if (response.getStatusCode().is2xxSuccessful()) {
-            PrometheusResponseDTO prometheusResponse = response.getBody();
+            PrometheusVectorResponseDTO prometheusResponse = response.getBody();
             if (prometheusResponse != null) {
                 if (prometheusResponse.isSuccess()) {
-                    return prometheusResponse.getValue();
+                    return prometheusResponse.getValues();
                 } else {
                     throw new PrometheusRequestFailedException("Prometheus returned a response with status " + prometheusResponse.isSuccess());
                 }
@@ -409,18 +550,25 @@ private int requestValueFromPrometheus(URI prometheusUri) throws PrometheusReque
     }
 
     /**
-     * Builds the correct Prometheus URI to request the correct value.
+     * Builds the correct Prometheus URI to request the correct values.
      *
-     * @param query   is the query for Prometheus in PromQL (either the query for the CPU load, or for the memory
-     *                usage).
-     * @param podName is the name of the {@link Pod}, for which the CPU load / memory usage query is build.
+     * @param query    is the query for Prometheus in PromQL (either the query for the CPU load, or for the memory
+     *                 usage).
+     * @param podNames are the names of the {@link Pod Pods}, for which the CPU load / memory usage query is build.
      * @return the URI to send the request to.
      */
-    private URI getPrometheusUri(String query, String podName) {
+    private URI getPrometheusUri(String query, List<String> podNames) {
+        // Pod names are matched with a regular expression, escape the dots (backslash must be escaped within PromQL strings)
+        String podNameRegex = podNames.stream().map(podName -> podName.replace(".", "\\\\.")).collect(Collectors.joining("|"));
         UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromHttpUrl(prometheusConfig.getUri());
-        uriBuilder.queryParam(PROMETHEUS_QUERY_PARAMETER_NAME, String.format(query, podName));
+        uriBuilder.queryParam(PROMETHEUS_QUERY_PARAMETER_NAME, String.format(query, podNameRegex));
         URI prometheusUri = uriBuilder.build().toUri();
         log.debug("Using Prometheus URI '{}'", prometheusUri);
         return prometheusUri;
     }
+
+    @PreDestroy
+    public void shutdown() {
+        prometheusQueryExecutor.shutdownNow();
+    }
 }
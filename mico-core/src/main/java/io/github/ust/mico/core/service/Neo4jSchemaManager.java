@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.github.ust.mico.core.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+
+import io.github.ust.mico.core.configuration.Neo4jSchemaConfig;
+import io.github.ust.mico.core.model.MicoApplication;
+import io.github.ust.mico.core.model.MicoService;
+import io.github.ust.mico.core.model.MicoServiceDeploymentInfo;
+import io.github.ust.mico.core.model.MicoTopic;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.neo4j.ogm.model.Result;
+import org.neo4j.ogm.session.Session;
+import org.neo4j.ogm.session.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the Neo4j indexes for the properties that are used to look up nodes, i.e. the short name and version of
+ * {@link MicoApplication MicoApplications} and {@link MicoService MicoServices}, the instance ID of {@link
+ * MicoServiceDeploymentInfo MicoServiceDeploymentInfos} and the name of {@link MicoTopic MicoTopics}. Without them
+ * every lookup is a label scan.
+ * <p>
+ * The instance ID is not unique: a promoted {@link MicoApplication} gets copies of the service deployment information
+ * that keep the instance IDs of the original application.
+ * <p>
+ * After the creation, it is verified that all indexes and constraints exist and are online, because only then the
+ * Cypher planner uses them for the lookups. Depending on the {@link Neo4jSchemaConfig}, the startup fails or a warning
+ * is logged if this is not the case.
+ */
+@Slf4j
+@Component
+public class Neo4jSchemaManager {
+
+    /**
+     * The indexes and constraints that are required by MICO.
+     */
+    public static final List<SchemaRule> SCHEMA_RULES = Collections.unmodifiableList(Arrays.asList(
+        SchemaRule.index("MicoApplication", "shortName", "version"),
+        SchemaRule.index("MicoApplication", "shortName"),
+        SchemaRule.index("MicoService", "shortName", "version"),
+        SchemaRule.index("MicoService", "shortName"),
+        SchemaRule.index("MicoServiceDeploymentInfo", "instanceId"),
+        SchemaRule.index("MicoTopic", "name")
+    ));
+
+    private static final String STATE_ONLINE = "ONLINE";
+
+    private final Neo4jSchemaConfig schemaConfig;
+    private final SessionFactory sessionFactory;
+
+    @Autowired
+    public Neo4jSchemaManager(Neo4jSchemaConfig schemaConfig, SessionFactory sessionFactory) {
+        this.schemaConfig = schemaConfig;
+        this.sessionFactory = sessionFactory;
+    }
+
+    /**
+     * Creates the missing indexes and constraints and verifies that all of them are online.
+     *
+     * @throws IllegalStateException if an index or constraint is missing and the startup should fail in this case
+     */
+    @PostConstruct
+    public void initializeSchema() {
+        if (!schemaConfig.isEnabled()) {
+            log.info("Creation of Neo4j indexes and constraints is disabled.");
+            return;
+        }
+        Session session = sessionFactory.openSession();
+        List<SchemaRule> existingSchemaRules = getExistingSchemaRules(session, false);
+        for (SchemaRule schemaRule : SCHEMA_RULES) {
+            if (existingSchemaRules.contains(schemaRule)) {
+                continue;
+            }
+            try {
+                session.query(schemaRule.toCreateStatement(), Collections.emptyMap());
+                log.info("Created Neo4j {}.", schemaRule);
+            } catch (Exception e) {
+                log.warn("Failed to create Neo4j {}. Caused by: {}", schemaRule, e.getMessage());
+            }
+        }
+        try {
+            session.query("CALL db.awaitIndexes({timeout})",
+                Collections.singletonMap("timeout", schemaConfig.getIndexAwaitTimeout()));
+        } catch (Exception e) {
+            log.warn("Neo4j indexes are not online within {} seconds. Caused by: {}", schemaConfig.getIndexAwaitTimeout(), e.getMessage());
+        }
+
+        List<SchemaRule> missingSchemaRules = getMissingSchemaRules();
+        if (missingSchemaRules.isEmpty()) {
+            log.info("All {} Neo4j indexes and constraints are online.", SCHEMA_RULES.size());
+            return;
+        }
+        String message = "Neo4j indexes or constraints are missing or not online, lookups will be slow: " + missingSchemaRules;
+        if (schemaConfig.isFailOnMissingSchema()) {
+            throw new IllegalStateException(message);
+        }
+        log.warn(message);
+    }
+
+    /**
+     * Returns the required indexes and constraints that do not exist or are not online.
+     *
+     * @return the list of missing {@link SchemaRule SchemaRules}
+     */
+    public List<SchemaRule> getMissingSchemaRules() {
+        List<SchemaRule> onlineSchemaRules = getExistingSchemaRules(sessionFactory.openSession(), true);
+        return SCHEMA_RULES.stream()
+            .filter(schemaRule -> !onlineSchemaRules.contains(schemaRule))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Reads the existing indexes and constraints with {@code db.indexes()}. Uniqueness constraints are listed there
+     * as well, because they are backed by an index. The columns differ between the Neo4j versions.
+     */
+    private List<SchemaRule> getExistingSchemaRules(Session session, boolean onlineOnly) {
+        Result result = session.query("CALL db.indexes()", Collections.emptyMap());
+        List<SchemaRule> schemaRules = new ArrayList<>();
+        for (Map<String, Object> index : result.queryResults()) {
+            if (onlineOnly && !STATE_ONLINE.equals(index.get("state"))) {
+                continue;
+            }
+            List<String> labels = toStringList(index.containsKey("label") ? index.get("label")
+                : index.containsKey("labelsOrTypes") ? index.get("labelsOrTypes") : index.get("tokenNames"));
+            if (labels.size() != 1) {
+                continue;
+            }
+            String type = String.valueOf(index.get("type"));
+            boolean unique = type.toLowerCase().contains("unique") || "UNIQUE".equals(index.get("uniqueness"));
+            schemaRules.add(new SchemaRule(labels.get(0), toStringList(index.get("properties")), unique));
+        }
+        return schemaRules;
+    }
+
+    private static List<String> toStringList(Object value) {
+        if (value instanceof Collection) {
+            return ((Collection<?>) value).stream().map(String::valueOf).collect(Collectors.toList());
+        } else if (value instanceof Object[]) {
+            return Arrays.stream((Object[]) value).map(String::valueOf).collect(Collectors.toList());
+        } else if (value != null) {
+            return Collections.singletonList(String.valueOf(value));
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * An index or a uniqueness constraint on the properties of the nodes with a particular label.
+     */
+    @Value
+    public static class SchemaRule {
+        String label;
+        List<String> properties;
+        boolean unique;
+
+        static SchemaRule index(String label, String... properties) {
+            return new SchemaRule(label, Arrays.asList(properties), false);
+        }
+
+        String toCreateStatement() {
+            if (unique) {
+                return "CREATE CONSTRAINT ON (n:" + label + ") ASSERT n." + properties.get(0) + " IS UNIQUE";
+            }
+            return "CREATE INDEX ON :" + label + "(" + String.join(", ", properties) + ")";
+        }
+
+        @Override
+        public String toString() {
+            return (unique ? "uniqueness constraint on :" : "index on :") + label + "(" + String.join(", ", properties) + ")";
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.github.ust.mico.core.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import io.github.ust.mico.core.configuration.TanglingNodeCollectorConfig;
+import io.github.ust.mico.core.model.MicoServiceDeploymentInfo;
+import io.github.ust.mico.core.persistence.KubernetesDeploymentInfoRepository;
+import io.github.ust.mico.core.persistence.MicoAutoscalingPolicyRepository;
+import io.github.ust.mico.core.persistence.MicoEnvironmentVariableRepository;
+import io.github.ust.mico.core.persistence.MicoInterfaceConnectionRepository;
+import io.github.ust.mico.core.persistence.MicoLabelRepository;
+import io.github.ust.mico.core.persistence.MicoServiceDeploymentInfoRepository;
+import io.github.ust.mico.core.persistence.MicoTopicRepository;
+import io.github.ust.mico.core.persistence.OpenFaaSFunctionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Cleans up tangling nodes related to a {@link MicoServiceDeploymentInfo} in the database.
+ * <p>
+ * In case addition properties (stored as separate node entity) such as labels, environment variables have been
+ * removed from a service deployment information, the standard {@code save()} function of the service deployment
+ * information repository will not delete those "tangling" (without relationships) labels (nodes), hence the manual
+ * clean up.
+ * <p>
+ * Operations that detach such nodes are executed with {@link #executeAndDeleteDetachedNodes(Collection, Supplier)},
+ * which only checks the nodes that were related to the modified service deployment information. In addition, all
+ * tangling nodes are periodically deleted in the background to catch stragglers, e.g. nodes left over by changes made
+ * directly in the database.
+ */
+@Slf4j
+@Component
+public class TanglingNodeCollector {
+
+    private final TanglingNodeCollectorConfig collectorConfig;
+    private final MicoServiceDeploymentInfoRepository serviceDeploymentInfoRepository;
+    private final MicoLabelRepository labelRepository;
+    private final MicoTopicRepository topicRepository;
+    private final MicoEnvironmentVariableRepository environmentVariableRepository;
+    private final KubernetesDeploymentInfoRepository kubernetesDeploymentInfoRepository;
+    private final MicoInterfaceConnectionRepository interfaceConnectionRepository;
+    private final OpenFaaSFunctionRepository openFaaSFunctionRepository;
+    private final MicoAutoscalingPolicyRepository autoscalingPolicyRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+        new CustomizableThreadFactory("tangling-node-collector-"));
+
+    @Autowired
+    public TanglingNodeCollector(TanglingNodeCollectorConfig collectorConfig,
+                                 MicoServiceDeploymentInfoRepository serviceDeploymentInfoRepository,
+                                 MicoLabelRepository labelRepository,
+                                 MicoTopicRepository topicRepository,
+                                 MicoEnvironmentVariableRepository environmentVariableRepository,
+                                 KubernetesDeploymentInfoRepository kubernetesDeploymentInfoRepository,
+                                 MicoInterfaceConnectionRepository interfaceConnectionRepository,
+                                 OpenFaaSFunctionRepository openFaaSFunctionRepository,
+                                 MicoAutoscalingPolicyRepository autoscalingPolicyRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.collectorConfig = collectorConfig;
+        this.serviceDeploymentInfoRepository = serviceDeploymentInfoRepository;
+        this.labelRepository = labelRepository;
+        this.topicRepository = topicRepository;
+        this.environmentVariableRepository = environmentVariableRepository;
+        this.kubernetesDeploymentInfoRepository = kubernetesDeploymentInfoRepository;
+        this.interfaceConnectionRepository = interfaceConnectionRepository;
+        this.openFaaSFunctionRepository = openFaaSFunctionRepository;
+        this.autoscalingPolicyRepository = autoscalingPolicyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void startBackgroundCollection() {
+        if (!collectorConfig.isBackgroundCollectionEnabled()) {
+            log.info("Background collection of tangling nodes is disabled.");
+            return;
+        }
+        int interval = collectorConfig.getBackgroundCollectionInterval();
+        scheduler.scheduleWithFixedDelay(this::collectInBackground, interval, interval, TimeUnit.SECONDS);
+        log.info("Collect tangling nodes in the background every {} seconds.", interval);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Executes an operation that modifies or deletes service deployment information and deletes the nodes that were
+     * related to them and are detached by the operation. Only the nodes that were related to the given service
+     * deployment information before the operation are checked. The operation and the clean up are executed in the
+     * same transaction.
+     *
+     * @param serviceDeploymentInfoIds the IDs of the {@link MicoServiceDeploymentInfo MicoServiceDeploymentInfos} that
+     *                                 are modified or deleted by the operation
+     * @param operation                the operation
+     * @param <T>                      the type of the result of the operation
+     * @return the result of the operation
+     */
+    public <T> T executeAndDeleteDetachedNodes(Collection<Long> serviceDeploymentInfoIds, Supplier<T> operation) {
+        return transactionTemplate.execute(status -> {
+            List<Long> relatedNodeIds = serviceDeploymentInfoRepository.findRelatedNodeIds(serviceDeploymentInfoIds);
+            T result = operation.get();
+            if (!relatedNodeIds.isEmpty()) {
+                serviceDeploymentInfoRepository.deleteDetachedNodes(relatedNodeIds);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Executes an operation that modifies or deletes service deployment information and deletes the nodes that were
+     * related to them and are detached by the operation, see {@link #executeAndDeleteDetachedNodes(Collection,
+     * Supplier)}.
+     *
+     * @param serviceDeploymentInfoIds the IDs of the {@link MicoServiceDeploymentInfo MicoServiceDeploymentInfos} that
+     *                                 are modified or deleted by the operation
+     * @param operation                the operation
+     */
+    public void executeAndDeleteDetachedNodes(Collection<Long> serviceDeploymentInfoIds, Runnable operation) {
+        executeAndDeleteDetachedNodes(serviceDeploymentInfoIds, () -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    /**
+     * Deletes all tangling nodes in the database. Checks all nodes with the particular labels.
+     */
+    public void deleteAllTanglingNodes() {
+        labelRepository.cleanUp();
+        topicRepository.cleanUp();
+        environmentVariableRepository.cleanUp();
+        kubernetesDeploymentInfoRepository.cleanUp();
+        interfaceConnectionRepository.cleanUp();
+        openFaaSFunctionRepository.cleanUp();
+        autoscalingPolicyRepository.cleanUp();
+    }
+
+    private void collectInBackground() {
+        try {
+            long start = System.nanoTime();
+            deleteAllTanglingNodes();
+            log.debug("Collected tangling nodes in {} ms.", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (Exception e) {
+            // Failures must not stop the periodic execution
+            log.warn("Failed to collect tangling nodes. Caused by: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.github.ust.mico.core.service.imagebuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import io.github.ust.mico.core.configuration.MicoKubernetesBuildBotConfig;
+import io.github.ust.mico.core.model.MicoImageBuildCacheEntry;
+import io.github.ust.mico.core.model.MicoService;
+import io.github.ust.mico.core.persistence.MicoImageBuildCacheRepository;
+import io.github.ust.mico.core.service.GitHubCrawler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Cache of image build results, keyed by the Git clone url, the resolved commit SHA and the Dockerfile path of a
+ * {@link MicoService}. The cache is persisted in Redis, so it survives restarts of MICO.
+ * <p>
+ * The revision of a {@link MicoService} (its version) is resolved to a commit SHA before the lookup. Services whose
+ * revision cannot be resolved (e.g. repositories that are not hosted on GitHub) are never cached.
+ * <p>
+ * Only Docker image URIs that are pinned by the digest of the image are cached, because the tag of an image may be
+ * moved to another image in the meantime.
+ */
+@Slf4j
+@Component
+public class ImageBuildCache {
+
+    private static final String DIGEST_SEPARATOR = "@";
+
+    private final MicoImageBuildCacheRepository cacheRepository;
+    private final GitHubCrawler gitHubCrawler;
+    private final MicoKubernetesBuildBotConfig buildBotConfig;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    /**
+     * Creates the build cache. The {@link GitHubCrawler} is injected lazily, because its {@code RestTemplate} depends on
+     * the {@code MicoKubernetesClient}, which in turn depends on the image builder using this cache.
+     *
+     * @param cacheRepository the {@link MicoImageBuildCacheRepository} the cache entries are persisted in
+     * @param gitHubCrawler   the {@link GitHubCrawler} used to resolve revisions to commit SHAs
+     * @param buildBotConfig  the build bot configuration
+     * @param meterRegistry   the {@link MeterRegistry} used to expose the hit and miss counts
+     */
+    @Autowired
+    public ImageBuildCache(MicoImageBuildCacheRepository cacheRepository, @Lazy GitHubCrawler gitHubCrawler,
+                           MicoKubernetesBuildBotConfig buildBotConfig, MeterRegistry meterRegistry) {
+        this.cacheRepository = cacheRepository;
+        this.gitHubCrawler = gitHubCrawler;
+        this.buildBotConfig = buildBotConfig;
+
+        this.hits = Counter.builder("mico.builds.cache")
+            .tag("result", "hit")
+            .description("Number of image builds that were skipped, because the image was already built")
+            .register(meterRegistry);
+        this.misses = Counter.builder("mico.builds.cache")
+            .tag("result", "miss")
+            .description("Number of image builds that were not found in the build cache")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Resolves the cache entry for a {@link MicoService}. The Docker image URI of the returned entry is only set if an
+     * image for the same commit and Dockerfile was already built.
+     *
+     * @param micoService the {@link MicoService}
+     * @return the {@link MicoImageBuildCacheEntry} or {@link Optional#empty()} if the cache is disabled or the revision of
+     * the {@link MicoService} cannot be resolved to a commit SHA
+     */
+    public Optional<MicoImageBuildCacheEntry> lookup(MicoService micoService) {
+        if (!buildBotConfig.isBuildCacheEnabled()) {
+            return Optional.empty();
+        }
+        Optional<String> commitShaOptional = gitHubCrawler.resolveCommitSha(micoService.getGitCloneUrl(), micoService.getVersion());
+        if (!commitShaOptional.isPresent()) {
+            log.debug("Revision '{}' of '{}' could not be resolved -> Build cache is not used.",
+                micoService.getVersion(), micoService.getGitCloneUrl());
+            misses.increment();
+            return Optional.empty();
+        }
+        String dockerfilePath = StringUtils.isEmpty(micoService.getDockerfilePath()) ? "" : micoService.getDockerfilePath();
+        String id = createKey(micoService.getGitCloneUrl(), commitShaOptional.get(), dockerfilePath);
+
+        Optional<MicoImageBuildCacheEntry> cachedEntry;
+        try {
+            cachedEntry = cacheRepository.findById(id);
+        } catch (Exception e) {
+            log.warn("Failed to read the build cache. Caused by: {}", e.getMessage());
+            cachedEntry = Optional.empty();
+        }
+        if (cachedEntry.isPresent() && isPinnedByDigest(cachedEntry.get().getDockerImageUri())) {
+            log.info("Image of service '{}' '{}' was already built from commit '{}': {}", micoService.getShortName(),
+                micoService.getVersion(), commitShaOptional.get(), cachedEntry.get().getDockerImageUri());
+            hits.increment();
+            return cachedEntry;
+        }
+        misses.increment();
+        return Optional.of(new MicoImageBuildCacheEntry()
+            .setId(id)
+            .setGitCloneUrl(micoService.getGitCloneUrl())
+            .setCommitSha(commitShaOptional.get())
+            .setDockerfilePath(dockerfilePath));
+    }
+
+    /**
+     * Stores the Docker image URI of a finished build. The URI must be pinned by the digest of the image (e.g. {@code
+     * repository/name@sha256:...}), otherwise it is not stored.
+     *
+     * @param cacheEntry     the {@link MicoImageBuildCacheEntry} returned by {@link #lookup(MicoService)}
+     * @param dockerImageUri the URI of the built Docker image including its digest
+     */
+    public void store(MicoImageBuildCacheEntry cacheEntry, String dockerImageUri) {
+        if (!isPinnedByDigest(dockerImageUri)) {
+            log.warn("Image '{}' is not pinned by its digest -> It is not stored in the build cache.", dockerImageUri);
+            return;
+        }
+        try {
+            cacheRepository.save(cacheEntry.setDockerImageUri(dockerImageUri));
+            log.debug("Stored image '{}' for commit '{}' of '{}' in the build cache.", dockerImageUri,
+                cacheEntry.getCommitSha(), cacheEntry.getGitCloneUrl());
+        } catch (Exception e) {
+            log.warn("Failed to store image '{}' in the build cache. Caused by: {}", dockerImageUri, e.getMessage());
+        }
+    }
+
+    private static boolean isPinnedByDigest(String dockerImageUri) {
+        return !StringUtils.isEmpty(dockerImageUri) && dockerImageUri.contains(DIGEST_SEPARATOR);
+    }
+
+    private static String createKey(String gitCloneUrl, String commitSha, String dockerfilePath) {
+        return DigestUtils.md5DigestAsHex((gitCloneUrl + "\n" + commitSha + "\n" + dockerfilePath).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.github.ust.mico.core.service.imagebuilder;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import io.github.ust.mico.core.model.MicoService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Deduplicates concurrent image builds of the same {@link MicoService}. Builds are keyed by the short name and the
+ * version of the {@link MicoService}. As long as a build is in flight, every further request for a build of the same
+ * {@link MicoService} (e.g. from another {@code MicoApplication} that includes it) shares the future of that build
+ * instead of starting another PipelineRun.
+ */
+@Slf4j
+@Component
+public class ImageBuildCoordinator {
+
+    /**
+     * The futures of the builds that are currently in flight, keyed by {@code shortName:version}. The result of a
+     * future is the Docker image URI.
+     */
+    private final Map<String, CompletableFuture<String>> inFlightBuilds = new ConcurrentHashMap<>();
+
+    private final Counter deduplicatedBuilds;
+
+    /**
+     * Creates the build coordinator.
+     *
+     * @param meterRegistry the {@link MeterRegistry} used to expose the metrics of the coordinator
+     */
+    @Autowired
+    public ImageBuildCoordinator(MeterRegistry meterRegistry) {
+        Gauge.builder("mico.builds.inflight", inFlightBuilds, Map::size)
+            .description("Number of distinct image builds that are currently in flight")
+            .register(meterRegistry);
+        this.deduplicatedBuilds = Counter.builder("mico.builds.deduplicated")
+            .description("Number of build requests that joined an image build already in flight")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Returns the future of the in-flight build of the given {@link MicoService} or starts a new build with the
+     * provided {@code build} function if there is none. If starting the build fails, the returned future is completed
+     * exceptionally and the build is not registered as in flight.
+     *
+     * @param micoService the {@link MicoService} to build
+     * @param build       starts the build and returns a future that completes with the Docker image URI
+     * @return the {@link CompletableFuture} of the (shared) build
+     */
+    public CompletableFuture<String> build(MicoService micoService, Supplier<CompletableFuture<String>> build) {
+        String key = getKey(micoService);
+        boolean[] started = {false};
+        CompletableFuture<String> buildFuture = inFlightBuilds.computeIfAbsent(key, k -> {
+            started[0] = true;
+            try {
+                return build.get();
+            } catch (RuntimeException e) {
+                CompletableFuture<String> failedBuild = new CompletableFuture<>();
+                failedBuild.completeExceptionally(e);
+                return failedBuild;
+            }
+        });
+        if (started[0]) {
+            buildFuture.whenComplete((dockerImageUri, throwable) -> inFlightBuilds.remove(key, buildFuture));
+        } else {
+            log.info("Build of service '{}' '{}' is already in flight -> Share the running build.",
+                micoService.getShortName(), micoService.getVersion());
+            deduplicatedBuilds.increment();
+        }
+        return buildFuture;
+    }
+
+    /**
+     * Checks whether a build of the given {@link MicoService} is currently in flight.
+     *
+     * @param micoService the {@link MicoService}
+     * @return {@code true} if a build is in flight
+     */
+    public boolean isBuildInFlight(MicoService micoService) {
+        return inFlightBuilds.containsKey(getKey(micoService));
+    }
+
+    private static String getKey(MicoService micoService) {
+        return micoService.getShortName() + ":" + micoService.getVersion();
+    }
+}
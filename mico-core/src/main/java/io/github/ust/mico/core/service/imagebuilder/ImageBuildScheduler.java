@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.github.ust.mico.core.service.imagebuilder;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.annotation.PreDestroy;
+
+import io.github.ust.mico.core.configuration.MicoKubernetesBuildBotConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Application-wide scheduler for image builds. All builds share a bounded number of build slots and a bounded queue of
+ * waiting builds. If the queue is full, new builds are rejected.
+ * <p>
+ * Builds are asynchronous: a build occupies its slot until the future returned by the build completes, but no thread
+ * is blocked while the build is running. Waiting builds are started by a single dispatcher thread as soon as a slot is
+ * released.
+ */
+@Slf4j
+@Component
+public class ImageBuildScheduler {
+
+    private final int maxConcurrentBuilds;
+
+    private final int buildQueueCapacity;
+
+    private final Deque<ScheduledBuild> queuedBuilds = new ArrayDeque<>();
+
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(
+        new CustomizableThreadFactory("image-build-dispatcher-"));
+
+    private final Timer waitTimer;
+
+    private int activeBuilds;
+
+    private boolean shutdown;
+
+    /**
+     * Creates the scheduler based on the limits configured in the {@link MicoKubernetesBuildBotConfig}.
+     *
+     * @param buildBotConfig the build bot configuration
+     * @param meterRegistry  the {@link MeterRegistry} used to expose the metrics of the scheduler
+     */
+    @Autowired
+    public ImageBuildScheduler(MicoKubernetesBuildBotConfig buildBotConfig, MeterRegistry meterRegistry) {
+        if (buildBotConfig.getMaxConcurrentBuilds() < 1 || buildBotConfig.getBuildQueueCapacity() < 1) {
+            throw new IllegalArgumentException("The maximum number of concurrent builds and the build queue capacity must be at least 1");
+        }
+        this.maxConcurrentBuilds = buildBotConfig.getMaxConcurrentBuilds();
+        this.buildQueueCapacity = buildBotConfig.getBuildQueueCapacity();
+
+        Gauge.builder("mico.builds.queued", this, ImageBuildScheduler::getQueuedBuilds)
+            .description("Number of image builds waiting for a free build slot")
+            .register(meterRegistry);
+        Gauge.builder("mico.builds.active", this, ImageBuildScheduler::getActiveBuilds)
+            .description("Number of image builds that are currently running")
+            .register(meterRegistry);
+        this.waitTimer = Timer.builder("mico.builds.wait")
+            .description("Time an image build waited in the queue before it was started")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Schedules a build. The build is queued until a build slot is available. As soon as the build is started, the
+     * provided {@code onStart} callback is executed. The build slot is released as soon as the future returned by the
+     * build completes.
+     *
+     * @param onStart the callback that is executed right before the build starts
+     * @param build   the actual build, returning a future that completes when the build is finished
+     * @param <T>     the type of the build result
+     * @return the {@link CompletableFuture} that completes with the result of the build
+     * @throws RejectedExecutionException if the build queue is full or the scheduler is shut down
+     */
+    public <T> CompletableFuture<T> schedule(Runnable onStart, Supplier<CompletableFuture<T>> build) throws RejectedExecutionException {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        long enqueuedAt = System.nanoTime();
+        Runnable startBuild = () -> {
+            waitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+            CompletableFuture<T> buildFuture;
+            try {
+                onStart.run();
+                buildFuture = build.get();
+            } catch (Exception e) {
+                buildFuture = new CompletableFuture<>();
+                buildFuture.completeExceptionally(e);
+            }
+            buildFuture.whenComplete((value, throwable) -> {
+                releaseSlot();
+                if (throwable != null) {
+                    result.completeExceptionally(throwable);
+                } else {
+                    result.complete(value);
+                }
+            });
+        };
+
+        synchronized (this) {
+            if (shutdown) {
+                throw new RejectedExecutionException("Image build scheduler is shut down");
+            }
+            if (activeBuilds < maxConcurrentBuilds) {
+                activeBuilds++;
+                dispatcher.execute(startBuild);
+            } else if (queuedBuilds.size() < buildQueueCapacity) {
+                queuedBuilds.addLast(new ScheduledBuild(startBuild, result));
+                log.debug("All {} build slots are in use -> Queue build ({} queued build(s)).", maxConcurrentBuilds, queuedBuilds.size());
+            } else {
+                throw new RejectedExecutionException("Build queue is full (" + buildQueueCapacity + " queued builds)");
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of builds that are waiting for a free build slot.
+     *
+     * @return the number of queued builds
+     */
+    public synchronized int getQueuedBuilds() {
+        return queuedBuilds.size();
+    }
+
+    /**
+     * Returns the number of builds that are currently running.
+     *
+     * @return the number of active builds
+     */
+    public synchronized int getActiveBuilds() {
+        return activeBuilds;
+    }
+
+    /**
+     * Stops accepting new builds and fails all builds that are still waiting for a build slot. Running builds are not
+     * affected.
+     */
+    @PreDestroy
+    public void shutdown() {
+        synchronized (this) {
+            log.info("Shutting down image build scheduler ({} active, {} queued build(s)).", activeBuilds, queuedBuilds.size());
+            shutdown = true;
+            queuedBuilds.forEach(build -> build.getResult().completeExceptionally(
+                new RejectedExecutionException("Image build scheduler was shut down")));
+            queuedBuilds.clear();
+        }
+        dispatcher.shutdownNow();
+    }
+
+    /**
+     * Hands the released build slot over to the next queued build or frees it if no build is waiting.
+     */
+    private synchronized void releaseSlot() {
+        ScheduledBuild next = queuedBuilds.pollFirst();
+        if (next != null && !shutdown) {
+            dispatcher.execute(next.getStart());
+        } else {
+            activeBuilds--;
+        }
+    }
+
+    /**
+     * A build that is waiting for a free build slot.
+     */
+    @Getter
+    @AllArgsConstructor
+    private static class ScheduledBuild {
+        private final Runnable start;
+        private final CompletableFuture<?> result;
+    }
+}
@@ -19,11 +19,9 @@
 
 package io.github.ust.mico.core.service.imagebuilder;
 
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeoutException;
 
-import io.github.ust.mico.core.exception.KubernetesResourceException;
 import io.github.ust.mico.core.exception.NotInitializedException;
 import io.github.ust.mico.core.model.MicoService;
 import org.springframework.context.event.ContextRefreshedEvent;
@@ -35,7 +33,9 @@ public interface ImageBuilder {
 
     void init() throws NotInitializedException;
 
-    CompletableFuture<String> build(MicoService micoService) throws NotInitializedException, InterruptedException, ExecutionException, TimeoutException, KubernetesResourceException;
+    CompletableFuture<String> build(MicoService micoService, boolean rebuild) throws NotInitializedException;
+
+    Optional<CompletableFuture<String>> resumeBuild(MicoService micoService) throws NotInitializedException;
 
     boolean isInitialized();
 }
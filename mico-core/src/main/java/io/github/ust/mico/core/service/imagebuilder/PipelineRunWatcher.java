@@ -0,0 +1,233 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.github.ust.mico.core.service.imagebuilder;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.tekton.client.TektonClient;
+import io.fabric8.tekton.pipeline.v1beta1.PipelineRun;
+import io.github.ust.mico.core.exception.ImageBuildException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Watches all {@link PipelineRun PipelineRuns} in the build namespace with a single shared watch and completes the
+ * future of a PipelineRun as soon as the PipelineRun is finished. The number of threads and connections to the API
+ * server is constant, regardless of the number of concurrently running builds.
+ */
+@Slf4j
+public class PipelineRunWatcher implements Watcher<PipelineRun> {
+
+    private static final String CONDITION_TYPE_SUCCEEDED = "Succeeded";
+    private static final String CONDITION_STATUS_TRUE = "True";
+    private static final String CONDITION_STATUS_FALSE = "False";
+
+    private final TektonClient tektonClient;
+    private final String namespace;
+    private final int buildTimeout;
+
+    /**
+     * The futures of the PipelineRuns that are currently awaited, keyed by the name of the PipelineRun.
+     */
+    private final Map<String, CompletableFuture<PipelineRun>> pendingPipelineRuns = new ConcurrentHashMap<>();
+
+    /**
+     * Used to fail the futures of PipelineRuns that did not finish within the build timeout.
+     */
+    private final ScheduledThreadPoolExecutor timeoutScheduler = new ScheduledThreadPoolExecutor(1,
+        new CustomizableThreadFactory("pipelinerun-timeout-"));
+
+    private volatile Watch watch;
+    private volatile boolean closed;
+
+    /**
+     * Creates a watcher for the PipelineRuns in the given namespace. The watch is not opened until {@link #start()} is
+     * called.
+     *
+     * @param tektonClient the {@link TektonClient}
+     * @param namespace    the namespace in which the PipelineRuns are executed
+     * @param buildTimeout the timeout in seconds after which the future of a PipelineRun is completed exceptionally
+     */
+    public PipelineRunWatcher(TektonClient tektonClient, String namespace, int buildTimeout) {
+        this.tektonClient = tektonClient;
+        this.namespace = namespace;
+        this.buildTimeout = buildTimeout;
+        this.timeoutScheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Opens the watch on the PipelineRuns in the build namespace.
+     */
+    public synchronized void start() {
+        closed = false;
+        watch = tektonClient.v1beta1().pipelineRuns().inNamespace(namespace).watch(this);
+        log.info("Watching PipelineRuns in namespace '{}'.", namespace);
+    }
+
+    /**
+     * Returns a future that completes with the finished {@link PipelineRun} with the given name. The future completes
+     * exceptionally with an {@link ImageBuildException} if the PipelineRun fails or is deleted and with a {@link
+     * TimeoutException} if the PipelineRun does not finish within the build timeout.
+     * <p>
+     * The current state of the PipelineRun is fetched once after the future was registered, because the PipelineRun
+     * may have finished before, in which case the watch does not report a status change anymore.
+     *
+     * @param pipelineRunName the name of the {@link PipelineRun}
+     * @return the {@link CompletableFuture} of the PipelineRun
+     */
+    public CompletableFuture<PipelineRun> awaitCompletion(String pipelineRunName) {
+        CompletableFuture<PipelineRun> completionFuture = registerFuture(pipelineRunName);
+        if (!completionFuture.isDone()) {
+            try {
+                fetchStatus(pipelineRunName, completionFuture);
+            } catch (KubernetesClientException e) {
+                // The future is still completed by the watch
+                log.warn("Failed to fetch the current state of PipelineRun '{}'. Caused by: {}", pipelineRunName, e.getMessage());
+            }
+        }
+        return completionFuture;
+    }
+
+    /**
+     * Returns a future that completes with the finished {@link PipelineRun}, see {@link #awaitCompletion(String)}. The
+     * given current state of the PipelineRun is evaluated immediately instead of fetching it again.
+     *
+     * @param pipelineRun the current state of the {@link PipelineRun}
+     * @return the {@link CompletableFuture} of the PipelineRun
+     */
+    public CompletableFuture<PipelineRun> resume(PipelineRun pipelineRun) {
+        CompletableFuture<PipelineRun> completionFuture = registerFuture(pipelineRun.getMetadata().getName());
+        dispatchStatus(pipelineRun, completionFuture);
+        return completionFuture;
+    }
+
+    private CompletableFuture<PipelineRun> registerFuture(String pipelineRunName) {
+        CompletableFuture<PipelineRun> completionFuture = pendingPipelineRuns.computeIfAbsent(pipelineRunName, name -> {
+            CompletableFuture<PipelineRun> future = new CompletableFuture<>();
+            ScheduledFuture<?> timeout = timeoutScheduler.schedule(() -> future.completeExceptionally(new TimeoutException(
+                "PipelineRun '" + name + "' did not finish within " + buildTimeout + " seconds")), buildTimeout, TimeUnit.SECONDS);
+            future.whenComplete((run, throwable) -> {
+                timeout.cancel(false);
+                pendingPipelineRuns.remove(name, future);
+            });
+            return future;
+        });
+        log.debug("Wait until PipelineRun '{}' is finished ({} PipelineRun(s) awaited).", pipelineRunName, pendingPipelineRuns.size());
+        return completionFuture;
+    }
+
+    @Override
+    public void eventReceived(Action action, PipelineRun pipelineRun) {
+        String pipelineRunName = pipelineRun.getMetadata().getName();
+        CompletableFuture<PipelineRun> completionFuture = pendingPipelineRuns.get(pipelineRunName);
+        if (completionFuture == null) {
+            return;
+        }
+        if (action == Action.DELETED) {
+            completionFuture.completeExceptionally(new ImageBuildException("PipelineRun '" + pipelineRunName + "' was deleted"));
+            return;
+        }
+        dispatchStatus(pipelineRun, completionFuture);
+    }
+
+    @Override
+    public void onClose(KubernetesClientException cause) {
+        if (closed || cause == null) {
+            log.debug("Watch of PipelineRuns in namespace '{}' was closed.", namespace);
+            return;
+        }
+        log.warn("Watch of PipelineRuns in namespace '{}' was closed unexpectedly. Reopen it. Caused by: {}", namespace, cause.getMessage());
+        try {
+            start();
+            resync();
+        } catch (Exception e) {
+            log.error("Failed to reopen the watch of PipelineRuns in namespace '{}'. Caused by: {}", namespace, e.getMessage(), e);
+            pendingPipelineRuns.values().forEach(future -> future.completeExceptionally(
+                new ImageBuildException("Watch of PipelineRuns is not available: " + e.getMessage())));
+        }
+    }
+
+    /**
+     * Closes the watch and fails all futures that are still awaited.
+     */
+    public synchronized void close() {
+        closed = true;
+        if (watch != null) {
+            watch.close();
+        }
+        timeoutScheduler.shutdownNow();
+        pendingPipelineRuns.values().forEach(future -> future.completeExceptionally(
+            new ImageBuildException("Image builder was shut down")));
+    }
+
+    /**
+     * Fetches the current state of all awaited PipelineRuns once. This is required after the watch was reopened,
+     * because status changes in the meantime were not observed.
+     */
+    private void resync() {
+        for (Map.Entry<String, CompletableFuture<PipelineRun>> entry : pendingPipelineRuns.entrySet()) {
+            fetchStatus(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Fetches the current state of a PipelineRun and completes its future if the PipelineRun is already finished or
+     * does not exist anymore.
+     */
+    private void fetchStatus(String pipelineRunName, CompletableFuture<PipelineRun> completionFuture) {
+        PipelineRun pipelineRun = tektonClient.v1beta1().pipelineRuns().inNamespace(namespace).withName(pipelineRunName).get();
+        if (pipelineRun == null) {
+            completionFuture.completeExceptionally(new ImageBuildException("PipelineRun '" + pipelineRunName + "' does not exist anymore"));
+        } else {
+            dispatchStatus(pipelineRun, completionFuture);
+        }
+    }
+
+    private void dispatchStatus(PipelineRun pipelineRun, CompletableFuture<PipelineRun> completionFuture) {
+        String pipelineRunName = pipelineRun.getMetadata().getName();
+        if (Objects.isNull(pipelineRun.getStatus()) || Objects.isNull(pipelineRun.getStatus().getConditions())) {
+            return;
+        }
+        pipelineRun.getStatus().getConditions().stream()
+            .filter(condition -> CONDITION_TYPE_SUCCEEDED.equals(condition.getType()))
+            .findFirst()
+            .ifPresent(condition -> {
+                if (CONDITION_STATUS_TRUE.equals(condition.getStatus())) {
+                    log.info("PipelineRun '{}' succeeded.", pipelineRunName);
+                    completionFuture.complete(pipelineRun);
+                } else if (CONDITION_STATUS_FALSE.equals(condition.getStatus())) {
+                    log.warn("PipelineRun '{}' failed with reason '{}': {}", pipelineRunName, condition.getReason(), condition.getMessage());
+                    completionFuture.completeExceptionally(new ImageBuildException("PipelineRun failed: " + condition.getMessage()));
+                } else {
+                    log.debug("PipelineRun '{}', status: {}, message: {}", pipelineRunName, condition.getReason(), condition.getMessage());
+                }
+            });
+    }
+}
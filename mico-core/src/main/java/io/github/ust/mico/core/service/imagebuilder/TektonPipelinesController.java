@@ -24,17 +24,15 @@
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 
-import io.fabric8.knative.v1.Condition;
+import javax.annotation.PreDestroy;
+
 import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
 import io.fabric8.kubernetes.api.model.PersistentVolumeClaimBuilder;
 import io.fabric8.kubernetes.api.model.Pod;
@@ -48,12 +46,13 @@
 import io.fabric8.tekton.pipeline.v1beta1.PipelineRun;
 import io.fabric8.tekton.pipeline.v1beta1.PipelineRunBuilder;
 import io.fabric8.tekton.pipeline.v1beta1.Task;
+import io.fabric8.tekton.pipeline.v1beta1.TaskRunResult;
 import io.github.ust.mico.core.configuration.MicoKubernetesBuildBotConfig;
-import io.github.ust.mico.core.exception.ImageBuildException;
 import io.github.ust.mico.core.exception.KubernetesResourceException;
 import io.github.ust.mico.core.exception.NotInitializedException;
 import io.github.ust.mico.core.model.MicoService;
 import io.github.ust.mico.core.util.KubernetesNameNormalizer;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -62,6 +61,7 @@
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.Profiles;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
@@ -77,17 +77,25 @@ public class TektonPipelinesController implements ImageBuilder {
     // pipeline definitions (Tasks + Pipeline) reside in resources/tekton
     private static final String BUILD_PIPELINE_NAME = "build-and-push-pipeline";
     private static final String BUILD_PIPELINE_WORKSPACE_NAME = "git-source";
+    private static final String BUILD_PIPELINE_IMAGE_TASK_NAME = "source-to-image";
+    private static final String IMAGE_DIGEST_RESULT_NAME = "IMAGE-DIGEST";
 
-    private static final String PIPELINERUN_SUCCESS = "Succeeded";
-    private static final String PIPELINERUN_RUNNING = "Running";
-    private static final String PIPELINERUN_FAIL = "Failed";
+    private static final int BUILD_RESOURCE_THREADS = 2;
 
     private final MicoKubernetesBuildBotConfig buildBotConfig;
     private final KubernetesNameNormalizer kubernetesNameNormalizer;
     private final KubernetesClient kubernetesClient;
     private final TektonClient tektonClient;
+    private final ImageBuildCache imageBuildCache;
+
+    private PipelineRunWatcher pipelineRunWatcher;
 
-    private ScheduledExecutorService scheduledBuildStatusCheckService;
+    /**
+     * Executes the short-lived API calls to create and delete the resources of the builds, so that the callers of
+     * {@link #build(MicoService)} are never blocked.
+     */
+    private final ExecutorService buildResourceExecutor = Executors.newFixedThreadPool(BUILD_RESOURCE_THREADS,
+        new CustomizableThreadFactory("build-resources-"));
 
     @Getter
     private boolean isInitialized;
@@ -98,10 +106,13 @@ public class TektonPipelinesController implements ImageBuilder {
      * @param kubernetesClient         the {@link KubernetesClient}
      * @param buildBotConfig           the build bot configuration for the image builder
      * @param kubernetesNameNormalizer the {@link KubernetesNameNormalizer}
+     * @param imageBuildCache          the {@link ImageBuildCache} used to skip builds of already built images
      */
     @Autowired
-    public TektonPipelinesController(KubernetesClient kubernetesClient, MicoKubernetesBuildBotConfig buildBotConfig, KubernetesNameNormalizer kubernetesNameNormalizer) {
+    public TektonPipelinesController(KubernetesClient kubernetesClient, MicoKubernetesBuildBotConfig buildBotConfig,
+                                     KubernetesNameNormalizer kubernetesNameNormalizer, ImageBuildCache imageBuildCache) {
         this.buildBotConfig = buildBotConfig;
+        this.imageBuildCache = imageBuildCache;
         this.kubernetesNameNormalizer = kubernetesNameNormalizer;
         this.kubernetesClient = kubernetesClient;
         this.tektonClient = new DefaultTektonClient();
@@ -162,7 +173,13 @@ public void init() throws NotInitializedException {
             throw new NotInitializedException("Failed to initialize the build-and-push pipeline: " + e.getMessage());
         }
 
-        scheduledBuildStatusCheckService = Executors.newSingleThreadScheduledExecutor();
+        // A single watch is shared by all builds to get notified about finished PipelineRuns.
+        if (pipelineRunWatcher != null) {
+            pipelineRunWatcher.close();
+        }
+        pipelineRunWatcher = new PipelineRunWatcher(tektonClient, namespace, buildBotConfig.getBuildTimeout());
+        pipelineRunWatcher.start();
+
         isInitialized = true;
         log.info("Finished initializing image builder.");
     }
@@ -193,13 +210,19 @@ public void initilizeBuildPipeline(String namespace) throws IOException {
     /**
      * Builds an OCI image based on a Git repository provided by a {@code MicoService}. The result of the returned
      * {@code CompletableFuture} is the Docker image URI.
+     * <p>
+     * This method does not block: the creation of the build resources, the completion of the PipelineRun and the clean
+     * up of the build resources are chained stages of the returned {@code CompletableFuture}. If an image was already
+     * built from the same commit and Dockerfile and no rebuild is requested, the build is skipped and the cached Docker
+     * image URI, which is pinned by the digest of the image, is returned.
      *
      * @param micoService the MICO service for which the image should be build
+     * @param rebuild     whether the image should be built even if it is found in the build cache
      * @return the {@link CompletableFuture} that executes the build. The result is the Docker image URI.
      * @throws NotInitializedException if the image builder was not initialized
      */
     @Override
-    public CompletableFuture<String> build(MicoService micoService) throws InterruptedException, ExecutionException, TimeoutException, KubernetesResourceException, NotInitializedException {
+    public CompletableFuture<String> build(MicoService micoService, boolean rebuild) throws NotInitializedException {
         if (!isInitialized) {
             throw new NotInitializedException("Cannot trigger the build pipeline: tthe image builder is not initialized");
         }
@@ -209,70 +232,140 @@ public CompletableFuture<String> build(MicoService micoService) throws Interrupt
         }
         String namespace = buildBotConfig.getNamespaceBuildExecution();
 
-        String pvcName = micoService.getShortName() + UUID.randomUUID();
-        PersistentVolumeClaim pvc = createPersistentVolumeClaim(namespace, pvcName);
-        PipelineRun pipelineRun = createPipelineRun(micoService, pvcName);
-        log.info("Started build pipeline with name '{}'", pipelineRun.getMetadata().getName());
-        log.debug("PipelineRun resource: {} ", pipelineRun);
+        return CompletableFuture.supplyAsync(() -> imageBuildCache.lookup(micoService), buildResourceExecutor)
+            .thenCompose(cacheEntry -> {
+                if (!rebuild && cacheEntry.isPresent() && !StringUtils.isEmpty(cacheEntry.get().getDockerImageUri())) {
+                    return CompletableFuture.completedFuture(cacheEntry.get().getDockerImageUri());
+                }
+                return CompletableFuture.supplyAsync(() -> createBuildResources(micoService, namespace), buildResourceExecutor)
+                    .thenCompose(buildResources -> pipelineRunWatcher.awaitCompletion(buildResources.getPipelineRun().getMetadata().getName())
+                        .whenCompleteAsync((run, throwable) -> deleteBuildResources(buildResources, namespace), buildResourceExecutor))
+                    .thenApplyAsync(run -> {
+                        // The tag of the image is mutable, hence only the image pinned by its digest is cached
+                        String imageUrl = createImageUrl(micoService.getShortName());
+                        cacheEntry.ifPresent(entry -> getImageDigest(run).ifPresent(
+                            digest -> imageBuildCache.store(entry, imageUrl + "@" + digest)));
+                        return imageUrl + ":" + micoService.getVersion();
+                    }, buildResourceExecutor);
+            });
+    }
 
-        CompletableFuture<String> completionFuture = completePipelineRun(micoService, pipelineRun.getMetadata().getName(), namespace);
+    /**
+     * Re-attaches to the build of a {@code MicoService} that was started before a restart of MICO. If the {@link
+     * PipelineRun} of the build still exists, the returned {@code CompletableFuture} completes with the Docker image
+     * URI as soon as the PipelineRun is finished. The build resources are cleaned up afterwards.
+     *
+     * @param micoService the MICO service whose build should be resumed
+     * @return the {@link CompletableFuture} of the build or {@link Optional#empty()} if there is no PipelineRun for the
+     * MICO service
+     * @throws NotInitializedException if the image builder was not initialized
+     */
+    @Override
+    public Optional<CompletableFuture<String>> resumeBuild(MicoService micoService) throws NotInitializedException {
+        if (!isInitialized) {
+            throw new NotInitializedException("Cannot resume the build: the image builder is not initialized");
+        }
+        String namespace = buildBotConfig.getNamespaceBuildExecution();
+        String buildName = kubernetesNameNormalizer.createBuildName(micoService);
+        PipelineRun pipelineRun = tektonClient.v1beta1().pipelineRuns().inNamespace(namespace).withName(buildName).get();
+        if (pipelineRun == null) {
+            return Optional.empty();
+        }
+        log.info("Resume build pipeline with name '{}'", pipelineRun.getMetadata().getName());
+        BuildResources buildResources = new BuildResources(getPersistentVolumeClaim(pipelineRun), pipelineRun);
+        return Optional.of(pipelineRunWatcher.resume(pipelineRun)
+            .thenApply(run -> createImageUrl(micoService.getShortName()) + ":" + micoService.getVersion())
+            .whenCompleteAsync((dockerImageUri, throwable) -> deleteBuildResources(buildResources, namespace), buildResourceExecutor));
+    }
 
-        // clean up: delete PipelineRun and PersistentVolumeClaim
-        tektonClient.v1beta1().pipelineRuns().inNamespace(namespace).delete(pipelineRun);
-        kubernetesClient.persistentVolumeClaims().inNamespace(namespace).delete(pvc);
+    /**
+     * Returns the {@link PersistentVolumeClaim} that is used as workspace by the given {@link PipelineRun}. Only the
+     * name is set, which is sufficient to delete it.
+     */
+    private PersistentVolumeClaim getPersistentVolumeClaim(PipelineRun pipelineRun) {
+        String claimName = pipelineRun.getSpec().getWorkspaces().stream()
+            .filter(workspace -> BUILD_PIPELINE_WORKSPACE_NAME.equals(workspace.getName()) && workspace.getPersistentVolumeClaim() != null)
+            .map(workspace -> workspace.getPersistentVolumeClaim().getClaimName())
+            .findFirst()
+            .orElse(null);
+        return new PersistentVolumeClaimBuilder().withNewMetadata().withName(claimName).endMetadata().build();
+    }
 
-        return completionFuture;
+    /**
+     * Creates the {@link PersistentVolumeClaim} and the {@link PipelineRun} that are required for the build of a
+     * {@code MicoService}.
+     *
+     * @param micoService the MICO service for which the image should be build
+     * @param namespace   the namespace in which to run the build pipeline
+     * @return the created {@link BuildResources}
+     * @throws CompletionException if the build resources could not be created
+     */
+    private BuildResources createBuildResources(MicoService micoService, String namespace) {
+        String pvcName = micoService.getShortName() + UUID.randomUUID();
+        PersistentVolumeClaim pvc;
+        try {
+            pvc = createPersistentVolumeClaim(namespace, pvcName);
+        } catch (KubernetesResourceException e) {
+            throw new CompletionException(e);
+        }
+        PipelineRun pipelineRun;
+        try {
+            pipelineRun = createPipelineRun(micoService, pvcName);
+        } catch (KubernetesResourceException e) {
+            kubernetesClient.persistentVolumeClaims().inNamespace(namespace).delete(pvc);
+            throw new CompletionException(e);
+        }
+        log.info("Started build pipeline with name '{}'", pipelineRun.getMetadata().getName());
+        log.debug("PipelineRun resource: {} ", pipelineRun);
+        return new BuildResources(pvc, pipelineRun);
     }
 
     /**
-     * Run a Tekton PipelineRun for a given {@code MicoService}. The result of the returned {@code CompletableFuture} is
-     * the Docker image URI.
+     * Deletes the {@link PipelineRun} and the {@link PersistentVolumeClaim} of a finished build.
      *
-     * @param micoService     the MICO service for which the image should be build
-     * @param pipelineRunName the name of the {@link PipelineRun} to complete
-     * @param namespace       the namespace in which to run the build pipeline
-     * @return the {@link CompletableFuture} that executes the build. The result is the Docker image URI.
+     * @param buildResources the {@link BuildResources} to delete
+     * @param namespace      the namespace in which the build pipeline was executed
      */
-    private CompletableFuture<String> completePipelineRun(MicoService micoService, String pipelineRunName, String namespace) throws InterruptedException, ExecutionException, TimeoutException {
-        CompletableFuture<String> completionFuture = new CompletableFuture<>();
-
-        // Create a future that polls every 5 seconds with a delay of 10 seconds.
-        final ScheduledFuture<?> pollingFuture = scheduledBuildStatusCheckService.scheduleAtFixedRate(() -> {
-            PipelineRun run = tektonClient.v1beta1().pipelineRuns().inNamespace(namespace).withName(pipelineRunName).get();
-            if (Objects.nonNull(run.getStatus())) {
-
-                if (Objects.nonNull(run.getStatus().getConditions()) && !run.getStatus().getConditions().isEmpty()) {
-                    Condition condition = run.getStatus().getConditions().get(0);
-                    if (PIPELINERUN_SUCCESS.equals(condition.getReason())) {
-                        String dockerImageUri = createImageUrl(micoService.getShortName()) + ":" + micoService.getVersion();
-                        completionFuture.complete(dockerImageUri);
-                    } else if (PIPELINERUN_FAIL.equals(condition.getReason())) {
-                        log.warn(condition.getMessage());
-                        completionFuture.completeExceptionally(new ImageBuildException("PipelineRun failed: " + condition.getMessage()));
-                    } else {
-                        log.info("PipelineRun " + pipelineRunName + ", status: " + condition.getReason() + ", message: " + condition.getMessage());
-                    }
-                }
-            } else {
-                log.warn("PipelineRun resource for MicoService '{}' '{}' was not created", micoService.getShortName(), micoService.getVersion());
-                completionFuture.completeExceptionally(new ImageBuildException("PipelineRun resource was not created: build cannot be completed"));
-            }
-        }, 10, 5, TimeUnit.SECONDS);
-
-        // Wait until build is considered to be finished (or the given timeout is reached).
-        log.debug("Wait until PipelineRun for MicoService '{}' '{}' is finished.", micoService.getShortName(), micoService.getVersion());
+    private void deleteBuildResources(BuildResources buildResources, String namespace) {
         try {
-            // This is synchronous and blocks the execution.
-            completionFuture.get(buildBotConfig.getBuildTimeout(), TimeUnit.SECONDS);
-        } catch (InterruptedException | ExecutionException | TimeoutException e) {
-            pollingFuture.cancel(true);
-            throw e;
+            tektonClient.v1beta1().pipelineRuns().inNamespace(namespace).delete(buildResources.getPipelineRun());
+            kubernetesClient.persistentVolumeClaims().inNamespace(namespace).delete(buildResources.getPersistentVolumeClaim());
+        } catch (Exception e) {
+            log.warn("Failed to clean up build resources of PipelineRun '{}'. Caused by: {}",
+                buildResources.getPipelineRun().getMetadata().getName(), e.getMessage());
         }
+    }
 
-        // When completed cancel polling future
-        completionFuture.whenComplete((result, thrown) -> pollingFuture.cancel(true));
+    /**
+     * Returns the digest of the image that was built by the given finished {@link PipelineRun}. The digest is a result
+     * of the Kaniko task of the build-and-push pipeline.
+     *
+     * @param pipelineRun the finished {@link PipelineRun}
+     * @return the digest of the image (e.g. {@code sha256:...}) or {@link Optional#empty()} if it is not reported
+     */
+    private static Optional<String> getImageDigest(PipelineRun pipelineRun) {
+        if (pipelineRun.getStatus() == null || pipelineRun.getStatus().getTaskRuns() == null) {
+            return Optional.empty();
+        }
+        return pipelineRun.getStatus().getTaskRuns().values().stream()
+            .filter(taskRun -> BUILD_PIPELINE_IMAGE_TASK_NAME.equals(taskRun.getPipelineTaskName())
+                && taskRun.getStatus() != null && taskRun.getStatus().getTaskResults() != null)
+            .flatMap(taskRun -> taskRun.getStatus().getTaskResults().stream())
+            .filter(result -> IMAGE_DIGEST_RESULT_NAME.equals(result.getName()) && !StringUtils.isEmpty(result.getValue()))
+            .map(TaskRunResult::getValue)
+            .map(String::trim)
+            .findFirst();
+    }
 
-        return completionFuture;
+    /**
+     * Closes the watch of PipelineRuns and stops the executor for build resources.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (pipelineRunWatcher != null) {
+            pipelineRunWatcher.close();
+        }
+        buildResourceExecutor.shutdown();
     }
 
     /**
@@ -349,4 +442,14 @@ private PersistentVolumeClaim createPersistentVolumeClaim(String namespace, Stri
     public String createImageUrl(String serviceShortName) {
         return buildBotConfig.getDockerImageRepositoryUrl().trim() + "/" + serviceShortName;
     }
+
+    /**
+     * The Kubernetes resources that are created for a single build.
+     */
+    @Getter
+    @AllArgsConstructor
+    private static class BuildResources {
+        private final PersistentVolumeClaim persistentVolumeClaim;
+        private final PipelineRun pipelineRun;
+    }
 }
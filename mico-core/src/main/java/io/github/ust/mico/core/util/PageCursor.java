@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.github.ust.mico.core.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import lombok.Value;
+
+/**
+ * Cursor for the keyset pagination of entities that are identified by their short name and version, i.e. {@code
+ * MicoServices} and {@code MicoApplications}. Pages are ordered by short name and version, the cursor points to the
+ * last entity of a page. The next page starts with the entity following the cursor.
+ * <p>
+ * The cursor is passed to clients as an opaque URL-safe string.
+ */
+@Value
+public class PageCursor {
+
+    private static final String SEPARATOR = "\n";
+
+    String shortName;
+    String version;
+
+    /**
+     * Encodes the cursor to an opaque URL-safe string.
+     *
+     * @return the encoded cursor
+     */
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((shortName + SEPARATOR + version).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor that was created by {@link #encode()}.
+     *
+     * @param cursor the encoded cursor
+     * @return the decoded {@link PageCursor}
+     * @throws IllegalArgumentException if the cursor is invalid
+     */
+    public static PageCursor decode(String cursor) throws IllegalArgumentException {
+        String decodedCursor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        String[] parts = decodedCursor.split(SEPARATOR, -1);
+        if (parts.length != 2 || parts[0].isEmpty() || parts[1].isEmpty()) {
+            throw new IllegalArgumentException("Invalid cursor '" + cursor + "'");
+        }
+        return new PageCursor(parts[0], parts[1]);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.github.ust.mico.core.util;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Custom deserializer for a response, which is received from Prometheus for CPU load / memory usage requests of
+ * multiple pods. The vector result is mapped to the values per pod, identified by the label {@value #POD_NAME_LABEL}.
+ */
+@Slf4j
+public class PrometheusVectorDeserializer extends StdDeserializer<Map<String, Integer>> {
+
+    private static final long serialVersionUID = -2961553617426245432L;
+
+    /**
+     * The label of the result vector elements that contains the name of the pod.
+     */
+    public static final String POD_NAME_LABEL = "pod_name";
+
+    public PrometheusVectorDeserializer() {
+        this(null);
+    }
+
+    private PrometheusVectorDeserializer(Class<?> vc) {
+        super(vc);
+    }
+
+    @Override
+    public Map<String, Integer> deserialize(JsonParser parser, DeserializationContext context) {
+        Map<String, Integer> values = new HashMap<>();
+        try {
+            JsonNode dataJson = parser.getCodec().readTree(parser);
+            JsonNode resultJsonArray = dataJson.get("result");
+            for (JsonNode resultJson : resultJsonArray) {
+                JsonNode podNameNode = resultJson.path("metric").get(POD_NAME_LABEL);
+                JsonNode valueNode = resultJson.get("value");
+                if (podNameNode != null && valueNode != null && valueNode.size() > 1) {
+                    values.put(podNameNode.asText(), valueNode.get(1).asInt());
+                } else {
+                    log.warn("Prometheus returned a result without pod name or value: {}", resultJson);
+                }
+            }
+        } catch (IOException | NullPointerException e) {
+            log.error(e.getMessage(), e);
+        }
+        return values;
+    }
+}
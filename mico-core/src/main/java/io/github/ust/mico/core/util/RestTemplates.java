@@ -19,26 +19,49 @@
 
 package io.github.ust.mico.core.util;
 
+import io.github.ust.mico.core.configuration.HttpClientConfig;
 import io.github.ust.mico.core.service.MicoKubernetesClient;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import okhttp3.Response;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.*;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.OkHttp3ClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.context.WebApplicationContext;
 
 import java.net.PasswordAuthentication;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Configuration
 public class RestTemplates {
 
     public static final String QUALIFIER_AUTHENTICATED_OPEN_FAAS_REST_TEMPLATE = "AuthenticatedOpenFaaSRestTemplate";
+    public static final String QUALIFIER_PROMETHEUS_REST_TEMPLATE = "PrometheusRestTemplate";
+    public static final String QUALIFIER_GITHUB_REST_TEMPLATE = "GitHubRestTemplate";
+
+    private static final String DESTINATION_GENERAL = "general";
+    private static final String DESTINATION_PROMETHEUS = "prometheus";
+    private static final String DESTINATION_GITHUB = "github";
+    private static final String DESTINATION_OPEN_FAAS = "openfaas";
 
     @Autowired
     MicoKubernetesClient micoKubernetesClient;
 
+    @Autowired
+    HttpClientConfig httpClientConfig;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
     /**
      * Constructs the rest template to be able to connect the OpenFaaS Portal.
      * It uses the OpenFaaS credentials that are stored inside a Kubernetes secret.
@@ -55,18 +78,97 @@ public class RestTemplates {
     public RestTemplate getAuthenticatedOpenFaaSRestTemplate(RestTemplateBuilder builder) {
         PasswordAuthentication passwordAuthentication = micoKubernetesClient.getOpenFaasCredentials();
         log.debug("Building authenticated OpenFaaS rest template with username '{}' and password XXX.", passwordAuthentication.getUserName());
-        return builder.basicAuthentication(passwordAuthentication.getUserName(), new String(passwordAuthentication.getPassword())).build();
+        return builder
+            .requestFactory(() -> createRequestFactory(DESTINATION_OPEN_FAAS, httpClientConfig.getOpenfaas()))
+            .basicAuthentication(passwordAuthentication.getUserName(), new String(passwordAuthentication.getPassword())).build();
+    }
+
+    /**
+     * Constructs the rest template used for Prometheus queries.
+     *
+     * @param builder the {@link RestTemplateBuilder}
+     * @return the {@link RestTemplate}
+     */
+    @Bean
+    @Qualifier(QUALIFIER_PROMETHEUS_REST_TEMPLATE)
+    public RestTemplate getPrometheusRestTemplate(RestTemplateBuilder builder) {
+        return builder.requestFactory(() -> createRequestFactory(DESTINATION_PROMETHEUS, httpClientConfig.getPrometheus())).build();
+    }
+
+    /**
+     * Constructs the rest template used for requests to the GitHub API.
+     *
+     * @param builder the {@link RestTemplateBuilder}
+     * @return the {@link RestTemplate}
+     */
+    @Bean
+    @Qualifier(QUALIFIER_GITHUB_REST_TEMPLATE)
+    public RestTemplate getGitHubRestTemplate(RestTemplateBuilder builder) {
+        return builder.requestFactory(() -> createRequestFactory(DESTINATION_GITHUB, httpClientConfig.getGithub())).build();
     }
 
     /**
      * Prefer the not authenticated rest template
      *
-     * @param builder
-     * @return
+     * @param builder the {@link RestTemplateBuilder}
+     * @return the {@link RestTemplate}
      */
     @Primary
     @Bean
     public RestTemplate getRestTemplate(RestTemplateBuilder builder) {
-        return new RestTemplate();
+        return builder.requestFactory(() -> createRequestFactory(DESTINATION_GENERAL, httpClientConfig.getGeneral())).build();
+    }
+
+    /**
+     * Creates a request factory with its own pool of keep-alive connections for the given destination.
+     * HTTP/2 is negotiated with servers that support it via TLS (ALPN), otherwise HTTP/1.1 is used.
+     * <p>
+     * The latency of the requests is recorded as {@code mico.http.client.requests} and the number of active and idle
+     * pooled connections as {@code mico.http.client.connections}. The pool only limits the number of idle connections
+     * that are kept alive, the number of concurrent requests is not limited.
+     *
+     * @param destination the name of the destination, used as the {@code destination} tag of the metrics
+     * @param pool        the configuration of the connection pool
+     * @return the {@link ClientHttpRequestFactory}
+     */
+    private ClientHttpRequestFactory createRequestFactory(String destination, HttpClientConfig.Pool pool) {
+        ConnectionPool connectionPool = new ConnectionPool(pool.getMaxIdleConnections(), pool.getKeepAliveDuration(), TimeUnit.SECONDS);
+        OkHttpClient client = new OkHttpClient.Builder()
+            .connectionPool(connectionPool)
+            .connectTimeout(pool.getConnectTimeout(), TimeUnit.MILLISECONDS)
+            .readTimeout(pool.getReadTimeout(), TimeUnit.MILLISECONDS)
+            .writeTimeout(pool.getReadTimeout(), TimeUnit.MILLISECONDS)
+            .addInterceptor(chain -> {
+                long start = System.nanoTime();
+                String status = "IO_ERROR";
+                try {
+                    Response response = chain.proceed(chain.request());
+                    status = String.valueOf(response.code());
+                    return response;
+                } finally {
+                    Timer.builder("mico.http.client.requests")
+                        .description("Latency of the outgoing HTTP requests until the response headers are received")
+                        .tag("destination", destination)
+                        .tag("method", chain.request().method())
+                        .tag("status", status)
+                        .register(meterRegistry)
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            })
+            .build();
+
+        Gauge.builder("mico.http.client.connections", connectionPool, p -> p.connectionCount() - p.idleConnectionCount())
+            .description("Number of pooled HTTP connections")
+            .tag("destination", destination)
+            .tag("state", "active")
+            .register(meterRegistry);
+        Gauge.builder("mico.http.client.connections", connectionPool, ConnectionPool::idleConnectionCount)
+            .description("Number of pooled HTTP connections")
+            .tag("destination", destination)
+            .tag("state", "idle")
+            .register(meterRegistry);
+        log.debug("Created HTTP client for destination '{}' with connect timeout {} ms and read timeout {} ms.",
+            destination, pool.getConnectTimeout(), pool.getReadTimeout());
+        return new OkHttp3ClientHttpRequestFactory(client);
     }
 }
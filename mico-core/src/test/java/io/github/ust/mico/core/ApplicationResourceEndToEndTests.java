@@ -48,6 +48,7 @@
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -152,6 +153,32 @@ public void addServiceToApplicationByReusingExistingInstance() throws Exception
         assertThat(result.get().getServiceDeploymentInfos().get(0).getInstanceId(), is(INSTANCE_ID));
     }
 
+    @Test
+    public void promoteApplicationWithService() throws Exception {
+        MicoService service = new MicoService().setShortName(SERVICE_SHORT_NAME).setVersion(SERVICE_VERSION);
+        MicoApplication application = new MicoApplication().setShortName(SHORT_NAME).setVersion(VERSION);
+        application.getServices().add(service);
+        application.getServiceDeploymentInfos().add(new MicoServiceDeploymentInfo().setService(service).setInstanceId(INSTANCE_ID));
+        applicationRepository.save(application);
+
+        given(micoKubernetesClient.getApplicationDeploymentStatus(any(MicoApplication.class)))
+            .willReturn(MicoApplicationDeploymentStatus.undeployed());
+
+        mvc.perform(post(PATH_APPLICATIONS + "/" + SHORT_NAME + "/" + VERSION + "/promote")
+            .content("{\"version\": \"" + VERSION_1_0_1 + "\"}")
+            .contentType(MediaTypes.HAL_JSON_UTF8_VALUE))
+            .andDo(print())
+            .andExpect(status().isOk());
+
+        Optional<MicoApplication> promotedApplication = applicationRepository.findByShortNameAndVersion(SHORT_NAME, VERSION_1_0_1);
+        assertTrue(promotedApplication.isPresent());
+        assertThat(promotedApplication.get().getServices(), contains(service));
+        assertThat(promotedApplication.get().getServiceDeploymentInfos().size(), is(1));
+        // The promoted application uses the same service instance
+        assertThat(promotedApplication.get().getServiceDeploymentInfos().get(0).getInstanceId(), is(INSTANCE_ID));
+        assertThat(serviceDeploymentInfoRepository.findAllByApplication(SHORT_NAME, VERSION).size(), is(1));
+    }
+
     @Test
     public void deleteServiceFromApplication() throws Exception {
         MicoApplication application1 = new MicoApplication().setShortName(SHORT_NAME_1).setVersion(VERSION);
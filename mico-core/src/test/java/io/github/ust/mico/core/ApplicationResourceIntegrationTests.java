@@ -54,6 +54,7 @@
 import static io.github.ust.mico.core.TestConstants.VERSION;
 import static io.github.ust.mico.core.TestConstants.*;
 import static io.github.ust.mico.core.resource.ApplicationResource.PATH_APPLICATIONS;
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.Assert.*;
@@ -72,6 +73,7 @@
 @ActiveProfiles("unit-testing")
 public class ApplicationResourceIntegrationTests {
 
+    private static final String APPLICATION_DTO_LIST_PATH = buildPath(EMBEDDED, "micoApplicationResponseDTOList");
     private static final String APPLICATION_WITH_SERVICES_DTO_LIST_PATH = buildPath(EMBEDDED, "micoApplicationWithServicesResponseDTOList");
     private static final String SHORT_NAME_PATH = buildPath(ROOT, "shortName");
     private static final String VERSION_PATH = buildPath(ROOT, "version");
@@ -132,11 +134,12 @@ public class ApplicationResourceIntegrationTests {
 
     @Test
     public void getAllApplications() throws Exception {
-        given(applicationRepository.findAll(3)).willReturn(
-            CollectionUtils.listOf(
-                new MicoApplication().setId(ID_1).setShortName(SHORT_NAME).setVersion(VERSION_1_0_1),
-                new MicoApplication().setId(ID_2).setShortName(SHORT_NAME).setVersion(VERSION),
-                new MicoApplication().setId(ID_3).setShortName(SHORT_NAME_1).setVersion(VERSION)));
+        List<MicoApplication> applications = CollectionUtils.listOf(
+            new MicoApplication().setId(ID_1).setShortName(SHORT_NAME).setVersion(VERSION_1_0_1),
+            new MicoApplication().setId(ID_2).setShortName(SHORT_NAME).setVersion(VERSION),
+            new MicoApplication().setId(ID_3).setShortName(SHORT_NAME_1).setVersion(VERSION));
+        given(applicationRepository.findPage(null, null, null, null, Integer.MAX_VALUE)).willReturn(applications);
+        given(applicationRepository.findAllById(CollectionUtils.listOf(ID_1, ID_2, ID_3), 3)).willReturn(applications);
         given(micoKubernetesClient.getApplicationDeploymentStatus(any(MicoApplication.class))).willReturn(
             MicoApplicationDeploymentStatus.undeployed("MicoApplication is currently not deployed."));
 
@@ -155,6 +158,33 @@ public void getAllApplications() throws Exception {
             .andReturn();
     }
 
+    @Test
+    public void getApplicationSummariesWithPagination() throws Exception {
+        given(applicationRepository.findPage(SHORT_NAME, null, null, null, 2)).willReturn(
+            CollectionUtils.listOf(
+                new MicoApplication().setId(ID_1).setShortName(SHORT_NAME).setVersion(VERSION_1_0_1),
+                new MicoApplication().setId(ID_2).setShortName(SHORT_NAME).setVersion(VERSION)));
+        given(micoKubernetesClient.getApplicationDeploymentStatus(any(MicoApplication.class))).willReturn(
+            MicoApplicationDeploymentStatus.undeployed("MicoApplication is currently not deployed."));
+
+        mvc.perform(get(PATH_APPLICATIONS)
+            .param("shortNamePrefix", SHORT_NAME)
+            .param("limit", "1")
+            .param("projection", "summary")
+            .accept(MediaTypes.HAL_JSON_VALUE))
+            .andDo(print())
+            .andExpect(status().isOk())
+            .andExpect(jsonPath(APPLICATION_DTO_LIST_PATH, hasSize(1)))
+            .andExpect(jsonPath(APPLICATION_DTO_LIST_PATH + "[0].version", is(VERSION_1_0_1)))
+            .andExpect(jsonPath(APPLICATION_DTO_LIST_PATH + "[0].services").doesNotExist())
+            .andExpect(jsonPath(JSON_PATH_LINKS_SECTION + "next.href", containsString("limit=1")));
+        verify(applicationRepository, never()).findAllById(any(), anyInt());
+
+        mvc.perform(get(PATH_APPLICATIONS).param("projection", "invalid").accept(MediaTypes.HAL_JSON_VALUE))
+            .andDo(print())
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     public void getApplicationByShortName() throws Exception {
         given(applicationRepository.findByShortName(SHORT_NAME)).willReturn(
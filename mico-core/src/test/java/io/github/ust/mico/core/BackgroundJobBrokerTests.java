@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.github.ust.mico.core;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.github.ust.mico.core.broker.BackgroundJobBroker;
+import io.github.ust.mico.core.model.MicoApplicationJobStatus;
+import io.github.ust.mico.core.model.MicoServiceBackgroundJob;
+import io.github.ust.mico.core.persistence.MicoBackgroundJobRepository;
+import io.github.ust.mico.core.util.EmbeddedRedisServer;
+import org.junit.After;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import static io.github.ust.mico.core.TestConstants.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("unit-testing")
+public class BackgroundJobBrokerTests {
+
+    @ClassRule
+    public static RuleChain rules = RuleChain.outerRule(EmbeddedRedisServer.runningAt(6379).suppressExceptions());
+
+    @Autowired
+    private BackgroundJobBroker backgroundJobBroker;
+
+    @Autowired
+    private MicoBackgroundJobRepository jobRepository;
+
+    @After
+    public void tearDown() {
+        backgroundJobBroker.deleteAllJobs();
+        jobRepository.deleteAll();
+    }
+
+    @Test
+    public void getJobStatusOfApplicationFromJobIndex() {
+        MicoServiceBackgroundJob runningJob = backgroundJobBroker.saveJob(getJob(INSTANCE_ID, SHORT_NAME)
+            .setStatus(MicoServiceBackgroundJob.Status.RUNNING));
+        backgroundJobBroker.saveJob(getJob(INSTANCE_ID_1, SHORT_NAME));
+        backgroundJobBroker.saveJob(getJob(INSTANCE_ID_2, SHORT_NAME_1)
+            .setStatus(MicoServiceBackgroundJob.Status.ERROR));
+
+        MicoApplicationJobStatus jobStatus = backgroundJobBroker.getJobStatusByApplicationShortNameAndVersion(SHORT_NAME, VERSION);
+
+        assertEquals(MicoServiceBackgroundJob.Status.PENDING, jobStatus.getStatus());
+        assertEquals(2, jobStatus.getJobs().size());
+        assertTrue(jobStatus.getJobs().stream().anyMatch(job -> job.getId().equals(runningJob.getId())
+            && job.getInstanceId().equals(INSTANCE_ID) && job.getStatus() == MicoServiceBackgroundJob.Status.RUNNING));
+    }
+
+    @Test
+    public void deletedJobsAreRemovedFromJobIndex() {
+        MicoServiceBackgroundJob deletedJob = backgroundJobBroker.saveJob(getJob(INSTANCE_ID, SHORT_NAME)
+            .setStatus(MicoServiceBackgroundJob.Status.ERROR));
+        MicoServiceBackgroundJob jobDeletedInRepository = backgroundJobBroker.saveJob(getJob(INSTANCE_ID_1, SHORT_NAME)
+            .setStatus(MicoServiceBackgroundJob.Status.RUNNING));
+        backgroundJobBroker.saveJob(getJob(INSTANCE_ID_2, SHORT_NAME)
+            .setStatus(MicoServiceBackgroundJob.Status.DONE));
+
+        backgroundJobBroker.deleteJob(deletedJob.getId());
+        jobRepository.deleteById(jobDeletedInRepository.getId());
+
+        MicoApplicationJobStatus jobStatus = backgroundJobBroker.getJobStatusByApplicationShortNameAndVersion(SHORT_NAME, VERSION);
+        assertEquals(MicoServiceBackgroundJob.Status.DONE, jobStatus.getStatus());
+        assertEquals(1, jobStatus.getJobs().size());
+    }
+
+    @Test
+    public void sharedJobIsPartOfBothApplications() {
+        MicoServiceBackgroundJob job = backgroundJobBroker.saveJob(getJob(INSTANCE_ID, SHORT_NAME));
+        backgroundJobBroker.addJobToApplication(job, SHORT_NAME_1, VERSION);
+
+        assertEquals(1, backgroundJobBroker.getJobStatusByApplicationShortNameAndVersion(SHORT_NAME, VERSION).getJobs().size());
+        assertEquals(1, backgroundJobBroker.getJobStatusByApplicationShortNameAndVersion(SHORT_NAME_1, VERSION).getJobs().size());
+        assertEquals(MicoServiceBackgroundJob.Status.UNDEFINED,
+            backgroundJobBroker.getJobStatusByApplicationShortNameAndVersion(SHORT_NAME_2, VERSION).getStatus());
+    }
+
+    @Test
+    public void notifiesJobStatusListenersIfStatusOfSavedJobChanged() {
+        List<MicoServiceBackgroundJob.Status> notifiedStatuses = new CopyOnWriteArrayList<>();
+        backgroundJobBroker.addJobStatusListener(job -> notifiedStatuses.add(job.getStatus()));
+
+        // Neither a new job nor a job with an unchanged status is a status change
+        MicoServiceBackgroundJob job = backgroundJobBroker.saveJob(getJob(INSTANCE_ID, SHORT_NAME)
+            .setStatus(MicoServiceBackgroundJob.Status.PENDING));
+        backgroundJobBroker.saveJob(job);
+        // E.g. the status is changed by the recovery of an interrupted job
+        backgroundJobBroker.saveJob(job.setStatus(MicoServiceBackgroundJob.Status.RUNNING));
+        backgroundJobBroker.saveJob(job.setStatus(MicoServiceBackgroundJob.Status.ERROR));
+
+        assertEquals(Arrays.asList(MicoServiceBackgroundJob.Status.RUNNING, MicoServiceBackgroundJob.Status.ERROR), notifiedStatuses);
+    }
+
+    private MicoServiceBackgroundJob getJob(String instanceId, String applicationShortName) {
+        return new MicoServiceBackgroundJob()
+            .setServiceShortName(SERVICE_SHORT_NAME)
+            .setServiceVersion(VERSION)
+            .setInstanceId(instanceId)
+            .setApplicationShortName(applicationShortName)
+            .setApplicationVersion(VERSION)
+            .setType(MicoServiceBackgroundJob.Type.BUILD);
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.github.ust.mico.core;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import io.github.ust.mico.core.broker.BackgroundJobBroker;
+import io.github.ust.mico.core.configuration.BackgroundJobRecoveryConfig;
+import io.github.ust.mico.core.model.MicoService;
+import io.github.ust.mico.core.model.MicoServiceBackgroundJob;
+import io.github.ust.mico.core.model.MicoServiceBackgroundJob.Status;
+import io.github.ust.mico.core.persistence.MicoServiceRepository;
+import io.github.ust.mico.core.service.BackgroundJobRecovery;
+import io.github.ust.mico.core.service.JobHandleRegistry;
+import io.github.ust.mico.core.service.MicoInstanceLease;
+import io.github.ust.mico.core.service.imagebuilder.ImageBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import static io.github.ust.mico.core.TestConstants.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class BackgroundJobRecoveryTests {
+
+    private static final String JOB_ID = "job-id";
+    private static final String JOB_ID_1 = "job-id-1";
+    private static final String THIS_INSTANCE = "this-instance";
+    private static final String OTHER_INSTANCE = "other-instance";
+    private static final String DOCKER_IMAGE_URI = "ustmico/" + SERVICE_SHORT_NAME + ":" + VERSION;
+
+    private BackgroundJobBroker backgroundJobBroker;
+    private ImageBuilder imageBuilder;
+    private MicoServiceRepository serviceRepository;
+    private JobHandleRegistry jobHandleRegistry;
+    private MicoInstanceLease micoInstanceLease;
+    private BackgroundJobRecovery backgroundJobRecovery;
+
+    private MicoService service;
+
+    @Before
+    public void setUp() {
+        backgroundJobBroker = mock(BackgroundJobBroker.class);
+        imageBuilder = mock(ImageBuilder.class);
+        serviceRepository = mock(MicoServiceRepository.class);
+        jobHandleRegistry = new JobHandleRegistry(new SimpleMeterRegistry());
+        micoInstanceLease = mock(MicoInstanceLease.class);
+        backgroundJobRecovery = new BackgroundJobRecovery(new BackgroundJobRecoveryConfig(), backgroundJobBroker,
+            jobHandleRegistry, micoInstanceLease, imageBuilder, serviceRepository);
+
+        service = new MicoService().setShortName(SERVICE_SHORT_NAME).setVersion(VERSION);
+        given(serviceRepository.findByShortNameAndVersion(SERVICE_SHORT_NAME, VERSION)).willReturn(Optional.of(service));
+        given(backgroundJobBroker.saveJob(any())).willAnswer(invocation -> invocation.getArgument(0));
+        given(micoInstanceLease.getInstanceId()).willReturn(THIS_INSTANCE);
+        given(micoInstanceLease.isAlive(THIS_INSTANCE)).willReturn(true);
+        given(micoInstanceLease.claim(any())).willReturn(true);
+    }
+
+    @Test
+    public void reattachesJobToRunningBuild() throws Exception {
+        MicoServiceBackgroundJob job = getJob(JOB_ID, Status.RUNNING);
+        given(backgroundJobBroker.getAllJobs()).willReturn(Arrays.asList(job, getJob(JOB_ID_1, Status.DONE)));
+        given(backgroundJobBroker.getJobById(JOB_ID)).willReturn(Optional.of(job));
+        CompletableFuture<String> build = new CompletableFuture<>();
+        given(imageBuilder.resumeBuild(service)).willReturn(Optional.of(build));
+
+        backgroundJobRecovery.recoverJobs();
+        assertTrue(jobHandleRegistry.getFuture(JOB_ID).isPresent());
+        assertEquals(Status.RUNNING, job.getStatus());
+
+        assertEquals(THIS_INSTANCE, job.getOwnerId());
+
+        build.complete(DOCKER_IMAGE_URI);
+        assertFalse(jobHandleRegistry.getFuture(JOB_ID).isPresent());
+        assertEquals(DOCKER_IMAGE_URI, service.getDockerImageUri());
+        verify(serviceRepository).save(service, 0);
+        assertEquals(Status.ERROR, job.getStatus());
+        verify(imageBuilder, never()).build(any(), anyBoolean());
+    }
+
+    @Test
+    public void failsJobWithoutRunningBuild() throws Exception {
+        MicoServiceBackgroundJob job = getJob(JOB_ID, Status.PENDING);
+        given(backgroundJobBroker.getAllJobs()).willReturn(Arrays.asList(job));
+        given(backgroundJobBroker.getJobById(JOB_ID)).willReturn(Optional.of(job));
+        given(imageBuilder.resumeBuild(service)).willReturn(Optional.empty());
+
+        backgroundJobRecovery.recoverJobs();
+
+        assertEquals(Status.ERROR, job.getStatus());
+        assertFalse(jobHandleRegistry.getFuture(JOB_ID).isPresent());
+        verify(serviceRepository, never()).save(any(MicoService.class), eq(0));
+    }
+
+    @Test
+    public void ignoresJobsWithFutureInThisInstance() throws Exception {
+        MicoServiceBackgroundJob job = getJob(JOB_ID, Status.RUNNING);
+        given(backgroundJobBroker.getAllJobs()).willReturn(Arrays.asList(job));
+        jobHandleRegistry.register(JOB_ID, new CompletableFuture<>());
+
+        backgroundJobRecovery.recoverJobs();
+
+        verify(imageBuilder, never()).resumeBuild(any());
+        verify(backgroundJobBroker, never()).saveJob(any());
+    }
+
+    @Test
+    public void recoversJobsOfStoppedInstance() throws Exception {
+        MicoServiceBackgroundJob job = getJob(JOB_ID, Status.RUNNING).setOwnerId(OTHER_INSTANCE);
+        given(backgroundJobBroker.getAllJobs()).willReturn(Arrays.asList(job));
+        given(backgroundJobBroker.getJobById(JOB_ID)).willReturn(Optional.of(job));
+        given(imageBuilder.resumeBuild(service)).willReturn(Optional.empty());
+
+        backgroundJobRecovery.recoverJobs();
+
+        assertEquals(Status.ERROR, job.getStatus());
+        assertEquals(THIS_INSTANCE, job.getOwnerId());
+    }
+
+    @Test
+    public void ignoresJobsOfRunningInstances() throws Exception {
+        MicoServiceBackgroundJob jobOfOtherInstance = getJob(JOB_ID, Status.RUNNING).setOwnerId(OTHER_INSTANCE);
+        MicoServiceBackgroundJob jobOfThisInstance = getJob(JOB_ID_1, Status.PENDING).setOwnerId(THIS_INSTANCE);
+        given(backgroundJobBroker.getAllJobs()).willReturn(Arrays.asList(jobOfOtherInstance, jobOfThisInstance));
+        given(micoInstanceLease.isAlive(OTHER_INSTANCE)).willReturn(true);
+
+        backgroundJobRecovery.recoverJobs();
+
+        verify(micoInstanceLease, never()).claim(any());
+        verify(imageBuilder, never()).resumeBuild(any());
+        verify(backgroundJobBroker, never()).saveJob(any());
+    }
+
+    @Test
+    public void ignoresJobsClaimedByAnotherInstance() throws Exception {
+        MicoServiceBackgroundJob job = getJob(JOB_ID, Status.RUNNING).setOwnerId(OTHER_INSTANCE);
+        given(backgroundJobBroker.getAllJobs()).willReturn(Arrays.asList(job));
+        given(micoInstanceLease.claim(JOB_ID)).willReturn(false);
+
+        backgroundJobRecovery.recoverJobs();
+
+        verify(imageBuilder, never()).resumeBuild(any());
+        verify(backgroundJobBroker, never()).saveJob(any());
+        assertEquals(Status.RUNNING, job.getStatus());
+    }
+
+    @Test
+    public void cancelsRegisteredFuture() {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        jobHandleRegistry.register(JOB_ID, future);
+
+        assertTrue(jobHandleRegistry.cancel(JOB_ID));
+        assertTrue(future.isCancelled());
+        assertFalse(jobHandleRegistry.getFuture(JOB_ID).isPresent());
+        assertFalse(jobHandleRegistry.cancel(JOB_ID));
+    }
+
+    private MicoServiceBackgroundJob getJob(String id, Status status) {
+        return new MicoServiceBackgroundJob()
+            .setId(id)
+            .setServiceShortName(SERVICE_SHORT_NAME)
+            .setServiceVersion(VERSION)
+            .setInstanceId(INSTANCE_ID)
+            .setType(MicoServiceBackgroundJob.Type.BUILD)
+            .setStatus(status);
+    }
+}
@@ -41,7 +41,6 @@
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
 
 import static io.github.ust.mico.core.JsonPathBuilder.*;
 import static io.github.ust.mico.core.TestConstants.SHORT_NAME;
@@ -85,9 +84,9 @@ public class BackgroundJobResourceTest {
     @Test
     public void getAllJobs() throws Exception {
         List<MicoServiceBackgroundJob> jobList = CollectionUtils.listOf(
-            new MicoServiceBackgroundJob().setFuture(CompletableFuture.completedFuture(true)).setServiceShortName(SHORT_NAME).setServiceVersion(VERSION).setInstanceId(INSTANCE_ID).setType(MicoServiceBackgroundJob.Type.BUILD),
-            new MicoServiceBackgroundJob().setFuture(CompletableFuture.completedFuture(true)).setServiceShortName(SHORT_NAME_1).setServiceVersion(VERSION).setInstanceId(INSTANCE_ID_1).setType(MicoServiceBackgroundJob.Type.BUILD),
-            new MicoServiceBackgroundJob().setFuture(CompletableFuture.completedFuture(true)).setServiceShortName(SHORT_NAME_2).setServiceVersion(VERSION).setInstanceId(INSTANCE_ID_2).setType(MicoServiceBackgroundJob.Type.BUILD));
+            new MicoServiceBackgroundJob().setServiceShortName(SHORT_NAME).setServiceVersion(VERSION).setInstanceId(INSTANCE_ID).setType(MicoServiceBackgroundJob.Type.BUILD),
+            new MicoServiceBackgroundJob().setServiceShortName(SHORT_NAME_1).setServiceVersion(VERSION).setInstanceId(INSTANCE_ID_1).setType(MicoServiceBackgroundJob.Type.BUILD),
+            new MicoServiceBackgroundJob().setServiceShortName(SHORT_NAME_2).setServiceVersion(VERSION).setInstanceId(INSTANCE_ID_2).setType(MicoServiceBackgroundJob.Type.BUILD));
 
         given(backgroundJobBroker.getAllJobs()).willReturn(jobList);
 
@@ -132,14 +131,12 @@ public void checkStatus() throws Exception {
         given(applicationRepository.findByShortNameAndVersion(SHORT_NAME, VERSION)).willReturn(Optional.of(application));
 
         MicoServiceBackgroundJob pendingJob = new MicoServiceBackgroundJob()
-            .setFuture(CompletableFuture.completedFuture(true))
             .setServiceShortName(SHORT_NAME)
             .setServiceVersion(VERSION)
             .setInstanceId(INSTANCE_ID)
             .setType(MicoServiceBackgroundJob.Type.BUILD);
 
         MicoServiceBackgroundJob runningJob = new MicoServiceBackgroundJob()
-            .setFuture(CompletableFuture.completedFuture(true))
             .setServiceShortName(SHORT_NAME)
             .setServiceVersion(VERSION)
             .setInstanceId(INSTANCE_ID)
@@ -163,7 +160,6 @@ public void checkStatus() throws Exception {
     @Test
     public void getJobById() throws Exception {
         MicoServiceBackgroundJob doneJob = new MicoServiceBackgroundJob()
-            .setFuture(CompletableFuture.completedFuture(true))
             .setServiceShortName(SHORT_NAME)
             .setServiceVersion(VERSION)
             .setInstanceId(INSTANCE_ID)
@@ -179,7 +175,6 @@ public void getJobById() throws Exception {
             .andReturn();
 
         MicoServiceBackgroundJob pendingJob = new MicoServiceBackgroundJob()
-            .setFuture(CompletableFuture.completedFuture(true))
             .setServiceShortName(SHORT_NAME)
             .setServiceVersion(VERSION)
             .setInstanceId(INSTANCE_ID)
@@ -199,7 +194,6 @@ public void getJobById() throws Exception {
             .andReturn();
 
         MicoServiceBackgroundJob runningJob = new MicoServiceBackgroundJob()
-            .setFuture(CompletableFuture.completedFuture(true))
             .setServiceShortName(SHORT_NAME)
             .setServiceVersion(VERSION)
             .setInstanceId(INSTANCE_ID)
@@ -224,7 +218,6 @@ public void getJobById() throws Exception {
     @Test
     public void deleteJob() throws Exception {
         MicoServiceBackgroundJob pendingJob = new MicoServiceBackgroundJob()
-            .setFuture(CompletableFuture.completedFuture(true))
             .setServiceShortName(SHORT_NAME)
             .setServiceVersion(VERSION)
             .setInstanceId(INSTANCE_ID)
@@ -241,14 +234,12 @@ public void deleteJob() throws Exception {
     @Test
     public void deleteAllJobs() throws Exception {
         MicoServiceBackgroundJob pendingJob1 = new MicoServiceBackgroundJob()
-            .setFuture(CompletableFuture.completedFuture(true))
             .setServiceShortName(SHORT_NAME)
             .setServiceVersion(VERSION)
             .setInstanceId(INSTANCE_ID_1)
             .setType(MicoServiceBackgroundJob.Type.BUILD);
 
         MicoServiceBackgroundJob pendingJob2 = new MicoServiceBackgroundJob()
-            .setFuture(CompletableFuture.completedFuture(true))
             .setServiceShortName(SHORT_NAME)
             .setServiceVersion(VERSION)
             .setInstanceId(INSTANCE_ID_2)
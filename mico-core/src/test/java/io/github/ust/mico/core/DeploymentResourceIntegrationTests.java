@@ -29,7 +29,6 @@
 import io.fabric8.kubernetes.api.model.apps.Deployment;
 import io.github.ust.mico.core.broker.MicoApplicationBroker;
 import io.github.ust.mico.core.broker.MicoServiceBroker;
-import io.github.ust.mico.core.broker.MicoServiceDeploymentInfoBroker;
 import io.github.ust.mico.core.configuration.KafkaFaasConnectorConfig;
 import io.github.ust.mico.core.configuration.MicoKubernetesBuildBotConfig;
 import io.github.ust.mico.core.model.MicoApplication;
@@ -44,6 +43,7 @@
 import io.github.ust.mico.core.persistence.MicoServiceDeploymentInfoRepository;
 import io.github.ust.mico.core.persistence.MicoServiceRepository;
 import io.github.ust.mico.core.persistence.MicoTopicRepository;
+import io.github.ust.mico.core.service.TanglingNodeCollector;
 import io.github.ust.mico.core.service.imagebuilder.TektonPipelinesController;
 import io.github.ust.mico.core.util.CollectionUtils;
 import io.github.ust.mico.core.util.EmbeddedRedisServer;
@@ -113,7 +113,7 @@ public class DeploymentResourceIntegrationTests {
     @Autowired
     private MicoServiceBroker serviceBroker;
     @Autowired
-    private MicoServiceDeploymentInfoBroker serviceDeploymentInfoBroker;
+    private TanglingNodeCollector tanglingNodeCollector;
     @Autowired
     private TektonPipelinesController imageBuilder;
 
@@ -152,7 +152,7 @@ public void tearDown() {
         jobRepository.deleteAll();
         // Delete all entities that were added during the test execution
         serviceDeploymentInfoRepository.deleteAllByApplication(application.getShortName(), application.getVersion());
-        serviceDeploymentInfoBroker.cleanUpTanglingNodes();
+        tanglingNodeCollector.deleteAllTanglingNodes();
         serviceRepository.deleteServiceByShortNameAndVersion(service.getShortName(), service.getVersion());
         applicationRepository.delete(application);
     }
@@ -34,6 +34,8 @@
 import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
 import io.github.ust.mico.core.TestConstants.IntegrationTest;
 import io.github.ust.mico.core.broker.BackgroundJobBroker;
+import io.github.ust.mico.core.configuration.MicoKubernetesConfig;
+import io.github.ust.mico.core.exception.ImageBuildException;
 import io.github.ust.mico.core.exception.KubernetesResourceException;
 import io.github.ust.mico.core.exception.MicoApplicationNotFoundException;
 import io.github.ust.mico.core.exception.NotInitializedException;
@@ -50,6 +52,7 @@
 import io.github.ust.mico.core.persistence.MicoApplicationRepository;
 import io.github.ust.mico.core.persistence.MicoServiceDeploymentInfoRepository;
 import io.github.ust.mico.core.persistence.MicoServiceRepository;
+import io.github.ust.mico.core.service.KubernetesApplyResult;
 import io.github.ust.mico.core.service.MicoKubernetesClient;
 import io.github.ust.mico.core.service.imagebuilder.TektonPipelinesController;
 import io.github.ust.mico.core.util.CollectionUtils;
@@ -74,16 +77,21 @@
 import static io.github.ust.mico.core.TestConstants.DESCRIPTION;
 import static io.github.ust.mico.core.TestConstants.ID;
 import static io.github.ust.mico.core.TestConstants.ID_1;
+import static io.github.ust.mico.core.TestConstants.ID_2;
 import static io.github.ust.mico.core.TestConstants.INSTANCE_ID;
+import static io.github.ust.mico.core.TestConstants.INSTANCE_ID_1;
+import static io.github.ust.mico.core.TestConstants.SERVICE_SHORT_NAME_1;
 import static io.github.ust.mico.core.TestConstants.SHORT_NAME;
 import static io.github.ust.mico.core.TestConstants.VERSION;
 import static io.github.ust.mico.core.resource.ApplicationResource.PATH_APPLICATIONS;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -111,6 +119,9 @@ public class DeploymentResourceTests {
     @Captor
     private ArgumentCaptor<MicoServiceDeploymentInfo> serviceDeploymentInfoArgumentCaptor;
 
+    @Captor
+    private ArgumentCaptor<List<MicoServiceDeploymentInfo>> serviceDeploymentInfoListArgumentCaptor;
+
     @Autowired
     private MockMvc mvc;
 
@@ -132,18 +143,21 @@ public class DeploymentResourceTests {
     @MockBean
     private MicoKubernetesClient micoKubernetesClient;
 
+    @Autowired
+    private MicoKubernetesConfig micoKubernetesConfig;
+
     @Before
     public void setUp() throws KubernetesResourceException {
         Deployment deployment = new DeploymentBuilder()
             .withNewMetadata().withName(DEPLOYMENT_NAME).withNamespace(NAMESPACE_NAME).endMetadata()
             .build();
         given(micoKubernetesClient.createMicoServiceInstance(any(MicoServiceDeploymentInfo.class)))
-            .willReturn(deployment);
+            .willReturn(KubernetesApplyResult.created(deployment));
         Service service = new ServiceBuilder()
             .withNewMetadata().withName(SERVICE_NAME).withNamespace(NAMESPACE_NAME).endMetadata()
             .build();
         given(micoKubernetesClient.createMicoServiceInterface(any(MicoServiceInterface.class), any(MicoServiceDeploymentInfo.class)))
-            .willReturn(service);
+            .willReturn(KubernetesApplyResult.created(service));
     }
 
     @Test
@@ -166,6 +180,8 @@ public void deployApplicationWithOneServiceAndOneServiceInterface() throws Excep
         // Sleep is required to wait for background job (another thread)
         Thread.sleep(500);
 
+        // The rebuild is forced, although the service already has a Docker image
+        verify(imageBuilder, times(1)).build(service, true);
         verify(serviceRepository, times(1)).save(micoServiceArgumentCaptor.capture(), eq(0));
 
         MicoService storedMicoService = micoServiceArgumentCaptor.getValue();
@@ -202,8 +218,10 @@ public void deployApplicationWithOneServiceAndOneServiceInterface() throws Excep
         assertEquals("MicoService instance that will be used to create a MicoServiceInterface does not match",
             serviceDeploymentInfo, micoServiceInstanceThatIsUsedForInterfaceCreation);
 
-        verify(serviceDeploymentInfoRepository, times(1)).save(serviceDeploymentInfoArgumentCaptor.capture(), eq(1));
-        MicoServiceDeploymentInfo storedServiceDeploymentInfo = serviceDeploymentInfoArgumentCaptor.getValue();
+        // The deployment information of all MicoService instances are saved in a single batch
+        verify(serviceDeploymentInfoRepository, times(1)).save(serviceDeploymentInfoListArgumentCaptor.capture(), eq(1));
+        assertEquals(1, serviceDeploymentInfoListArgumentCaptor.getValue().size());
+        MicoServiceDeploymentInfo storedServiceDeploymentInfo = serviceDeploymentInfoListArgumentCaptor.getValue().get(0);
         assertNotNull(storedServiceDeploymentInfo);
         KubernetesDeploymentInfo kubernetesDeploymentInfo = storedServiceDeploymentInfo.getKubernetesDeploymentInfo();
         assertEquals(DEPLOYMENT_NAME, kubernetesDeploymentInfo.getDeploymentName());
@@ -252,6 +270,132 @@ public void deployApplicationWithKafkaEnabledServiceWithoutServiceInterface() th
             .andExpect(status().isAccepted());
     }
 
+    @Test
+    public void deployApplicationPipelinedDeploysServicesWithSuccessfulBuild() throws Exception {
+        MicoService service = getTestService();
+        MicoServiceDeploymentInfo serviceDeploymentInfo = new MicoServiceDeploymentInfo()
+            .setService(service)
+            .setInstanceId(INSTANCE_ID);
+        MicoService serviceWithFailingBuild = getTestService()
+            .setId(ID_2)
+            .setShortName(SERVICE_SHORT_NAME_1);
+        MicoServiceDeploymentInfo serviceWithFailingBuildDeploymentInfo = new MicoServiceDeploymentInfo()
+            .setService(serviceWithFailingBuild)
+            .setInstanceId(INSTANCE_ID_1);
+        MicoApplication application = getTestApplication();
+        application.getServices().add(service);
+        application.getServices().add(serviceWithFailingBuild);
+        application.getServiceDeploymentInfos().add(serviceDeploymentInfo);
+        application.getServiceDeploymentInfos().add(serviceWithFailingBuildDeploymentInfo);
+
+        setupDeploymentResources(application, service);
+        CompletableFuture<String> failingBuild = new CompletableFuture<>();
+        failingBuild.completeExceptionally(new ImageBuildException("PipelineRun failed"));
+        given(imageBuilder.build(eq(serviceWithFailingBuild), anyBoolean())).willReturn(failingBuild);
+        given(serviceDeploymentInfoRepository.save(any(MicoServiceDeploymentInfo.class), eq(1))).willReturn(serviceDeploymentInfo);
+
+        micoKubernetesConfig.setPipelinedDeployment(true);
+        try {
+            mvc.perform(post(PATH_APPLICATIONS + "/" + SHORT_NAME + "/" + VERSION + "/deploy?rebuildImages=true"))
+                .andDo(print())
+                .andExpect(status().isAccepted());
+
+            // Sleep is required to wait for background job (another thread)
+            Thread.sleep(500);
+        } finally {
+            micoKubernetesConfig.setPipelinedDeployment(false);
+        }
+
+        // Only the service with the successful build is deployed
+        verify(micoKubernetesClient, times(1)).createMicoServiceInstance(serviceDeploymentInfoArgumentCaptor.capture());
+        assertEquals(serviceDeploymentInfo, serviceDeploymentInfoArgumentCaptor.getValue());
+        verify(serviceDeploymentInfoRepository, times(1)).save(serviceDeploymentInfoArgumentCaptor.capture(), eq(1));
+        assertEquals(serviceDeploymentInfo, serviceDeploymentInfoArgumentCaptor.getValue());
+
+        // The interface connections are set up incrementally
+        verify(micoKubernetesClient, times(1)).createOrUpdateInterfaceConnections(eq(application), eq(serviceDeploymentInfo), any());
+        verify(micoKubernetesClient, never()).createOrUpdateInterfaceConnections(application);
+    }
+
+    @Test
+    public void deployApplicationPipelinedSetsJobToErrorIfRolloutFails() throws Exception {
+        MicoService service = getTestService();
+        MicoServiceDeploymentInfo serviceDeploymentInfo = new MicoServiceDeploymentInfo()
+            .setService(service)
+            .setInstanceId(INSTANCE_ID);
+        MicoApplication application = getTestApplication();
+        application.getServices().add(service);
+        application.getServiceDeploymentInfos().add(serviceDeploymentInfo);
+
+        setupDeploymentResources(application, service);
+        // The Kubernetes resources are created, but the deployment information cannot be saved
+        given(serviceDeploymentInfoRepository.save(any(MicoServiceDeploymentInfo.class), eq(1)))
+            .willThrow(new IllegalStateException("Neo4j is not available"));
+
+        micoKubernetesConfig.setPipelinedDeployment(true);
+        try {
+            mvc.perform(post(PATH_APPLICATIONS + "/" + SHORT_NAME + "/" + VERSION + "/deploy"))
+                .andDo(print())
+                .andExpect(status().isAccepted());
+
+            // Sleep is required to wait for background job (another thread)
+            Thread.sleep(500);
+        } finally {
+            micoKubernetesConfig.setPipelinedDeployment(false);
+        }
+
+        verify(micoKubernetesClient, times(1)).createMicoServiceInstance(serviceDeploymentInfo);
+        verify(backgroundJobBroker, times(1)).saveNewStatus(serviceDeploymentInfo, MicoServiceBackgroundJob.Type.BUILD,
+            MicoServiceBackgroundJob.Status.ERROR, "IllegalStateException: Neo4j is not available");
+        verify(micoKubernetesClient, never()).createOrUpdateInterfaceConnections(eq(application), eq(serviceDeploymentInfo), any());
+    }
+
+    @Test
+    public void deployApplicationWaitsForRunningBuildJob() throws Exception {
+        MicoService service = getTestService(); // There is no Docker image yet
+        MicoServiceDeploymentInfo serviceDeploymentInfo = new MicoServiceDeploymentInfo()
+            .setService(service)
+            .setInstanceId(INSTANCE_ID);
+        MicoApplication application = getTestApplication();
+        application.getServices().add(service);
+        application.getServiceDeploymentInfos().add(serviceDeploymentInfo);
+
+        setupDeploymentResources(application, service);
+
+        // The build of the MicoService instance was started by another deployment and is still running
+        MicoServiceBackgroundJob runningJob = new MicoServiceBackgroundJob()
+            .setId("running-job")
+            .setServiceShortName(service.getShortName())
+            .setServiceVersion(service.getVersion())
+            .setInstanceId(INSTANCE_ID)
+            .setType(MicoServiceBackgroundJob.Type.BUILD)
+            .setStatus(MicoServiceBackgroundJob.Status.RUNNING);
+        CompletableFuture<MicoService> runningBuild = new CompletableFuture<>();
+        given(backgroundJobBroker.getJobByMicoServiceInstanceId(INSTANCE_ID, MicoServiceBackgroundJob.Type.BUILD))
+            .willReturn(Optional.of(runningJob));
+        given(backgroundJobBroker.getFutureOfJob(runningJob)).willReturn(Optional.of(runningBuild));
+
+        mvc.perform(post(PATH_APPLICATIONS + "/" + SHORT_NAME + "/" + VERSION + "/deploy"))
+            .andDo(print())
+            .andExpect(status().isAccepted());
+
+        // Sleep is required to wait for background job (another thread)
+        Thread.sleep(500);
+
+        // No new build is started and nothing is deployed until the running build is finished
+        verify(imageBuilder, never()).build(any(MicoService.class), anyBoolean());
+        verify(micoKubernetesClient, never()).createMicoServiceInstance(any(MicoServiceDeploymentInfo.class));
+
+        // The running build was started with another copy of the MicoService
+        runningBuild.complete(getTestService().setDockerImageUri(IntegrationTest.DOCKER_IMAGE_URI));
+        Thread.sleep(500);
+
+        verify(micoKubernetesClient, times(1)).createMicoServiceInstance(serviceDeploymentInfoArgumentCaptor.capture());
+        MicoServiceDeploymentInfo micoServiceInstanceToCreate = serviceDeploymentInfoArgumentCaptor.getValue();
+        assertEquals(serviceDeploymentInfo, micoServiceInstanceToCreate);
+        assertEquals(IntegrationTest.DOCKER_IMAGE_URI, micoServiceInstanceToCreate.getService().getDockerImageUri());
+    }
+
     private void setupDeploymentResources(MicoApplication application, MicoService service) throws NotInitializedException, InterruptedException, ExecutionException, TimeoutException, MicoApplicationNotFoundException, KubernetesResourceException {
         given(applicationRepository.findByShortNameAndVersion(SHORT_NAME, VERSION)).willReturn(Optional.of(application));
         given(serviceDeploymentInfoRepository
@@ -271,14 +415,14 @@ private void setupDeploymentResources(MicoApplication application, MicoService s
 
         // Assume asynchronous image build operation was successful
         CompletableFuture<String> futureOfBuildJob = CompletableFuture.completedFuture(IntegrationTest.DOCKER_IMAGE_URI);
-        given(imageBuilder.build(service)).willReturn(futureOfBuildJob);
+        given(imageBuilder.build(eq(service), anyBoolean())).willReturn(futureOfBuildJob);
 
         MicoServiceBackgroundJob mockJob = new MicoServiceBackgroundJob()
-            .setFuture(futureOfBuildJob)
             .setServiceShortName(service.getShortName())
             .setServiceVersion(service.getVersion())
             .setInstanceId(INSTANCE_ID)
-            .setType(MicoServiceBackgroundJob.Type.BUILD);
+            .setType(MicoServiceBackgroundJob.Type.BUILD)
+            .setStatus(MicoServiceBackgroundJob.Status.DONE);
 
         given(backgroundJobBroker.getJobByMicoServiceInstanceId(INSTANCE_ID, MicoServiceBackgroundJob.Type.BUILD))
             .willReturn(Optional.of(mockJob));
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.github.ust.mico.core;
+
+import java.util.Optional;
+
+import io.github.ust.mico.core.configuration.MicoKubernetesBuildBotConfig;
+import io.github.ust.mico.core.model.MicoImageBuildCacheEntry;
+import io.github.ust.mico.core.model.MicoService;
+import io.github.ust.mico.core.persistence.MicoImageBuildCacheRepository;
+import io.github.ust.mico.core.service.GitHubCrawler;
+import io.github.ust.mico.core.service.imagebuilder.ImageBuildCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import static io.github.ust.mico.core.TestConstants.IntegrationTest.GIT_CLONE_URL;
+import static io.github.ust.mico.core.TestConstants.SERVICE_SHORT_NAME;
+import static io.github.ust.mico.core.TestConstants.SERVICE_VERSION;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ImageBuildCacheTests {
+
+    private static final String COMMIT_SHA = "6dcb09b5b57875f334f61aebed695e2e4193db5e";
+    private static final String DOCKER_IMAGE_URI = "ustmico/" + SERVICE_SHORT_NAME
+        + "@sha256:5c6ad27ed2b9ed4bb6f4e5ab1eba2fbba3b3a2e3a4f3b5ad2e6dd0cbd2bea2b0";
+
+    private MicoImageBuildCacheRepository cacheRepository;
+    private GitHubCrawler gitHubCrawler;
+    private MicoKubernetesBuildBotConfig buildBotConfig;
+    private MeterRegistry meterRegistry;
+    private ImageBuildCache imageBuildCache;
+
+    private MicoService micoService;
+
+    @Before
+    public void setUp() {
+        cacheRepository = mock(MicoImageBuildCacheRepository.class);
+        gitHubCrawler = mock(GitHubCrawler.class);
+        buildBotConfig = new MicoKubernetesBuildBotConfig();
+        meterRegistry = new SimpleMeterRegistry();
+        imageBuildCache = new ImageBuildCache(cacheRepository, gitHubCrawler, buildBotConfig, meterRegistry);
+
+        micoService = new MicoService()
+            .setShortName(SERVICE_SHORT_NAME)
+            .setVersion(SERVICE_VERSION)
+            .setGitCloneUrl(GIT_CLONE_URL);
+    }
+
+    @Test
+    public void returnsCachedImageForSameCommit() {
+        when(gitHubCrawler.resolveCommitSha(GIT_CLONE_URL, SERVICE_VERSION)).thenReturn(Optional.of(COMMIT_SHA));
+        MicoImageBuildCacheEntry missedEntry = imageBuildCache.lookup(micoService).get();
+        assertNull(missedEntry.getDockerImageUri());
+        assertEquals(COMMIT_SHA, missedEntry.getCommitSha());
+
+        imageBuildCache.store(missedEntry, DOCKER_IMAGE_URI);
+        verify(cacheRepository).save(missedEntry);
+        when(cacheRepository.findById(missedEntry.getId())).thenReturn(Optional.of(missedEntry));
+
+        Optional<MicoImageBuildCacheEntry> cachedEntry = imageBuildCache.lookup(micoService);
+        assertTrue(cachedEntry.isPresent());
+        assertEquals(DOCKER_IMAGE_URI, cachedEntry.get().getDockerImageUri());
+        assertEquals(1, meterRegistry.get("mico.builds.cache").tag("result", "hit").counter().count(), 0);
+        assertEquals(1, meterRegistry.get("mico.builds.cache").tag("result", "miss").counter().count(), 0);
+    }
+
+    @Test
+    public void doesNotCacheImageWithoutDigest() {
+        when(gitHubCrawler.resolveCommitSha(GIT_CLONE_URL, SERVICE_VERSION)).thenReturn(Optional.of(COMMIT_SHA));
+        MicoImageBuildCacheEntry missedEntry = imageBuildCache.lookup(micoService).get();
+
+        imageBuildCache.store(missedEntry, "ustmico/" + SERVICE_SHORT_NAME + ":" + SERVICE_VERSION);
+
+        verify(cacheRepository, never()).save(any());
+    }
+
+    @Test
+    public void ignoresCachedImageWithoutDigest() {
+        when(gitHubCrawler.resolveCommitSha(GIT_CLONE_URL, SERVICE_VERSION)).thenReturn(Optional.of(COMMIT_SHA));
+        MicoImageBuildCacheEntry missedEntry = imageBuildCache.lookup(micoService).get();
+        when(cacheRepository.findById(missedEntry.getId())).thenReturn(Optional.of(new MicoImageBuildCacheEntry()
+            .setId(missedEntry.getId())
+            .setDockerImageUri("ustmico/" + SERVICE_SHORT_NAME + ":" + SERVICE_VERSION)));
+
+        assertNull(imageBuildCache.lookup(micoService).get().getDockerImageUri());
+        assertEquals(0, meterRegistry.get("mico.builds.cache").tag("result", "hit").counter().count(), 0);
+    }
+
+    @Test
+    public void usesDifferentKeysForDifferentDockerfiles() {
+        when(gitHubCrawler.resolveCommitSha(GIT_CLONE_URL, SERVICE_VERSION)).thenReturn(Optional.of(COMMIT_SHA));
+        String rootDockerfileKey = imageBuildCache.lookup(micoService).get().getId();
+        String subdirectoryDockerfileKey = imageBuildCache.lookup(micoService.setDockerfilePath("sub/Dockerfile")).get().getId();
+
+        assertFalse(rootDockerfileKey.equals(subdirectoryDockerfileKey));
+    }
+
+    @Test
+    public void skipsCacheIfRevisionCannotBeResolved() {
+        when(gitHubCrawler.resolveCommitSha(anyString(), anyString())).thenReturn(Optional.empty());
+
+        assertFalse(imageBuildCache.lookup(micoService).isPresent());
+        verify(cacheRepository, never()).findById(any());
+    }
+
+    @Test
+    public void skipsCacheIfDisabled() {
+        buildBotConfig.setBuildCacheEnabled(false);
+
+        assertFalse(imageBuildCache.lookup(micoService).isPresent());
+        verify(gitHubCrawler, never()).resolveCommitSha(anyString(), anyString());
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.github.ust.mico.core;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.github.ust.mico.core.model.MicoService;
+import io.github.ust.mico.core.service.imagebuilder.ImageBuildCoordinator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import static io.github.ust.mico.core.TestConstants.SERVICE_SHORT_NAME;
+import static io.github.ust.mico.core.TestConstants.SERVICE_VERSION;
+import static io.github.ust.mico.core.TestConstants.VERSION_1_0_1;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ImageBuildCoordinatorTests {
+
+    private MeterRegistry meterRegistry;
+
+    private ImageBuildCoordinator coordinator;
+
+    private AtomicInteger startedBuilds;
+
+    @Before
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coordinator = new ImageBuildCoordinator(meterRegistry);
+        startedBuilds = new AtomicInteger();
+    }
+
+    @Test
+    public void sharesInFlightBuildOfSameService() {
+        CompletableFuture<String> runningBuild = new CompletableFuture<>();
+
+        CompletableFuture<String> first = coordinator.build(service(SERVICE_VERSION), () -> startBuild(runningBuild));
+        CompletableFuture<String> second = coordinator.build(service(SERVICE_VERSION), () -> startBuild(new CompletableFuture<>()));
+
+        assertSame(first, second);
+        assertEquals(1, startedBuilds.get());
+        assertEquals(1, meterRegistry.get("mico.builds.deduplicated").counter().count(), 0);
+        assertTrue(coordinator.isBuildInFlight(service(SERVICE_VERSION)));
+
+        runningBuild.complete("image");
+        assertFalse(coordinator.isBuildInFlight(service(SERVICE_VERSION)));
+    }
+
+    @Test
+    public void startsSeparateBuildsForDifferentVersions() {
+        CompletableFuture<String> first = coordinator.build(service(SERVICE_VERSION), () -> startBuild(new CompletableFuture<>()));
+        CompletableFuture<String> second = coordinator.build(service(VERSION_1_0_1), () -> startBuild(new CompletableFuture<>()));
+
+        assertNotSame(first, second);
+        assertEquals(2, startedBuilds.get());
+        assertEquals(2, meterRegistry.get("mico.builds.inflight").gauge().value(), 0);
+    }
+
+    @Test
+    public void startsNewBuildAfterPreviousBuildIsFinished() {
+        CompletableFuture<String> first = coordinator.build(service(SERVICE_VERSION), () -> startBuild(CompletableFuture.completedFuture("image")));
+        CompletableFuture<String> second = coordinator.build(service(SERVICE_VERSION), () -> startBuild(new CompletableFuture<>()));
+
+        assertNotSame(first, second);
+        assertEquals(2, startedBuilds.get());
+    }
+
+    @Test
+    public void returnsFailedFutureIfBuildCannotBeStarted() {
+        CompletableFuture<String> rejected = coordinator.build(service(SERVICE_VERSION), () -> {
+            throw new RejectedExecutionException("Build queue is full");
+        });
+
+        assertTrue(rejected.isCompletedExceptionally());
+        assertFalse(coordinator.isBuildInFlight(service(SERVICE_VERSION)));
+    }
+
+    private CompletableFuture<String> startBuild(CompletableFuture<String> build) {
+        startedBuilds.incrementAndGet();
+        return build;
+    }
+
+    private MicoService service(String version) {
+        return new MicoService().setShortName(SERVICE_SHORT_NAME).setVersion(version);
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.github.ust.mico.core;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.github.ust.mico.core.configuration.MicoKubernetesBuildBotConfig;
+import io.github.ust.mico.core.service.imagebuilder.ImageBuildScheduler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ImageBuildSchedulerTests {
+
+    private MeterRegistry meterRegistry;
+
+    private ImageBuildScheduler scheduler;
+
+    private CompletableFuture<Void> releaseBuilds;
+
+    @Before
+    public void setUp() {
+        MicoKubernetesBuildBotConfig buildBotConfig = new MicoKubernetesBuildBotConfig();
+        buildBotConfig.setMaxConcurrentBuilds(2);
+        buildBotConfig.setBuildQueueCapacity(1);
+        meterRegistry = new SimpleMeterRegistry();
+        scheduler = new ImageBuildScheduler(buildBotConfig, meterRegistry);
+        releaseBuilds = new CompletableFuture<>();
+    }
+
+    @After
+    public void tearDown() {
+        releaseBuilds.complete(null);
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void limitsConcurrentBuildsAndQueuesTheRest() throws Exception {
+        AtomicInteger startedBuilds = new AtomicInteger();
+        CountDownLatch twoBuildsStarted = new CountDownLatch(2);
+
+        CompletableFuture<String> first = scheduler.schedule(() -> { startedBuilds.incrementAndGet(); twoBuildsStarted.countDown(); }, this::pendingBuild);
+        CompletableFuture<String> second = scheduler.schedule(() -> { startedBuilds.incrementAndGet(); twoBuildsStarted.countDown(); }, this::pendingBuild);
+        CompletableFuture<String> third = scheduler.schedule(startedBuilds::incrementAndGet, this::pendingBuild);
+
+        assertTrue(twoBuildsStarted.await(5, TimeUnit.SECONDS));
+        assertEquals(2, startedBuilds.get());
+        assertEquals(2, scheduler.getActiveBuilds());
+        assertEquals(1, scheduler.getQueuedBuilds());
+        assertEquals(1, meterRegistry.get("mico.builds.queued").gauge().value(), 0);
+        assertEquals(2, meterRegistry.get("mico.builds.active").gauge().value(), 0);
+
+        releaseBuilds.complete(null);
+        CompletableFuture.allOf(first, second, third).get(5, TimeUnit.SECONDS);
+        assertEquals(3, startedBuilds.get());
+        assertEquals(3, meterRegistry.get("mico.builds.wait").timer().count());
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void rejectsBuildsIfQueueIsFull() throws Exception {
+        CountDownLatch twoBuildsStarted = new CountDownLatch(2);
+        scheduler.schedule(twoBuildsStarted::countDown, this::pendingBuild);
+        scheduler.schedule(twoBuildsStarted::countDown, this::pendingBuild);
+        assertTrue(twoBuildsStarted.await(5, TimeUnit.SECONDS));
+        scheduler.schedule(() -> {}, this::pendingBuild);
+
+        scheduler.schedule(() -> {}, this::pendingBuild);
+    }
+
+    @Test
+    public void releasesBuildSlotIfBuildFails() throws Exception {
+        CompletableFuture<String> failingBuild = scheduler.schedule(() -> {}, () -> {
+            throw new IllegalStateException("build failed");
+        });
+
+        try {
+            failingBuild.get(5, TimeUnit.SECONDS);
+            fail("Expected the build to fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        assertEquals(0, scheduler.getActiveBuilds());
+    }
+
+    @Test
+    public void failsQueuedBuildsOnShutdown() {
+        scheduler.schedule(() -> {}, this::pendingBuild);
+        scheduler.schedule(() -> {}, this::pendingBuild);
+        CompletableFuture<String> queued = scheduler.schedule(() -> {}, this::pendingBuild);
+
+        scheduler.shutdown();
+        assertTrue(queued.isCompletedExceptionally());
+    }
+
+    private CompletableFuture<String> pendingBuild() {
+        return releaseBuilds.thenApply(v -> "image");
+    }
+}
@@ -117,7 +117,7 @@ public void buildAndPushImageWorks() throws NotInitializedException, Interrupted
             .setGitCloneUrl(TestConstants.IntegrationTest.GIT_CLONE_URL)
             .setDockerfilePath(TestConstants.IntegrationTest.DOCKERFILE_PATH);
 
-        CompletableFuture<String> buildJob = imageBuilder.build(micoService);
+        CompletableFuture<String> buildJob = imageBuilder.build(micoService, false);
 
         String dockerImageURI = buildJob.get();
         assertNotNull("Build failed!", dockerImageURI);
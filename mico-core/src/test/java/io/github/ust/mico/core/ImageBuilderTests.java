@@ -28,6 +28,7 @@
 import io.github.ust.mico.core.exception.KubernetesResourceException;
 import io.github.ust.mico.core.exception.NotInitializedException;
 import io.github.ust.mico.core.model.MicoService;
+import io.github.ust.mico.core.service.imagebuilder.ImageBuildCache;
 import io.github.ust.mico.core.service.imagebuilder.TektonPipelinesController;
 import io.github.ust.mico.core.util.KubernetesNameNormalizer;
 import org.junit.After;
@@ -42,6 +43,7 @@
 import static io.github.ust.mico.core.TestConstants.NAME;
 import static io.github.ust.mico.core.TestConstants.SERVICE_SHORT_NAME;
 import static io.github.ust.mico.core.TestConstants.SERVICE_VERSION;
+import static org.mockito.Mockito.mock;
 
 @RunWith(SpringRunner.class)
 @SpringBootTest
@@ -62,7 +64,8 @@ public void setUp() {
         buildBotConfig.setDockerImageRepositoryUrl("image-repository-url");
 
         KubernetesNameNormalizer kubernetesNameNormalizer = new KubernetesNameNormalizer();
-        imageBuilder = new TektonPipelinesController(mockServer.getClient(), buildBotConfig, kubernetesNameNormalizer);
+        imageBuilder = new TektonPipelinesController(mockServer.getClient(), buildBotConfig, kubernetesNameNormalizer,
+            mock(ImageBuildCache.class));
     }
 
     @After
@@ -79,6 +82,6 @@ public void withoutInitializingAnErrorIsThrown() throws NotInitializedException,
             .setName(NAME)
             .setGitCloneUrl(IntegrationTest.GIT_CLONE_URL);
 
-        imageBuilder.build(micoService);
+        imageBuilder.build(micoService, false);
     }
 }
@@ -22,6 +22,7 @@
 import io.github.ust.mico.core.model.KubernetesDeploymentInfo;
 import io.github.ust.mico.core.model.MicoApplication;
 import io.github.ust.mico.core.model.MicoService;
+import io.github.ust.mico.core.util.CollectionUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -33,6 +34,7 @@
 
 import static io.github.ust.mico.core.util.MicoRepositoryTestUtils.*;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(SpringRunner.class)
 @SpringBootTest
@@ -89,4 +91,18 @@ public void removeUnnecessaryKubernetesDeploymentInfos() {
         assertEquals(a1, applicationRepository.findByShortNameAndVersion(a1.getShortName(), a1.getVersion()).get());
         assertEquals(a2, applicationRepository.findByShortNameAndVersion(a2.getShortName(), a2.getVersion()).get());
     }
+
+    @Commit
+    @Test
+    public void deleteKubernetesDeploymentInfosByIds() {
+        KubernetesDeploymentInfo k0 = kubernetesDeploymentInfoRepository.save(getMicoServiceDeploymentInfoKubernetesDeploymentInfo(0));
+        KubernetesDeploymentInfo k1 = kubernetesDeploymentInfoRepository.save(getMicoServiceDeploymentInfoKubernetesDeploymentInfo(1));
+        KubernetesDeploymentInfo k2 = kubernetesDeploymentInfoRepository.save(getMicoServiceDeploymentInfoKubernetesDeploymentInfo(2));
+        assertEquals(3, kubernetesDeploymentInfoRepository.count());
+
+        kubernetesDeploymentInfoRepository.deleteAllByIds(CollectionUtils.listOf(k0.getId(), k1.getId()));
+
+        assertEquals(1, kubernetesDeploymentInfoRepository.count());
+        assertTrue(kubernetesDeploymentInfoRepository.findById(k2.getId()).isPresent());
+    }
 }
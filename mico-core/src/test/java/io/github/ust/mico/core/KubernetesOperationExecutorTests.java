@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.github.ust.mico.core;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import io.github.ust.mico.core.configuration.MicoKubernetesConfig;
+import io.github.ust.mico.core.exception.KubernetesResourceException;
+import io.github.ust.mico.core.service.KubernetesOperationExecutor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class KubernetesOperationExecutorTests {
+
+    private KubernetesOperationExecutor executor;
+
+    @Before
+    public void setUp() {
+        MicoKubernetesConfig micoKubernetesConfig = new MicoKubernetesConfig();
+        micoKubernetesConfig.setOperationParallelism(2);
+        micoKubernetesConfig.setOperationTimeout(1);
+        executor = new KubernetesOperationExecutor(micoKubernetesConfig);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void completesWithResultOfOperation() throws Exception {
+        assertEquals("deployment", executor.submit("create deployment", () -> "deployment").get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void completesExceptionallyIfOperationFails() throws Exception {
+        CompletableFuture<String> failingOperation = executor.submit("create deployment", () -> {
+            throw new KubernetesResourceException("Deployment is not available");
+        });
+        CompletableFuture<String> otherOperation = executor.submit("create service", () -> "service");
+
+        try {
+            failingOperation.get(5, TimeUnit.SECONDS);
+            fail("Expected the operation to fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof KubernetesResourceException);
+        }
+        assertEquals("service", otherOperation.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void abortsOperationAfterTimeout() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        CompletableFuture<String> slowOperation = executor.submit("create deployment", () -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return "deployment";
+        });
+
+        try {
+            slowOperation.get(5, TimeUnit.SECONDS);
+            fail("Expected the operation to time out");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof TimeoutException);
+        }
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+}
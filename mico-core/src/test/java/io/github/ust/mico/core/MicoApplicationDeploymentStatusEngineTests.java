@@ -0,0 +1,221 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.github.ust.mico.core;
+
+import java.util.Collections;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
+import io.github.ust.mico.core.broker.BackgroundJobBroker;
+import io.github.ust.mico.core.configuration.MicoKubernetesConfig;
+import io.github.ust.mico.core.model.MicoApplication;
+import io.github.ust.mico.core.model.MicoApplicationDeploymentStatus;
+import io.github.ust.mico.core.model.MicoService;
+import io.github.ust.mico.core.model.MicoServiceBackgroundJob;
+import io.github.ust.mico.core.model.MicoServiceDeploymentInfo;
+import io.github.ust.mico.core.persistence.MicoApplicationRepository;
+import io.github.ust.mico.core.persistence.MicoServiceDeploymentInfoRepository;
+import io.github.ust.mico.core.service.MicoApplicationDeploymentStatusEngine;
+import io.github.ust.mico.core.service.MicoKubernetesClient;
+import io.github.ust.mico.core.service.MicoKubernetesResourceCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import static io.github.ust.mico.core.TestConstants.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+public class MicoApplicationDeploymentStatusEngineTests {
+
+    private static final String INSTANCE_ID = "service-instance";
+
+    private MicoKubernetesClient micoKubernetesClient;
+
+    private MicoKubernetesResourceCache resourceCache;
+
+    private MicoApplicationRepository applicationRepository;
+
+    private MeterRegistry meterRegistry;
+
+    private MicoApplicationDeploymentStatusEngine engine;
+
+    private Consumer<HasMetadata> resourceListener;
+
+    private Consumer<MicoServiceBackgroundJob> jobListener;
+
+    private MicoApplication application;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        micoKubernetesClient = mock(MicoKubernetesClient.class);
+        resourceCache = mock(MicoKubernetesResourceCache.class);
+        BackgroundJobBroker backgroundJobBroker = mock(BackgroundJobBroker.class);
+        applicationRepository = mock(MicoApplicationRepository.class);
+        MicoServiceDeploymentInfoRepository serviceDeploymentInfoRepository = mock(MicoServiceDeploymentInfoRepository.class);
+        MicoKubernetesConfig micoKubernetesConfig = new MicoKubernetesConfig();
+        meterRegistry = new SimpleMeterRegistry();
+
+        application = new MicoApplication().setShortName(SHORT_NAME).setVersion(VERSION);
+        MicoServiceDeploymentInfo serviceDeploymentInfo = new MicoServiceDeploymentInfo()
+            .setService(new MicoService().setShortName(SERVICE_SHORT_NAME).setVersion(SERVICE_VERSION))
+            .setInstanceId(INSTANCE_ID);
+        given(serviceDeploymentInfoRepository.findAllByApplication(SHORT_NAME, VERSION))
+            .willReturn(Collections.singletonList(serviceDeploymentInfo));
+        given(micoKubernetesClient.getApplicationDeploymentStatus(any(MicoApplication.class)))
+            .willReturn(MicoApplicationDeploymentStatus.deployed());
+        given(applicationRepository.findByShortNameAndVersion(SHORT_NAME, VERSION)).willReturn(Optional.of(application));
+        given(resourceCache.isSynced()).willReturn(true);
+
+        engine = new MicoApplicationDeploymentStatusEngine(micoKubernetesClient, resourceCache, backgroundJobBroker,
+            applicationRepository, serviceDeploymentInfoRepository, micoKubernetesConfig, meterRegistry);
+
+        ArgumentCaptor<Consumer<HasMetadata>> resourceListenerCaptor = ArgumentCaptor.forClass(Consumer.class);
+        verify(resourceCache).addResourceListener(resourceListenerCaptor.capture());
+        resourceListener = resourceListenerCaptor.getValue();
+        ArgumentCaptor<Consumer<MicoServiceBackgroundJob>> jobListenerCaptor = ArgumentCaptor.forClass(Consumer.class);
+        verify(backgroundJobBroker).addJobListener(jobListenerCaptor.capture());
+        jobListener = jobListenerCaptor.getValue();
+    }
+
+    @After
+    public void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    public void computesStatusOnlyOnceWithoutChanges() {
+        engine.getApplicationDeploymentStatus(application);
+        MicoApplicationDeploymentStatus status = engine.getApplicationDeploymentStatus(application);
+
+        assertEquals(MicoApplicationDeploymentStatus.Value.DEPLOYED, status.getValue());
+        verify(micoKubernetesClient, times(1)).getApplicationDeploymentStatus(application);
+        assertEquals(1, meterRegistry.get("mico.applications.status.requests").tag("result", "hit").counter().count(), 0);
+        assertEquals(1, meterRegistry.get("mico.applications.status.requests").tag("result", "miss").counter().count(), 0);
+    }
+
+    @Test
+    public void recomputesStatusIfKubernetesResourceOfInstanceChanged() {
+        engine.getApplicationDeploymentStatus(application);
+        given(micoKubernetesClient.getApplicationDeploymentStatus(any(MicoApplication.class)))
+            .willReturn(MicoApplicationDeploymentStatus.incomplete());
+
+        resourceListener.accept(new DeploymentBuilder().withNewMetadata().withName(INSTANCE_ID)
+            .addToLabels(MicoKubernetesClient.LABEL_INSTANCE_KEY, INSTANCE_ID).endMetadata().build());
+
+        verify(micoKubernetesClient, timeout(5000).times(2)).getApplicationDeploymentStatus(application);
+        assertEquals(MicoApplicationDeploymentStatus.Value.INCOMPLETE,
+            engine.getMaterializedStatus(SHORT_NAME, VERSION).map(MicoApplicationDeploymentStatus::getValue).orElse(null));
+    }
+
+    @Test
+    public void recomputesStatusIfJobOfInstanceChanged() {
+        engine.getApplicationDeploymentStatus(application);
+
+        jobListener.accept(new MicoServiceBackgroundJob().setInstanceId(INSTANCE_ID).setStatus(MicoServiceBackgroundJob.Status.RUNNING));
+
+        verify(micoKubernetesClient, timeout(5000).times(2)).getApplicationDeploymentStatus(application);
+    }
+
+    @Test
+    public void recomputesOnlyApplicationOfJobOfUnknownInstance() {
+        MicoApplication otherApplication = new MicoApplication().setShortName(SHORT_NAME_1).setVersion(VERSION);
+        engine.getApplicationDeploymentStatus(application);
+        engine.getApplicationDeploymentStatus(otherApplication);
+
+        jobListener.accept(new MicoServiceBackgroundJob().setInstanceId("unknown-instance")
+            .setApplicationShortName(SHORT_NAME).setApplicationVersion(VERSION)
+            .setStatus(MicoServiceBackgroundJob.Status.RUNNING));
+
+        verify(micoKubernetesClient, timeout(5000).times(2)).getApplicationDeploymentStatus(application);
+        verify(micoKubernetesClient, after(500).times(1)).getApplicationDeploymentStatus(otherApplication);
+    }
+
+    @Test
+    public void looksUpApplicationsOfJobOfUnknownInstanceWithoutApplication() {
+        MicoApplication otherApplication = new MicoApplication().setShortName(SHORT_NAME_1).setVersion(VERSION);
+        engine.getApplicationDeploymentStatus(application);
+        engine.getApplicationDeploymentStatus(otherApplication);
+        given(applicationRepository.findAllByUsedServiceInstance("unknown-instance"))
+            .willReturn(Collections.singletonList(application));
+
+        jobListener.accept(new MicoServiceBackgroundJob().setInstanceId("unknown-instance")
+            .setStatus(MicoServiceBackgroundJob.Status.RUNNING));
+
+        verify(micoKubernetesClient, timeout(5000).times(2)).getApplicationDeploymentStatus(application);
+        verify(micoKubernetesClient, after(500).times(1)).getApplicationDeploymentStatus(otherApplication);
+    }
+
+    @Test
+    public void recomputesStatusWithReloadedApplication() {
+        engine.getApplicationDeploymentStatus(application);
+        MicoApplication reloadedApplication = new MicoApplication().setShortName(SHORT_NAME).setVersion(VERSION)
+            .setDescription(DESCRIPTION);
+        given(applicationRepository.findByShortNameAndVersion(SHORT_NAME, VERSION)).willReturn(Optional.of(reloadedApplication));
+
+        jobListener.accept(new MicoServiceBackgroundJob().setInstanceId(INSTANCE_ID).setStatus(MicoServiceBackgroundJob.Status.RUNNING));
+
+        verify(micoKubernetesClient, timeout(5000)).getApplicationDeploymentStatus(reloadedApplication);
+    }
+
+    @Test
+    public void evictsMaterializedStatusOfDeletedApplication() {
+        engine.getApplicationDeploymentStatus(application);
+        given(applicationRepository.findByShortNameAndVersion(SHORT_NAME, VERSION)).willReturn(Optional.empty());
+
+        jobListener.accept(new MicoServiceBackgroundJob().setInstanceId(INSTANCE_ID).setStatus(MicoServiceBackgroundJob.Status.RUNNING));
+
+        verify(applicationRepository, timeout(5000)).findByShortNameAndVersion(SHORT_NAME, VERSION);
+        verify(micoKubernetesClient, after(500).times(1)).getApplicationDeploymentStatus(any(MicoApplication.class));
+        assertFalse(engine.getMaterializedStatus(SHORT_NAME, VERSION).isPresent());
+    }
+
+    @Test
+    public void computesStatusOnEveryRequestIfResourceCacheIsNotSynced() {
+        given(resourceCache.isSynced()).willReturn(false);
+
+        engine.getApplicationDeploymentStatus(application);
+        engine.getApplicationDeploymentStatus(application);
+
+        verify(micoKubernetesClient, times(2)).getApplicationDeploymentStatus(application);
+        assertFalse(engine.getMaterializedStatus(SHORT_NAME, VERSION).isPresent());
+    }
+
+    @Test
+    public void evictsMaterializedStatus() {
+        engine.getApplicationDeploymentStatus(application);
+        engine.evict(SHORT_NAME, VERSION);
+
+        assertEquals(Optional.empty(), engine.getMaterializedStatus(SHORT_NAME, VERSION));
+    }
+}
@@ -46,6 +46,31 @@ public void setUp() {
         deleteAllData();
     }
 
+    @Test
+    @Commit
+    public void findPage() {
+        MicoApplication a0 = getPureMicoApplication(0).setOwner("owner-a");
+        MicoApplication a1 = getPureMicoApplication(1).setOwner("owner-b");
+        MicoApplication a2 = getPureMicoApplication(2).setOwner("owner-a");
+        applicationRepository.save(a2);
+        applicationRepository.save(a0);
+        applicationRepository.save(a1);
+
+        List<MicoApplication> firstPage = applicationRepository.findPage(null, null, null, null, 2);
+        assertEquals(2, firstPage.size());
+        assertEquals(a0.getShortName(), firstPage.get(0).getShortName());
+        assertEquals(a1.getShortName(), firstPage.get(1).getShortName());
+
+        List<MicoApplication> secondPage = applicationRepository.findPage(null, null, a1.getShortName(), a1.getVersion(), 2);
+        assertEquals(1, secondPage.size());
+        assertEquals(a2.getShortName(), secondPage.get(0).getShortName());
+
+        List<MicoApplication> applicationsOfOwner = applicationRepository.findPage("application-", "owner-a", null, null, 10);
+        assertEquals(2, applicationsOfOwner.size());
+        assertEquals(a0.getShortName(), applicationsOfOwner.get(0).getShortName());
+        assertEquals(a2.getShortName(), applicationsOfOwner.get(1).getShortName());
+    }
+
     @Test
     @Commit
     public void findAllApplicationsByUsedService() {
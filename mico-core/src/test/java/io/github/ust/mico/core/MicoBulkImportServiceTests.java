@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.github.ust.mico.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import javax.validation.Validation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.ust.mico.core.configuration.MicoBulkImportConfig;
+import io.github.ust.mico.core.dto.request.MicoServiceRequestDTO;
+import io.github.ust.mico.core.model.MicoService;
+import io.github.ust.mico.core.service.MicoBulkImportService;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.MediaType;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MicoBulkImportServiceTests {
+
+    private static final MediaType JSON_LINES = MediaType.parseMediaType(MicoBulkImportService.MEDIA_TYPE_JSON_LINES);
+    private static final MediaType YAML = MediaType.parseMediaType(MicoBulkImportService.MEDIA_TYPE_YAML);
+
+    private ObjectMapper objectMapper;
+
+    private MicoBulkImportService bulkImportService;
+
+    @Before
+    public void setUp() {
+        MicoBulkImportConfig bulkImportConfig = new MicoBulkImportConfig();
+        bulkImportConfig.setBatchSize(2);
+        objectMapper = new ObjectMapper();
+        bulkImportService = new MicoBulkImportService(bulkImportConfig, objectMapper,
+            Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    @Test
+    public void importJsonLinesInBatches() throws Exception {
+        List<List<MicoService>> writtenBatches = new ArrayList<>();
+        String input = service("service-a", "v1.0.0") + "\n"
+            + "{ not json\n"
+            + "\n"
+            + service("service-b", "v1.0.0") + "\n"
+            + service("service-c", "invalid-version") + "\n"
+            + service("service-a", "v1.0.0") + "\n";
+
+        // The first service of the batch already exists
+        List<JsonNode> results = importServices(input, JSON_LINES, services -> {
+            writtenBatches.add(services);
+            return services.subList(1, services.size());
+        });
+
+        assertEquals(5, results.size());
+        assertResult(results.get(0), 0, "service-a", "ALREADY_EXISTS");
+        assertResult(results.get(1), 1, null, "INVALID");
+        assertResult(results.get(2), 2, "service-b", "ALREADY_EXISTS");
+        assertResult(results.get(3), 3, "service-c", "INVALID");
+        assertTrue(results.get(3).get("message").asText().startsWith("version "));
+        assertResult(results.get(4), 4, "service-a", "ALREADY_EXISTS");
+
+        // Invalid documents are not written, each batch is written with a single call
+        assertEquals(3, writtenBatches.size());
+        assertEquals(1, writtenBatches.get(0).size());
+        assertEquals("service-a", writtenBatches.get(0).get(0).getShortName());
+    }
+
+    @Test
+    public void importYamlDocuments() throws Exception {
+        List<List<MicoService>> writtenBatches = new ArrayList<>();
+        String input = "---\n"
+            + "shortName: service-a\nversion: v1.0.0\nname: Service A\n"
+            + "---\n"
+            + "shortName: service-b\nversion: v1.0.0\nname: Service B\n";
+
+        List<JsonNode> results = importServices(input, YAML, services -> {
+            writtenBatches.add(services);
+            return services;
+        });
+
+        assertEquals(2, results.size());
+        assertResult(results.get(0), 0, "service-a", "CREATED");
+        assertResult(results.get(1), 1, "service-b", "CREATED");
+        assertEquals(1, writtenBatches.size());
+        assertEquals("Service B", writtenBatches.get(0).get(1).getName());
+    }
+
+    @Test
+    public void reportsFailedBatchesWithoutAbortingTheImport() throws Exception {
+        List<List<MicoService>> writtenBatches = new ArrayList<>();
+        String input = service("service-a", "v1.0.0") + "\n"
+            + service("service-b", "v1.0.0") + "\n"
+            + service("service-c", "v1.0.0") + "\n";
+
+        List<JsonNode> results = importServices(input, JSON_LINES, services -> {
+            writtenBatches.add(services);
+            if (writtenBatches.size() == 1) {
+                throw new IllegalStateException("database not available");
+            }
+            return services;
+        });
+
+        assertResult(results.get(0), 0, "service-a", "FAILED");
+        assertEquals("database not available", results.get(0).get("message").asText());
+        assertResult(results.get(1), 1, "service-b", "FAILED");
+        assertResult(results.get(2), 2, "service-c", "CREATED");
+    }
+
+    private List<JsonNode> importServices(String input, MediaType contentType, UnaryOperator<List<MicoService>> batchWriter) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        bulkImportService.importDocuments(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), contentType,
+            MicoServiceRequestDTO.class, MicoService::valueOf, batchWriter).writeTo(output);
+
+        List<JsonNode> results = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8.name()).split("\n")) {
+            if (!line.isEmpty()) {
+                results.add(objectMapper.readTree(line));
+            }
+        }
+        return results;
+    }
+
+    private String service(String shortName, String version) throws IOException {
+        return objectMapper.writeValueAsString(new MicoServiceRequestDTO().setShortName(shortName).setVersion(version).setName(shortName));
+    }
+
+    private void assertResult(JsonNode result, int index, String shortName, String status) {
+        assertEquals(index, result.get("index").asInt());
+        assertEquals(shortName, result.path("shortName").textValue());
+        assertEquals(status, result.get("status").asText());
+    }
+}
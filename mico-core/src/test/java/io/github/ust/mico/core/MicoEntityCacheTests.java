@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.github.ust.mico.core;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.github.ust.mico.core.configuration.MicoEntityCacheConfig;
+import io.github.ust.mico.core.model.MicoApplication;
+import io.github.ust.mico.core.model.MicoService;
+import io.github.ust.mico.core.model.MicoServiceDeploymentInfo;
+import io.github.ust.mico.core.service.MicoEntityCache;
+import io.github.ust.mico.core.util.CollectionUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.neo4j.ogm.session.SessionFactory;
+import org.neo4j.ogm.session.event.Event;
+import org.neo4j.ogm.session.event.EventListener;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MicoEntityCacheTests {
+
+    private MicoEntityCacheConfig entityCacheConfig;
+
+    private SessionFactory sessionFactory;
+
+    private MeterRegistry meterRegistry;
+
+    private AtomicInteger loads;
+
+    private MicoService service;
+
+    private MicoApplication application;
+
+    @Before
+    public void setUp() {
+        entityCacheConfig = new MicoEntityCacheConfig();
+        sessionFactory = mock(SessionFactory.class);
+        meterRegistry = new SimpleMeterRegistry();
+        loads = new AtomicInteger();
+        service = new MicoService().setShortName("service").setVersion("v1.0.0");
+        application = new MicoApplication().setShortName("application").setVersion("v1.0.0");
+        application.getServices().add(service);
+    }
+
+    @Test
+    public void cachesLookupsAndPublishesHitRatio() {
+        MicoEntityCache entityCache = createEntityCache();
+
+        MicoService first = getService(entityCache, 2);
+        MicoService second = getService(entityCache, 2);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, meterRegistry.get("cache.gets").tags("cache", "mico-entities", "result", "hit").functionCounter().count(), 0);
+        assertEquals(0.5, meterRegistry.get("mico.entity.cache.hit.ratio").gauge().value(), 0);
+    }
+
+    @Test
+    public void distinguishesLookupsByDepth() {
+        MicoEntityCache entityCache = createEntityCache();
+
+        getService(entityCache, 1);
+        getService(entityCache, 2);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void doesNotCacheMissingEntities() {
+        MicoEntityCache entityCache = createEntityCache();
+
+        for (int i = 0; i < 2; i++) {
+            assertFalse(entityCache.get(MicoService.class, "missing", "v1.0.0", 2, () -> {
+                loads.incrementAndGet();
+                return Optional.<MicoService>empty();
+            }).isPresent());
+        }
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void evictsLookupsIfMaximumSizeIsExceeded() {
+        entityCacheConfig.setMaximumSize(1);
+        MicoEntityCache entityCache = createEntityCache();
+
+        getService(entityCache, 1);
+        getService(entityCache, 2);
+        getService(entityCache, 1);
+
+        assertEquals(3, loads.get());
+        assertEquals(2, meterRegistry.get("cache.evictions").tag("cache", "mico-entities").functionCounter().count(), 0);
+    }
+
+    @Test
+    public void invalidatesServiceAndApplicationsIncludingIt() {
+        MicoEntityCache entityCache = createEntityCache();
+        getService(entityCache, 2);
+        getApplication(entityCache);
+        MicoService otherService = new MicoService().setShortName("other-service").setVersion("v1.0.0");
+        entityCache.get(MicoService.class, "other-service", "v1.0.0", 2, () -> {
+            loads.incrementAndGet();
+            return Optional.of(otherService);
+        });
+
+        entityCache.invalidate(new MicoService().setShortName("service").setVersion("v1.0.0"));
+        getService(entityCache, 2);
+        getApplication(entityCache);
+        entityCache.get(MicoService.class, "other-service", "v1.0.0", 2, Optional::empty);
+
+        assertEquals(5, loads.get());
+        assertEquals(2, meterRegistry.get("mico.entity.cache.invalidations").counter().count(), 0);
+    }
+
+    @Test
+    public void invalidatesDeploymentInfosOfApplication() {
+        MicoEntityCache entityCache = createEntityCache();
+        MicoServiceDeploymentInfo serviceDeploymentInfo = new MicoServiceDeploymentInfo().setService(service).setInstanceId("instance");
+        getServiceDeploymentInfo(entityCache, serviceDeploymentInfo);
+        getService(entityCache, 2);
+
+        entityCache.invalidate(application);
+        getServiceDeploymentInfo(entityCache, serviceDeploymentInfo);
+        getService(entityCache, 2);
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    public void invalidatesEntitiesWrittenByNeo4jOgm() {
+        MicoEntityCache entityCache = createEntityCache();
+        entityCache.registerEventListener();
+        ArgumentCaptor<EventListener> eventListener = ArgumentCaptor.forClass(EventListener.class);
+        verify(sessionFactory).register(eventListener.capture());
+        getApplication(entityCache);
+
+        Event event = mock(Event.class);
+        when(event.getObject()).thenReturn(application);
+        eventListener.getValue().onPostSave(event);
+        getApplication(entityCache);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void loadsEveryLookupIfDisabled() {
+        entityCacheConfig.setEnabled(false);
+        MicoEntityCache entityCache = createEntityCache();
+
+        getService(entityCache, 2);
+        getService(entityCache, 2);
+
+        assertEquals(2, loads.get());
+    }
+
+    private MicoEntityCache createEntityCache() {
+        return new MicoEntityCache(entityCacheConfig, sessionFactory, meterRegistry);
+    }
+
+    private MicoService getService(MicoEntityCache entityCache, int depth) {
+        return entityCache.get(MicoService.class, service.getShortName(), service.getVersion(), depth, () -> {
+            loads.incrementAndGet();
+            return Optional.of(service);
+        }).orElse(null);
+    }
+
+    private MicoApplication getApplication(MicoEntityCache entityCache) {
+        return entityCache.get(MicoApplication.class, application.getShortName(), application.getVersion(), 3, () -> {
+            loads.incrementAndGet();
+            return Optional.of(application);
+        }).orElse(null);
+    }
+
+    private void getServiceDeploymentInfo(MicoEntityCache entityCache, MicoServiceDeploymentInfo serviceDeploymentInfo) {
+        entityCache.getServiceDeploymentInfos(application.getShortName(), application.getVersion(), service.getShortName(), 2, () -> {
+            loads.incrementAndGet();
+            return CollectionUtils.listOf(serviceDeploymentInfo);
+        });
+    }
+}
@@ -27,6 +27,8 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -41,6 +43,13 @@
 import io.fabric8.kubernetes.api.model.apps.Deployment;
 import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
 import io.fabric8.kubernetes.api.model.apps.DeploymentList;
+import io.fabric8.kubernetes.api.model.autoscaling.v2beta2.DoneableHorizontalPodAutoscaler;
+import io.fabric8.kubernetes.api.model.autoscaling.v2beta2.HorizontalPodAutoscaler;
+import io.fabric8.kubernetes.api.model.autoscaling.v2beta2.HorizontalPodAutoscalerList;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.MixedOperation;
+import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation;
+import io.fabric8.kubernetes.client.dsl.Resource;
 import io.fabric8.kubernetes.client.server.mock.KubernetesServer;
 import io.github.ust.mico.core.TestConstants.IntegrationTest;
 import io.github.ust.mico.core.broker.BackgroundJobBroker;
@@ -52,6 +61,7 @@
 import io.github.ust.mico.core.model.MicoApplication;
 import io.github.ust.mico.core.model.MicoApplicationDeploymentStatus;
 import io.github.ust.mico.core.model.MicoApplicationJobStatus;
+import io.github.ust.mico.core.model.MicoAutoscalingPolicy;
 import io.github.ust.mico.core.model.MicoEnvironmentVariable;
 import io.github.ust.mico.core.model.MicoInterfaceConnection;
 import io.github.ust.mico.core.model.MicoLabel;
@@ -66,14 +76,21 @@
 import io.github.ust.mico.core.persistence.KubernetesDeploymentInfoRepository;
 import io.github.ust.mico.core.persistence.MicoApplicationRepository;
 import io.github.ust.mico.core.persistence.MicoServiceDeploymentInfoRepository;
+import io.github.ust.mico.core.service.KubernetesApplyResult;
+import io.github.ust.mico.core.service.KubernetesOperationExecutor;
 import io.github.ust.mico.core.service.MicoKubernetesClient;
+import io.github.ust.mico.core.service.MicoKubernetesResourceCache;
+import io.github.ust.mico.core.service.imagebuilder.ImageBuildScheduler;
 import io.github.ust.mico.core.service.imagebuilder.TektonPipelinesController;
 import io.github.ust.mico.core.util.CollectionUtils;
 import lombok.extern.slf4j.Slf4j;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentMatchers;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.ActiveProfiles;
@@ -112,6 +129,13 @@
 import static org.junit.Assert.assertTrue;
 import static org.mockito.BDDMockito.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @Slf4j
 @RunWith(SpringRunner.class)
@@ -135,6 +159,10 @@ public class MicoKubernetesClientTests {
     @MockBean
     private TektonPipelinesController imageBuilder;
     @MockBean
+    private ImageBuildScheduler imageBuildScheduler;
+    @MockBean
+    private KubernetesOperationExecutor kubernetesOperationExecutor;
+    @MockBean
     private BackgroundJobBroker backgroundJobBroker;
     @MockBean
     private MicoApplicationRepository applicationRepository;
@@ -142,21 +170,32 @@ public class MicoKubernetesClientTests {
     private MicoServiceDeploymentInfoRepository serviceDeploymentInfoRepository;
     @MockBean
     private KubernetesDeploymentInfoRepository kubernetesDeploymentInfoRepository;
+    @MockBean
+    private MicoKubernetesResourceCache resourceCache;
+    private KubernetesOperationExecutor operationExecutor;
     private MicoKubernetesClient micoKubernetesClient;
 
     @Before
     public void setUp() {
         given(micoKubernetesConfig.getNamespaceMicoWorkspace()).willReturn(testNamespace);
+        given(micoKubernetesConfig.getOperationParallelism()).willReturn(4);
+        given(micoKubernetesConfig.getOperationTimeout()).willReturn(30);
+        operationExecutor = new KubernetesOperationExecutor(micoKubernetesConfig);
         given(micoKubernetesBuildBotConfig.getNamespaceBuildExecution()).willReturn(buildTestNamespace);
         given(micoKubernetesBuildBotConfig.isBuildCleanUpByUndeploy()).willReturn(true);
 
         micoKubernetesClient = new MicoKubernetesClient(micoKubernetesConfig, micoKubernetesBuildBotConfig,
             mockServer.getClient(), imageBuilder, backgroundJobBroker, applicationRepository,
-            serviceDeploymentInfoRepository, kubernetesDeploymentInfoRepository);
+            serviceDeploymentInfoRepository, kubernetesDeploymentInfoRepository, resourceCache, operationExecutor);
 
         mockServer.getClient().namespaces().create(new NamespaceBuilder().withNewMetadata().withName(testNamespace).endMetadata().build());
     }
 
+    @After
+    public void tearDown() {
+        operationExecutor.shutdown();
+    }
+
     @Test
     public void creationOfMicoServiceWorks() {
         // Assert that at the beginning there are no deployment
@@ -289,7 +328,7 @@ public void creationOfMicoServiceThatAlreadyExistsDoesReplaceTheSameObject() {
         assertNotNull(firstDeployment);
 
         // Second creation
-        micoKubernetesClient.createMicoServiceInstance(deploymentInfo);
+        assertEquals(KubernetesApplyResult.Outcome.UNCHANGED, micoKubernetesClient.createMicoServiceInstance(deploymentInfo).getOutcome());
 
         deployments = mockServer.getClient().apps().deployments().inNamespace(testNamespace).list();
         assertEquals(1, deployments.getItems().size());
@@ -299,6 +338,110 @@ public void creationOfMicoServiceThatAlreadyExistsDoesReplaceTheSameObject() {
         assertEquals("Expected both deployments are the same", firstDeployment, secondDeployment);
     }
 
+    @Test
+    public void redeploymentOfMicoServicePatchesOnlyChangedDeployment() throws Exception {
+        MicoService micoServiceWithoutInterface = getMicoServiceWithoutInterface();
+        MicoServiceDeploymentInfo deploymentInfo = new MicoServiceDeploymentInfo()
+            .setService(micoServiceWithoutInterface)
+            .setInstanceId(INSTANCE_ID);
+
+        assertEquals(KubernetesApplyResult.Outcome.CREATED, micoKubernetesClient.createMicoServiceInstance(deploymentInfo).getOutcome());
+        // Scaling is not part of the desired state of an existing deployment
+        mockServer.getClient().apps().deployments().inNamespace(testNamespace).withName(INSTANCE_ID)
+            .edit().editSpec().withReplicas(3).endSpec().done();
+        takeWriteRequests();
+
+        assertEquals(KubernetesApplyResult.Outcome.UNCHANGED, micoKubernetesClient.createMicoServiceInstance(deploymentInfo).getOutcome());
+        assertEquals("Expected no write of the unchanged Deployment", 0, takeWriteRequests());
+
+        micoServiceWithoutInterface.setDockerImageUri("ustmico/changed-image:latest");
+        assertEquals(KubernetesApplyResult.Outcome.PATCHED, micoKubernetesClient.createMicoServiceInstance(deploymentInfo).getOutcome());
+        assertEquals("Expected a single write of the changed Deployment", 1, takeWriteRequests());
+
+        Deployment patchedDeployment = mockServer.getClient().apps().deployments().inNamespace(testNamespace).withName(INSTANCE_ID).get();
+        assertEquals("ustmico/changed-image:latest", patchedDeployment.getSpec().getTemplate().getSpec().getContainers().get(0).getImage());
+        assertEquals("Expected replicas to be kept", 3, patchedDeployment.getSpec().getReplicas().intValue());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void horizontalPodAutoscalerIsCreatedPatchedAndDeleted() {
+        // The CRUD mock server can't select horizontal pod autoscalers by name, therefore the client is stubbed
+        AtomicReference<HorizontalPodAutoscaler> storedAutoscaler = new AtomicReference<>();
+        KubernetesClient kubernetesClient = mock(KubernetesClient.class, RETURNS_DEEP_STUBS);
+        MixedOperation<HorizontalPodAutoscaler, HorizontalPodAutoscalerList, DoneableHorizontalPodAutoscaler,
+            Resource<HorizontalPodAutoscaler, DoneableHorizontalPodAutoscaler>> autoscalers = mock(MixedOperation.class);
+        NonNamespaceOperation<HorizontalPodAutoscaler, HorizontalPodAutoscalerList, DoneableHorizontalPodAutoscaler,
+            Resource<HorizontalPodAutoscaler, DoneableHorizontalPodAutoscaler>> namespacedAutoscalers = mock(NonNamespaceOperation.class);
+        Resource<HorizontalPodAutoscaler, DoneableHorizontalPodAutoscaler> autoscalerResource = mock(Resource.class);
+        given(kubernetesClient.autoscaling().v2beta2().horizontalPodAutoscalers()).willReturn(autoscalers);
+        given(autoscalers.inNamespace(testNamespace)).willReturn(namespacedAutoscalers);
+        given(namespacedAutoscalers.withName(INSTANCE_ID)).willReturn(autoscalerResource);
+        given(namespacedAutoscalers.createOrReplace(ArgumentMatchers.<HorizontalPodAutoscaler>any()))
+            .willAnswer(invocation -> storedAutoscaler.updateAndGet(previous -> invocation.getArgument(0)));
+        given(autoscalerResource.get()).willAnswer(invocation -> storedAutoscaler.get());
+        given(autoscalerResource.patch(any(HorizontalPodAutoscaler.class)))
+            .willAnswer(invocation -> storedAutoscaler.updateAndGet(previous -> invocation.getArgument(0)));
+        given(autoscalerResource.delete()).willAnswer(invocation -> storedAutoscaler.getAndSet(null) != null);
+        MicoKubernetesClient micoKubernetesClient = new MicoKubernetesClient(micoKubernetesConfig, micoKubernetesBuildBotConfig,
+            kubernetesClient, imageBuilder, backgroundJobBroker, applicationRepository,
+            serviceDeploymentInfoRepository, kubernetesDeploymentInfoRepository, resourceCache, operationExecutor);
+
+        MicoServiceDeploymentInfo deploymentInfo = new MicoServiceDeploymentInfo()
+            .setService(getMicoServiceWithoutInterface())
+            .setInstanceId(INSTANCE_ID)
+            .setAutoscaling(new MicoAutoscalingPolicy().setMinReplicas(2).setMaxReplicas(5).setTargetCpuUtilization(80));
+
+        assertEquals(KubernetesApplyResult.Outcome.CREATED,
+            micoKubernetesClient.createOrUpdateHorizontalPodAutoscaler(deploymentInfo).get().getOutcome());
+        HorizontalPodAutoscaler autoscaler = storedAutoscaler.get();
+        assertEquals(INSTANCE_ID, autoscaler.getMetadata().getLabels().get(LABEL_INSTANCE_KEY));
+        assertEquals("Deployment", autoscaler.getSpec().getScaleTargetRef().getKind());
+        assertEquals(INSTANCE_ID, autoscaler.getSpec().getScaleTargetRef().getName());
+        assertEquals(2, autoscaler.getSpec().getMinReplicas().intValue());
+        assertEquals(5, autoscaler.getSpec().getMaxReplicas().intValue());
+        assertEquals(1, autoscaler.getSpec().getMetrics().size());
+        assertEquals("cpu", autoscaler.getSpec().getMetrics().get(0).getResource().getName());
+        assertEquals(80, autoscaler.getSpec().getMetrics().get(0).getResource().getTarget().getAverageUtilization().intValue());
+
+        assertEquals(KubernetesApplyResult.Outcome.UNCHANGED,
+            micoKubernetesClient.createOrUpdateHorizontalPodAutoscaler(deploymentInfo).get().getOutcome());
+        verify(autoscalerResource, never()).patch(any(HorizontalPodAutoscaler.class));
+
+        deploymentInfo.getAutoscaling().setMaxReplicas(10).setCustomMetricName("requests_per_second").setCustomMetricTargetAverageValue("100");
+        assertEquals(KubernetesApplyResult.Outcome.PATCHED,
+            micoKubernetesClient.createOrUpdateHorizontalPodAutoscaler(deploymentInfo).get().getOutcome());
+        verify(autoscalerResource, times(1)).patch(any(HorizontalPodAutoscaler.class));
+        autoscaler = micoKubernetesClient.getHorizontalPodAutoscalerOfMicoServiceInstance(deploymentInfo).get();
+        assertEquals(10, autoscaler.getSpec().getMaxReplicas().intValue());
+        assertEquals(2, autoscaler.getSpec().getMetrics().size());
+        assertEquals("requests_per_second", autoscaler.getSpec().getMetrics().get(1).getPods().getMetric().getName());
+
+        deploymentInfo.setAutoscaling(null);
+        assertFalse(micoKubernetesClient.createOrUpdateHorizontalPodAutoscaler(deploymentInfo).isPresent());
+        verify(autoscalerResource, times(1)).delete();
+        assertFalse(micoKubernetesClient.getHorizontalPodAutoscalerOfMicoServiceInstance(deploymentInfo).isPresent());
+    }
+
+    @Test
+    public void redeploymentReadsLiveStateIfResourceCacheIsOutdated() throws Exception {
+        MicoServiceDeploymentInfo deploymentInfo = getMicoServiceInstance();
+        MicoServiceInterface micoServiceInterface = getMicoServiceInterface();
+        // The resource cache is synced, but does not contain the resources created below yet
+        given(resourceCache.isSynced()).willReturn(true);
+
+        assertEquals(KubernetesApplyResult.Outcome.CREATED, micoKubernetesClient.createMicoServiceInstance(deploymentInfo).getOutcome());
+        assertEquals(KubernetesApplyResult.Outcome.CREATED,
+            micoKubernetesClient.createMicoServiceInterface(micoServiceInterface, deploymentInfo).getOutcome());
+        assertFalse(micoKubernetesClient.getDeploymentOfMicoServiceInstance(deploymentInfo).isPresent());
+
+        assertEquals(KubernetesApplyResult.Outcome.UNCHANGED, micoKubernetesClient.createMicoServiceInstance(deploymentInfo).getOutcome());
+        assertEquals(KubernetesApplyResult.Outcome.UNCHANGED,
+            micoKubernetesClient.createMicoServiceInterface(micoServiceInterface, deploymentInfo).getOutcome());
+        assertTrue(micoKubernetesClient.isMicoServiceInstanceDeployed(deploymentInfo));
+        assertEquals(1, mockServer.getClient().services().inNamespace(testNamespace).list().getItems().size());
+    }
+
     @Test
     public void creationOfMicoServiceInterfaceThatAlreadyExistsReplaceTheSameObject() throws KubernetesResourceException {
         MicoServiceDeploymentInfo micoServiceDeploymentInfo = getMicoServiceInstance();
@@ -317,7 +460,8 @@ public void creationOfMicoServiceInterfaceThatAlreadyExistsReplaceTheSameObject(
         assertNotNull(firstService);
 
         // Second creation
-        micoKubernetesClient.createMicoServiceInterface(micoServiceInterface, micoServiceDeploymentInfo);
+        assertEquals(KubernetesApplyResult.Outcome.UNCHANGED,
+            micoKubernetesClient.createMicoServiceInterface(micoServiceInterface, micoServiceDeploymentInfo).getOutcome());
 
         existingServices = mockServer.getClient().services().inNamespace(testNamespace).list();
         assertEquals(1, existingServices.getItems().size());
@@ -585,6 +729,56 @@ public void isApplicationDeployedWithNotExistingServiceInterfaces() throws MicoA
         assertFalse("Expected application is not deployed, because there are no Kubernetes Services", micoKubernetesClient.isApplicationDeployed(micoApplication));
     }
 
+    @Test
+    public void undeployApplicationDeletesResourcesOfAllInstancesInOneBatch() {
+        MicoApplication micoApplication = setUpApplicationDeployment(getMicoServiceInstance(), getMicoServiceInstance_2());
+        micoApplication.getServiceDeploymentInfos().get(0).getKubernetesDeploymentInfo().setId(4000L);
+        micoApplication.getServiceDeploymentInfos().get(1).getKubernetesDeploymentInfo().setId(4001L);
+        given(applicationRepository.findAllByUsedServiceInstance(any(String.class)))
+            .willReturn(CollectionUtils.listOf(micoApplication));
+        // Kubernetes Service of another instance must be kept
+        mockServer.getClient().services().inNamespace(testNamespace).create(getServiceBuilderWithNameAndNamespace("other-service")
+            .editMetadata().addToLabels(LABEL_INSTANCE_KEY, "other-instance").endMetadata().build());
+
+        micoKubernetesClient.undeployApplication(micoApplication);
+
+        assertThat(mockServer.getClient().apps().deployments().inNamespace(testNamespace).list().getItems(), empty());
+        List<Service> remainingServices = mockServer.getClient().services().inNamespace(testNamespace).list().getItems();
+        assertEquals(1, remainingServices.size());
+        assertEquals("other-service", remainingServices.get(0).getMetadata().getName());
+        verify(kubernetesDeploymentInfoRepository, times(1)).deleteAllByIds(CollectionUtils.listOf(4000L, 4001L));
+        verify(kubernetesDeploymentInfoRepository, never()).delete(any(KubernetesDeploymentInfo.class));
+    }
+
+    @Test
+    public void undeployApplicationUndeploysSharedInstanceWithoutRemainingReplicasInBatch() {
+        MicoApplication micoApplication = setUpApplicationDeployment();
+        MicoServiceDeploymentInfo serviceDeploymentInfo = micoApplication.getServiceDeploymentInfos().get(0);
+        serviceDeploymentInfo.getKubernetesDeploymentInfo().setId(4000L);
+        // Another deployed application uses the same instance, but does not request any replicas
+        MicoApplication otherMicoApplication = new MicoApplication()
+            .setShortName(SHORT_NAME_2)
+            .setVersion(VERSION)
+            .setName(NAME_2);
+        given(applicationRepository.findAllByUsedServiceInstance(serviceDeploymentInfo.getInstanceId()))
+            .willReturn(CollectionUtils.listOf(micoApplication, otherMicoApplication));
+        given(serviceDeploymentInfoRepository.findByApplicationAndService(SHORT_NAME_2, VERSION,
+            serviceDeploymentInfo.getService().getShortName(), serviceDeploymentInfo.getService().getVersion()))
+            .willReturn(CollectionUtils.listOf(new MicoServiceDeploymentInfo()
+                .setService(serviceDeploymentInfo.getService())
+                .setInstanceId(serviceDeploymentInfo.getInstanceId())
+                .setReplicas(0)));
+        MicoKubernetesClient micoKubernetesClientSpy = spy(micoKubernetesClient);
+        doReturn(MicoApplicationDeploymentStatus.deployed()).when(micoKubernetesClientSpy).getApplicationDeploymentStatus(otherMicoApplication);
+
+        micoKubernetesClientSpy.undeployApplication(micoApplication);
+
+        assertThat(mockServer.getClient().apps().deployments().inNamespace(testNamespace).list().getItems(), empty());
+        assertThat(mockServer.getClient().services().inNamespace(testNamespace).list().getItems(), empty());
+        verify(kubernetesDeploymentInfoRepository, times(1)).deleteAllByIds(CollectionUtils.listOf(4000L));
+        verify(kubernetesDeploymentInfoRepository, never()).delete(any(KubernetesDeploymentInfo.class));
+    }
+
     // TODO: refactor for tekton-based imageBuilder
     /*@Test
     public void undeployApplication() {
@@ -1094,6 +1288,56 @@ public void getServiceNoMatchingService() {
         assertThat(service, is(emptyOptional()));
     }
 
+    @Test
+    public void createOrUpdateInterfaceConnectionsPatchesDeploymentOncePerService() throws Exception {
+        MicoServiceDeploymentInfo targetInstance = getMicoServiceInstance_2();
+        MicoServiceInterface firstTargetInterface = targetInstance.getService().getServiceInterfaces().get(0);
+        MicoServiceInterface secondTargetInterface = getMicoServiceInterface().setServiceInterfaceName("second-interface");
+        targetInstance.getService().setServiceInterfaces(CollectionUtils.listOf(firstTargetInterface, secondTargetInterface));
+        MicoServiceDeploymentInfo sourceInstance = getMicoServiceInstance().setInterfaceConnections(CollectionUtils.listOf(
+            new MicoInterfaceConnection().setEnvironmentVariableName("FIRST_DNS")
+                .setMicoServiceShortName(SERVICE_SHORT_NAME_1).setMicoServiceInterfaceName(SERVICE_INTERFACE_NAME_1),
+            new MicoInterfaceConnection().setEnvironmentVariableName("SECOND_DNS")
+                .setMicoServiceShortName(SERVICE_SHORT_NAME_1).setMicoServiceInterfaceName("second-interface")));
+        MicoApplication application = new MicoApplication().setShortName(SHORT_NAME).setVersion(VERSION)
+            .setServiceDeploymentInfos(CollectionUtils.listOf(sourceInstance, targetInstance));
+        given(serviceDeploymentInfoRepository.findMicoServiceSDIsByApplication(SHORT_NAME, VERSION))
+            .willReturn(CollectionUtils.listOf(sourceInstance, targetInstance));
+
+        micoKubernetesClient.createMicoServiceInstance(sourceInstance);
+        mockServer.getClient().services().inNamespace(testNamespace).create(getServiceObject(firstTargetInterface, targetInstance));
+        mockServer.getClient().services().inNamespace(testNamespace).create(getServiceObject(secondTargetInterface, targetInstance));
+        takeWriteRequests();
+
+        micoKubernetesClient.createOrUpdateInterfaceConnections(application);
+
+        assertEquals("Expected a single write of the Deployment", 1, takeWriteRequests());
+        List<EnvVar> envVars = mockServer.getClient().apps().deployments().inNamespace(testNamespace).withName(INSTANCE_ID).get()
+            .getSpec().getTemplate().getSpec().getContainers().get(0).getEnv();
+        assertThat(envVars.stream().map(EnvVar::getName).collect(Collectors.toList()), hasItems("FIRST_DNS", "SECOND_DNS"));
+        assertEquals(micoKubernetesClient.createServiceName(targetInstance, firstTargetInterface) + "." + testNamespace + ".svc.cluster.local:80",
+            envVars.stream().filter(envVar -> envVar.getName().equals("FIRST_DNS")).findFirst().get().getValue());
+
+        // All DNS environment variables are up to date
+        micoKubernetesClient.createOrUpdateInterfaceConnections(application);
+
+        assertEquals("Expected no write of the Deployment", 0, takeWriteRequests());
+    }
+
+    /**
+     * Takes all requests received by the mock server so far and returns the number of requests that changed a resource.
+     */
+    private int takeWriteRequests() throws InterruptedException {
+        int writeRequests = 0;
+        RecordedRequest request;
+        while ((request = mockServer.getMockServer().takeRequest(0, TimeUnit.MILLISECONDS)) != null) {
+            if (!request.getMethod().equals("GET")) {
+                writeRequests++;
+            }
+        }
+        return writeRequests;
+    }
+
     private ServiceBuilder getServiceBuilderWithNameAndNamespace(String testServiceName) {
         return new ServiceBuilder().withNewMetadata()
             .withNamespace(testNamespace)
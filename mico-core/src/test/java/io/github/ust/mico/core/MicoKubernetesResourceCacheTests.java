@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.github.ust.mico.core;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.fabric8.kubernetes.api.model.KubernetesResourceList;
+import io.fabric8.kubernetes.api.model.ListMetaBuilder;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodListBuilder;
+import io.fabric8.kubernetes.api.model.Service;
+import io.fabric8.kubernetes.api.model.ServiceListBuilder;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentListBuilder;
+import io.fabric8.kubernetes.client.server.mock.KubernetesServer;
+import io.github.ust.mico.core.configuration.MicoKubernetesConfig;
+import io.github.ust.mico.core.service.MicoKubernetesClient;
+import io.github.ust.mico.core.service.MicoKubernetesResourceCache;
+import io.github.ust.mico.core.util.CollectionUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MicoKubernetesResourceCacheTests {
+
+    private static final String NAMESPACE = "test-namespace";
+    private static final String INSTANCE_ID = "service-instance";
+
+    @Rule
+    public KubernetesServer mockServer = new KubernetesServer();
+
+    private MeterRegistry meterRegistry;
+
+    private MicoKubernetesResourceCache resourceCache;
+
+    @Before
+    public void setUp() {
+        MicoKubernetesConfig micoKubernetesConfig = new MicoKubernetesConfig();
+        micoKubernetesConfig.setNamespaceMicoWorkspace(NAMESPACE);
+        micoKubernetesConfig.setResourceCacheEnabled(true);
+        meterRegistry = new SimpleMeterRegistry();
+        resourceCache = new MicoKubernetesResourceCache(mockServer.getClient(), micoKubernetesConfig, meterRegistry);
+    }
+
+    @After
+    public void tearDown() {
+        resourceCache.stop();
+    }
+
+    @Test
+    public void isNotSyncedBeforeStart() {
+        assertFalse(resourceCache.isSynced());
+        assertEquals(0, meterRegistry.get("mico.kubernetes.cache.synced").gauge().value(), 0);
+    }
+
+    @Test
+    public void servesResourcesByInstanceAndByNameAndVersion() throws Exception {
+        Map<String, String> labels = CollectionUtils.mapOf(
+            MicoKubernetesClient.LABEL_NAME_KEY, "service",
+            MicoKubernetesClient.LABEL_VERSION_KEY, "v1.0.0",
+            MicoKubernetesClient.LABEL_INSTANCE_KEY, INSTANCE_ID);
+        expectListAndWatch("/apis/apps/v1/namespaces/" + NAMESPACE + "/deployments", new DeploymentListBuilder()
+            .withMetadata(new ListMetaBuilder().withResourceVersion("1").build())
+            .addNewItem().withNewMetadata().withName(INSTANCE_ID).withNamespace(NAMESPACE).withLabels(labels).endMetadata().endItem()
+            .build());
+        expectListAndWatch("/api/v1/namespaces/" + NAMESPACE + "/services", new ServiceListBuilder()
+            .withMetadata(new ListMetaBuilder().withResourceVersion("1").build())
+            .addNewItem().withNewMetadata().withName("service-interface").withNamespace(NAMESPACE).withLabels(labels).endMetadata().endItem()
+            .build());
+        expectListAndWatch("/api/v1/namespaces/" + NAMESPACE + "/pods", new PodListBuilder()
+            .withMetadata(new ListMetaBuilder().withResourceVersion("1").build())
+            .addNewItem().withNewMetadata().withName("service-pod").withNamespace(NAMESPACE).withLabels(labels).endMetadata().endItem()
+            .build());
+
+        resourceCache.start();
+        awaitSynced();
+
+        assertTrue(resourceCache.getDeployment(INSTANCE_ID).isPresent());
+        assertFalse(resourceCache.getDeployment("other-instance").isPresent());
+        List<Deployment> deployments = resourceCache.getDeployments("service", "v1.0.0");
+        assertEquals(1, deployments.size());
+        assertEquals(0, resourceCache.getDeployments("service", "v2.0.0").size());
+        List<Service> services = resourceCache.getServices(INSTANCE_ID);
+        assertEquals(1, services.size());
+        assertEquals(1, resourceCache.getServices("service", "v1.0.0").size());
+        List<Pod> pods = resourceCache.getPods(INSTANCE_ID);
+        assertEquals(1, pods.size());
+
+        assertEquals(1, meterRegistry.get("mico.kubernetes.cache.synced").gauge().value(), 0);
+        assertEquals(1, meterRegistry.get("mico.kubernetes.cache.size").tag("resource", "deployment").gauge().value(), 0);
+        assertTrue(meterRegistry.get("mico.kubernetes.cache.staleness").tag("resource", "pod").gauge().value() >= 0);
+    }
+
+    private void expectListAndWatch(String path, KubernetesResourceList<?> list) {
+        mockServer.expect().withPath(path).andReturn(200, list).always();
+        mockServer.expect().withPath(path + "?resourceVersion=1&watch=true")
+            .andUpgradeToWebSocket().open().done().always();
+    }
+
+    private void awaitSynced() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (!resourceCache.isSynced() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(resourceCache.isSynced());
+    }
+}
@@ -2,6 +2,7 @@
 
 import io.github.ust.mico.core.broker.MicoServiceBroker;
 import io.github.ust.mico.core.exception.MicoServiceAlreadyExistsException;
+import io.github.ust.mico.core.exception.MicoServiceHasDependersException;
 import io.github.ust.mico.core.exception.MicoServiceIsDeployedException;
 import io.github.ust.mico.core.model.MicoService;
 import io.github.ust.mico.core.model.MicoServiceDependency;
@@ -28,8 +29,10 @@
 import static io.github.ust.mico.core.TestConstants.*;
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -166,6 +169,23 @@ public void deleteService() throws Exception {
         assertThat(versionArgumentCaptor.getValue()).isEqualTo(micoServiceOne.getVersion());
     }
 
+    @Test(expected = MicoServiceHasDependersException.class)
+    public void deleteServiceWithDependers() throws Exception {
+        MicoService micoServiceOne = new MicoService()
+            .setShortName(SHORT_NAME_1)
+            .setVersion(VERSION_1_0_1)
+            .setName(NAME_1);
+
+        given(micoKubernetesClient.isMicoServiceDeployed(micoServiceOne)).willReturn(false);
+        given(serviceRepository.hasDependers(SHORT_NAME_1, VERSION_1_0_1)).willReturn(true);
+
+        try {
+            micoServiceBroker.deleteService(micoServiceOne);
+        } finally {
+            verify(serviceRepository, never()).deleteServiceByShortNameAndVersion(anyString(), anyString());
+        }
+    }
+
     @Test
     public void persistService() throws Exception {
         MicoService service = new MicoService()
@@ -229,8 +249,7 @@ public void getAllDependersOfService() {
         service2.setDependencies(Collections.singletonList(dependency2));
         service3.setDependencies(Collections.singletonList(dependency3));
 
-        given(serviceRepository.findAll(ArgumentMatchers.anyInt())).willReturn(CollectionUtils.listOf(service, service1, service2, service3));
-        given(serviceRepository.findByShortNameAndVersion(SHORT_NAME, VERSION)).willReturn(Optional.of(service));
+        given(serviceRepository.findDependers(SHORT_NAME, VERSION)).willReturn(CollectionUtils.listOf(service1, service2, service3));
 
         List<MicoService> dependers = micoServiceBroker.getDependers(service);
 
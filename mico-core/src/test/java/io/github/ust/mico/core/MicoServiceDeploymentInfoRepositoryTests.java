@@ -20,6 +20,7 @@
 package io.github.ust.mico.core;
 
 import io.github.ust.mico.core.model.*;
+import io.github.ust.mico.core.util.CollectionUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -31,6 +32,7 @@
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static io.github.ust.mico.core.util.MicoRepositoryTestUtils.*;
 import static org.junit.Assert.*;
@@ -389,4 +391,39 @@ public void updateTopics() {
         assertEquals("topic0-updated", updatedTopicRoles.get(0).getTopic().getName());
     }
 
+    @Commit
+    @Test
+    public void deleteOnlyDetachedRelatedNodes() {
+        MicoApplication a0 = getPureMicoApplication(0);
+        MicoService s0 = getMicoService(0);
+        addMicoServicesWithServiceDeploymentInfo(a0, s0);
+
+        MicoServiceDeploymentInfo sdi0 = a0.getServiceDeploymentInfos().get(0);
+        MicoLabel l0 = getMicoServiceDeploymentInfoLabel(0);
+        MicoLabel l1 = getMicoServiceDeploymentInfoLabel(1);
+        sdi0.setLabels(CollectionUtils.listOf(l0, l1));
+        sdi0.getTopics().add(getMicoServiceDeploymentInfoTopicRole(getMicoServiceDeploymentInfoTopic("topic0"), sdi0, MicoTopicRole.Role.INPUT));
+        applicationRepository.save(a0);
+        // Tangling label that is not related to the service deployment information
+        MicoLabel l2 = labelRepository.save(getMicoServiceDeploymentInfoLabel(2));
+
+        List<Long> relatedNodeIds = serviceDeploymentInfoRepository.findRelatedNodeIds(CollectionUtils.listOf(sdi0.getId()));
+        // Two labels, the topic, the environment variable, the interface connection and the Kubernetes deployment info
+        assertEquals(6, relatedNodeIds.size());
+
+        // Detach label #0
+        MicoServiceDeploymentInfo storedSDI = serviceDeploymentInfoRepository
+            .findByApplicationAndService(a0.getShortName(), a0.getVersion(), s0.getShortName()).get(0);
+        storedSDI.setLabels(storedSDI.getLabels().stream()
+            .filter(label -> !label.getKey().equals(l0.getKey()))
+            .collect(Collectors.toList()));
+        serviceDeploymentInfoRepository.save(storedSDI);
+        serviceDeploymentInfoRepository.deleteDetachedNodes(relatedNodeIds);
+
+        assertFalse(labelRepository.findById(l0.getId()).isPresent());
+        assertTrue(labelRepository.findById(l1.getId()).isPresent());
+        assertTrue(labelRepository.findById(l2.getId()).isPresent());
+        assertEquals(1, topicRepository.count());
+    }
+
 }
@@ -21,19 +21,26 @@
 
 import io.github.ust.mico.core.model.MicoApplication;
 import io.github.ust.mico.core.model.MicoService;
+import io.github.ust.mico.core.model.MicoServiceCrawlingOrigin;
+import io.github.ust.mico.core.persistence.MicoServiceRepository;
 import io.github.ust.mico.core.util.CollectionUtils;
 import org.junit.FixMethodOrder;
+import org.neo4j.ogm.session.Session;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.MethodSorters;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.Commit;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static io.github.ust.mico.core.util.MicoRepositoryTestUtils.*;
 import static org.junit.Assert.*;
@@ -45,6 +52,9 @@
 @ActiveProfiles("unit-testing")
 public class MicoServiceRepositoryTests extends MicoRepositoryTests {
 
+    @Autowired
+    private Session session;
+
     public void setUp() {
         deleteAllData();
     }
@@ -194,6 +204,53 @@ public void findDependeesWithAndWithoutDepender() {
         assertFalse(dependeesExcludingS0.contains(s5));
     }
 
+    @Commit
+    @Test
+    public void findDependencyGraph() {
+        setUp();
+
+        // Setup some services
+        MicoService s0 = getMicoService(0);
+        MicoService s1 = getMicoService(1);
+        MicoService s2 = getMicoService(2);
+        MicoService s3 = getMicoService(3);
+        MicoService s4 = getMicoService(4);
+
+        // Service #0 depends on service #1 and #2
+        // Service #1 depends on service #2
+        // Service #2 depends on service #1 (cycle)
+        // Service #3 depends on service #0
+        s0.setDependencies(CollectionUtils.listOf(getMicoServiceDependency(s0, s1), getMicoServiceDependency(s0, s2)));
+        s1.setDependencies(CollectionUtils.listOf(getMicoServiceDependency(s1, s2)));
+        s2.setDependencies(CollectionUtils.listOf(getMicoServiceDependency(s2, s1)));
+        s3.setDependencies(CollectionUtils.listOf(getMicoServiceDependency(s3, s0)));
+
+        // Save
+        serviceRepository.save(s0);
+        serviceRepository.save(s1);
+        serviceRepository.save(s2);
+        serviceRepository.save(s3);
+        serviceRepository.save(s4);
+        // Make sure that the dependencies are loaded by the query and not taken from the session
+        session.clear();
+
+        List<MicoService> dependencyGraphOfS0 = serviceRepository.findDependencyGraph(s0.getShortName(), s0.getVersion());
+        // Entities are compared by their short names, because the graph does not include further relationships
+        Map<String, List<String>> dependeesByService = dependencyGraphOfS0.stream().collect(Collectors.toMap(MicoService::getShortName,
+            service -> service.getDependencies().stream()
+                .map(dependency -> dependency.getDependedService().getShortName())
+                .sorted()
+                .collect(Collectors.toList())));
+        assertEquals(3, dependencyGraphOfS0.size());
+        // Service #3 is a depender, service #4 is independent
+        assertEquals(new HashSet<>(CollectionUtils.listOf(s0.getShortName(), s1.getShortName(), s2.getShortName())), dependeesByService.keySet());
+
+        // The edges of the graph are included
+        assertEquals(CollectionUtils.listOf(s1.getShortName(), s2.getShortName()), dependeesByService.get(s0.getShortName()));
+        assertEquals(CollectionUtils.listOf(s2.getShortName()), dependeesByService.get(s1.getShortName()));
+        assertEquals(CollectionUtils.listOf(s1.getShortName()), dependeesByService.get(s2.getShortName()));
+    }
+
     @Commit
     @Test
     public void findDependers() {
@@ -241,6 +298,25 @@ public void findDependers() {
         assertFalse(dependersOfS0.contains(s1));
         // Service #6 has no connection to service #0
         assertFalse(dependersOfS0.contains(s6));
+
+        // Find direct and transitive dependers
+        List<MicoService> transitiveDependersOfS0 = serviceRepository.findTransitiveDependers(s0.getShortName(), s0.getVersion(), 2);
+        assertEquals(4, transitiveDependersOfS0.size());
+        assertTrue(transitiveDependersOfS0.containsAll(CollectionUtils.listOf(s2, s3, s4, s5)));
+        // The depth limit excludes the indirect depender service #5
+        List<MicoService> transitiveDependersOfS0WithDepth1 = serviceRepository.findTransitiveDependers(s0.getShortName(), s0.getVersion(), 1);
+        assertEquals(3, transitiveDependersOfS0WithDepth1.size());
+        assertFalse(transitiveDependersOfS0WithDepth1.contains(s5));
+
+        assertTrue(serviceRepository.hasDependers(s0.getShortName(), s0.getVersion()));
+        assertTrue(serviceRepository.hasDependers(s3.getShortName(), s3.getVersion()));
+        assertFalse(serviceRepository.hasDependers(s5.getShortName(), s5.getVersion()));
+        assertFalse(serviceRepository.hasDependers(s6.getShortName(), s6.getVersion()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void findTransitiveDependersRejectsDepthAboveMaximum() {
+        serviceRepository.findTransitiveDependers("short-name", "v1.0.0", MicoServiceRepository.MAX_DEPENDERS_DEPTH + 1);
     }
 
 //    @Ignore
@@ -289,6 +365,52 @@ public void findDependers() {
 //        assertEquals(a0, applicationRepository.findByShortNameAndVersion(a0.getShortName(), a0.getVersion()).get());
 //    }
 
+    @Commit
+    @Test
+    public void findPage() {
+        setUp();
+
+        MicoService s0 = getPureMicoService(0).setOwner("owner-a").setServiceCrawlingOrigin(MicoServiceCrawlingOrigin.GITHUB);
+        MicoService s1 = getPureMicoService(1).setOwner("owner-a").setServiceCrawlingOrigin(MicoServiceCrawlingOrigin.DOCKER);
+        MicoService s2 = getPureMicoService(2).setOwner("owner-a").setServiceCrawlingOrigin(MicoServiceCrawlingOrigin.GITHUB);
+        MicoService s3 = getPureMicoService(3).setOwner("owner-b").setServiceCrawlingOrigin(MicoServiceCrawlingOrigin.GITHUB);
+        serviceRepository.saveAll(CollectionUtils.listOf(s3, s1, s2, s0));
+
+        // Services are ordered by short name and version
+        List<MicoService> firstPage = serviceRepository.findPage(null, null, null, null, null, 2);
+        assertEquals(CollectionUtils.listOf(s0.getShortName(), s1.getShortName()),
+            firstPage.stream().map(MicoService::getShortName).collect(Collectors.toList()));
+
+        // The next page starts right after the last service of the previous page
+        MicoService lastService = firstPage.get(1);
+        List<MicoService> secondPage = serviceRepository.findPage(null, null, null, lastService.getShortName(), lastService.getVersion(), 2);
+        assertEquals(CollectionUtils.listOf(s2.getShortName(), s3.getShortName()),
+            secondPage.stream().map(MicoService::getShortName).collect(Collectors.toList()));
+
+        // Filters are combined
+        List<MicoService> filteredServices = serviceRepository.findPage("service-", "owner-a", MicoServiceCrawlingOrigin.GITHUB.name(), null, null, 10);
+        assertEquals(CollectionUtils.listOf(s0.getShortName(), s2.getShortName()),
+            filteredServices.stream().map(MicoService::getShortName).collect(Collectors.toList()));
+        assertTrue(serviceRepository.findPage("other-", null, null, null, null, 10).isEmpty());
+    }
+
+    @Commit
+    @Test
+    public void findAllByKeys() {
+        setUp();
+
+        MicoService s0 = getPureMicoService(0);
+        MicoService s1 = getPureMicoService(1);
+        serviceRepository.saveAll(CollectionUtils.listOf(s0, s1));
+
+        List<MicoService> existingServices = serviceRepository.findAllByKeys(CollectionUtils.listOf(
+            CollectionUtils.mapOf("shortName", s0.getShortName(), "version", s0.getVersion()),
+            CollectionUtils.mapOf("shortName", s1.getShortName(), "version", "v9.9.9"),
+            CollectionUtils.mapOf("shortName", "other-service", "version", s1.getVersion())));
+        assertEquals(1, existingServices.size());
+        assertEquals(s0.getShortName(), existingServices.get(0).getShortName());
+    }
+
     @Commit
     @Test
     public void deleteServiceByShortNameAndVersionPart1() {
@@ -0,0 +1,264 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.github.ust.mico.core;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import io.github.ust.mico.core.broker.BackgroundJobBroker;
+import io.github.ust.mico.core.configuration.MicoStatusEventsConfig;
+import io.github.ust.mico.core.model.MicoApplication;
+import io.github.ust.mico.core.model.MicoApplicationDeploymentStatus;
+import io.github.ust.mico.core.model.MicoServiceBackgroundJob;
+import io.github.ust.mico.core.model.MicoServiceDeploymentInfo;
+import io.github.ust.mico.core.persistence.MicoServiceDeploymentInfoRepository;
+import io.github.ust.mico.core.service.MicoApplicationDeploymentStatusEngine;
+import io.github.ust.mico.core.service.MicoStatusEventPublisher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import static io.github.ust.mico.core.TestConstants.*;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+public class MicoStatusEventPublisherTests {
+
+    private static final long TIMEOUT = 5000;
+
+    private SseEmitter emitter;
+    private final Deque<SseEmitter> emitters = new ArrayDeque<>();
+    private MicoStatusEventsConfig statusEventsConfig;
+    private MicoServiceDeploymentInfoRepository serviceDeploymentInfoRepository;
+    private MeterRegistry meterRegistry;
+    private MicoStatusEventPublisher statusEventPublisher;
+
+    private Consumer<MicoServiceBackgroundJob> jobStatusListener;
+    private BiConsumer<MicoApplication, MicoApplicationDeploymentStatus> deploymentStatusListener;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        emitter = mock(SseEmitter.class);
+        BackgroundJobBroker backgroundJobBroker = mock(BackgroundJobBroker.class);
+        MicoApplicationDeploymentStatusEngine applicationDeploymentStatusEngine = mock(MicoApplicationDeploymentStatusEngine.class);
+        serviceDeploymentInfoRepository = mock(MicoServiceDeploymentInfoRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        statusEventsConfig = new MicoStatusEventsConfig();
+
+        statusEventPublisher = new MicoStatusEventPublisher(backgroundJobBroker, applicationDeploymentStatusEngine,
+            serviceDeploymentInfoRepository, statusEventsConfig, meterRegistry) {
+            @Override
+            protected SseEmitter createEmitter() {
+                return emitters.isEmpty() ? emitter : emitters.poll();
+            }
+        };
+
+        ArgumentCaptor<Consumer<MicoServiceBackgroundJob>> jobStatusListenerCaptor = ArgumentCaptor.forClass(Consumer.class);
+        verify(backgroundJobBroker).addJobStatusListener(jobStatusListenerCaptor.capture());
+        jobStatusListener = jobStatusListenerCaptor.getValue();
+        ArgumentCaptor<BiConsumer<MicoApplication, MicoApplicationDeploymentStatus>> deploymentStatusListenerCaptor = ArgumentCaptor.forClass(BiConsumer.class);
+        verify(applicationDeploymentStatusEngine).addStatusListener(deploymentStatusListenerCaptor.capture());
+        deploymentStatusListener = deploymentStatusListenerCaptor.getValue();
+    }
+
+    @After
+    public void tearDown() {
+        statusEventPublisher.shutdown();
+    }
+
+    @Test
+    public void sendsAllStatusChanges() throws Exception {
+        statusEventPublisher.subscribe();
+
+        jobStatusListener.accept(getJob(INSTANCE_ID, null, null));
+        deploymentStatusListener.accept(new MicoApplication().setShortName(SHORT_NAME).setVersion(VERSION),
+            MicoApplicationDeploymentStatus.deployed());
+
+        assertEquals(Arrays.asList(MicoStatusEventPublisher.EVENT_JOB, MicoStatusEventPublisher.EVENT_DEPLOYMENT_STATUS),
+            getSentEventNames(2));
+    }
+
+    @Test
+    public void sendsCurrentStatusAndStatusChangesOfApplication() throws Exception {
+        given(serviceDeploymentInfoRepository.findAllByApplication(SHORT_NAME, VERSION)).willReturn(
+            Collections.singletonList(new MicoServiceDeploymentInfo().setInstanceId(INSTANCE_ID)));
+
+        statusEventPublisher.subscribe(SHORT_NAME, VERSION, MicoApplicationDeploymentStatus.pending());
+        assertEquals(Collections.singletonList(MicoStatusEventPublisher.EVENT_DEPLOYMENT_STATUS), getSentEventNames(1));
+        awaitSubscriptions(1);
+
+        // Neither the instance nor the application match
+        jobStatusListener.accept(getJob(INSTANCE_ID_1, SHORT_NAME_1, VERSION));
+        deploymentStatusListener.accept(new MicoApplication().setShortName(SHORT_NAME_1).setVersion(VERSION),
+            MicoApplicationDeploymentStatus.deployed());
+        // The instance matches (e.g. a job that was started for another application sharing the instance)
+        jobStatusListener.accept(getJob(INSTANCE_ID, SHORT_NAME_1, VERSION));
+        // The application matches
+        jobStatusListener.accept(getJob(INSTANCE_ID_2, SHORT_NAME, VERSION));
+        deploymentStatusListener.accept(new MicoApplication().setShortName(SHORT_NAME).setVersion(VERSION),
+            MicoApplicationDeploymentStatus.deployed());
+
+        List<String> eventNames = getSentEventNames(4);
+        assertEquals(MicoStatusEventPublisher.EVENT_DEPLOYMENT_STATUS, eventNames.get(0));
+        assertEquals(MicoStatusEventPublisher.EVENT_JOB, eventNames.get(1));
+        assertEquals(MicoStatusEventPublisher.EVENT_JOB, eventNames.get(2));
+        assertEquals(MicoStatusEventPublisher.EVENT_DEPLOYMENT_STATUS, eventNames.get(3));
+    }
+
+    @Test
+    public void removesSubscriptionOfDisconnectedClient() throws Exception {
+        doThrow(new IOException("Broken pipe")).when(emitter).send(any(SseEventBuilder.class));
+        statusEventPublisher.subscribe();
+        awaitSubscriptions(1);
+
+        jobStatusListener.accept(getJob(INSTANCE_ID, null, null));
+
+        awaitSubscriptions(0);
+    }
+
+    @Test
+    public void slowClientDoesNotDelayOtherClients() throws Exception {
+        CountDownLatch releaseSlowClient = new CountDownLatch(1);
+        SseEmitter slowEmitter = mock(SseEmitter.class);
+        doAnswer(invocation -> {
+            releaseSlowClient.await();
+            return null;
+        }).when(slowEmitter).send(any(SseEventBuilder.class));
+        try {
+            emitters.add(slowEmitter);
+            statusEventPublisher.subscribe();
+            statusEventPublisher.subscribe();
+            awaitSubscriptions(2);
+
+            jobStatusListener.accept(getJob(INSTANCE_ID, null, null));
+            deploymentStatusListener.accept(new MicoApplication().setShortName(SHORT_NAME).setVersion(VERSION),
+                MicoApplicationDeploymentStatus.deployed());
+
+            // The other client receives all events, although sending the first event to the slow client blocks
+            assertEquals(Arrays.asList(MicoStatusEventPublisher.EVENT_JOB, MicoStatusEventPublisher.EVENT_DEPLOYMENT_STATUS),
+                getSentEventNames(2));
+
+            // The slow client is unsubscribed as soon as the send timeout is detected
+            statusEventsConfig.setHeartbeatInterval(1);
+            statusEventsConfig.setSendTimeout(1);
+            statusEventPublisher.startHeartbeat();
+            awaitSubscriptions(1);
+        } finally {
+            releaseSlowClient.countDown();
+        }
+        // The stream of the slow client is completed as soon as the blocked send returns
+        verify(slowEmitter, timeout(TIMEOUT)).complete();
+        verify(emitter, never()).complete();
+    }
+
+    @Test
+    public void completesEmitterOfSubscriptionWithFullQueue() throws Exception {
+        CountDownLatch releaseClient = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            releaseClient.await();
+            return null;
+        }).when(emitter).send(any(SseEventBuilder.class));
+        statusEventsConfig.setEventQueueCapacity(1);
+        try {
+            statusEventPublisher.subscribe();
+            awaitSubscriptions(1);
+
+            // The first event is being sent, the second one is queued and the third one does not fit into the queue
+            for (int i = 0; i < 3; i++) {
+                jobStatusListener.accept(getJob(INSTANCE_ID, null, null));
+            }
+
+            awaitSubscriptions(0);
+        } finally {
+            releaseClient.countDown();
+        }
+        verify(emitter, timeout(TIMEOUT)).complete();
+        verify(emitter, after(500).times(1)).complete();
+    }
+
+    @Test
+    public void completesEmitterOfDisconnectedClientOnce() throws Exception {
+        doThrow(new IOException("Broken pipe")).when(emitter).send(any(SseEventBuilder.class));
+        statusEventPublisher.subscribe();
+        awaitSubscriptions(1);
+
+        jobStatusListener.accept(getJob(INSTANCE_ID, null, null));
+        jobStatusListener.accept(getJob(INSTANCE_ID, null, null));
+
+        awaitSubscriptions(0);
+        verify(emitter, after(500).times(1)).complete();
+    }
+
+    private MicoServiceBackgroundJob getJob(String instanceId, String applicationShortName, String applicationVersion) {
+        return new MicoServiceBackgroundJob()
+            .setServiceShortName(SERVICE_SHORT_NAME)
+            .setServiceVersion(SERVICE_VERSION)
+            .setInstanceId(instanceId)
+            .setApplicationShortName(applicationShortName)
+            .setApplicationVersion(applicationVersion)
+            .setType(MicoServiceBackgroundJob.Type.BUILD)
+            .setStatus(MicoServiceBackgroundJob.Status.RUNNING);
+    }
+
+    /**
+     * Waits until the given number of events was sent and returns the names of the events in the order they were sent.
+     */
+    private List<String> getSentEventNames(int expectedCount) throws IOException {
+        ArgumentCaptor<SseEventBuilder> eventCaptor = ArgumentCaptor.forClass(SseEventBuilder.class);
+        verify(emitter, timeout(TIMEOUT).times(expectedCount)).send(eventCaptor.capture());
+        return eventCaptor.getAllValues().stream()
+            .map(event -> event.build().stream()
+                .map(data -> data.getData().toString())
+                .collect(Collectors.joining()))
+            .map(event -> event.replaceAll("(?s).*event:([^\\n]*).*", "$1"))
+            .collect(Collectors.toList());
+    }
+
+    private void awaitSubscriptions(int expectedCount) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        while (meterRegistry.get("mico.status.events.subscriptions").gauge().value() != expectedCount
+            && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expectedCount, (int) meterRegistry.get("mico.status.events.subscriptions").gauge().value());
+    }
+}
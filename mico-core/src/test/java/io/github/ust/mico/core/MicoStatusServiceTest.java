@@ -27,7 +27,7 @@
 import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
 import io.github.ust.mico.core.configuration.PrometheusConfig;
 import io.github.ust.mico.core.dto.response.MicoApplicationResponseDTO;
-import io.github.ust.mico.core.dto.response.internal.PrometheusResponseDTO;
+import io.github.ust.mico.core.dto.response.internal.PrometheusVectorResponseDTO;
 import io.github.ust.mico.core.dto.response.status.*;
 import io.github.ust.mico.core.model.*;
 import io.github.ust.mico.core.model.MicoMessage.Type;
@@ -38,10 +38,12 @@
 import io.github.ust.mico.core.service.MicoKubernetesClient;
 import io.github.ust.mico.core.service.MicoStatusService;
 import io.github.ust.mico.core.util.CollectionUtils;
+import io.github.ust.mico.core.util.RestTemplates;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.HttpStatus;
@@ -50,6 +52,7 @@
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.URI;
 import java.util.*;
 
 import static io.github.ust.mico.core.TestConstants.*;
@@ -73,6 +76,7 @@ public class MicoStatusServiceTest {
     @MockBean
     private PrometheusConfig prometheusConfig;
     @MockBean
+    @Qualifier(RestTemplates.QUALIFIER_PROMETHEUS_REST_TEMPLATE)
     private RestTemplate restTemplate;
     @MockBean
     private MicoApplicationRepository applicationRepository;
@@ -98,29 +102,29 @@ public class MicoStatusServiceTest {
     private String hostIp = "192.168.0.0";
     // Metrics for pod 1
     private String podName1 = "pod1";
-    private int memoryUsagePod1 = 5;
-    private int cpuLoadPod1 = 5;
+    private int memoryUsagePod1 = 51;
+    private int cpuLoadPod1 = 11;
     private String startTimePod1 = new Date().toString();
     private int restartsPod1 = 0;
 
     // Metrics for pod 2
     private String podName2 = "pod2";
-    private int memoryUsagePod2 = 5;
-    private int cpuLoadPod2 = 5;
+    private int memoryUsagePod2 = 52;
+    private int cpuLoadPod2 = 12;
     private String startTimePod2 = new Date().toString();
     private int restartsPod2 = 0;
 
     // Metrics for pod 3
     private String podName3 = "pod3";
-    private int memoryUsagePod3 = 5;
-    private int cpuLoadPod3 = 5;
+    private int memoryUsagePod3 = 53;
+    private int cpuLoadPod3 = 13;
     private String startTimePod3 = new Date().toString();
     private int restartsPod3 = 0;
 
     // Metrics for pod 4
     private String podName4 = "pod4";
-    private int memoryUsagePod4 = 5;
-    private int cpuLoadPod4 = 5;
+    private int memoryUsagePod4 = 54;
+    private int cpuLoadPod4 = 14;
     private String startTimePod4 = new Date().toString();
     private int restartsPod4 = 0;
 
@@ -131,11 +135,14 @@ public class MicoStatusServiceTest {
     private String podName5 = "pod5";
     private String startTimePod5 = new Date().toString();
     private int restartsPod5 = 0;
-    private int memoryUsagePod5 = 5;
-    private int cpuLoadPod5 = 5;
+    private int memoryUsagePod5 = 55;
+    private int cpuLoadPod5 = 15;
 
     @Before
     public void setupMicoApplication() {
+        given(prometheusConfig.getQueryTimeout()).willReturn(5000);
+        given(prometheusConfig.getMaxPodsPerQuery()).willReturn(100);
+
         micoApplication = new MicoApplication()
             .setShortName(SHORT_NAME)
             .setVersion(VERSION);
@@ -274,12 +281,12 @@ public void getApplicationStatus() throws Exception {
                     .setNodeMetrics(CollectionUtils.listOf(
                         new KubernetesNodeMetricsResponseDTO()
                             .setNodeName(nodeName1)
-                            .setAverageCpuLoad(5)
-                            .setAverageMemoryUsage(5),
+                            .setAverageCpuLoad((cpuLoadPod1 + cpuLoadPod2) / 2)
+                            .setAverageMemoryUsage((memoryUsagePod1 + memoryUsagePod2) / 2),
                         new KubernetesNodeMetricsResponseDTO()
                             .setNodeName(nodeName2)
-                            .setAverageCpuLoad(5)
-                            .setAverageMemoryUsage(5)
+                            .setAverageCpuLoad(cpuLoadPod3)
+                            .setAverageMemoryUsage(memoryUsagePod3)
                     ))
                     // Add four pods (on two different nodes)
                     .setPodsInformation(Arrays.asList(
@@ -338,8 +345,8 @@ public void getApplicationStatus() throws Exception {
                     .setNodeMetrics(CollectionUtils.listOf(
                         new KubernetesNodeMetricsResponseDTO()
                             .setNodeName(nodeName1)
-                            .setAverageCpuLoad(5)
-                            .setAverageMemoryUsage(5)
+                            .setAverageCpuLoad(cpuLoadPod5)
+                            .setAverageMemoryUsage(memoryUsagePod5)
                     ))
                     // Add four pods (on two different nodes)
                     .setPodsInformation(Collections.singletonList(
@@ -384,27 +391,12 @@ public void getApplicationStatus() throws Exception {
             kubernetesService.getMetadata().getNamespace())).willReturn(Collections.singletonList(8080));
 
 
-        ResponseEntity responseEntityMemoryUsagePod1 = getPrometheusResponseEntity(memoryUsagePod1);
-        ResponseEntity responseEntityCpuLoadPod1 = getPrometheusResponseEntity(cpuLoadPod1);
-        ResponseEntity responseEntityMemoryUsagePod2 = getPrometheusResponseEntity(memoryUsagePod2);
-        ResponseEntity responseEntityCpuLoadPod2 = getPrometheusResponseEntity(cpuLoadPod2);
-        ResponseEntity responseEntityMemoryUsagePod3 = getPrometheusResponseEntity(memoryUsagePod3);
-        ResponseEntity responseEntityCpuLoadPod3 = getPrometheusResponseEntity(cpuLoadPod3);
-        ResponseEntity responseEntityMemoryUsagePod4 = getPrometheusResponseEntity(memoryUsagePod4);
-        ResponseEntity responseEntityCpuLoadPod4 = getPrometheusResponseEntity(cpuLoadPod4);
-        ResponseEntity responseEntityMemoryUsagePod5 = getPrometheusResponseEntity(memoryUsagePod5);
-        ResponseEntity responseEntityCpuLoadPod5 = getPrometheusResponseEntity(cpuLoadPod5);
-        given(restTemplate.getForEntity(any(), eq(PrometheusResponseDTO.class))).
-            willReturn(responseEntityMemoryUsagePod1)
-            .willReturn(responseEntityCpuLoadPod1)
-            .willReturn(responseEntityMemoryUsagePod2)
-            .willReturn(responseEntityCpuLoadPod2)
-            .willReturn(responseEntityMemoryUsagePod3)
-            .willReturn(responseEntityCpuLoadPod3)
-            .willReturn(responseEntityMemoryUsagePod4)
-            .willReturn(responseEntityCpuLoadPod4)
-            .willReturn(responseEntityMemoryUsagePod5)
-            .willReturn(responseEntityCpuLoadPod5);
+        ResponseEntity responseEntityMemoryUsage = getPrometheusResponseEntity(podValues(podName1, memoryUsagePod1, podName2, memoryUsagePod2, podName3, memoryUsagePod3, podName5, memoryUsagePod5));
+        ResponseEntity responseEntityCpuLoad = getPrometheusResponseEntity(podValues(podName1, cpuLoadPod1, podName2, cpuLoadPod2, podName3, cpuLoadPod3, podName5, cpuLoadPod5));
+        given(restTemplate.getForEntity(argThat((URI uri) -> uri != null && uri.toString().contains("container_memory_working_set_bytes")), eq(PrometheusVectorResponseDTO.class)))
+            .willReturn(responseEntityMemoryUsage);
+        given(restTemplate.getForEntity(argThat((URI uri) -> uri != null && uri.toString().contains("container_cpu_load_average_10s")), eq(PrometheusVectorResponseDTO.class)))
+            .willReturn(responseEntityCpuLoad);
         assertEquals(micoApplicationStatus, micoStatusService.getApplicationStatus(micoApplication));
     }
 
@@ -431,8 +423,8 @@ public void getApplicationStatusWithMissingKubernetesService() {
                     .setNodeMetrics(CollectionUtils.listOf(
                         new KubernetesNodeMetricsResponseDTO()
                             .setNodeName(nodeName1)
-                            .setAverageCpuLoad(5)
-                            .setAverageMemoryUsage(5)
+                            .setAverageCpuLoad(cpuLoadPod1)
+                            .setAverageMemoryUsage(memoryUsagePod1)
                     ))
                     // Add four pods (on two different nodes)
                     .setPodsInformation(CollectionUtils.listOf(
@@ -466,11 +458,12 @@ public void getApplicationStatusWithMissingKubernetesService() {
         given(applicationRepository.findAllByUsedServiceInstance(INSTANCE_ID)).willReturn(CollectionUtils.listOf(otherMicoApplication, micoApplication));
         given(serviceRepository.findAllByApplication(micoApplication.getShortName(), micoApplication.getVersion())).willReturn(CollectionUtils.listOf(micoService));
         given(prometheusConfig.getUri()).willReturn("http://localhost:9090/api/v1/query");
-        ResponseEntity responseEntityMemoryUsagePod1 = getPrometheusResponseEntity(memoryUsagePod1);
-        ResponseEntity responseEntityCpuLoadPod1 = getPrometheusResponseEntity(cpuLoadPod1);
-        given(restTemplate.getForEntity(any(), eq(PrometheusResponseDTO.class))).
-            willReturn(responseEntityMemoryUsagePod1)
-            .willReturn(responseEntityCpuLoadPod1);
+        ResponseEntity responseEntityMemoryUsage = getPrometheusResponseEntity(podValues(podName1, memoryUsagePod1));
+        ResponseEntity responseEntityCpuLoad = getPrometheusResponseEntity(podValues(podName1, cpuLoadPod1));
+        given(restTemplate.getForEntity(argThat((URI uri) -> uri != null && uri.toString().contains("container_memory_working_set_bytes")), eq(PrometheusVectorResponseDTO.class)))
+            .willReturn(responseEntityMemoryUsage);
+        given(restTemplate.getForEntity(argThat((URI uri) -> uri != null && uri.toString().contains("container_cpu_load_average_10s")), eq(PrometheusVectorResponseDTO.class)))
+            .willReturn(responseEntityCpuLoad);
         assertEquals(micoApplicationStatus, micoStatusService.getApplicationStatus(micoApplication));
     }
 
@@ -503,16 +496,24 @@ public void getApplicationStatusWithMissingDeployment() {
 
 
     @SuppressWarnings("rawtypes")
-    private ResponseEntity getPrometheusResponseEntity(int value) {
-        PrometheusResponseDTO prometheusResponse = new PrometheusResponseDTO();
-        prometheusResponse.setSuccess(true);
-        prometheusResponse.setValue(value);
+    private ResponseEntity getPrometheusResponseEntity(Map<String, Integer> values) {
+        PrometheusVectorResponseDTO prometheusResponse = new PrometheusVectorResponseDTO()
+            .setSuccess(true)
+            .setValues(values);
         ResponseEntity responseEntity = mock(ResponseEntity.class);
         given(responseEntity.getStatusCode()).willReturn(HttpStatus.OK);
         given(responseEntity.getBody()).willReturn(prometheusResponse);
         return responseEntity;
     }
 
+    private Map<String, Integer> podValues(Object... podNamesAndValues) {
+        Map<String, Integer> values = new HashMap<>();
+        for (int i = 0; i < podNamesAndValues.length; i += 2) {
+            values.put((String) podNamesAndValues[i], (Integer) podNamesAndValues[i + 1]);
+        }
+        return values;
+    }
+
     @Test
     @SuppressWarnings({"rawtypes", "unchecked"})
     public void getServiceStatus() throws Exception {
@@ -529,12 +530,12 @@ public void getServiceStatus() throws Exception {
             .setNodeMetrics(CollectionUtils.listOf(
                 new KubernetesNodeMetricsResponseDTO()
                     .setNodeName(nodeName1)
-                    .setAverageCpuLoad(5)
-                    .setAverageMemoryUsage(5),
+                    .setAverageCpuLoad((cpuLoadPod1 + cpuLoadPod2) / 2)
+                    .setAverageMemoryUsage((memoryUsagePod1 + memoryUsagePod2) / 2),
                 new KubernetesNodeMetricsResponseDTO()
                     .setNodeName(nodeName2)
-                    .setAverageCpuLoad(5)
-                    .setAverageMemoryUsage(5)
+                    .setAverageCpuLoad(cpuLoadPod3)
+                    .setAverageMemoryUsage(memoryUsagePod3)
             ))
             // Add four pods (on two different nodes)
             .setPodsInformation(Arrays.asList(
@@ -615,23 +616,12 @@ public void getServiceStatus() throws Exception {
         given(micoKubernetesClient.getPublicPortsOfKubernetesService(kubernetesService.getMetadata().getName(),
             kubernetesService.getMetadata().getNamespace())).willReturn(Collections.singletonList(8080));
 
-        ResponseEntity responseEntityMemoryUsagePod1 = getPrometheusResponseEntity(memoryUsagePod1);
-        ResponseEntity responseEntityCpuLoadPod1 = getPrometheusResponseEntity(cpuLoadPod1);
-        ResponseEntity responseEntityMemoryUsagePod2 = getPrometheusResponseEntity(memoryUsagePod2);
-        ResponseEntity responseEntityCpuLoadPod2 = getPrometheusResponseEntity(cpuLoadPod2);
-        ResponseEntity responseEntityMemoryUsagePod3 = getPrometheusResponseEntity(memoryUsagePod3);
-        ResponseEntity responseEntityCpuLoadPod3 = getPrometheusResponseEntity(cpuLoadPod3);
-        ResponseEntity responseEntityMemoryUsagePod4 = getPrometheusResponseEntity(memoryUsagePod4);
-        ResponseEntity responseEntityCpuLoadPod4 = getPrometheusResponseEntity(cpuLoadPod4);
-        given(restTemplate.getForEntity(any(), eq(PrometheusResponseDTO.class))).
-            willReturn(responseEntityMemoryUsagePod1)
-            .willReturn(responseEntityCpuLoadPod1)
-            .willReturn(responseEntityMemoryUsagePod2)
-            .willReturn(responseEntityCpuLoadPod2)
-            .willReturn(responseEntityMemoryUsagePod3)
-            .willReturn(responseEntityCpuLoadPod3)
-            .willReturn(responseEntityMemoryUsagePod4)
-            .willReturn(responseEntityCpuLoadPod4);
+        ResponseEntity responseEntityMemoryUsage = getPrometheusResponseEntity(podValues(podName1, memoryUsagePod1, podName2, memoryUsagePod2, podName3, memoryUsagePod3));
+        ResponseEntity responseEntityCpuLoad = getPrometheusResponseEntity(podValues(podName1, cpuLoadPod1, podName2, cpuLoadPod2, podName3, cpuLoadPod3));
+        given(restTemplate.getForEntity(argThat((URI uri) -> uri != null && uri.toString().contains("container_memory_working_set_bytes")), eq(PrometheusVectorResponseDTO.class)))
+            .willReturn(responseEntityMemoryUsage);
+        given(restTemplate.getForEntity(argThat((URI uri) -> uri != null && uri.toString().contains("container_cpu_load_average_10s")), eq(PrometheusVectorResponseDTO.class)))
+            .willReturn(responseEntityCpuLoad);
 
         assertEquals(micoServiceStatusList, micoStatusService.getServiceStatus(micoService));
     }
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.github.ust.mico.core;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import io.fabric8.knative.v1.Condition;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.dsl.MixedOperation;
+import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation;
+import io.fabric8.kubernetes.client.dsl.Resource;
+import io.fabric8.tekton.client.TektonClient;
+import io.fabric8.tekton.client.dsl.V1beta1APIGroupDSL;
+import io.fabric8.tekton.pipeline.v1beta1.DoneablePipelineRun;
+import io.fabric8.tekton.pipeline.v1beta1.PipelineRun;
+import io.fabric8.tekton.pipeline.v1beta1.PipelineRunBuilder;
+import io.fabric8.tekton.pipeline.v1beta1.PipelineRunList;
+import io.github.ust.mico.core.exception.ImageBuildException;
+import io.github.ust.mico.core.service.imagebuilder.PipelineRunWatcher;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class PipelineRunWatcherTests {
+
+    private static final String PIPELINE_RUN_NAME = "build-pipeline-run";
+    private static final String NAMESPACE = "build-namespace";
+
+    private Resource<PipelineRun, DoneablePipelineRun> pipelineRunResource;
+    private PipelineRunWatcher watcher;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        TektonClient tektonClient = mock(TektonClient.class);
+        V1beta1APIGroupDSL v1beta1 = mock(V1beta1APIGroupDSL.class);
+        MixedOperation<PipelineRun, PipelineRunList, DoneablePipelineRun, Resource<PipelineRun, DoneablePipelineRun>> pipelineRuns = mock(MixedOperation.class);
+        NonNamespaceOperation<PipelineRun, PipelineRunList, DoneablePipelineRun, Resource<PipelineRun, DoneablePipelineRun>> pipelineRunsInNamespace = mock(NonNamespaceOperation.class);
+        pipelineRunResource = mock(Resource.class);
+        given(tektonClient.v1beta1()).willReturn(v1beta1);
+        given(v1beta1.pipelineRuns()).willReturn(pipelineRuns);
+        given(pipelineRuns.inNamespace(NAMESPACE)).willReturn(pipelineRunsInNamespace);
+        given(pipelineRunsInNamespace.withName(PIPELINE_RUN_NAME)).willReturn(pipelineRunResource);
+        given(pipelineRunResource.get()).willReturn(pipelineRun(PIPELINE_RUN_NAME, "Unknown", "Running"));
+
+        watcher = new PipelineRunWatcher(tektonClient, NAMESPACE, 600);
+    }
+
+    @After
+    public void tearDown() {
+        watcher.close();
+    }
+
+    @Test
+    public void completesFutureWhenPipelineRunSucceeded() throws Exception {
+        CompletableFuture<PipelineRun> future = watcher.awaitCompletion(PIPELINE_RUN_NAME);
+
+        watcher.eventReceived(Watcher.Action.MODIFIED, pipelineRun(PIPELINE_RUN_NAME, "Unknown", "Running"));
+        assertFalse(future.isDone());
+
+        PipelineRun succeededRun = pipelineRun(PIPELINE_RUN_NAME, "True", "Succeeded");
+        watcher.eventReceived(Watcher.Action.MODIFIED, succeededRun);
+        assertSame(succeededRun, future.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void completesFutureExceptionallyWhenPipelineRunFailed() throws Exception {
+        CompletableFuture<PipelineRun> future = watcher.awaitCompletion(PIPELINE_RUN_NAME);
+
+        watcher.eventReceived(Watcher.Action.MODIFIED, pipelineRun(PIPELINE_RUN_NAME, "False", "Failed"));
+        assertTrue(future.isCompletedExceptionally());
+        try {
+            future.get();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof ImageBuildException);
+        }
+    }
+
+    @Test
+    public void completesFutureExceptionallyWhenPipelineRunWasDeleted() {
+        CompletableFuture<PipelineRun> future = watcher.awaitCompletion(PIPELINE_RUN_NAME);
+
+        watcher.eventReceived(Watcher.Action.DELETED, pipelineRun(PIPELINE_RUN_NAME, "Unknown", "Running"));
+        assertTrue(future.isCompletedExceptionally());
+    }
+
+    @Test
+    public void completesFutureWhenPipelineRunIsAlreadyFinished() throws Exception {
+        // The PipelineRun finished before the future was registered, hence the watch does not report it anymore
+        PipelineRun succeededRun = pipelineRun(PIPELINE_RUN_NAME, "True", "Succeeded");
+        given(pipelineRunResource.get()).willReturn(succeededRun);
+
+        CompletableFuture<PipelineRun> future = watcher.awaitCompletion(PIPELINE_RUN_NAME);
+        assertTrue(future.isDone());
+        assertSame(succeededRun, future.get());
+    }
+
+    @Test
+    public void completesFutureExceptionallyWhenPipelineRunDoesNotExist() {
+        given(pipelineRunResource.get()).willReturn(null);
+
+        CompletableFuture<PipelineRun> future = watcher.awaitCompletion(PIPELINE_RUN_NAME);
+        assertTrue(future.isCompletedExceptionally());
+    }
+
+    @Test
+    public void ignoresEventsOfOtherPipelineRuns() {
+        CompletableFuture<PipelineRun> future = watcher.awaitCompletion(PIPELINE_RUN_NAME);
+
+        watcher.eventReceived(Watcher.Action.MODIFIED, pipelineRun("other-pipeline-run", "True", "Succeeded"));
+        assertFalse(future.isDone());
+    }
+
+    @Test
+    public void sharesFutureOfSamePipelineRun() {
+        CompletableFuture<PipelineRun> first = watcher.awaitCompletion(PIPELINE_RUN_NAME);
+        CompletableFuture<PipelineRun> second = watcher.awaitCompletion(PIPELINE_RUN_NAME);
+        assertSame(first, second);
+
+        watcher.close();
+        assertTrue(first.isCompletedExceptionally());
+    }
+
+    private PipelineRun pipelineRun(String name, String conditionStatus, String reason) {
+        Condition condition = new Condition();
+        condition.setType("Succeeded");
+        condition.setStatus(conditionStatus);
+        condition.setReason(reason);
+        return new PipelineRunBuilder()
+            .withNewMetadata().withName(name).endMetadata()
+            .withNewStatus().withConditions(condition).endStatus()
+            .build();
+    }
+}
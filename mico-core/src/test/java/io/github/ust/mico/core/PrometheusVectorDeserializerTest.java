@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.github.ust.mico.core;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.ust.mico.core.dto.response.internal.PrometheusVectorResponseDTO;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PrometheusVectorDeserializerTest {
+
+    @Test
+    public void testDeserialize() throws IOException {
+        String testJsonForMemoryUsageRequest = "{\n" +
+            "    \"status\": \"success\",\n" +
+            "    \"data\": {\n" +
+            "        \"resultType\": \"vector\",\n" +
+            "        \"result\": [\n" +
+            "            {\n" +
+            "                \"metric\": {\"pod_name\": \"pod1\"},\n" +
+            "                \"value\": [1552041266.607, \"310083584\"]\n" +
+            "            },\n" +
+            "            {\n" +
+            "                \"metric\": {\"pod_name\": \"pod2\"},\n" +
+            "                \"value\": [1552041266.607, \"1024\"]\n" +
+            "            },\n" +
+            "            {\n" +
+            "                \"metric\": {},\n" +
+            "                \"value\": [1552041266.607, \"1\"]\n" +
+            "            },\n" +
+            "            {\n" +
+            "                \"metric\": {\"pod_name\": \"pod3\"},\n" +
+            "                \"value\": []\n" +
+            "            }\n" +
+            "        ]\n" +
+            "    }\n" +
+            "}";
+
+        String testJsonEmptyResult = "{\n" +
+            "    \"status\": \"success\",\n" +
+            "    \"data\": {\n" +
+            "        \"resultType\": \"vector\",\n" +
+            "        \"result\": []\n" +
+            "    }\n" +
+            "}";
+
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        PrometheusVectorResponseDTO responseMemoryUsage = objectMapper.readValue(testJsonForMemoryUsageRequest, PrometheusVectorResponseDTO.class);
+        assertTrue(responseMemoryUsage.isSuccess());
+        assertEquals(2, responseMemoryUsage.getValues().size());
+        assertEquals(310083584, responseMemoryUsage.getValues().get("pod1").intValue());
+        assertEquals(1024, responseMemoryUsage.getValues().get("pod2").intValue());
+
+        PrometheusVectorResponseDTO responseEmptyResult = objectMapper.readValue(testJsonEmptyResult, PrometheusVectorResponseDTO.class);
+        assertTrue(responseEmptyResult.isSuccess());
+        assertTrue(responseEmptyResult.getValues().isEmpty());
+    }
+}
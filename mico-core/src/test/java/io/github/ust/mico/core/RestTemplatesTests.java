@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.github.ust.mico.core;
+
+import io.github.ust.mico.core.util.RestTemplates;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.web.client.RestTemplate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("unit-testing")
+public class RestTemplatesTests {
+
+    @Autowired
+    @Qualifier(RestTemplates.QUALIFIER_GITHUB_REST_TEMPLATE)
+    private RestTemplate gitHubRestTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private MockWebServer server;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void reusesPooledConnectionAndRecordsMetricsPerDestination() throws Exception {
+        server.enqueue(new MockResponse().setBody("first"));
+        server.enqueue(new MockResponse().setBody("second"));
+
+        ResponseEntity<String> first = gitHubRestTemplate.getForEntity(server.url("/first").uri(), String.class);
+        ResponseEntity<String> second = gitHubRestTemplate.getForEntity(server.url("/second").uri(), String.class);
+
+        assertEquals("first", first.getBody());
+        assertEquals("second", second.getBody());
+        server.takeRequest();
+        // The second request is sent on the kept-alive connection of the first one
+        assertEquals(1, server.takeRequest().getSequenceNumber());
+
+        Timer timer = meterRegistry.find("mico.http.client.requests")
+            .tag("destination", "github").tag("method", "GET").tag("status", "200").timer();
+        assertEquals(2, timer.count());
+        assertEquals(1, (int) meterRegistry.get("mico.http.client.connections")
+            .tag("destination", "github").tag("state", "idle").gauge().value());
+        assertNull(meterRegistry.find("mico.http.client.requests").tag("destination", "prometheus").timer());
+    }
+}
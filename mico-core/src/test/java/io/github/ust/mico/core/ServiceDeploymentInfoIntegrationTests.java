@@ -24,6 +24,7 @@
 import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.ust.mico.core.dto.request.MicoAutoscalingPolicyRequestDTO;
 import io.github.ust.mico.core.dto.request.MicoLabelRequestDTO;
 import io.github.ust.mico.core.dto.request.MicoServiceDeploymentInfoRequestDTO;
 import io.github.ust.mico.core.dto.request.MicoTopicRequestDTO;
@@ -322,6 +323,36 @@ public void invalidLabelsThrowAnException() throws Exception {
         result.andExpect(status().isUnprocessableEntity());
     }
 
+    @Test
+    public void invalidAutoscalingPolicyThrowsAnException() throws Exception {
+        MicoApplication application = new MicoApplication()
+            .setId(ID)
+            .setShortName(SHORT_NAME).setVersion(VERSION);
+
+        MicoService service = new MicoService()
+            .setShortName(SERVICE_SHORT_NAME).setVersion(SERVICE_VERSION);
+
+        MicoServiceDeploymentInfo serviceDeploymentInfo = new MicoServiceDeploymentInfo()
+            .setService(service)
+            .setInstanceId(INSTANCE_ID);
+
+        // The minimum replicas exceed the maximum replicas
+        MicoServiceDeploymentInfoRequestDTO updatedServiceDeploymentInfoDTO = new MicoServiceDeploymentInfoRequestDTO()
+            .setAutoscaling(new MicoAutoscalingPolicyRequestDTO().setMinReplicas(5).setMaxReplicas(2).setTargetCpuUtilization(80));
+
+        application.getServices().add(service);
+        application.getServiceDeploymentInfos().add(serviceDeploymentInfo);
+
+        given(applicationRepository.findByShortNameAndVersion(application.getShortName(), application.getVersion()))
+            .willReturn(Optional.of(application));
+
+        mvc.perform(put(PATH_APPLICATIONS + "/" + application.getShortName() + "/" + application.getVersion() + "/" + PATH_DEPLOYMENT_INFORMATION + "/" + service.getShortName())
+            .content(mapper.writeValueAsBytes(updatedServiceDeploymentInfoDTO))
+            .contentType(MediaTypes.HAL_JSON_UTF8_VALUE))
+            .andDo(print())
+            .andExpect(status().isUnprocessableEntity());
+    }
+
     // TODO: modify to test if multiple duplicate roles are allowed
     /*@Test
     public void updateServiceDeploymentInformationWithDuplicatedTopicRoles() throws Exception {
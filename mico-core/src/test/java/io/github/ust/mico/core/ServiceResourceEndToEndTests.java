@@ -34,6 +34,7 @@
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultMatcher;
 
 import java.util.ArrayList;
@@ -45,10 +46,12 @@
 import static io.github.ust.mico.core.TestConstants.*;
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.Assert.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @RunWith(SpringRunner.class)
@@ -165,6 +168,33 @@ public void getServiceDependencyGraphWithCycle() throws Exception {
             .andReturn();
     }
 
+    @Test
+    public void streamServiceDependencyGraph() throws Exception {
+        MicoService micoServiceA = new MicoService().setShortName("a").setVersion(VERSION_1_0_1);
+        MicoService micoServiceB = new MicoService().setShortName("b").setVersion(VERSION_1_0_1);
+        MicoService micoServiceC = new MicoService().setShortName("c").setVersion(VERSION_1_0_1);
+        List<MicoService> fullDependencyList = new ArrayList<>();
+        fullDependencyList.add(micoServiceA);
+        fullDependencyList.add(micoServiceB);
+        fullDependencyList.add(micoServiceC);
+
+        micoServiceA.setDependencies(Collections.singletonList(new MicoServiceDependency().setService(micoServiceA).setDependedService(micoServiceB)));
+        micoServiceB.setDependencies(Collections.singletonList(new MicoServiceDependency().setService(micoServiceB).setDependedService(micoServiceC)));
+        fullDependencyList.forEach(serviceRepository::save);
+
+        MvcResult mvcResult = mvc.perform(get(SERVICES_PATH + "/" + micoServiceB.getShortName() + "/" + micoServiceB.getVersion() + "/dependencyGraph/stream"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        ResultMatcher[] dependencyMatcherList = getResultMatchersMicoServiceList(fullDependencyList.subList(1, 3));
+        mvc.perform(asyncDispatch(mvcResult))
+            .andDo(print())
+            .andExpect(status().isOk())
+            .andExpect(jsonPath(MICO_SERVICE_LIST_IN_DEPENDENCY_GRAPH_PATH, hasSize(2)))
+            .andExpect(ResultMatcher.matchAll(dependencyMatcherList))
+            .andExpect(jsonPath(JsonPathBuilder.buildPath(ROOT, "micoServiceDependencyGraphEdgeList"), hasSize(1)))
+            .andExpect(jsonPath(getJsonPathForEdgeInDependencyGraph(micoServiceB, micoServiceC), hasSize(1)));
+    }
+
     /**
      * Generates the json path to match an edge in a service dependency graph. It
      * matches the edge {source} -> {target}.
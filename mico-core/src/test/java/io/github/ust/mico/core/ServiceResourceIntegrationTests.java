@@ -29,6 +29,7 @@
 import io.github.ust.mico.core.persistence.MicoServiceDeploymentInfoRepository;
 import io.github.ust.mico.core.persistence.MicoServiceRepository;
 import io.github.ust.mico.core.service.GitHubCrawler;
+import io.github.ust.mico.core.service.MicoBulkImportService;
 import io.github.ust.mico.core.service.MicoKubernetesClient;
 import io.github.ust.mico.core.service.MicoStatusService;
 import io.github.ust.mico.core.util.CollectionUtils;
@@ -49,6 +50,7 @@
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
 import java.util.*;
@@ -57,6 +59,7 @@
 import static io.github.ust.mico.core.TestConstants.SHORT_NAME;
 import static io.github.ust.mico.core.TestConstants.VERSION;
 import static io.github.ust.mico.core.TestConstants.*;
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.endsWith;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.Matchers.hasSize;
@@ -312,9 +315,42 @@ public void getStatusOfNotExistentService() throws Exception {
             .andExpect(status().isNotFound());
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void importServices() throws Exception {
+        given(serviceRepository.findAllByKeys(any())).willReturn(CollectionUtils.listOf(
+            new MicoService().setShortName(SHORT_NAME).setVersion(VERSION).setName(NAME)));
+        String input = "{\"shortName\": \"" + SHORT_NAME + "\", \"version\": \"" + VERSION + "\", \"name\": \"" + NAME + "\"}\n"
+            + "{\"shortName\": \"" + SHORT_NAME_1 + "\", \"version\": \"" + VERSION + "\", \"name\": \"" + NAME_1 + "\"}\n"
+            + "{\"shortName\": \"" + SHORT_NAME_2 + "\", \"version\": \"" + VERSION + "\"}\n";
+
+        MvcResult mvcResult = mvc.perform(post(BASE_PATH + "/import")
+            .contentType(MicoBulkImportService.MEDIA_TYPE_JSON_LINES)
+            .content(input))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        String[] results = mvc.perform(asyncDispatch(mvcResult))
+            .andDo(print())
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MicoBulkImportService.MEDIA_TYPE_JSON_LINES))
+            .andReturn().getResponse().getContentAsString().trim().split("\n");
+
+        assertEquals(3, results.length);
+        assertThat(results[0], containsString("\"status\":\"ALREADY_EXISTS\""));
+        assertThat(results[1], containsString("\"status\":\"CREATED\""));
+        assertThat(results[2], containsString("\"status\":\"INVALID\""));
+        assertThat(results[2], containsString("name must not be null"));
+
+        // Only the new and valid service is saved
+        ArgumentCaptor<List<MicoService>> savedServicesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(serviceRepository, times(1)).saveAll(savedServicesCaptor.capture());
+        assertEquals(1, savedServicesCaptor.getValue().size());
+        assertEquals(SHORT_NAME_1, savedServicesCaptor.getValue().get(0).getShortName());
+    }
+
     @Test
     public void getCompleteServiceList() throws Exception {
-        given(serviceRepository.findAll(ArgumentMatchers.anyInt())).willReturn(
+        given(serviceRepository.findPage(null, null, null, null, null, Integer.MAX_VALUE)).willReturn(
             CollectionUtils.listOf(
                 new MicoService().setShortName(SHORT_NAME_1).setVersion(VERSION_1_0_1).setName(NAME_1).setDescription(DESCRIPTION_1),
                 new MicoService().setShortName(SHORT_NAME_2).setVersion(VERSION_1_0_2).setName(NAME_2).setDescription(DESCRIPTION_2),
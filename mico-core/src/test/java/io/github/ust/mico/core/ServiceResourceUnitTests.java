@@ -29,13 +29,16 @@
 import io.github.ust.mico.core.exception.MicoServiceHasDependersException;
 import io.github.ust.mico.core.exception.MicoServiceIsDeployedException;
 import io.github.ust.mico.core.model.MicoService;
+import io.github.ust.mico.core.model.MicoServiceCrawlingOrigin;
 import io.github.ust.mico.core.model.MicoServiceDependency;
 import io.github.ust.mico.core.model.MicoServiceDeploymentInfo;
 import io.github.ust.mico.core.model.MicoServiceInterface;
+import io.github.ust.mico.core.persistence.MicoServiceRepository;
 import io.github.ust.mico.core.service.GitHubCrawler;
 import io.github.ust.mico.core.service.MicoKubernetesClient;
 import io.github.ust.mico.core.service.MicoStatusService;
 import io.github.ust.mico.core.util.CollectionUtils;
+import io.github.ust.mico.core.util.PageCursor;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -47,6 +50,8 @@
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.http.HttpHeaders;
 import org.springframework.test.context.ActiveProfiles;
@@ -63,6 +68,7 @@
 import static io.github.ust.mico.core.TestConstants.SHORT_NAME;
 import static io.github.ust.mico.core.TestConstants.VERSION;
 import static io.github.ust.mico.core.TestConstants.*;
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.endsWith;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.Matchers.hasSize;
@@ -208,10 +214,10 @@ public void getStatusOfService() throws Exception {
 
     @Test
     public void getAllServicesAsList() throws Exception {
-        given(micoServiceBroker.getAllServicesAsList()).willReturn(CollectionUtils.listOf(
+        given(micoServiceBroker.getServices(null, null, null, null, Integer.MAX_VALUE)).willReturn(new SliceImpl<>(CollectionUtils.listOf(
             new MicoService().setShortName(SHORT_NAME_1).setVersion(VERSION_1_0_1).setName(NAME_1).setDescription(DESCRIPTION_1),
             new MicoService().setShortName(SHORT_NAME_2).setVersion(VERSION_1_0_2).setName(NAME_2).setDescription(DESCRIPTION_2),
-            new MicoService().setShortName(SHORT_NAME_3).setVersion(VERSION_1_0_3).setName(NAME_3).setDescription(DESCRIPTION_3)));
+            new MicoService().setShortName(SHORT_NAME_3).setVersion(VERSION_1_0_3).setName(NAME_3).setDescription(DESCRIPTION_3))));
 
         mvc.perform(get("/services").accept(MediaTypes.HAL_JSON_VALUE))
             .andDo(print())
@@ -228,9 +234,37 @@ public void getAllServicesAsList() throws Exception {
             .andReturn();
     }
 
+    @Test
+    public void getServiceListWithFiltersAndPagination() throws Exception {
+        MicoService lastServiceOfPage = new MicoService().setShortName(SHORT_NAME_2).setVersion(VERSION_1_0_2).setName(NAME_2);
+        given(micoServiceBroker.getServices(SHORT_NAME, OWNER, MicoServiceCrawlingOrigin.GITHUB, null, 2)).willReturn(new SliceImpl<>(CollectionUtils.listOf(
+            new MicoService().setShortName(SHORT_NAME_1).setVersion(VERSION_1_0_1).setName(NAME_1),
+            lastServiceOfPage), Pageable.unpaged(), true));
+        String nextCursor = new PageCursor(lastServiceOfPage.getShortName(), lastServiceOfPage.getVersion()).encode();
+
+        mvc.perform(get(SERVICES_PATH)
+            .param("shortNamePrefix", SHORT_NAME)
+            .param("owner", OWNER)
+            .param("crawlingOrigin", MicoServiceCrawlingOrigin.GITHUB.name())
+            .param("limit", "2")
+            .accept(MediaTypes.HAL_JSON_VALUE))
+            .andDo(print())
+            .andExpect(status().isOk())
+            .andExpect(jsonPath(SERVICE_LIST + "[*]", hasSize(2)))
+            .andExpect(jsonPath("$._links.next.href", containsString("cursor=" + nextCursor)))
+            .andExpect(jsonPath("$._links.next.href", containsString("limit=2")));
+
+        mvc.perform(get(SERVICES_PATH).param("cursor", "invalid").accept(MediaTypes.HAL_JSON_VALUE))
+            .andDo(print())
+            .andExpect(status().isBadRequest());
+        mvc.perform(get(SERVICES_PATH).param("limit", "0").accept(MediaTypes.HAL_JSON_VALUE))
+            .andDo(print())
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     public void getServiceByShortNameAndVersion() throws Exception {
-        given(micoServiceBroker.getServiceFromDatabase(SHORT_NAME, VERSION)).willReturn(
+        given(micoServiceBroker.getServiceFromCache(SHORT_NAME, VERSION)).willReturn(
             new MicoService().setShortName(SHORT_NAME).setVersion(VERSION).setDescription(DESCRIPTION));
 
         String urlPath = SERVICES_PATH + "/" + SHORT_NAME + "/" + VERSION;
@@ -429,6 +463,7 @@ public void deleteAllVersionsOfService() throws Exception {
 
     @Test
     public void corsPolicy() throws Exception {
+        given(micoServiceBroker.getServices(null, null, null, null, Integer.MAX_VALUE)).willReturn(new SliceImpl<>(new ArrayList<>()));
         mvc.perform(get(SERVICES_PATH).accept(MediaTypes.HAL_JSON_VALUE)
             .header("Origin", (Object[]) allowedOrigins))
             .andDo(print())
@@ -446,6 +481,40 @@ public void corsPolicyNotAllowedOrigin() throws Exception {
             .andReturn();
     }
 
+    @Test
+    public void getServiceDependersWithDepth() throws Exception {
+        MicoService service = new MicoService()
+            .setShortName(SHORT_NAME)
+            .setVersion(VERSION);
+        MicoService directDepender = new MicoService()
+            .setShortName(SHORT_NAME_1)
+            .setVersion(VERSION_1_0_1);
+        MicoService transitiveDepender = new MicoService()
+            .setShortName(SHORT_NAME_2)
+            .setVersion(VERSION_1_0_2);
+
+        given(micoServiceBroker.getServiceFromCache(SHORT_NAME, VERSION)).willReturn(service);
+        given(micoServiceBroker.findDependers(service, 2)).willReturn(CollectionUtils.listOf(directDepender, transitiveDepender));
+
+        String urlPath = SERVICES_PATH + "/" + SHORT_NAME + "/" + VERSION + DEPENDERS_SUBPATH;
+        mvc.perform(get(urlPath).param("depth", "2")
+            .contentType(MediaTypes.HAL_JSON_UTF8_VALUE))
+            .andDo(print())
+            .andExpect(status().isOk())
+            .andExpect(jsonPath(SERVICE_LIST + "[*]", hasSize(2)))
+            .andExpect(jsonPath(SERVICE_LIST + "[?(" + SHORT_NAME_2_MATCHER + " && " + VERSION_1_0_2_MATCHER + ")]", hasSize(1)));
+
+        mvc.perform(get(urlPath).param("depth", "0")
+            .contentType(MediaTypes.HAL_JSON_UTF8_VALUE))
+            .andDo(print())
+            .andExpect(status().isBadRequest());
+
+        mvc.perform(get(urlPath).param("depth", String.valueOf(MicoServiceRepository.MAX_DEPENDERS_DEPTH + 1))
+            .contentType(MediaTypes.HAL_JSON_UTF8_VALUE))
+            .andDo(print())
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     public void getServiceDependers() throws Exception {
         MicoService service = new MicoService()
@@ -477,8 +546,8 @@ public void getServiceDependers() throws Exception {
         service2.setDependencies(Collections.singletonList(dependency2));
         service3.setDependencies(Collections.singletonList(dependency3));
 
-        given(micoServiceBroker.getServiceFromDatabase(SHORT_NAME, VERSION)).willReturn(service);
-        given(micoServiceBroker.findDependers(service)).willReturn(CollectionUtils.listOf(service1, service2, service3));
+        given(micoServiceBroker.getServiceFromCache(SHORT_NAME, VERSION)).willReturn(service);
+        given(micoServiceBroker.findDependers(service, 1)).willReturn(CollectionUtils.listOf(service1, service2, service3));
 
         String urlPath = SERVICES_PATH + "/" + SHORT_NAME + "/" + VERSION + DEPENDERS_SUBPATH;
         ResultActions result = mvc.perform(get(urlPath)
@@ -700,7 +769,7 @@ public void getDependees() throws Exception {
         MicoServiceDependency dependency2 = new MicoServiceDependency().setService(service).setDependedService(service2);
         service.setDependencies(CollectionUtils.listOf(dependency1, dependency2));
 
-        given(micoServiceBroker.getServiceFromDatabase(SHORT_NAME, VERSION)).willReturn(service);
+        given(micoServiceBroker.getServiceFromCache(SHORT_NAME, VERSION)).willReturn(service);
         given(micoServiceBroker.getDependeesByMicoService(service)).willReturn(CollectionUtils.listOf(service1, service2));
 
         mvc.perform(get("/services/" + SHORT_NAME + "/" + VERSION + DEPENDEES_SUBPATH).accept(MediaTypes.HAL_JSON_VALUE))